@@ -2,6 +2,7 @@ package org.apereo.cas.configuration.model.core.audit;
 
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
 import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -32,6 +33,57 @@ public class AuditJdbcProperties extends AbstractJpaProperties {
      */
     private boolean asynchronous = true;
 
+    /**
+     * When recording audit records asynchronously, indicates the maximum number of
+     * records that are written to the database together as a single JDBC batch insert.
+     * A batch is flushed once it reaches this size, or once the {@link #getFlushInterval()} elapses,
+     * whichever comes first.
+     */
+    private int batchSize = 100;
+
+    /**
+     * When recording audit records asynchronously, indicates the maximum amount of time
+     * a record may wait in a partially-filled batch before the batch is flushed to the database.
+     */
+    @DurationCapable
+    private String flushInterval = "PT0.5S";
+
+    /**
+     * When recording audit records asynchronously, indicates the maximum number of
+     * records that may be held in memory waiting to be written to the database.
+     * Once this limit is reached, the {@link #getOverflowPolicy()} decides what happens
+     * to new audit records.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * When recording audit records asynchronously, indicates the number of
+     * writer threads that drain queued audit records and write them to the database.
+     */
+    private int writerThreads = 2;
+
+    /**
+     * When recording audit records asynchronously, decide what should happen
+     * to new audit records once the queue is full.
+     */
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+
+    /**
+     * Path to the file that holds audit records that do not fit in the queue,
+     * when the overflow policy is set to spill records to disk. Spilled records are written
+     * to the database by periodic replays. Spilled records are kept as JSON,
+     * and the file should be placed in a directory that is only accessible to CAS.
+     */
+    private String spillFile = "/etc/cas/audit/jdbc-audit-spill.json";
+
+    /**
+     * When the overflow policy is set to spill records to disk, indicates how often
+     * spilled audit records are replayed and written to the database. Replays run on their own schedule,
+     * regardless of how busy the queue is, and records that cannot be written are kept for the next replay.
+     */
+    @DurationCapable
+    private String spillReplayInterval = "PT5S";
+
     /**
      * Indicates how long audit records should be kept in the database.
      * This is used by the clean-up criteria to clean up after stale audit records.
@@ -71,4 +123,23 @@ public class AuditJdbcProperties extends AbstractJpaProperties {
      */
     @NestedConfigurationProperty
     private SchedulingProperties schedule = new SchedulingProperties();
+
+    /**
+     * Policies that decide what happens to audit records once the queue is full.
+     */
+    public enum AuditOverflowPolicy {
+        /**
+         * Block the caller until space is available in the queue.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued audit record to make room for the new record.
+         */
+        DROP_OLDEST,
+        /**
+         * Write the new audit record to a local file, to be written to the database
+         * when spilled records are next replayed.
+         */
+        SPILL_TO_DISK
+    }
 }
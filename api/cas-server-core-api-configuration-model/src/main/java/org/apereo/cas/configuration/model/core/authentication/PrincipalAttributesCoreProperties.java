@@ -1,5 +1,6 @@
 package org.apereo.cas.configuration.model.core.authentication;
 
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -85,6 +86,23 @@ public class PrincipalAttributesCoreProperties implements Serializable {
      */
     private boolean requireAllRepositorySources;
 
+    /**
+     * When {@link #aggregation} is set to {@link AggregationStrategyTypes#PARALLEL},
+     * this setting controls the maximum amount of time to wait for each attribute repository
+     * to produce results. Repositories that fail to respond in time are treated as failed,
+     * and are then subject to {@link #recoverExceptions} and {@link #requireAllRepositorySources}.
+     */
+    @DurationCapable
+    private String parallelRepositoryTimeout = "PT10S";
+
+    /**
+     * When {@link #aggregation} is set to {@link AggregationStrategyTypes#PARALLEL},
+     * this setting controls the maximum number of attribute repository queries that may run
+     * concurrently. A zero or negative value indicates that each query should
+     * run on its own virtual thread without an upper bound.
+     */
+    private int parallelMaximumConcurrency;
+
     /**
      * CAS provides the ability to release a bundle of principal attributes to all services by default.
      * This bundle is not defined on a per-service basis and is always combined with attributes
@@ -110,7 +128,13 @@ public class PrincipalAttributesCoreProperties implements Serializable {
          * the attributes from the first query in the result set are
          * used as the query for the next repository.
          */
-        CASCADE
+        CASCADE,
+        /**
+         * Query multiple repositories concurrently and merge the results into
+         * a single result set. Results are merged in the configured order of repositories,
+         * regardless of the order in which repositories respond.
+         */
+        PARALLEL
     }
 
     /**
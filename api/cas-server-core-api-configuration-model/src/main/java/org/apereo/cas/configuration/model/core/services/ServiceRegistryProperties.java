@@ -153,6 +153,18 @@ public class ServiceRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private ExpiringSimpleCacheProperties cache = new ExpiringSimpleCacheProperties();
 
+    /**
+     * Settings for the cache that remembers which registered service
+     * matched a given service request, including requests that matched nothing.
+     * Requests are told apart by their type, identifier and the service attributes
+     * that service locators declare they consult; locators that consult other attributes
+     * may not be used with this cache. Cached results are dropped when service definitions
+     * are saved, deleted or reloaded. This cache is disabled by default, and is turned on
+     * by setting a cache size greater than {@code 0}.
+     */
+    @NestedConfigurationProperty
+    private ExpiringSimpleCacheProperties matchCache = new ExpiringSimpleCacheProperties();
+
     /**
      * Registry core/common settings.
      */
@@ -164,4 +176,8 @@ public class ServiceRegistryProperties implements Serializable {
      */
     @NestedConfigurationProperty
     private ServiceRegistryTemplatesProperties templates = new ServiceRegistryTemplatesProperties();
+
+    public ServiceRegistryProperties() {
+        matchCache.setCacheSize(0);
+    }
 }
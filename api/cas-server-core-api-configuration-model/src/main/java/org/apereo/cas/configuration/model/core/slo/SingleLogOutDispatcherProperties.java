@@ -0,0 +1,71 @@
+package org.apereo.cas.configuration.model.core.slo;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link SingleLogOutDispatcherProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+public class SingleLogOutDispatcherProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2784018350297615232L;
+
+    /**
+     * Whether back-channel logout messages should be handed off to a dispatcher
+     * that queues messages on disk, groups them by endpoint, limits concurrent calls
+     * to each host and retries failed deliveries. Duplicate messages for the same endpoint
+     * that are still pending delivery are coalesced into one. The dispatcher is only used
+     * when logout messages are sent asynchronously; synchronous logout messages are sent
+     * directly so their outcome can be reported.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of logout messages that may be sent
+     * at the same time to the same host.
+     */
+    private int maximumConcurrencyPerHost = 4;
+
+    /**
+     * Maximum number of attempts to deliver a logout message
+     * before it is abandoned.
+     */
+    private int maximumAttempts = 5;
+
+    /**
+     * Amount of time to wait before retrying a failed delivery.
+     * The delay doubles with every failed attempt, up to {@link #getMaximumBackoff()}.
+     */
+    @DurationCapable
+    private String initialBackoff = "PT2S";
+
+    /**
+     * Maximum amount of time to wait before retrying a failed delivery.
+     */
+    @DurationCapable
+    private String maximumBackoff = "PT5M";
+
+    /**
+     * Directory that holds logout messages pending delivery, so they survive restarts.
+     * The directory is created so that it is only accessible to CAS, and should not be
+     * shared with other processes. Pending messages are only restored if their logout url
+     * belongs to the registered service they were sent for. If left blank, pending messages
+     * are only kept in memory and do not survive restarts.
+     */
+    private String queueDirectory = "/etc/cas/slo/queue";
+}
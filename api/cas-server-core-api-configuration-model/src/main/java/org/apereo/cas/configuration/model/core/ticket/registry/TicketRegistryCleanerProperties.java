@@ -0,0 +1,64 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryCleanerProperties")
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+
+    @Serial
+    private static final long serialVersionUID = 2411735617238405132L;
+
+    /**
+     * When enabled, the cleaner keeps track of tickets in an index
+     * that is ordered by the next expiration instant of each ticket.
+     * Regular sweeps then only examine tickets that are due, rather
+     * than streaming and examining every ticket in the registry.
+     * Tickets that are added or updated by this node are indexed right away.
+     * The registry is still fully scanned periodically, based on {@link #fullSweepInterval},
+     * to reconcile the index with tickets that may have been added
+     * by other nodes or outside the cleaner's knowledge; such tickets are only removed
+     * by the cleaner once they are picked up by a full sweep.
+     */
+    private boolean indexed;
+
+    /**
+     * Number of partitions used to shard the expiration index.
+     * Partitions reduce contention between threads that track tickets as they are added or updated,
+     * and are swept one after another by the cleaner.
+     */
+    private int partitions = 8;
+
+    /**
+     * Granularity of expiration slots in the index.
+     * Tickets that expire within the same slot are grouped together
+     * and processed during the same sweep.
+     */
+    @DurationCapable
+    private String resolution = "PT1S";
+
+    /**
+     * Indicates how often the cleaner should fall back to a full sweep
+     * of the registry to reconcile and seed the expiration index.
+     */
+    @DurationCapable
+    private String fullSweepInterval = "PT30M";
+}
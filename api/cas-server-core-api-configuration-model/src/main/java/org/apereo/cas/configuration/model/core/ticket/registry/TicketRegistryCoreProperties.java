@@ -42,4 +42,15 @@ public class TicketRegistryCoreProperties implements Serializable {
      * and kept in memory.
      */
     private String queueIdentifier;
+
+    /**
+     * When set to true, tickets that are encrypted by the registry are first
+     * serialized using a compact, versioned binary format that carries the deflated
+     * JSON representation of the ticket, instead of standard Java serialization.
+     * This typically produces smaller payloads for registries such as Redis or Memcached.
+     * Entries that were previously stored using Java serialization or plain JSON
+     * are still recognized and decoded regardless of this setting, allowing for a
+     * gradual migration as tickets are updated or expire.
+     */
+    private boolean compactEncoding;
 }
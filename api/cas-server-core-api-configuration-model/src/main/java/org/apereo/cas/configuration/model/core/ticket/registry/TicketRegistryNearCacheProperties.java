@@ -0,0 +1,50 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketRegistryNearCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryNearCacheProperties")
+public class TicketRegistryNearCacheProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3216543201927460418L;
+
+    /**
+     * When enabled, the ticket registry is decorated with a bounded local cache
+     * that keeps recently read tickets in memory for a short period of time.
+     * Changes made on one node are broadcast to other nodes via the ticket registry
+     * message queue so they can invalidate their own copies. The near-cache requires
+     * a ticket registry message queue, and is not used if none is available.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of tickets kept in the local cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a ticket may remain in the local cache after it was loaded or written.
+     * This setting controls the maximum staleness of a cached ticket, and should be kept short.
+     */
+    @DurationCapable
+    private String timeToLive = "PT2S";
+}
@@ -9,7 +9,6 @@ import org.apereo.cas.configuration.model.support.ignite.IgniteProperties;
 import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.memcached.MemcachedTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoDbTicketRegistryProperties;
-import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -106,13 +105,25 @@ public class TicketRegistryProperties implements Serializable {
      * Ticket registry cleaner settings.
      */
     @NestedConfigurationProperty
-    private ScheduledJobProperties cleaner = new ScheduledJobProperties();
+    private TicketRegistryCleanerProperties cleaner = new TicketRegistryCleanerProperties();
 
     /**
      * Ticket registry core settings.
      */
     @NestedConfigurationProperty
     private TicketRegistryCoreProperties core = new TicketRegistryCoreProperties();
+
+    /**
+     * Ticket registry near-cache settings.
+     */
+    @NestedConfigurationProperty
+    private TicketRegistryNearCacheProperties nearCache = new TicketRegistryNearCacheProperties();
+
+    /**
+     * Ticket registry request cache settings.
+     */
+    @NestedConfigurationProperty
+    private TicketRegistryRequestCacheProperties requestCache = new TicketRegistryRequestCacheProperties();
     
     public TicketRegistryProperties() {
         cleaner.getSchedule().setEnabled(true).setStartDelay("PT10S").setRepeatInterval("PT1M");
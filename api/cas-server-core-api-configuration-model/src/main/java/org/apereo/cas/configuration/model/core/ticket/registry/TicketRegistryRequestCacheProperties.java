@@ -0,0 +1,37 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketRegistryRequestCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryRequestCacheProperties")
+public class TicketRegistryRequestCacheProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6914036487561938810L;
+
+    /**
+     * When enabled, tickets that are read from or written to the ticket registry while
+     * processing an HTTP request are remembered until the request completes, so the same ticket is
+     * fetched from the ticket registry at most once per request. Updates are written through to the
+     * ticket registry immediately. The number of ticket registry calls made by each request is recorded
+     * and may be examined for diagnostics.
+     */
+    private boolean enabled;
+}
@@ -40,4 +40,13 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     @RequiredProperty
     private boolean storage;
+
+    /**
+     * When webflow state is managed on the client side, encode the state in a compact binary form
+     * that refers to commonly used types by identifier and is compressed with a shared dictionary,
+     * rather than as gzipped serialized data. This reduces the size of the encrypted state
+     * sent back and forth with each request. State that was previously encoded as serialized data can still be read
+     * once this setting is enabled, and all CAS nodes that share client-side state must run the same CAS version.
+     */
+    private boolean compact;
 }
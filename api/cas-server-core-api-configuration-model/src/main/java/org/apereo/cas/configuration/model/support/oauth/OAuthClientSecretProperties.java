@@ -0,0 +1,54 @@
+package org.apereo.cas.configuration.model.support.oauth;
+
+import org.apereo.cas.configuration.model.core.authentication.PasswordEncoderProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link OAuthClientSecretProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-support-oauth")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("OAuthClientSecretProperties")
+public class OAuthClientSecretProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3180928466239107413L;
+
+    /**
+     * Password encoder used to verify client secrets that are stored as hashes
+     * in registered service definitions, such as {@code PBKDF2} or {@code ARGON2}.
+     * When undefined, client secrets are compared as they are found in the registered service definition,
+     * once decrypted if necessary.
+     */
+    @NestedConfigurationProperty
+    private PasswordEncoderProperties passwordEncoder = new PasswordEncoderProperties();
+
+    /**
+     * Maximum number of verified client secrets to remember.
+     * Once a client secret is verified, the expensive steps of decrypting or hashing the defined client secret
+     * are skipped for subsequent requests, until the registered service is changed. A value of zero
+     * disables the cache.
+     */
+    private long cacheSize = 10_000L;
+
+    /**
+     * Duration for which a verified client secret is remembered.
+     */
+    @DurationCapable
+    private String cacheExpiration = "PT1H";
+}
@@ -0,0 +1,61 @@
+package org.apereo.cas.configuration.model.support.oauth;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link OAuthIntrospectionProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-support-oauth")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("OAuthIntrospectionProperties")
+public class OAuthIntrospectionProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4157284196453123750L;
+
+    /**
+     * Whether access tokens that are issued as signed JWTs should be introspected
+     * without reading the ticket registry. When enabled, the signature and expiration date of the token
+     * are verified locally, and the token is only looked up in the ticket registry if it might have been
+     * revoked. Revocations are tracked in memory, using a compact probabilistic filter
+     * that is fed by the revocation endpoint, by single sign-on sessions that are destroyed, and by
+     * access tokens deleted by other CAS nodes that are received from the ticket registry message queue.
+     * This setting only takes effect when tickets are kept in memory by each CAS node, either by a single node
+     * or by nodes that broadcast changes via the ticket registry message queue, and is ignored when the ticket registry
+     * is shared by nodes in a database. Idle timeouts of access tokens are not enforced for tokens introspected this way.
+     */
+    private boolean stateless;
+
+    /**
+     * Number of revoked access tokens that the revocation filter is sized for, within one retention period.
+     * The filter may track more tokens than this, at the cost of more tokens being looked up in the ticket registry.
+     */
+    private long revocationFilterCapacity = 100_000L;
+
+    /**
+     * The probability that the revocation filter reports a token as possibly revoked
+     * when it is not, causing the token to be looked up in the ticket registry.
+     */
+    private double revocationFilterFalsePositiveRate = 0.001D;
+
+    /**
+     * How long revoked access tokens are remembered by the revocation filter.
+     * Access tokens whose lifetime is longer than this period are always looked up in the ticket registry.
+     */
+    @DurationCapable
+    private String revocationFilterRetention = "PT24H";
+}
@@ -96,6 +96,18 @@ public class OAuthProperties implements Serializable {
     @NestedConfigurationProperty
     private OAuthCoreProperties core = new OAuthCoreProperties();
 
+    /**
+     * Settings related to verification of client secrets.
+     */
+    @NestedConfigurationProperty
+    private OAuthClientSecretProperties clientSecret = new OAuthClientSecretProperties();
+
+    /**
+     * Settings related to token introspection.
+     */
+    @NestedConfigurationProperty
+    private OAuthIntrospectionProperties introspection = new OAuthIntrospectionProperties();
+
     public OAuthProperties() {
         crypto.getEncryption().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_ENCRYPTION_KEY_SIZE);
         crypto.getSigning().setKeySize(CipherExecutor.DEFAULT_STRINGABLE_SIGNING_KEY_SIZE);
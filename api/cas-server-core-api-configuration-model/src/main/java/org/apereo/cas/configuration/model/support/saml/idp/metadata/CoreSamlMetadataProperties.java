@@ -48,6 +48,30 @@ public class CoreSamlMetadataProperties implements Serializable {
     @DurationCapable
     private String cacheExpiration = "PT24H";
 
+    /**
+     * How long after metadata is cached should it be refreshed in the background.
+     * Requests that arrive after this period continue to use the cached metadata
+     * while fresh metadata is loaded, and the cached entry is replaced once loading completes.
+     * This should be shorter than the cache expiration, so that metadata is refreshed
+     * before it expires and no request has to wait for metadata to be loaded again.
+     * Set to zero to disable background refreshes.
+     */
+    @DurationCapable
+    private String cacheRefreshInterval = "PT12H";
+
+    /**
+     * Whether metadata files and documents fetched from URLs should be indexed on disk,
+     * instead of being loaded into memory as a whole. When enabled, each entity is stored in an index keyed by its entity id,
+     * and entities are only loaded into memory when they are requested. This is recommended for large metadata
+     * aggregates. The index is kept in the metadata directory of the identity provider, next to downloaded metadata backups,
+     * and is named after a digest of the metadata content, signing certificate and filter configuration.
+     * Indexes are protected with a key that is generated once and kept next to them, so an index is reused across restarts
+     * until the metadata changes, but never if it was modified by anyone without access to the key.
+     * Metadata whose signature or validity must be checked is verified as a whole and indexed in the same pass;
+     * otherwise, it is indexed with a streaming parser.
+     */
+    private boolean indexed;
+
     /**
      * Whether valid metadata is required.
      */
@@ -0,0 +1,55 @@
+package org.apereo.cas.configuration.model.support.services;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link ResourceServiceRegistryLoadingProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-services", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ResourceServiceRegistryLoadingProperties")
+public class ResourceServiceRegistryLoadingProperties implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2719483022571096127L;
+
+    /**
+     * Number of threads used to read and parse service definition files in parallel.
+     * By default, service definition files are read one at a time; parsing them in parallel
+     * must be explicitly allowed by setting a larger value. A value of zero or less uses as many threads
+     * as there are available processors.
+     */
+    private int parallelism = 1;
+
+    /**
+     * When enabled, service definitions that are loaded from service definition files are also kept
+     * in a compact binary snapshot file, keyed by the name, size and last-modified timestamp of each file.
+     * Upon startup, service definitions whose files are unchanged are read from the snapshot
+     * instead of being parsed again, which speeds up restarts of deployments with many service definitions.
+     * Files that are modified, added or removed are always read from the service registry directory.
+     * Note that values resolved while parsing a service definition file, such as Spring expressions
+     * or references to environment variables and system properties, are kept in the snapshot as resolved
+     * and are not evaluated again until the file itself changes.
+     */
+    private boolean snapshotEnabled;
+
+    /**
+     * Directory where the binary snapshot file is kept.
+     * If undefined, the snapshot is kept as a hidden file inside the service registry directory.
+     * The directory should only be writable by CAS, as is the service registry directory itself.
+     */
+    private String snapshotLocation;
+}
@@ -0,0 +1,59 @@
+package org.apereo.cas.configuration.model.support.throttle;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for throttling authentication failures in memory
+ * using sliding-window counters.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-support-throttle")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("SlidingWindowThrottleProperties")
+public class SlidingWindowThrottleProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 3917562086263452311L;
+
+    /**
+     * Track authentication failures in memory using sliding-window counters,
+     * instead of keeping track of the last failure per throttling key.
+     * Failures are counted over the window defined by the failure range in seconds,
+     * and a request is throttled once the rate of failures in that window exceeds
+     * the threshold rate.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of buckets that divide the sliding window.
+     * More buckets slide the window more smoothly at the cost of
+     * a bit more memory for each throttling key.
+     */
+    private int buckets = 10;
+
+    /**
+     * Number of stripes that throttling keys are distributed across.
+     * Each stripe is cleaned up independently, so more stripes reduce contention
+     * under heavy load. The value is rounded down to a power of two.
+     */
+    private int stripes = 16;
+
+    /**
+     * Maximum number of throttling keys that are tracked at any given time.
+     * Once this limit is reached, only idle keys are evicted to make room for new ones;
+     * keys that still count submissions or that are locked out are kept, and submissions
+     * for new keys are refused until an idle key can be evicted.
+     */
+    private int maximumKeys = 100_000;
+}
@@ -58,6 +58,12 @@ public class ThrottleProperties implements Serializable {
     @NestedConfigurationProperty
     private LdapThrottleProperties ldap = new LdapThrottleProperties();
 
+    /**
+     * Settings related to throttling requests in memory using sliding-window counters.
+     */
+    @NestedConfigurationProperty
+    private SlidingWindowThrottleProperties slidingWindow = new SlidingWindowThrottleProperties();
+
     /**
      * Core throttling settings.
      */
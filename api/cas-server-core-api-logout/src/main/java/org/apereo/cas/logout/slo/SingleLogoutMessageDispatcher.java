@@ -0,0 +1,27 @@
+package org.apereo.cas.logout.slo;
+
+/**
+ * Deliver back-channel logout messages to their endpoints on behalf
+ * of single logout message handlers, typically by queueing them
+ * for delivery in the background.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@FunctionalInterface
+public interface SingleLogoutMessageDispatcher {
+
+    /**
+     * Bean name for default impl.
+     */
+    String BEAN_NAME = "singleLogoutMessageDispatcher";
+
+    /**
+     * Dispatch the logout message to the logout url of the request.
+     *
+     * @param request       the request
+     * @param logoutMessage the logout message
+     * @return true if the message was accepted for delivery.
+     */
+    boolean dispatch(SingleLogoutRequestContext request, SingleLogoutMessage logoutMessage);
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.services;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -84,6 +85,18 @@ public interface ServiceRegistry {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Retrieve the services that have changed in the data store since the given change token was issued
+     * by this registry. Registries that are unable to track changes, or do not recognize the change token,
+     * retrieve all services as {@link #load()} would.
+     *
+     * @param changeToken the change token issued by the previous call, or null
+     * @return the changes
+     */
+    default ServiceRegistryChanges loadChanges(final Serializable changeToken) {
+        return ServiceRegistryChanges.complete(load());
+    }
+
     /**
      * Gets services stream.
      * <p>
@@ -0,0 +1,61 @@
+package org.apereo.cas.services;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * This is {@link ServiceRegistryChanges}. It describes the service definitions
+ * that have changed in a service registry since a given change token was issued.
+ * <p>
+ * A complete set of changes carries every service definition that is found in the registry.
+ * An incremental set of changes only carries the service definitions that were added or modified,
+ * along with the identifiers of all service definitions that are still found in the registry,
+ * so that removed service definitions can be recognized.
+ *
+ * @param services     the service definitions that are loaded
+ * @param identifiers  the identifiers of all service definitions found in the registry, for incremental changes
+ * @param complete     whether all service definitions are loaded
+ * @param changeToken  the token to present to the registry in order to load subsequent changes, if any
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public record ServiceRegistryChanges(Collection<RegisteredService> services, Set<Long> identifiers,
+                                     boolean complete, Serializable changeToken) {
+
+    /**
+     * Complete set of changes that carries all service definitions.
+     *
+     * @param services    the services
+     * @param changeToken the change token
+     * @return the changes
+     */
+    public static ServiceRegistryChanges complete(final Collection<RegisteredService> services,
+                                                  final Serializable changeToken) {
+        return new ServiceRegistryChanges(services, Set.of(), true, changeToken);
+    }
+
+    /**
+     * Complete set of changes issued by registries that do not track changes.
+     *
+     * @param services the services
+     * @return the changes
+     */
+    public static ServiceRegistryChanges complete(final Collection<RegisteredService> services) {
+        return complete(services, null);
+    }
+
+    /**
+     * Incremental set of changes.
+     *
+     * @param services    the services that are added or modified
+     * @param identifiers the identifiers of all services found in the registry
+     * @param changeToken the change token
+     * @return the changes
+     */
+    public static ServiceRegistryChanges incremental(final Collection<RegisteredService> services,
+                                                     final Set<Long> identifiers,
+                                                     final Serializable changeToken) {
+        return new ServiceRegistryChanges(services, identifiers, false, changeToken);
+    }
+}
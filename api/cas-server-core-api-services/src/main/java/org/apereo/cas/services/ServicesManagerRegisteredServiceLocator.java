@@ -8,6 +8,7 @@ import org.springframework.core.Ordered;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is {@link ServicesManagerRegisteredServiceLocator}.
@@ -52,4 +53,29 @@ public interface ServicesManagerRegisteredServiceLocator extends Ordered {
     default List<RegisteredServiceQueryIndex> getRegisteredServiceIndexes() {
         return new ArrayList<>();
     }
+
+    /**
+     * Gets the names of service attributes that this locator consults
+     * to locate a registered service. Service requests that carry the same
+     * identifier and the same values for these attributes are expected
+     * to locate the same registered service.
+     *
+     * @return the service attribute names
+     */
+    default Set<String> getServiceAttributeNames() {
+        return Set.of();
+    }
+
+    /**
+     * Gets the names of service attributes that this locator consults to locate
+     * a registered service, whose values are unique to each service request
+     * such as SAML2 authentication requests. Service requests that carry any
+     * of these attributes cannot be told apart by their values and are always
+     * matched against registered services.
+     *
+     * @return the service attribute names
+     */
+    default Set<String> getRequestScopedServiceAttributeNames() {
+        return Set.of();
+    }
 }
@@ -13,6 +13,8 @@ import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -38,6 +40,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +65,9 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
     @Serial
     private static final long serialVersionUID = 6898745248727445565L;
 
+    private static final Cache<DefaultAttributeDefinition, CompiledAttributeDefinition> COMPILED_DEFINITIONS =
+        Caffeine.newBuilder().weakKeys().build();
+
     private String key;
 
     private String name;
@@ -84,10 +91,12 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
     private String flattened;
     
     private static List<Object> formatValuesWithScope(final String scope, final List<Object> currentValues) {
-        return currentValues
-            .stream()
-            .map(value -> String.format("%s@%s", value, scope))
-            .collect(Collectors.toCollection(ArrayList::new));
+        val suffix = '@' + scope;
+        val results = new ArrayList<Object>(currentValues.size());
+        for (val value : currentValues) {
+            results.add(value + suffix);
+        }
+        return results;
     }
 
     private static List<Object> encryptValues(final List<Object> currentValues, final RegisteredService registeredService) {
@@ -165,24 +174,26 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
     @JsonIgnore
     @Override
     public List<Object> resolveAttributeValues(final AttributeDefinitionResolutionContext context) throws Throwable {
+        val compiledDefinition = getCompiledDefinition();
         List<Object> currentValues = new ArrayList<>(context.getAttributeValues());
         if (StringUtils.isNotBlank(getScript())) {
             currentValues = getScriptedAttributeValue(key, currentValues, context);
         }
-        if (getPatterns() != null && !getPatterns().isEmpty() && !currentValues.isEmpty()) {
-            currentValues = getPatternValuesFor(currentValues, context);
+        if (!compiledDefinition.compiledPatterns().isEmpty() && !currentValues.isEmpty()) {
+            currentValues = getPatternValuesFor(compiledDefinition, currentValues, context);
         }
         if (isScoped()) {
             currentValues = formatValuesWithScope(context.getScope(), currentValues);
         }
         if (StringUtils.isNotBlank(getPatternFormat())) {
-            currentValues = formatValuesWithPattern(currentValues);
+            currentValues = formatValuesWithPattern(compiledDefinition, currentValues);
         }
         if (isEncrypted()) {
             currentValues = encryptValues(currentValues, context.getRegisteredService());
         }
         if (StringUtils.isNotBlank(this.canonicalizationMode)) {
-            val mode = CaseCanonicalizationMode.valueOf(canonicalizationMode.toUpperCase(Locale.ENGLISH));
+            val mode = Optional.ofNullable(compiledDefinition.canonicalizationMode())
+                .orElseGet(() -> CaseCanonicalizationMode.valueOf(canonicalizationMode.toUpperCase(Locale.ENGLISH)));
             currentValues = Objects.requireNonNull(currentValues)
                 .stream()
                 .map(value -> mode.canonicalize(value.toString()))
@@ -197,28 +208,52 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
         return currentValues;
     }
 
-    private List<Object> getPatternValuesFor(final List<Object> currentValues,
-                                             final AttributeDefinitionResolutionContext context) {
-        return patterns
-            .entrySet()
+    /**
+     * Gets the compiled form of this definition, compiling it again
+     * if the settings it was compiled from have changed since.
+     *
+     * @return the compiled definition
+     */
+    private CompiledAttributeDefinition getCompiledDefinition() {
+        val compiledDefinition = COMPILED_DEFINITIONS.getIfPresent(this);
+        if (compiledDefinition != null && compiledDefinition.isCompiledFrom(this)) {
+            return compiledDefinition;
+        }
+        val recompiledDefinition = CompiledAttributeDefinition.compile(this);
+        COMPILED_DEFINITIONS.put(this, recompiledDefinition);
+        return recompiledDefinition;
+    }
+
+    private static List<Object> getPatternValuesFor(final CompiledAttributeDefinition compiledDefinition,
+                                                    final List<Object> currentValues,
+                                                    final AttributeDefinitionResolutionContext context) {
+        return compiledDefinition.compiledPatterns()
             .stream()
-            .map(entry -> {
-                val pattern = RegexUtils.createPattern(entry.getKey());
-                return currentValues.stream()
-                    .filter(value -> RegexUtils.find(pattern, value.toString()))
-                    .map(value -> getScriptedPatternedValue(value, entry.getValue(), context))
-                    .findFirst()
-                    .orElse(StringUtils.EMPTY);
-            })
+            .map(compiledPattern -> currentValues.stream()
+                .filter(value -> RegexUtils.find(compiledPattern.pattern(), value.toString()))
+                .map(value -> compiledPattern.scripted()
+                    ? getScriptedPatternedValue(value, compiledPattern.value(), context)
+                    : compiledPattern.value())
+                .findFirst()
+                .orElse(StringUtils.EMPTY))
             .filter(StringUtils::isNotBlank)
             .collect(Collectors.toList());
     }
 
-    private List<Object> formatValuesWithPattern(final List<Object> currentValues) {
-        return currentValues
-            .stream()
-            .map(value -> MessageFormat.format(getPatternFormat(), value))
-            .collect(Collectors.toCollection(ArrayList::new));
+    private List<Object> formatValuesWithPattern(final CompiledAttributeDefinition compiledDefinition,
+                                                 final List<Object> currentValues) {
+        if (compiledDefinition.messageFormat() == null) {
+            return currentValues
+                .stream()
+                .map(value -> MessageFormat.format(getPatternFormat(), value))
+                .collect(Collectors.toCollection(ArrayList::new));
+        }
+        val messageFormat = (MessageFormat) compiledDefinition.messageFormat().clone();
+        val results = new ArrayList<Object>(currentValues.size());
+        for (val value : currentValues) {
+            results.add(messageFormat.format(new Object[]{value}));
+        }
+        return results;
     }
 
     private List<Object> getScriptedAttributeValue(final String attributeKey,
@@ -242,18 +277,54 @@ public class DefaultAttributeDefinition implements AttributeDefinition {
 
     private static String getScriptedPatternedValue(final Object currentValue, final String patternedValue,
                                                     final AttributeDefinitionResolutionContext context) {
-        val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(patternedValue);
-        if (matcherInline.find()) {
-            return ApplicationContextProvider.getScriptResourceCacheManager()
-                .map(cacheManager -> FunctionUtils.doUnchecked(() -> {
-                    val script = cacheManager.resolveScriptableResource(patternedValue);
-                    val args = CollectionUtils.<String, Object>wrap("context", context,
-                        "currentValue", currentValue, "logger", LOGGER);
-                    script.setBinding(args);
-                    return script.execute(args.values().toArray(), String.class);
-                }))
-                .orElse(patternedValue);
+        return ApplicationContextProvider.getScriptResourceCacheManager()
+            .map(cacheManager -> FunctionUtils.doUnchecked(() -> {
+                val script = cacheManager.resolveScriptableResource(patternedValue);
+                val args = CollectionUtils.<String, Object>wrap("context", context,
+                    "currentValue", currentValue, "logger", LOGGER);
+                script.setBinding(args);
+                return script.execute(args.values().toArray(), String.class);
+            }))
+            .orElse(patternedValue);
+    }
+
+    /**
+     * Compiled form of the settings of an attribute definition that would otherwise be
+     * parsed again for each resolution, along with the settings it was compiled from.
+     */
+    private record CompiledAttributeDefinition(Map<String, String> patterns, String patternFormat,
+                                               String canonicalizationModeName,
+                                               List<CompiledPattern> compiledPatterns,
+                                               MessageFormat messageFormat,
+                                               CaseCanonicalizationMode canonicalizationMode) {
+        static CompiledAttributeDefinition compile(final DefaultAttributeDefinition definition) {
+            val patterns = definition.getPatterns() == null ? null : new LinkedHashMap<>(definition.getPatterns());
+            val compiledPatterns = Optional.ofNullable(patterns)
+                .stream()
+                .flatMap(entries -> entries.entrySet().stream())
+                .map(entry -> new CompiledPattern(RegexUtils.createPattern(entry.getKey()), entry.getValue(),
+                    ScriptingUtils.getMatcherForInlineGroovyScript(entry.getValue()).find()))
+                .toList();
+            val patternFormat = definition.getPatternFormat();
+            val messageFormat = StringUtils.isNotBlank(patternFormat)
+                ? FunctionUtils.doAndHandle(() -> new MessageFormat(patternFormat), e -> null).get()
+                : null;
+            val modeName = definition.getCanonicalizationMode();
+            val canonicalizationMode = StringUtils.isNotBlank(modeName)
+                ? FunctionUtils.doAndHandle(() -> CaseCanonicalizationMode.valueOf(modeName.toUpperCase(Locale.ENGLISH)), e -> null).get()
+                : null;
+            LOGGER.trace("Compiled attribute definition [{}]", definition.getKey());
+            return new CompiledAttributeDefinition(patterns, patternFormat, modeName,
+                compiledPatterns, messageFormat, canonicalizationMode);
+        }
+
+        boolean isCompiledFrom(final DefaultAttributeDefinition definition) {
+            return Objects.equals(patternFormat, definition.getPatternFormat())
+                && Objects.equals(canonicalizationModeName, definition.getCanonicalizationMode())
+                && Objects.equals(patterns, definition.getPatterns());
         }
-        return patternedValue;
+    }
+
+    private record CompiledPattern(Pattern pattern, String value, boolean scripted) {
     }
 }
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -49,6 +50,8 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
 
     private final Map<String, AttributeDefinition> attributeDefinitions = Collections.synchronizedMap(new ConcurrentHashMap<>());
 
+    private final Map<String, AttributeDefinition> attributeDefinitionsByName = new ConcurrentHashMap<>();
+
     private FileWatcherService storeWatcherService;
 
     @Setter
@@ -61,7 +64,7 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
 
             if (ResourceUtils.isFile(resource)) {
                 this.storeWatcherService = new FileWatcherService(resource.getFile(),
-                    Unchecked.consumer(file -> loadAttributeDefinitionsFromInputStream(new FileSystemResource(file))));
+                    Unchecked.consumer(file -> reloadAttributeDefinitionsFromInputStream(new FileSystemResource(file))));
                 this.storeWatcherService.start(getClass().getSimpleName());
             }
         }
@@ -81,6 +84,23 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
         return key;
     }
 
+    private static String getAttributeDefinitionNameKey(final String name) {
+        return StringUtils.isNotBlank(name) ? name.toLowerCase(Locale.ENGLISH) : null;
+    }
+
+    private static Map<String, AttributeDefinition> readAttributeDefinitions(final Resource resource) {
+        try {
+            LOGGER.trace("Loading attribute definitions from [{}]", resource);
+            val json = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            LOGGER.trace("Loaded attribute definitions [{}] from [{}]", json, resource);
+            return MAPPER.readValue(JsonValue.readHjson(json).toString(), new TypeReference<Map<String, AttributeDefinition>>() {
+            });
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+            return Map.of();
+        }
+    }
+
     @Override
     @CanIgnoreReturnValue
     public AttributeDefinitionStore registerAttributeDefinition(final AttributeDefinition definition) {
@@ -92,7 +112,9 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
     public AttributeDefinitionStore registerAttributeDefinition(final String key, final AttributeDefinition definition) {
         LOGGER.trace("Registering attribute definition [{}] by key [{}]", definition, key);
         val keyToUse = getAttributeDefinitionKey(key, definition);
-        attributeDefinitions.putIfAbsent(keyToUse, definition);
+        if (attributeDefinitions.putIfAbsent(keyToUse, definition) == null) {
+            indexAttributeDefinitionByName(definition);
+        }
         return this;
     }
 
@@ -103,6 +125,7 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
 
         if (this.attributeDefinitions.containsKey(key)) {
             val definition = this.attributeDefinitions.remove(key);
+            unindexAttributeDefinitionByName(definition);
             LOGGER.debug("Attribute definition [{}] has been removed from the definition store", definition);
         } else {
             LOGGER.debug("Attribute definition with the registered key [{}] was not found and the store was not altered", key);
@@ -112,12 +135,8 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
 
     @Override
     public Optional<AttributeDefinition> locateAttributeDefinitionByName(final String name) {
-        return attributeDefinitions
-            .values()
-            .stream()
-            .filter(entry -> StringUtils.isNotBlank(entry.getName()))
-            .filter(entry -> entry.getName().equalsIgnoreCase(name))
-            .findFirst();
+        val nameKey = getAttributeDefinitionNameKey(name);
+        return nameKey != null ? Optional.ofNullable(attributeDefinitionsByName.get(nameKey)) : Optional.empty();
     }
 
     @Override
@@ -208,18 +227,44 @@ public class DefaultAttributeDefinitionStore implements AttributeDefinitionStore
         close();
     }
 
-    private void loadAttributeDefinitionsFromInputStream(final Resource resource) {
-        try {
-            LOGGER.trace("Loading attribute definitions from [{}]", resource);
-            val json = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            LOGGER.trace("Loaded attribute definitions [{}] from [{}]", json, resource);
-            val map = MAPPER.readValue(JsonValue.readHjson(json).toString(), new TypeReference<Map<String, AttributeDefinition>>() {
-            });
-            map.forEach(this::registerAttributeDefinition);
-        } catch (final Exception e) {
-            LoggingUtils.warn(LOGGER, e);
-        } finally {
-            LOGGER.debug("Loaded [{}] attribute definition(s).", attributeDefinitions.size());
+    private void indexAttributeDefinitionByName(final AttributeDefinition definition) {
+        val nameKey = getAttributeDefinitionNameKey(definition.getName());
+        if (nameKey != null) {
+            attributeDefinitionsByName.putIfAbsent(nameKey, definition);
+        }
+    }
+
+    private void unindexAttributeDefinitionByName(final AttributeDefinition definition) {
+        val nameKey = getAttributeDefinitionNameKey(definition.getName());
+        if (nameKey != null && attributeDefinitionsByName.remove(nameKey, definition)) {
+            attributeDefinitions.values()
+                .stream()
+                .filter(entry -> nameKey.equals(getAttributeDefinitionNameKey(entry.getName())))
+                .findFirst()
+                .ifPresent(this::indexAttributeDefinitionByName);
         }
     }
+
+    private void loadAttributeDefinitionsFromInputStream(final Resource resource) {
+        readAttributeDefinitions(resource).forEach(this::registerAttributeDefinition);
+        LOGGER.debug("Loaded [{}] attribute definition(s).", attributeDefinitions.size());
+    }
+
+    /**
+     * Reload attribute definitions once the store file has changed. Definitions read from the file
+     * replace existing definitions registered under the same key, and are compiled again when next resolved.
+     *
+     * @param resource the resource
+     */
+    private void reloadAttributeDefinitionsFromInputStream(final Resource resource) {
+        readAttributeDefinitions(resource).forEach((key, definition) -> {
+            val keyToUse = getAttributeDefinitionKey(key, definition);
+            val previousDefinition = attributeDefinitions.put(keyToUse, definition);
+            if (previousDefinition != null) {
+                unindexAttributeDefinitionByName(previousDefinition);
+            }
+            indexAttributeDefinitionByName(definition);
+        });
+        LOGGER.debug("Reloaded [{}] attribute definition(s).", attributeDefinitions.size());
+    }
 }
@@ -0,0 +1,242 @@
+package org.apereo.cas.throttle;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.support.ThrottledSubmission;
+import org.apereo.cas.web.support.ThrottledSubmissionsStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionsStore}. It counts submissions for each throttling key
+ * in a sliding window that is divided into a fixed number of buckets, where each bucket packs its time slot
+ * and its count into a single word that is updated without locks. Recording a submission and checking the
+ * submission rate for a key take constant time, regardless of how many keys are tracked.
+ * <p>
+ * Keys are spread across a number of stripes. Each stripe tracks a bounded number of keys, and idle keys are
+ * removed incrementally as submissions are recorded and as the store is released, rather than by scanning
+ * all keys at once. Keys that still count submissions in their window or that are locked out are never evicted;
+ * once a stripe is full and no idle key can be found, submissions for new keys are refused and counted
+ * until room becomes available.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class SlidingWindowThrottledSubmissionsStore implements ThrottledSubmissionsStore<ThrottledSubmission> {
+    private static final int COUNT_BITS = 20;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final int SWEEP_BATCH_SIZE = 8;
+
+    private static final int RELEASE_BATCH_SIZE = 1024;
+
+    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+
+    private final Stripe[] stripes;
+
+    private final int bucketCount;
+
+    private final long bucketMillis;
+
+    private final long windowMillis;
+
+    private final int stripeCapacity;
+
+    private final Clock clock;
+
+    private final Counter refused;
+
+    public SlidingWindowThrottledSubmissionsStore(final CasConfigurationProperties casProperties) {
+        this(casProperties, Clock.systemUTC());
+    }
+
+    public SlidingWindowThrottledSubmissionsStore(final CasConfigurationProperties casProperties, final Clock clock) {
+        this(casProperties, clock, Metrics.globalRegistry);
+    }
+
+    public SlidingWindowThrottledSubmissionsStore(final CasConfigurationProperties casProperties, final Clock clock,
+                                                  final MeterRegistry meterRegistry) {
+        val throttle = casProperties.getAuthn().getThrottle();
+        val slidingWindow = throttle.getSlidingWindow();
+        this.clock = clock;
+        this.bucketCount = Math.max(1, slidingWindow.getBuckets());
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, throttle.getFailure().getRangeSeconds()));
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        val stripeCount = Integer.highestOneBit(Math.max(1, slidingWindow.getStripes()));
+        this.stripeCapacity = Math.max(1, slidingWindow.getMaximumKeys() / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        Arrays.setAll(stripes, index -> new Stripe());
+        this.refused = Counter.builder("cas.throttle.sliding-window.refused")
+            .description("Number of submissions refused because no idle throttling key could be evicted")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void removeIf(final Predicate<ThrottledSubmission> condition) {
+        for (val stripe : stripes) {
+            stripe.windows.values().removeIf(window -> window.submission != null && condition.test(window.submission));
+        }
+    }
+
+    @Override
+    public void remove(final String key) {
+        getStripe(key).windows.remove(key);
+    }
+
+    @Override
+    public void put(final ThrottledSubmission submission) {
+        val now = clock.millis();
+        val stripe = getStripe(submission.getKey());
+        var window = stripe.windows.get(submission.getKey());
+        if (window == null) {
+            if (stripe.windows.size() >= stripeCapacity && !stripe.evict(now)) {
+                LOGGER.debug("Unable to track submission for [{}]; all throttling keys in its stripe are active", submission.getKey());
+                refused.increment();
+                return;
+            }
+            window = stripe.windows.computeIfAbsent(submission.getKey(), key -> new SlidingWindow());
+        }
+        window.record(now);
+        window.submission = submission;
+        stripe.sweep(now, SWEEP_BATCH_SIZE);
+    }
+
+    @Override
+    public boolean contains(final String key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public ThrottledSubmission get(final String key) {
+        val window = getStripe(key).windows.get(key);
+        return window == null || window.isIdle(clock.millis()) ? null : window.submission;
+    }
+
+    @Override
+    public Stream<ThrottledSubmission> entries() {
+        val now = clock.millis();
+        return Arrays.stream(stripes)
+            .flatMap(stripe -> stripe.windows.values().stream())
+            .filter(window -> !window.isIdle(now))
+            .map(window -> window.submission);
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key, final double thresholdRate) {
+        val window = getStripe(key).windows.get(key);
+        if (window == null) {
+            return false;
+        }
+        val count = window.count(clock.millis());
+        val rate = count * SUBMISSION_RATE_DIVIDEND / windowMillis;
+        LOGGER.debug("Submission rate for [{}] is [{}] with [{}] submission(s) in the sliding window", key, rate, count);
+        return rate > thresholdRate;
+    }
+
+    @Override
+    public void release(final double thresholdRate) {
+        val now = clock.millis();
+        for (val stripe : stripes) {
+            stripe.sweep(now, RELEASE_BATCH_SIZE);
+        }
+    }
+
+    private Stripe getStripe(final String key) {
+        val hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private final class Stripe {
+        private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        private Iterator<SlidingWindow> cursor = Collections.emptyIterator();
+
+        void sweep(final long now, final int limit) {
+            if (sweeping.compareAndSet(false, true)) {
+                try {
+                    for (var i = 0; i < limit && advance(); i++) {
+                        if (cursor.next().isIdle(now)) {
+                            cursor.remove();
+                        }
+                    }
+                } finally {
+                    sweeping.set(false);
+                }
+            }
+        }
+
+        boolean evict(final long now) {
+            sweep(now, SWEEP_BATCH_SIZE * SWEEP_BATCH_SIZE);
+            return windows.size() < stripeCapacity;
+        }
+
+        private boolean advance() {
+            if (!cursor.hasNext()) {
+                cursor = windows.values().iterator();
+            }
+            return cursor.hasNext();
+        }
+    }
+
+    private final class SlidingWindow {
+        private final AtomicLongArray buckets = new AtomicLongArray(bucketCount);
+
+        private volatile ThrottledSubmission submission;
+
+        void record(final long now) {
+            val slot = now / bucketMillis;
+            val index = (int) (slot % bucketCount);
+            while (true) {
+                val current = buckets.get(index);
+                val currentSlot = current >>> COUNT_BITS;
+                if (currentSlot > slot) {
+                    return;
+                }
+                val updated = currentSlot == slot
+                    ? current + Math.min(1, COUNT_MASK - (current & COUNT_MASK))
+                    : (slot << COUNT_BITS) | 1;
+                if (buckets.compareAndSet(index, current, updated)) {
+                    return;
+                }
+            }
+        }
+
+        long count(final long now) {
+            val oldestSlot = now / bucketMillis - bucketCount;
+            var count = 0L;
+            for (var i = 0; i < bucketCount; i++) {
+                val bucket = buckets.get(i);
+                if ((bucket >>> COUNT_BITS) > oldestSlot) {
+                    count += bucket & COUNT_MASK;
+                }
+            }
+            return count;
+        }
+
+        boolean isIdle(final long now) {
+            val current = submission;
+            val locked = current != null && current.getExpiration() != null
+                && current.getExpiration().toInstant().toEpochMilli() > now;
+            return !locked && count(now) == 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.apereo.cas.throttle;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.support.ThrottledSubmission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionsStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("AuthenticationThrottling")
+class SlidingWindowThrottledSubmissionsStoreTests {
+    private static final double THRESHOLD_RATE = 3 / 10.0;
+
+    private static CasConfigurationProperties getCasProperties(final int maximumKeys) {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getAuthn().getThrottle().getFailure().setRangeSeconds(10);
+        casProperties.getAuthn().getThrottle().getSlidingWindow()
+            .setEnabled(true)
+            .setBuckets(10)
+            .setStripes(4)
+            .setMaximumKeys(maximumKeys);
+        return casProperties;
+    }
+
+    private static Clock getClock(final AtomicLong currentTime) {
+        val clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> currentTime.get());
+        return clock;
+    }
+
+    @Test
+    void verifyThresholdInSlidingWindow() throws Throwable {
+        val currentTime = new AtomicLong(System.currentTimeMillis());
+        val store = new SlidingWindowThrottledSubmissionsStore(getCasProperties(1000), getClock(currentTime));
+        val key = UUID.randomUUID().toString();
+        assertFalse(store.exceedsThreshold(key, THRESHOLD_RATE));
+
+        IntStream.range(0, 3).forEach(i -> {
+            store.put(ThrottledSubmission.builder().key(key).build());
+            currentTime.addAndGet(TimeUnit.SECONDS.toMillis(1));
+        });
+        assertFalse(store.exceedsThreshold(key, THRESHOLD_RATE));
+        store.put(ThrottledSubmission.builder().key(key).build());
+        assertTrue(store.exceedsThreshold(key, THRESHOLD_RATE));
+        assertTrue(store.contains(key));
+        assertEquals(1, store.entries().count());
+
+        currentTime.addAndGet(TimeUnit.SECONDS.toMillis(8));
+        assertFalse(store.exceedsThreshold(key, THRESHOLD_RATE));
+
+        currentTime.addAndGet(TimeUnit.SECONDS.toMillis(10));
+        assertNull(store.get(key));
+        store.release(THRESHOLD_RATE);
+        assertEquals(0, store.entries().count());
+    }
+
+    @Test
+    void verifyThrottledWindowKeepsEntry() throws Throwable {
+        val currentTime = new AtomicLong(System.currentTimeMillis());
+        val store = new SlidingWindowThrottledSubmissionsStore(getCasProperties(1000), getClock(currentTime));
+        val key = UUID.randomUUID().toString();
+        val expiration = Instant.ofEpochMilli(currentTime.get()).plusSeconds(60).atZone(ZoneOffset.UTC);
+        store.put(ThrottledSubmission.builder().key(key).expiration(expiration).build());
+        currentTime.addAndGet(TimeUnit.SECONDS.toMillis(30));
+        store.release(THRESHOLD_RATE);
+        assertEquals(expiration, store.get(key).getExpiration());
+        store.removeIf(entry -> entry.getKey().equals(key));
+        assertFalse(store.contains(key));
+    }
+
+    @Test
+    void verifyMaximumKeys() throws Throwable {
+        val currentTime = new AtomicLong(System.currentTimeMillis());
+        val store = new SlidingWindowThrottledSubmissionsStore(getCasProperties(8), getClock(currentTime));
+        IntStream.range(0, 1000).forEach(i -> store.put(ThrottledSubmission.builder().key("key-" + i).build()));
+        assertTrue(store.entries().count() <= 8);
+        store.remove("key-999");
+        assertFalse(store.contains("key-999"));
+    }
+
+    @Test
+    void verifyLockedKeysAreNeverEvicted() throws Throwable {
+        val currentTime = new AtomicLong(System.currentTimeMillis());
+        val meterRegistry = new SimpleMeterRegistry();
+        val store = new SlidingWindowThrottledSubmissionsStore(getCasProperties(4), getClock(currentTime), meterRegistry);
+        val expiration = Instant.ofEpochMilli(currentTime.get()).plusSeconds(60).atZone(ZoneOffset.UTC);
+        IntStream.range(0, 4).forEach(i -> store.put(ThrottledSubmission.builder().key("locked-" + i).expiration(expiration).build()));
+        val locked = store.entries().map(ThrottledSubmission::getKey).toList();
+
+        currentTime.addAndGet(TimeUnit.SECONDS.toMillis(30));
+        IntStream.range(0, 1000).forEach(i -> store.put(ThrottledSubmission.builder().key("key-" + i).build()));
+        locked.forEach(key -> assertEquals(expiration, store.get(key).getExpiration()));
+        assertTrue(meterRegistry.get("cas.throttle.sliding-window.refused").counter().count() > 0);
+
+        currentTime.addAndGet(TimeUnit.SECONDS.toMillis(60));
+        store.put(ThrottledSubmission.builder().key("key-0").build());
+        assertTrue(store.contains("key-0"));
+    }
+}
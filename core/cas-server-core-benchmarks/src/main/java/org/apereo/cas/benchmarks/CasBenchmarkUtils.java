@@ -0,0 +1,94 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.metadata.BasicCredentialMetadata;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.services.CasRegisteredService;
+import org.apereo.cas.services.FullRegexRegisteredServiceMatchingStrategy;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.function.FunctionUtils;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link CasBenchmarkUtils}, which builds the fixtures shared by benchmarks.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@UtilityClass
+public class CasBenchmarkUtils {
+    private static final DefaultUniqueTicketIdGenerator TICKET_ID_GENERATOR = new DefaultUniqueTicketIdGenerator();
+
+    /**
+     * Build an authentication for the given principal id, with a handful of attributes.
+     *
+     * @param principalId the principal id
+     * @return the authentication
+     */
+    public static Authentication getAuthentication(final String principalId) {
+        val attributes = Map.<String, List<Object>>of(
+            "email", List.of(principalId + "@example.org"),
+            "memberOf", List.of("staff", "faculty"),
+            "givenName", List.of(principalId));
+        val principal = FunctionUtils.doUnchecked(() -> PrincipalFactoryUtils.newPrincipalFactory().createPrincipal(principalId, attributes));
+        val credential = new UsernamePasswordCredential(principalId, "Mellon");
+        credential.setCredentialMetadata(new BasicCredentialMetadata(credential));
+        return DefaultAuthenticationBuilder.newInstance(principal)
+            .addCredential(credential)
+            .addSuccess("BenchmarkAuthenticationHandler",
+                new DefaultAuthenticationHandlerExecutionResult("BenchmarkAuthenticationHandler", credential, principal, new ArrayList<>(0)))
+            .build();
+    }
+
+    /**
+     * Build a ticket-granting ticket with a unique id.
+     *
+     * @param authentication   the authentication
+     * @param expirationPolicy the expiration policy
+     * @return the ticket-granting ticket
+     */
+    public static TicketGrantingTicket getTicketGrantingTicket(final Authentication authentication,
+                                                               final ExpirationPolicy expirationPolicy) {
+        val id = TICKET_ID_GENERATOR.getNewTicketId(TicketGrantingTicket.PREFIX);
+        return new TicketGrantingTicketImpl(id, authentication, expirationPolicy);
+    }
+
+    /**
+     * Service id that is matched by the registered service built for the given index.
+     *
+     * @param index the index
+     * @return the service id
+     */
+    public static String getServiceId(final int index) {
+        return "https://app" + index + ".example.org/cas/login";
+    }
+
+    /**
+     * Build a registered service whose regular expression
+     * matches {@link #getServiceId(int)} for the same index.
+     *
+     * @param index the index
+     * @return the registered service
+     */
+    public static CasRegisteredService getRegisteredService(final int index) {
+        val registeredService = new CasRegisteredService();
+        registeredService.setId(index);
+        registeredService.setName("Application" + index);
+        registeredService.setServiceId("^https://app" + index + "\\.example\\.org/.*");
+        registeredService.setEvaluationOrder(index);
+        registeredService.setMatchingStrategy(new FullRegexRegisteredServiceMatchingStrategy());
+        return registeredService;
+    }
+}
@@ -0,0 +1,104 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CipherExecutorBenchmarks}, measuring encoding and decoding of a
+ * serialized ticket-granting ticket using the cipher that protects the ticket-granting
+ * cookie and the cipher that protects tickets in distributed ticket registries.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CipherExecutorBenchmarks {
+    private TicketGrantingCookieCipherExecutor cookieCipherExecutor;
+
+    private DefaultTicketCipherExecutor ticketCipherExecutor;
+
+    private String content;
+
+    private String encodedCookie;
+
+    private byte[] encodedTicket;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val serializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        val ticket = CasBenchmarkUtils.getTicketGrantingTicket(CasBenchmarkUtils.getAuthentication("casuser"),
+            new HardTimeoutExpirationPolicy(TimeUnit.HOURS.toSeconds(8)));
+        content = serializationManager.serializeTicket(ticket);
+
+        cookieCipherExecutor = new TicketGrantingCookieCipherExecutor();
+        encodedCookie = cookieCipherExecutor.encode(content);
+
+        ticketCipherExecutor = new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "registry");
+        encodedTicket = ticketCipherExecutor.encode(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sign and encrypt the content as a JWT.
+     *
+     * @return the encoded content
+     */
+    @Benchmark
+    public String encodeCookie() {
+        return cookieCipherExecutor.encode(content);
+    }
+
+    /**
+     * Verify and decrypt the content from a JWT.
+     *
+     * @return the decoded content
+     */
+    @Benchmark
+    public Serializable decodeCookie() {
+        return cookieCipherExecutor.decode(encodedCookie);
+    }
+
+    /**
+     * Encrypt and sign the content as bytes.
+     *
+     * @return the encoded content
+     */
+    @Benchmark
+    public byte[] encodeTicket() {
+        return ticketCipherExecutor.encode(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Verify and decrypt the content from bytes.
+     *
+     * @return the decoded content
+     */
+    @Benchmark
+    public byte[] decodeTicket() {
+        return ticketCipherExecutor.decode(encodedTicket);
+    }
+}
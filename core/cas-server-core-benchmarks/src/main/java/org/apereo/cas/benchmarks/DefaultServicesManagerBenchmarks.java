@@ -0,0 +1,140 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.DefaultServicesManagerRegisteredServiceLocator;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.ServicesManagerConfigurationContext;
+import org.apereo.cas.services.mgmt.DefaultRegisteredServiceMatchCache;
+import org.apereo.cas.services.mgmt.DefaultServicesManager;
+import org.apereo.cas.services.mgmt.RegisteredServiceMatchCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link DefaultServicesManagerBenchmarks}, measuring how quickly
+ * {@link DefaultServicesManager#findServiceBy(Service)} locates a definition
+ * among a large number of regular-expression based registered services.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DefaultServicesManagerBenchmarks {
+    private static final int SERVICE_POOL_SIZE = 10_000;
+
+    @Param({"1000", "10000", "50000"})
+    private int serviceCount;
+
+    @Param({"0", "10000"})
+    private int matchCacheSize;
+
+    private StaticApplicationContext applicationContext;
+
+    private ServicesManager servicesManager;
+
+    private Service[] services;
+
+    private Service lastService;
+
+    private Service unknownService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+
+        val registeredServices = IntStream.range(0, serviceCount)
+            .mapToObj(CasBenchmarkUtils::getRegisteredService)
+            .map(RegisteredService.class::cast)
+            .toList();
+        val matchCache = matchCacheSize > 0
+            ? new DefaultRegisteredServiceMatchCache(Caffeine.newBuilder().maximumSize(matchCacheSize).build(),
+                Set.of(), Set.of(), new SimpleMeterRegistry())
+            : RegisteredServiceMatchCache.noOp();
+        val context = ServicesManagerConfigurationContext.builder()
+            .serviceRegistry(new InMemoryServiceRegistry(applicationContext, registeredServices, List.of()))
+            .applicationContext(applicationContext)
+            .registeredServicesTemplatesManager(registeredService -> registeredService)
+            .environments(new HashSet<>(0))
+            .servicesCache(Caffeine.newBuilder().build())
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .registeredServiceMatchCache(matchCache)
+            .build();
+        servicesManager = new DefaultServicesManager(context);
+        servicesManager.load();
+
+        val serviceFactory = new WebApplicationServiceFactory();
+        services = new Service[SERVICE_POOL_SIZE];
+        for (var i = 0; i < SERVICE_POOL_SIZE; i++) {
+            services[i] = serviceFactory.createService(CasBenchmarkUtils.getServiceId(ThreadLocalRandom.current().nextInt(serviceCount)));
+        }
+        lastService = serviceFactory.createService(CasBenchmarkUtils.getServiceId(serviceCount - 1));
+        unknownService = serviceFactory.createService("https://unknown.example.net/cas/login");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * Locate a randomly selected, registered service.
+     *
+     * @return the registered service
+     */
+    @Benchmark
+    public RegisteredService findServiceByRandom() {
+        return servicesManager.findServiceBy(services[ThreadLocalRandom.current().nextInt(SERVICE_POOL_SIZE)]);
+    }
+
+    /**
+     * Locate the service with the lowest evaluation priority.
+     *
+     * @return the registered service
+     */
+    @Benchmark
+    public RegisteredService findServiceByLast() {
+        return servicesManager.findServiceBy(lastService);
+    }
+
+    /**
+     * Locate a service that matches no definition.
+     *
+     * @return the registered service
+     */
+    @Benchmark
+    public RegisteredService findServiceByUnknown() {
+        return servicesManager.findServiceBy(unknownService);
+    }
+}
@@ -0,0 +1,107 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DefaultTicketRegistryBenchmarks}, measuring
+ * add, get and delete operations of {@link DefaultTicketRegistry}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DefaultTicketRegistryBenchmarks {
+    private static final int POOL_SIZE = 100_000;
+
+    @Param("100000")
+    private int ticketCount;
+
+    private TicketRegistry ticketRegistry;
+
+    private String[] ticketIds;
+
+    private Ticket[] ticketPool;
+
+    @Setup(Level.Iteration)
+    public void setup() throws Throwable {
+        val serializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        ticketRegistry = new DefaultTicketRegistry(serializationManager, new DefaultTicketCatalog());
+        val authentication = CasBenchmarkUtils.getAuthentication("casuser");
+        val expirationPolicy = new HardTimeoutExpirationPolicy(TimeUnit.HOURS.toSeconds(8));
+
+        ticketIds = new String[ticketCount];
+        for (var i = 0; i < ticketCount; i++) {
+            val ticket = CasBenchmarkUtils.getTicketGrantingTicket(authentication, expirationPolicy);
+            ticketRegistry.addTicket(ticket);
+            ticketIds[i] = ticket.getId();
+        }
+        ticketPool = new Ticket[POOL_SIZE];
+        for (var i = 0; i < POOL_SIZE; i++) {
+            ticketPool[i] = CasBenchmarkUtils.getTicketGrantingTicket(authentication, expirationPolicy);
+        }
+    }
+
+    /**
+     * Add a ticket from a pool of tickets that were not loaded into the registry.
+     *
+     * @throws Throwable the throwable
+     */
+    @Benchmark
+    public void addTicket() throws Throwable {
+        val ticket = ticketPool[ThreadLocalRandom.current().nextInt(POOL_SIZE)];
+        ticketRegistry.addTicket(ticket);
+    }
+
+    /**
+     * Fetch an existing ticket by its id.
+     *
+     * @return the ticket
+     */
+    @Benchmark
+    public Ticket getTicket() {
+        val ticketId = ticketIds[ThreadLocalRandom.current().nextInt(ticketCount)];
+        return ticketRegistry.getTicket(ticketId, TicketGrantingTicket.class);
+    }
+
+    /**
+     * Add a ticket and delete it again, leaving the registry size unchanged.
+     *
+     * @return the number of deleted tickets
+     * @throws Throwable the throwable
+     */
+    @Benchmark
+    public int addAndDeleteTicket() throws Throwable {
+        val ticket = ticketPool[ThreadLocalRandom.current().nextInt(POOL_SIZE)];
+        ticketRegistry.addTicket(ticket);
+        return ticketRegistry.deleteTicket(ticket);
+    }
+}
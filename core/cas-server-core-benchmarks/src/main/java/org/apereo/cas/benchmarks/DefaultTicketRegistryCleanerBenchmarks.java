@@ -0,0 +1,81 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.util.lock.LockRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DefaultTicketRegistryCleanerBenchmarks}, measuring a single
+ * sweep of {@link DefaultTicketRegistryCleaner} over a large registry.
+ * Every iteration runs against a freshly populated registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class DefaultTicketRegistryCleanerBenchmarks {
+    @Param("1000000")
+    private int ticketCount;
+
+    @Param({"1", "10", "50"})
+    private int expiredPercentage;
+
+    private TicketRegistryCleaner ticketRegistryCleaner;
+
+    @Setup(Level.Iteration)
+    public void setup() throws Throwable {
+        val serializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        val ticketRegistry = new DefaultTicketRegistry(serializationManager, new DefaultTicketCatalog());
+        val authentication = CasBenchmarkUtils.getAuthentication("casuser");
+        val expirationPolicy = new HardTimeoutExpirationPolicy(TimeUnit.HOURS.toSeconds(8));
+        val expiredEvery = Math.max(1, 100 / expiredPercentage);
+        for (var i = 0; i < ticketCount; i++) {
+            val ticket = CasBenchmarkUtils.getTicketGrantingTicket(authentication, expirationPolicy);
+            if (i % expiredEvery == 0) {
+                ticket.markTicketExpired();
+            }
+            ticketRegistry.addTicket(ticket);
+        }
+        val cleaner = new DefaultTicketRegistryCleaner(LockRepository.noOp(), context -> List.of(), ticketRegistry);
+        cleaner.setMeterRegistry(new SimpleMeterRegistry());
+        ticketRegistryCleaner = cleaner;
+    }
+
+    /**
+     * Run one cleaner sweep.
+     *
+     * @return the number of removed tickets
+     */
+    @Benchmark
+    public int clean() {
+        return ticketRegistryCleaner.clean();
+    }
+}
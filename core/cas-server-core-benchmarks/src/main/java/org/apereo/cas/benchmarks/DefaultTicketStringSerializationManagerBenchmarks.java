@@ -0,0 +1,108 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link DefaultTicketStringSerializationManagerBenchmarks}, measuring
+ * string and binary round trips of a ticket-granting ticket through
+ * {@link DefaultTicketStringSerializationManager}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DefaultTicketStringSerializationManagerBenchmarks {
+    private TicketSerializationManager ticketSerializationManager;
+
+    private Ticket ticket;
+
+    private String serializedTicket;
+
+    private byte[] binaryTicket;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ticketSerializationManager = new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan());
+        val authentication = CasBenchmarkUtils.getAuthentication("casuser");
+        ticket = CasBenchmarkUtils.getTicketGrantingTicket(authentication, new HardTimeoutExpirationPolicy(TimeUnit.HOURS.toSeconds(8)));
+        serializedTicket = ticketSerializationManager.serializeTicket(ticket);
+        binaryTicket = ticketSerializationManager.serializeTicketToBinary(ticket);
+    }
+
+    /**
+     * Serialize the ticket as a string.
+     *
+     * @return the serialized ticket
+     */
+    @Benchmark
+    public String serializeTicket() {
+        return ticketSerializationManager.serializeTicket(ticket);
+    }
+
+    /**
+     * Deserialize the ticket from its string form.
+     *
+     * @return the ticket
+     */
+    @Benchmark
+    public Ticket deserializeTicket() {
+        return ticketSerializationManager.deserializeTicket(serializedTicket, TicketGrantingTicketImpl.class);
+    }
+
+    /**
+     * Serialize and deserialize the ticket as a string.
+     *
+     * @return the ticket
+     */
+    @Benchmark
+    public Ticket roundTripTicket() {
+        val content = ticketSerializationManager.serializeTicket(ticket);
+        return ticketSerializationManager.deserializeTicket(content, TicketGrantingTicketImpl.class);
+    }
+
+    /**
+     * Serialize and deserialize the ticket using the binary codec.
+     *
+     * @return the ticket
+     */
+    @Benchmark
+    public Ticket roundTripBinaryTicket() {
+        val content = ticketSerializationManager.serializeTicketToBinary(ticket);
+        return ticketSerializationManager.deserializeTicketFromBinary(content);
+    }
+
+    /**
+     * Deserialize the ticket using the binary codec.
+     *
+     * @return the ticket
+     */
+    @Benchmark
+    public Ticket deserializeBinaryTicket() {
+        return ticketSerializationManager.deserializeTicketFromBinary(binaryTicket);
+    }
+}
@@ -0,0 +1,108 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.configuration.model.core.cache.ExpiringSimpleCacheProperties;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.scripting.ExecutableCompiledGroovyScript;
+import org.apereo.cas.util.scripting.GroovyScriptResourceCacheManager;
+import org.apereo.cas.util.scripting.WatchableGroovyScriptResource;
+
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link GroovyScriptBenchmarks}, measuring the throughput of cached inline and external
+ * Groovy scripts when executed by many threads at the same time. Compare results across thread counts,
+ * i.e. {@code -PjmhArgs="-t 1"} and {@code -PjmhArgs="-t 8"}, to observe how execution scales with cores.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class GroovyScriptBenchmarks {
+    private static final String INLINE_SCRIPT = "groovy { attributes['uid'].get(0).toUpperCase() }";
+
+    private static final String EXTERNAL_SCRIPT = """
+        def run(Object[] args) {
+            def attributes = args[0]
+            return attributes['uid'].get(0).toUpperCase()
+        }
+        """;
+
+    private final Map<String, Object> attributes = Map.of("uid", List.of("casuser"));
+
+    private GroovyScriptResourceCacheManager cacheManager;
+
+    private WatchableGroovyScriptResource externalScript;
+
+    private File externalScriptFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        cacheManager = new GroovyScriptResourceCacheManager(new ExpiringSimpleCacheProperties().setDuration("PT8H"));
+        externalScriptFile = File.createTempFile("benchmark", ".groovy");
+        FileUtils.writeStringToFile(externalScriptFile, EXTERNAL_SCRIPT, StandardCharsets.UTF_8);
+        externalScript = new WatchableGroovyScriptResource(new FileSystemResource(externalScriptFile), false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        externalScript.close();
+        cacheManager.close();
+        FileUtils.deleteQuietly(externalScriptFile);
+    }
+
+    /**
+     * Resolve an inline script from the cache, and execute it with its own binding.
+     *
+     * @return the result
+     * @throws Throwable the throwable
+     */
+    @Benchmark
+    public String executeInlineScript() throws Throwable {
+        val script = cacheManager.resolveScriptableResource(INLINE_SCRIPT, INLINE_SCRIPT);
+        return executeWithBinding(script);
+    }
+
+    /**
+     * Execute a compiled external script.
+     *
+     * @return the result
+     * @throws Throwable the throwable
+     */
+    @Benchmark
+    public String executeExternalScript() throws Throwable {
+        return externalScript.execute(new Object[]{attributes}, String.class);
+    }
+
+    private String executeWithBinding(final ExecutableCompiledGroovyScript script) throws Throwable {
+        script.setBinding(CollectionUtils.wrap("attributes", attributes));
+        return script.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, String.class);
+    }
+}
@@ -0,0 +1,118 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.cas.web.flow.executor.CompactEncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.EncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.WebflowCipherBean;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link WebflowStateTranscoderBenchmarks}, measuring encoding and decoding of client-side
+ * webflow state that carries a credential, an authentication and a service, using the default
+ * serialized and gzipped encoding and the compact encoding. The size of each encoded form is logged
+ * when the benchmark is set up.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WebflowStateTranscoderBenchmarks {
+    private EncryptedTranscoder encryptedTranscoder;
+
+    private CompactEncryptedTranscoder compactTranscoder;
+
+    private LocalAttributeMap<Object> flowScope;
+
+    private byte[] encodedState;
+
+    private byte[] compactEncodedState;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        val cipherExecutor = new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16, "webflow");
+        val cipherBean = new WebflowCipherBean(cipherExecutor);
+        encryptedTranscoder = new EncryptedTranscoder(cipherBean);
+        compactTranscoder = new CompactEncryptedTranscoder(cipherBean);
+
+        val authentication = CasBenchmarkUtils.getAuthentication("casuser");
+        flowScope = new LocalAttributeMap<>();
+        flowScope.put("credential", authentication.getCredentials().getFirst());
+        flowScope.put("authentication", authentication);
+        flowScope.put("service", CasBenchmarkUtils.getServiceId(1));
+        flowScope.put("ticketGrantingTicketId", "TGT-1-abcdefghijklmnopqrstuvwxyz-cas");
+        flowScope.put("customLoginFormFields", new ArrayList<>(List.of("phone", "email")));
+
+        encodedState = encryptedTranscoder.encode(flowScope);
+        compactEncodedState = compactTranscoder.encode(flowScope);
+        LOGGER.info("Encoded webflow state is [{}] bytes, and [{}] bytes in compact form",
+            encodedState.length, compactEncodedState.length);
+    }
+
+    /**
+     * Encode the flow state as serialized and gzipped data.
+     *
+     * @return the encoded state
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return encryptedTranscoder.encode(flowScope);
+    }
+
+    /**
+     * Decode the flow state from serialized and gzipped data.
+     *
+     * @return the decoded state
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public Object decode() throws Exception {
+        return encryptedTranscoder.decode(encodedState);
+    }
+
+    /**
+     * Encode the flow state in compact form.
+     *
+     * @return the encoded state
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public byte[] encodeCompact() throws Exception {
+        return compactTranscoder.encode(flowScope);
+    }
+
+    /**
+     * Decode the flow state from compact form.
+     *
+     * @return the decoded state
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public Object decodeCompact() throws Exception {
+        return compactTranscoder.decode(compactEncodedState);
+    }
+}
@@ -17,6 +17,7 @@ import org.apereo.cas.util.http.HttpClient;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -48,6 +49,9 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
 
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    @Setter
+    private SingleLogoutMessageDispatcher singleLogoutMessageDispatcher;
+
     @Override
     public Collection<SingleLogoutRequestContext> handle(final WebApplicationService singleLogoutService,
                                                          final String ticketId,
@@ -210,6 +214,9 @@ public abstract class BaseSingleLogoutServiceMessageHandler implements SingleLog
     protected boolean sendMessageToEndpoint(final LogoutHttpMessage msg,
                                             final SingleLogoutRequestContext request,
                                             final SingleLogoutMessage logoutMessage) {
+        if (asynchronous && singleLogoutMessageDispatcher != null) {
+            return singleLogoutMessageDispatcher.dispatch(request, logoutMessage);
+        }
         return this.httpClient.sendMessageToEndPoint(msg);
     }
 
@@ -0,0 +1,358 @@
+package org.apereo.cas.logout.slo;
+
+import org.apereo.cas.configuration.model.core.slo.SingleLogOutDispatcherProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutHttpMessage;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.event.EventListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link DefaultSingleLogoutMessageDispatcher}. Logout messages are written to a queue directory
+ * and grouped by the host of their logout url. Each host is served by a bounded number of concurrent deliveries,
+ * so a slow application cannot hold up logout messages sent to other applications. Failed deliveries are retried with
+ * exponential backoff until the maximum number of attempts is reached. Messages that are still pending when CAS stops
+ * remain in the queue directory and are delivered again once CAS starts and has loaded its registered services. A pending
+ * message is only restored if its logout url still belongs to the registered service it was sent for; other entries found
+ * in the queue directory are discarded. A message that is dispatched again to the same logout url while it is still pending
+ * is coalesced with the pending message. If no queue directory is defined, messages are only kept in memory.
+ * <p>
+ * Delivery latency is recorded as a timer histogram tagged by service and outcome.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class DefaultSingleLogoutMessageDispatcher implements SingleLogoutMessageDispatcher, InitializingBean, DisposableBean {
+    private static final String METER_PREFIX = "cas.slo.delivery";
+
+    private static final String FILE_EXTENSION = ".json";
+
+    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
+        .defaultTypingEnabled(false).build().toObjectMapper();
+
+    private final HttpClient httpClient;
+
+    private final ServicesManager servicesManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maximumConcurrencyPerHost;
+
+    private final int maximumAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maximumBackoff;
+
+    private final Path queueDirectory;
+
+    private final Map<String, EndpointQueue> endpoints = new ConcurrentHashMap<>();
+
+    private final Set<String> pendingDeliveries = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean restored = new AtomicBoolean();
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService retryExecutorService =
+        Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("slo-retry-", 0).factory());
+
+    public DefaultSingleLogoutMessageDispatcher(final HttpClient httpClient,
+                                                final ServicesManager servicesManager,
+                                                final SingleLogOutDispatcherProperties properties,
+                                                final MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.servicesManager = servicesManager;
+        this.meterRegistry = meterRegistry;
+        this.maximumConcurrencyPerHost = Math.max(1, properties.getMaximumConcurrencyPerHost());
+        this.maximumAttempts = Math.max(1, properties.getMaximumAttempts());
+        this.initialBackoff = Beans.newDuration(properties.getInitialBackoff());
+        this.maximumBackoff = Beans.newDuration(properties.getMaximumBackoff());
+        this.queueDirectory = StringUtils.isNotBlank(properties.getQueueDirectory())
+            ? Path.of(properties.getQueueDirectory())
+            : null;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (queueDirectory == null) {
+            LOGGER.info("No queue directory is defined; pending logout messages are kept in memory and will not survive restarts");
+            return;
+        }
+        Files.createDirectories(queueDirectory);
+        if (Files.getFileStore(queueDirectory).supportsFileAttributeView("posix")) {
+            Files.setPosixFilePermissions(queueDirectory, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+
+    /**
+     * Restore logout messages that are pending delivery in the queue directory,
+     * once registered services are loaded so that their logout urls can be verified.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void restorePendingDeliveries(final CasRegisteredServicesLoadedEvent event) {
+        restorePendingDeliveries();
+    }
+
+    /**
+     * Restore logout messages that are pending delivery in the queue directory.
+     * Messages whose logout url does not belong to their registered service are discarded.
+     * Pending messages are only restored once.
+     */
+    public void restorePendingDeliveries() {
+        if (queueDirectory == null || !Files.isDirectory(queueDirectory) || !restored.compareAndSet(false, true)) {
+            return;
+        }
+        try (val files = Files.list(queueDirectory)) {
+            files
+                .filter(file -> file.getFileName().toString().endsWith(FILE_EXTENSION))
+                .forEach(file -> {
+                    try {
+                        val delivery = MAPPER.readValue(file.toFile(), SingleLogoutDelivery.class);
+                        if (!isLogoutUrlAuthorized(delivery)) {
+                            LOGGER.warn("Discarding pending logout message from [{}]; [{}] is not a logout url of registered service [{}]",
+                                file, delivery.url(), delivery.registeredServiceId());
+                            FileUtils.deleteQuietly(file.toFile());
+                        } else if (pendingDeliveries.add(delivery.id())) {
+                            LOGGER.debug("Restoring pending logout message for [{}] to [{}]", delivery.service(), delivery.url());
+                            enqueue(delivery);
+                        }
+                    } catch (final Exception e) {
+                        LOGGER.warn("Unable to restore pending logout message from [{}]: [{}]", file, e.getMessage());
+                        FileUtils.deleteQuietly(file.toFile());
+                    }
+                });
+        } catch (final IOException e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+
+    @Override
+    public boolean dispatch(final SingleLogoutRequestContext request, final SingleLogoutMessage logoutMessage) {
+        if (executorService.isShutdown()) {
+            LOGGER.debug("Logout message to [{}] cannot be accepted for delivery once the dispatcher is shut down", request.getLogoutUrl());
+            return false;
+        }
+        val url = request.getLogoutUrl().toExternalForm();
+        val id = DigestUtils.sha256(url + '|' + logoutMessage.getPayload());
+        val registeredService = request.getRegisteredService();
+        val service = registeredService != null ? registeredService.getName() : request.getService().getId();
+        val registeredServiceId = registeredService != null ? registeredService.getId() : RegisteredService.INITIAL_IDENTIFIER_VALUE;
+        if (!pendingDeliveries.add(id)) {
+            LOGGER.debug("Logout message for [{}] to [{}] is already pending delivery", service, url);
+            Counter.builder(METER_PREFIX + ".coalesced")
+                .description("Number of logout messages coalesced with a pending delivery")
+                .tag("service", service)
+                .register(meterRegistry)
+                .increment();
+            return true;
+        }
+        val delivery = new SingleLogoutDelivery(id, url, logoutMessage.getPayload(), service, registeredServiceId, 0);
+        try {
+            persist(delivery);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to queue logout message for [{}] on disk; it will not survive restarts: [{}]", service, e.getMessage());
+        }
+        if (!enqueue(delivery)) {
+            pendingDeliveries.remove(id);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        retryExecutorService.shutdownNow();
+        executorService.shutdownNow();
+    }
+
+    protected boolean deliver(final SingleLogoutDelivery delivery) throws Exception {
+        val message = new LogoutHttpMessage(new URI(delivery.url()).toURL(), delivery.payload(), false);
+        return httpClient.sendMessageToEndPoint(message);
+    }
+
+    private boolean isLogoutUrlAuthorized(final SingleLogoutDelivery delivery) {
+        val registeredService = servicesManager.findServiceBy(delivery.registeredServiceId());
+        if (registeredService == null) {
+            return false;
+        }
+        val logoutUrls = SingleLogoutUrl.from(registeredService);
+        return logoutUrls.isEmpty()
+            ? registeredService.matches(delivery.url())
+            : logoutUrls.stream().anyMatch(logoutUrl -> logoutUrl.getUrl().equals(delivery.url()));
+    }
+
+    private boolean enqueue(final SingleLogoutDelivery delivery) {
+        if (executorService.isShutdown()) {
+            return false;
+        }
+        val host = URI.create(delivery.url()).getAuthority();
+        val endpoint = endpoints.computeIfAbsent(StringUtils.defaultString(host), key -> new EndpointQueue());
+        endpoint.deliveries.add(delivery);
+        endpoint.schedule();
+        return true;
+    }
+
+    private void send(final SingleLogoutDelivery delivery) {
+        val startTime = System.nanoTime();
+        var success = false;
+        try {
+            success = deliver(delivery);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        } finally {
+            Timer.builder(METER_PREFIX + ".latency")
+                .description("Time taken to deliver a back-channel logout message")
+                .tag("service", delivery.service())
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+        if (success) {
+            LOGGER.debug("Delivered logout message for [{}] to [{}]", delivery.service(), delivery.url());
+            complete(delivery);
+        } else {
+            retry(delivery);
+        }
+    }
+
+    private void retry(final SingleLogoutDelivery delivery) {
+        Counter.builder(METER_PREFIX + ".failures")
+            .description("Number of failed attempts to deliver a back-channel logout message")
+            .tag("service", delivery.service())
+            .register(meterRegistry)
+            .increment();
+        val attempts = delivery.attempts() + 1;
+        if (attempts >= maximumAttempts) {
+            LOGGER.warn("Unable to deliver logout message for [{}] to [{}] after [{}] attempt(s)", delivery.service(), delivery.url(), attempts);
+            complete(delivery);
+            return;
+        }
+        val next = new SingleLogoutDelivery(delivery.id(), delivery.url(), delivery.payload(),
+            delivery.service(), delivery.registeredServiceId(), attempts);
+        try {
+            persist(next);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to update pending logout message [{}]: [{}]", delivery.id(), e.getMessage());
+        }
+        val delay = Math.min(maximumBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempts - 1, Integer.SIZE - 2));
+        LOGGER.debug("Retrying logout message for [{}] to [{}] in [{}] ms", delivery.service(), delivery.url(), delay);
+        try {
+            retryExecutorService.schedule(() -> enqueue(next), delay, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Logout message for [{}] to [{}] cannot be retried once the dispatcher is shut down", delivery.service(), delivery.url());
+            pendingDeliveries.remove(delivery.id());
+        }
+    }
+
+    private void complete(final SingleLogoutDelivery delivery) {
+        if (queueDirectory != null) {
+            FileUtils.deleteQuietly(queueDirectory.resolve(delivery.id() + FILE_EXTENSION).toFile());
+        }
+        pendingDeliveries.remove(delivery.id());
+    }
+
+    private void persist(final SingleLogoutDelivery delivery) throws IOException {
+        if (queueDirectory != null) {
+            val file = queueDirectory.resolve(delivery.id() + FILE_EXTENSION);
+            val temporaryFile = Files.createTempFile(queueDirectory, delivery.id(), ".tmp");
+            try {
+                MAPPER.writeValue(temporaryFile.toFile(), delivery);
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+    }
+
+    /**
+     * A logout message pending delivery.
+     *
+     * @param id                  the id
+     * @param url                 the logout url
+     * @param payload             the logout message payload
+     * @param service             the service the message belongs to
+     * @param registeredServiceId the id of the registered service the message belongs to
+     * @param attempts            the number of failed attempts so far
+     */
+    protected record SingleLogoutDelivery(String id, String url, String payload, String service,
+                                          long registeredServiceId, int attempts) {
+    }
+
+    private final class EndpointQueue {
+        private final Queue<SingleLogoutDelivery> deliveries = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger activeDeliveries = new AtomicInteger();
+
+        void schedule() {
+            while (!deliveries.isEmpty()) {
+                val active = activeDeliveries.get();
+                if (active >= maximumConcurrencyPerHost) {
+                    return;
+                }
+                if (activeDeliveries.compareAndSet(active, active + 1)) {
+                    try {
+                        executorService.execute(this::drain);
+                    } catch (final RejectedExecutionException e) {
+                        LOGGER.debug("Pending logout messages are left in the queue once the dispatcher is shut down");
+                        activeDeliveries.decrementAndGet();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                var delivery = deliveries.poll();
+                while (delivery != null) {
+                    send(delivery);
+                    delivery = deliveries.poll();
+                }
+            } finally {
+                activeDeliveries.decrementAndGet();
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.apereo.cas.logout;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.slo.SingleLogOutDispatcherProperties;
+import org.apereo.cas.logout.slo.DefaultSingleLogoutMessageDispatcher;
+import org.apereo.cas.logout.slo.SingleLogoutMessage;
+import org.apereo.cas.logout.slo.SingleLogoutRequestContext;
+import org.apereo.cas.services.CasRegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.util.http.HttpClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.awaitility.Awaitility.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultSingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Logout")
+class DefaultSingleLogoutMessageDispatcherTests {
+    @TempDir
+    private File queueDirectory;
+
+    private CasRegisteredService registeredService;
+
+    private ServicesManager servicesManager;
+
+    private static SingleLogoutMessage getLogoutMessage() {
+        return SingleLogoutMessage.builder().payload(UUID.randomUUID().toString()).build();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        registeredService = RegisteredServiceTestUtils.getRegisteredService("https://slo.example.org/.*");
+        servicesManager = mock(ServicesManager.class);
+        when(servicesManager.findServiceBy(registeredService.getId())).thenReturn(registeredService);
+    }
+
+    private SingleLogoutRequestContext getRequestContext() throws Exception {
+        return DefaultSingleLogoutRequestContext.builder()
+            .ticketId(UUID.randomUUID().toString())
+            .service(CoreAuthenticationTestUtils.getWebApplicationService())
+            .registeredService(registeredService)
+            .logoutUrl(new URI("https://slo.example.org/logout").toURL())
+            .build();
+    }
+
+    private SingleLogOutDispatcherProperties getProperties() {
+        return new SingleLogOutDispatcherProperties()
+            .setEnabled(true)
+            .setMaximumAttempts(3)
+            .setInitialBackoff("PT0.01S")
+            .setMaximumBackoff("PT0.05S")
+            .setQueueDirectory(queueDirectory.getAbsolutePath());
+    }
+
+    private int countPendingFiles() {
+        return Objects.requireNonNull(queueDirectory.list((dir, name) -> name.endsWith(".json"))).length;
+    }
+
+    @Test
+    void verifyRetriedUntilDelivered() throws Throwable {
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any())).thenReturn(false, true);
+        val meterRegistry = new SimpleMeterRegistry();
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, servicesManager, getProperties(), meterRegistry);
+        try {
+            dispatcher.afterPropertiesSet();
+            assertTrue(dispatcher.dispatch(getRequestContext(), getLogoutMessage()));
+            await().untilAsserted(() -> verify(httpClient, times(2)).sendMessageToEndPoint(any()));
+            await().untilAsserted(() -> assertEquals(0, countPendingFiles()));
+            assertEquals(1, meterRegistry.get("cas.slo.delivery.failures").counter().count());
+            assertEquals(1, meterRegistry.get("cas.slo.delivery.latency").tag("outcome", "success").timer().count());
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyAbandonedAfterMaximumAttempts() throws Throwable {
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any())).thenReturn(false);
+        val meterRegistry = new SimpleMeterRegistry();
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, servicesManager, getProperties(), meterRegistry);
+        try {
+            dispatcher.afterPropertiesSet();
+            dispatcher.dispatch(getRequestContext(), getLogoutMessage());
+            await().untilAsserted(() -> assertEquals(3, meterRegistry.get("cas.slo.delivery.failures").counter().count()));
+            await().untilAsserted(() -> assertEquals(0, countPendingFiles()));
+            verify(httpClient, times(3)).sendMessageToEndPoint(any());
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyDuplicatesCoalesced() throws Throwable {
+        val latch = new CountDownLatch(1);
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any())).thenAnswer(invocation -> {
+            latch.await();
+            return true;
+        });
+        val meterRegistry = new SimpleMeterRegistry();
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, servicesManager, getProperties(), meterRegistry);
+        try {
+            dispatcher.afterPropertiesSet();
+            val request = getRequestContext();
+            val message = getLogoutMessage();
+            assertTrue(dispatcher.dispatch(request, message));
+            assertTrue(dispatcher.dispatch(request, message));
+            assertEquals(1, meterRegistry.get("cas.slo.delivery.coalesced").counter().count());
+            latch.countDown();
+            await().untilAsserted(() -> assertEquals(0, countPendingFiles()));
+            verify(httpClient, times(1)).sendMessageToEndPoint(any());
+        } finally {
+            latch.countDown();
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyPendingMessagesSurviveRestart() throws Throwable {
+        val properties = getProperties().setInitialBackoff("PT1H").setMaximumBackoff("PT1H");
+        val failingClient = mock(HttpClient.class);
+        when(failingClient.sendMessageToEndPoint(any())).thenReturn(false);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(failingClient, servicesManager, properties, new SimpleMeterRegistry());
+        dispatcher.afterPropertiesSet();
+        dispatcher.dispatch(getRequestContext(), getLogoutMessage());
+        await().untilAsserted(() -> verify(failingClient).sendMessageToEndPoint(any()));
+        dispatcher.destroy();
+        assertEquals(1, countPendingFiles());
+
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any())).thenReturn(true);
+        val restarted = new DefaultSingleLogoutMessageDispatcher(httpClient, servicesManager, properties, new SimpleMeterRegistry());
+        try {
+            restarted.afterPropertiesSet();
+            restarted.restorePendingDeliveries();
+            await().untilAsserted(() -> assertEquals(0, countPendingFiles()));
+            verify(httpClient).sendMessageToEndPoint(any());
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    @Test
+    void verifyPendingMessagesForUnknownLogoutUrlsDiscarded() throws Throwable {
+        val httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any())).thenReturn(true);
+        val pendingFile = new File(queueDirectory, "planted.json");
+        Files.writeString(pendingFile.toPath(), """
+            {"id":"planted","url":"https://internal.example.net/admin","payload":"payload",
+            "service":"planted","registeredServiceId":%s,"attempts":0}
+            """.formatted(registeredService.getId()), StandardCharsets.UTF_8);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, servicesManager, getProperties(), new SimpleMeterRegistry());
+        try {
+            dispatcher.afterPropertiesSet();
+            dispatcher.restorePendingDeliveries();
+            assertFalse(pendingFile.exists());
+            verify(httpClient, never()).sendMessageToEndPoint(any());
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void verifyNotAcceptedOnceShutDown() throws Throwable {
+        val httpClient = mock(HttpClient.class);
+        val dispatcher = new DefaultSingleLogoutMessageDispatcher(httpClient, servicesManager, getProperties(), new SimpleMeterRegistry());
+        dispatcher.afterPropertiesSet();
+        dispatcher.destroy();
+        assertFalse(dispatcher.dispatch(getRequestContext(), getLogoutMessage()));
+        assertEquals(0, countPendingFiles());
+        verify(httpClient, never()).sendMessageToEndPoint(any());
+    }
+}
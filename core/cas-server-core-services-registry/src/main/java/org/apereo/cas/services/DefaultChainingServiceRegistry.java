@@ -7,12 +7,15 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DefaultChainingServiceRegistry}.
@@ -64,6 +67,42 @@ public class DefaultChainingServiceRegistry extends AbstractServiceRegistry impl
             .collect(Collectors.toList());
     }
 
+    /**
+     * Collect changes from all registries in the chain. The change token issued
+     * by the chain carries the change tokens issued by each registry, in order.
+     * Changes are only reported as complete if every registry in the chain reports complete changes;
+     * otherwise, complete changes of a registry are treated as modifications of all of its service definitions.
+     *
+     * @param changeToken the change token issued by the previous call, or null
+     * @return the changes
+     */
+    @Override
+    public ServiceRegistryChanges loadChanges(final Serializable changeToken) {
+        val previousTokens = changeToken instanceof final ArrayList<?> tokens && tokens.size() == serviceRegistries.size()
+            ? tokens : null;
+        val changes = IntStream.range(0, serviceRegistries.size())
+            .mapToObj(index -> serviceRegistries.get(index).loadChanges(
+                previousTokens == null ? null : (Serializable) previousTokens.get(index)))
+            .toList();
+        val nextTokens = changes.stream()
+            .map(ServiceRegistryChanges::changeToken)
+            .collect(Collectors.toCollection(ArrayList::new));
+        val services = changes.stream()
+            .map(ServiceRegistryChanges::services)
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+        if (changes.stream().allMatch(ServiceRegistryChanges::complete)) {
+            return ServiceRegistryChanges.complete(services, nextTokens);
+        }
+        val identifiers = changes.stream()
+            .flatMap(change -> change.complete()
+                ? Stream.ofNullable(change.services()).flatMap(Collection::stream).map(RegisteredService::getId)
+                : change.identifiers().stream())
+            .collect(Collectors.toSet());
+        return ServiceRegistryChanges.incremental(services, identifiers, nextTokens);
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
         return serviceRegistries.stream()
@@ -1,5 +1,7 @@
 package org.apereo.cas.services;
 
+import org.apereo.cas.services.mgmt.RegisteredServiceMatchCache;
+
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.Builder;
 import lombok.Getter;
@@ -39,4 +41,7 @@ public class ServicesManagerConfigurationContext {
 
     @Nonnull
     private final RegisteredServicesTemplatesManager registeredServicesTemplatesManager;
+
+    @Builder.Default
+    private final RegisteredServiceMatchCache registeredServiceMatchCache = RegisteredServiceMatchCache.noOp();
 }
@@ -67,9 +67,11 @@ public class DefaultDomainAwareServicesManager extends AbstractServicesManager {
     protected void deleteInternal(final RegisteredService service) {
         val domain = registeredServiceDomainExtractor.extract(service.getServiceId());
         val entries = this.domains.get(domain);
-        entries.remove(service);
-        if (entries.isEmpty()) {
-            this.domains.remove(domain);
+        if (entries != null) {
+            entries.removeIf(s -> s.getId() == service.getId());
+            if (entries.isEmpty()) {
+                this.domains.remove(domain);
+            }
         }
     }
 
@@ -26,13 +26,16 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.context.ApplicationEvent;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -53,23 +56,11 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     private final CasReentrantLock lock = new CasReentrantLock();
 
-    private final IndexedCollection<RegisteredService> indexedRegisteredServices;
+    private final AtomicReference<RegisteredServicesSnapshot> registeredServicesSnapshot;
 
     protected AbstractServicesManager(final ServicesManagerConfigurationContext configurationContext) {
         this.configurationContext = configurationContext;
-
-        this.indexedRegisteredServices = new ConcurrentIndexedCollection<>();
-        configurationContext.getRegisteredServiceLocators()
-            .forEach(locator -> locator.getRegisteredServiceIndexes()
-                .stream()
-                .map(RegisteredServiceQueryIndex::getIndex)
-                .filter(AttributeIndex.class::isInstance)
-                .map(AttributeIndex.class::cast)
-                .forEach(index -> {
-                    LOGGER.debug("Adding registered service index [{}] supplied by [{}]",
-                        index.getAttribute().toString(), locator.getClass().getSimpleName());
-                    indexedRegisteredServices.addIndex(index);
-                }));
+        this.registeredServicesSnapshot = new AtomicReference<>(newRegisteredServicesSnapshot(Map.of(), null));
     }
 
     private static Predicate<RegisteredService> getRegisteredServicesFilteringPredicate(
@@ -148,6 +139,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
                 publishEvent(new CasRegisteredServicePreDeleteEvent(this, service, clientInfo));
                 configurationContext.getServiceRegistry().delete(service);
                 configurationContext.getServicesCache().invalidate(service.getId());
+                updateRegisteredServicesSnapshot(services -> services.remove(service.getId()));
                 deleteInternal(service);
                 publishEvent(new CasRegisteredServiceDeletedEvent(this, service, clientInfo));
             }
@@ -160,37 +152,12 @@ public abstract class AbstractServicesManager implements ServicesManager {
         if (service == null) {
             return null;
         }
-
-        val candidates = getCandidateServicesToMatch(service.getId());
-        var foundService = configurationContext.getRegisteredServiceLocators()
-            .stream()
-            .map(locator -> locator.locate(candidates, service))
-            .filter(registeredService -> validateRegisteredService(registeredService) != null)
-            .findFirst();
-
-        if (foundService.isEmpty()) {
-            val serviceRegistry = configurationContext.getServiceRegistry();
-            LOGGER.trace("Service [{}] is not cached; Searching [{}]", service.getId(), serviceRegistry.getName());
-            foundService = Optional.ofNullable(serviceRegistry.findServiceBy(service.getId()));
-            if (foundService.isPresent()) {
-                val registeredService = foundService.get();
-                foundService = configurationContext.getRegisteredServiceLocators()
-                    .stream()
-                    .filter(locator -> locator.supports(registeredService, service))
-                    .findFirst()
-                    .map(locator -> {
-                        LOGGER.debug("Service [{}] is found in service registry and can be supported by [{}]",
-                            registeredService, locator.getName());
-                        cacheRegisteredService(registeredService);
-                        LOGGER.trace("Service [{}] is now cached from [{}]", service, serviceRegistry.getName());
-                        return Optional.of(registeredService);
-                    })
-                    .orElseGet(Optional::empty);
-            }
-        }
-
-        foundService.ifPresent(RegisteredService::initialize);
-        return validateRegisteredService(foundService.orElse(null));
+        val foundService = configurationContext.getRegisteredServiceMatchCache().find(service,
+            this::locateRegisteredService, id -> Optional.ofNullable(configurationContext.getServicesCache().getIfPresent(id))
+                .filter(registeredService -> validateRegisteredService(registeredService) != null)
+                .orElse(null));
+        Optional.ofNullable(foundService).ifPresent(RegisteredService::initialize);
+        return validateRegisteredService(foundService);
     }
 
     @Override
@@ -318,15 +285,20 @@ public abstract class AbstractServicesManager implements ServicesManager {
     /**
      * For the duration of the read, the cache store should not remain empty.
      * Otherwise, lookup operations during that loading time window might produce
-     * unauthorized failure errors. Invalidation attempts must happen after the load
-     * to minimize chances of failures.
+     * unauthorized failure errors. Only services that have changed in the service registry
+     * since the previous load are processed; the resulting services and their index are
+     * published as a new snapshot at once, and services that are removed are invalidated
+     * only after the load to minimize chances of failures. Snapshots are never modified once
+     * published; saving or deleting a service publishes a copy that carries the change.
      */
     @Override
     public Collection<RegisteredService> load() {
         return lock.tryLock(() -> {
-            LOGGER.trace("Loading services from [{}]", configurationContext.getServiceRegistry().getName());
-            val servicesMap = configurationContext.getServiceRegistry()
-                .load()
+            val serviceRegistry = configurationContext.getServiceRegistry();
+            val currentSnapshot = registeredServicesSnapshot.get();
+            LOGGER.trace("Loading services from [{}]", serviceRegistry.getName());
+            val changes = serviceRegistry.loadChanges(currentSnapshot.changeToken());
+            val loadedServices = changes.services()
                 .stream()
                 .filter(this::supports)
                 .filter(this::validateAndFilterServiceByEnvironment)
@@ -339,25 +311,73 @@ public abstract class AbstractServicesManager implements ServicesManager {
                         service.getServiceId(), service.getName(), service.getId());
                     return service.getId();
                 }, Function.identity(), (__, service) -> service));
-            cacheRegisteredServices(servicesMap);
+
+            val servicesMap = new HashMap<Long, RegisteredService>();
+            if (!changes.complete()) {
+                val changedIdentifiers = changes.services()
+                    .stream()
+                    .map(RegisteredService::getId)
+                    .collect(Collectors.toSet());
+                currentSnapshot.services().values()
+                    .stream()
+                    .filter(service -> changes.identifiers().contains(service.getId()))
+                    .filter(service -> !changedIdentifiers.contains(service.getId()))
+                    .forEach(service -> servicesMap.put(service.getId(), service));
+            }
+            servicesMap.putAll(loadedServices);
+            val removedServices = currentSnapshot.services().values()
+                .stream()
+                .filter(service -> !servicesMap.containsKey(service.getId()))
+                .toList();
+            cacheRegisteredServices(servicesMap, removedServices, changes.changeToken());
             loadInternal();
             val clientInfo = ClientInfoHolder.getClientInfo();
             publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices(), clientInfo));
             evaluateExpiredServiceDefinitions();
 
             val results = configurationContext.getServicesCache().asMap();
-            LOGGER.info("Loaded [{}] service(s) from [{}].", results.size(),
-                configurationContext.getServiceRegistry().getName());
+            LOGGER.info("Loaded [{}] service(s) from [{}], where [{}] service(s) are added or modified and [{}] service(s) are removed.",
+                results.size(), serviceRegistry.getName(), loadedServices.size(), removedServices.size());
             return results.values();
         });
     }
 
-    private Map<Long, RegisteredService> cacheRegisteredServices(final Map<Long, RegisteredService> servicesMap) {
+    private void cacheRegisteredServices(final Map<Long, RegisteredService> servicesMap,
+                                         final Collection<RegisteredService> removedServices,
+                                         final Serializable changeToken) {
+        registeredServicesSnapshot.set(newRegisteredServicesSnapshot(servicesMap, changeToken));
         val servicesCache = configurationContext.getServicesCache();
-        servicesCache.invalidateAll();
         servicesCache.putAll(servicesMap);
-        indexedRegisteredServices.addAll(servicesMap.values());
-        return servicesCache.asMap();
+        removedServices.forEach(service -> {
+            servicesCache.invalidate(service.getId());
+            deleteInternal(service);
+        });
+    }
+
+    private RegisteredServicesSnapshot newRegisteredServicesSnapshot(final Map<Long, RegisteredService> services,
+                                                                     final Serializable changeToken) {
+        val indexedRegisteredServices = new ConcurrentIndexedCollection<RegisteredService>();
+        configurationContext.getRegisteredServiceLocators()
+            .forEach(locator -> locator.getRegisteredServiceIndexes()
+                .stream()
+                .map(RegisteredServiceQueryIndex::getIndex)
+                .filter(AttributeIndex.class::isInstance)
+                .map(AttributeIndex.class::cast)
+                .forEach(index -> {
+                    LOGGER.trace("Adding registered service index [{}] supplied by [{}]",
+                        index.getAttribute().toString(), locator.getClass().getSimpleName());
+                    indexedRegisteredServices.addIndex(index);
+                }));
+        indexedRegisteredServices.addAll(services.values());
+        return new RegisteredServicesSnapshot(Map.copyOf(services), indexedRegisteredServices, changeToken);
+    }
+
+    private void updateRegisteredServicesSnapshot(final Consumer<Map<Long, RegisteredService>> update) {
+        registeredServicesSnapshot.updateAndGet(snapshot -> {
+            val services = new HashMap<>(snapshot.services());
+            update.accept(services);
+            return newRegisteredServicesSnapshot(services, snapshot.changeToken());
+        });
     }
 
     @Override
@@ -376,6 +396,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         if (serviceQueries.isEmpty()) {
             return Stream.empty();
         }
+        val indexedRegisteredServices = registeredServicesSnapshot.get().index();
         if (serviceQueries.size() == 1) {
             try (val results = indexedRegisteredServices.retrieve(serviceQueries.getFirst())) {
                 return results.stream();
@@ -388,6 +409,46 @@ public abstract class AbstractServicesManager implements ServicesManager {
         }
     }
 
+    /**
+     * Locate the registered service that matches the given service,
+     * first among cached candidates and then in the service registry.
+     *
+     * @param service the service
+     * @return the registered service, or null
+     */
+    protected RegisteredService locateRegisteredService(final Service service) {
+        val candidates = getCandidateServicesToMatch(service.getId());
+        var foundService = configurationContext.getRegisteredServiceLocators()
+            .stream()
+            .map(locator -> locator.locate(candidates, service))
+            .filter(registeredService -> validateRegisteredService(registeredService) != null)
+            .findFirst();
+
+        if (foundService.isEmpty()) {
+            val serviceRegistry = configurationContext.getServiceRegistry();
+            LOGGER.trace("Service [{}] is not cached; Searching [{}]", service.getId(), serviceRegistry.getName());
+            foundService = Optional.ofNullable(serviceRegistry.findServiceBy(service.getId()));
+            if (foundService.isPresent()) {
+                val registeredService = foundService.get();
+                foundService = configurationContext.getRegisteredServiceLocators()
+                    .stream()
+                    .filter(locator -> locator.supports(registeredService, service))
+                    .findFirst()
+                    .map(locator -> {
+                        LOGGER.debug("Service [{}] is found in service registry and can be supported by [{}]",
+                            registeredService, locator.getName());
+                        cacheRegisteredService(registeredService);
+                        saveInternal(registeredService);
+                        LOGGER.trace("Service [{}] is now cached from [{}]", service, serviceRegistry.getName());
+                        return Optional.of(registeredService);
+                    })
+                    .orElseGet(Optional::empty);
+            }
+        }
+
+        return foundService.orElse(null);
+    }
+
     /**
      * Gets candidate services to match the service id.
      *
@@ -447,8 +508,8 @@ public abstract class AbstractServicesManager implements ServicesManager {
     private void cacheRegisteredService(final RegisteredService service) {
         if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
             configurationContext.getServicesCache().put(service.getId(), service);
-            indexedRegisteredServices.add(service);
         }
+        updateRegisteredServicesSnapshot(services -> services.put(service.getId(), service));
     }
 
     private void evaluateExpiredServiceDefinitions() {
@@ -526,4 +587,9 @@ public abstract class AbstractServicesManager implements ServicesManager {
             .findFirst()
             .orElse(null);
     }
+
+    private record RegisteredServicesSnapshot(Map<Long, RegisteredService> services,
+                                              IndexedCollection<RegisteredService> index,
+                                              Serializable changeToken) {
+    }
 }
@@ -0,0 +1,139 @@
+package org.apereo.cas.services.mgmt;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.ObjectUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * This is {@link DefaultRegisteredServiceMatchCache}, backed by a bounded Caffeine cache.
+ * Results are keyed by the service type, its identifier, its source and the values of those service attributes
+ * that service locators declare they consult (i.e. client ids) to pick a definition. Other attributes,
+ * such as arbitrary request parameters, are left out of the key. Keys are digested, so the values
+ * that make up a key are not kept in the cache. Only matches are cached; service requests that
+ * did not match any definition are always matched again, so definitions that show up later
+ * are found right away. Service requests that carry attributes whose values are unique to each request,
+ * such as SAML2 authentication requests, are never cached. Results that were computed while an invalidation
+ * was in flight are never cached.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class DefaultRegisteredServiceMatchCache implements RegisteredServiceMatchCache {
+    private static final String METER_PREFIX = "cas.service.registry.match-cache";
+
+    private final Cache<String, MatchResult> cache;
+
+    private final Set<String> serviceAttributeNames;
+
+    private final Set<String> requestScopedServiceAttributeNames;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter invalidations;
+
+    public DefaultRegisteredServiceMatchCache(final Cache<String, MatchResult> cache,
+                                              final Set<String> serviceAttributeNames,
+                                              final Set<String> requestScopedServiceAttributeNames,
+                                              final MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.serviceAttributeNames = new TreeSet<>(serviceAttributeNames);
+        this.requestScopedServiceAttributeNames = Set.copyOf(requestScopedServiceAttributeNames);
+        this.hits = Counter.builder(METER_PREFIX + ".hits")
+            .description("Number of service requests matched from the cache")
+            .register(meterRegistry);
+        this.misses = Counter.builder(METER_PREFIX + ".misses")
+            .description("Number of service requests matched against registered services")
+            .register(meterRegistry);
+        this.invalidations = Counter.builder(METER_PREFIX + ".invalidations")
+            .description("Number of times cached matches were invalidated")
+            .register(meterRegistry);
+    }
+
+    protected String buildCacheKey(final Service service) {
+        val attributes = ObjectUtils.defaultIfNull(service.getAttributes(), Map.of());
+        val key = new StringBuilder(service.getClass().getName()).append('|').append(service.getId());
+        if (service instanceof final WebApplicationService webApplicationService && webApplicationService.getSource() != null) {
+            key.append('|').append(webApplicationService.getSource())
+                .append('=').append(attributes.get(webApplicationService.getSource()));
+        }
+        serviceAttributeNames.forEach(name -> key.append('|').append(name).append('=').append(attributes.get(name)));
+        return DigestUtils.sha256(key.toString());
+    }
+
+    protected boolean isRequestScoped(final Service service) {
+        val attributes = ObjectUtils.defaultIfNull(service.getAttributes(), Map.of());
+        return requestScopedServiceAttributeNames.stream().anyMatch(attributes::containsKey);
+    }
+
+    @Override
+    public RegisteredService find(final Service service,
+                                  final Function<Service, RegisteredService> locator,
+                                  final LongFunction<RegisteredService> resolver) {
+        if (isRequestScoped(service)) {
+            misses.increment();
+            LOGGER.trace("Service [{}] carries request-scoped attributes and is not cached", service.getId());
+            return locator.apply(service);
+        }
+        val key = buildCacheKey(service);
+        val cached = cache.getIfPresent(key);
+        if (cached != null) {
+            val registeredService = resolver.apply(cached.registeredServiceId());
+            if (registeredService != null) {
+                hits.increment();
+                return registeredService;
+            }
+        }
+        misses.increment();
+        val currentVersion = version.get();
+        val registeredService = locator.apply(service);
+        if (registeredService != null) {
+            val result = new MatchResult(registeredService.getId());
+            cache.asMap().compute(key, (k, existing) -> version.get() == currentVersion ? result : existing);
+        }
+        return registeredService;
+    }
+
+    @Override
+    public void invalidate() {
+        version.incrementAndGet();
+        cache.invalidateAll();
+        invalidations.increment();
+    }
+
+    @Override
+    public void invalidate(final long registeredServiceId) {
+        version.incrementAndGet();
+        cache.asMap().values().removeIf(result -> result.registeredServiceId() == registeredServiceId);
+        invalidations.increment();
+    }
+
+    /**
+     * Cached outcome of matching a service request.
+     *
+     * @param registeredServiceId the matched registered service id
+     */
+    public record MatchResult(long registeredServiceId) {
+    }
+}
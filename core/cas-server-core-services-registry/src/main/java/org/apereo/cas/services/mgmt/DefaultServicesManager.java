@@ -5,19 +5,29 @@ import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.ServicesManagerConfigurationContext;
 
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Candidate services are looked up using a {@link RegisteredServiceMatchingIndex}
+ * that is updated as services are saved or deleted and rebuilt when services are loaded,
+ * so looking up candidates never has to inspect the services cache. Services that are
+ * not indexed yet are located in the service registry and indexed once found.
  *
  * @author Scott Battaglia
  * @since 3.1
  */
+@Slf4j
 @Monitorable
 public class DefaultServicesManager extends AbstractServicesManager {
 
+    private volatile RegisteredServiceMatchingIndex matchingIndex = new RegisteredServiceMatchingIndex();
+
     public DefaultServicesManager(final ServicesManagerConfigurationContext context) {
         super(context);
     }
@@ -31,8 +41,31 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return getCacheableServicesStream().get()
-            .sorted(Comparator.naturalOrder())
-            .collect(Collectors.toList());
+        return matchingIndex.getCandidates(serviceId);
+    }
+
+    @Override
+    protected void saveInternal(final RegisteredService service) {
+        val cachedService = configurationContext.getServicesCache().getIfPresent(service.getId());
+        if (cachedService != null) {
+            matchingIndex.add(cachedService);
+        }
+    }
+
+    @Override
+    protected void deleteInternal(final RegisteredService service) {
+        matchingIndex.remove(service.getId());
+    }
+
+    @Override
+    protected void loadInternal() {
+        rebuildMatchingIndex();
+    }
+
+    protected void rebuildMatchingIndex() {
+        val index = new RegisteredServiceMatchingIndex();
+        index.addAll(configurationContext.getServicesCache().asMap().values());
+        LOGGER.trace("Rebuilt registered service matching index with [{}] service(s)", index.size());
+        matchingIndex = index;
     }
 }
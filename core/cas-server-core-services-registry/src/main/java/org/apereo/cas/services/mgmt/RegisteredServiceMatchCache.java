@@ -0,0 +1,121 @@
+package org.apereo.cas.services.mgmt;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.spring.CasEventListener;
+
+import org.springframework.context.event.EventListener;
+
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * This is {@link RegisteredServiceMatchCache}. It memoizes the outcome of matching
+ * a service request against registered services, including requests for which
+ * no registered service could be found. Cached results are dropped whenever
+ * registered services are saved, deleted or loaded.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public interface RegisteredServiceMatchCache extends CasEventListener {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "registeredServiceMatchCache";
+
+    /**
+     * No-op match cache that always runs the given locator.
+     *
+     * @return the registered service match cache
+     */
+    static RegisteredServiceMatchCache noOp() {
+        return new RegisteredServiceMatchCache() {
+            @Override
+            public RegisteredService find(final Service service,
+                                          final Function<Service, RegisteredService> locator,
+                                          final LongFunction<RegisteredService> resolver) {
+                return locator.apply(service);
+            }
+
+            @Override
+            public void invalidate() {
+            }
+
+            @Override
+            public void invalidate(final long registeredServiceId) {
+            }
+        };
+    }
+
+    /**
+     * Find the registered service that matches the given service.
+     * On a cache miss, the locator is used to find the matching registered service;
+     * on a hit, the cached registered service id is handed to the resolver. If the resolver
+     * is unable to produce a usable registered service, the locator is consulted again.
+     *
+     * @param service  the service
+     * @param locator  the locator
+     * @param resolver the resolver
+     * @return the registered service, or null if none matches
+     */
+    RegisteredService find(Service service,
+                           Function<Service, RegisteredService> locator,
+                           LongFunction<RegisteredService> resolver);
+
+    /**
+     * Invalidate all cached results.
+     */
+    void invalidate();
+
+    /**
+     * Invalidate cached results that point to the given registered service.
+     *
+     * @param registeredServiceId the registered service id
+     */
+    void invalidate(long registeredServiceId);
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    default void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    default void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidate(event.getRegisteredService().getId());
+    }
+
+    /**
+     * Handle registered services deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    default void handleRegisteredServicesDeletedEvent(final CasRegisteredServicesDeletedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Handle registered services loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    default void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidate();
+    }
+}
@@ -0,0 +1,289 @@
+package org.apereo.cas.services.mgmt;
+
+import org.apereo.cas.services.CasRegisteredService;
+import org.apereo.cas.services.FullRegexRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.LiteralRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}. It organizes registered services
+ * by the service identifiers their matching strategies are able to accept, so that
+ * candidates for a given service can be located without evaluating every definition.
+ * <p>
+ * Only CAS service definitions that use the literal or the full regex matching strategy
+ * are indexed. Literal service ids are kept in hash maps, while regular expressions
+ * are stored in a prefix trie keyed by their leading literal portion, if any.
+ * All other definitions are always returned as candidates. Candidates are sorted
+ * in their natural order, so the evaluation order of service definitions is preserved.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class RegisteredServiceMatchingIndex {
+    private static final String REGEX_METACHARACTERS = ".[]{}()*+?^$|";
+
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+
+    private final Map<Long, IndexedService> indexedServices = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<Long, RegisteredService>> literalServices = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<Long, RegisteredService>> caseInsensitiveLiteralServices = new ConcurrentHashMap<>();
+
+    private final TrieNode prefixedServices = new TrieNode();
+
+    private final Map<Long, RegisteredService> unindexedServices = new ConcurrentHashMap<>();
+
+    /**
+     * Extract the literal prefix that any value fully matched by the given
+     * regular expression must start with. Letters are returned in lower case,
+     * since service patterns are compiled to be case-insensitive.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or an empty string if none can be safely determined
+     */
+    public static String getLiteralPrefix(final String pattern) {
+        if (StringUtils.isBlank(pattern) || hasTopLevelAlternation(pattern)) {
+            return StringUtils.EMPTY;
+        }
+        val prefix = new StringBuilder();
+        var index = pattern.charAt(0) == '^' ? 1 : 0;
+        while (index < pattern.length()) {
+            val current = pattern.charAt(index);
+            if (current == '\\') {
+                if (index + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(index + 1))) {
+                    break;
+                }
+                prefix.append(pattern.charAt(index + 1));
+                index += 2;
+            } else if (REGEX_METACHARACTERS.indexOf(current) >= 0) {
+                if (REGEX_QUANTIFIERS.indexOf(current) >= 0 && !prefix.isEmpty()) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            } else {
+                prefix.append(current);
+                index++;
+            }
+        }
+        return toLowerCaseAscii(prefix);
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        var groups = 0;
+        var classes = 0;
+        for (var index = 0; index < pattern.length(); index++) {
+            val current = pattern.charAt(index);
+            if (current == '\\') {
+                if (index + 1 < pattern.length() && pattern.charAt(index + 1) == 'Q') {
+                    return true;
+                }
+                index++;
+            } else if (current == '[') {
+                classes++;
+            } else if (current == ']' && classes > 0) {
+                classes--;
+            } else if (classes == 0) {
+                if (current == '(') {
+                    groups++;
+                } else if (current == ')') {
+                    groups--;
+                } else if (current == '|' && groups <= 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String toLowerCaseAscii(final CharSequence value) {
+        val result = new StringBuilder(value.length());
+        for (var index = 0; index < value.length(); index++) {
+            val current = value.charAt(index);
+            result.append(current >= 'A' && current <= 'Z' ? (char) (current + ('a' - 'A')) : current);
+        }
+        return result.toString();
+    }
+
+    private static String foldCase(final String value) {
+        val result = new StringBuilder(value.length());
+        for (var index = 0; index < value.length(); index++) {
+            result.append(Character.toLowerCase(Character.toUpperCase(value.charAt(index))));
+        }
+        return result.toString();
+    }
+
+    private static IndexedService toIndexedService(final RegisteredService service) {
+        val serviceId = service.getServiceId();
+        val strategy = service.getMatchingStrategy();
+        val supportedByDefaultLocator = CasRegisteredService.FRIENDLY_NAME.equalsIgnoreCase(service.getFriendlyName());
+        if (!supportedByDefaultLocator || StringUtils.isBlank(serviceId)) {
+            return new IndexedService(service, IndexType.NONE, StringUtils.EMPTY);
+        }
+        if (strategy != null && strategy.getClass().equals(LiteralRegisteredServiceMatchingStrategy.class)) {
+            val literal = (LiteralRegisteredServiceMatchingStrategy) strategy;
+            val assignedId = serviceId.trim();
+            if (!literal.isCaseInsensitive()) {
+                return new IndexedService(service, IndexType.LITERAL, assignedId);
+            }
+            if (assignedId.chars().noneMatch(Character::isSurrogate)) {
+                return new IndexedService(service, IndexType.CASE_INSENSITIVE_LITERAL, foldCase(assignedId));
+            }
+        }
+        if (strategy == null || strategy.getClass().equals(FullRegexRegisteredServiceMatchingStrategy.class)) {
+            val prefix = getLiteralPrefix(serviceId);
+            if (StringUtils.isNotEmpty(prefix)) {
+                return new IndexedService(service, IndexType.PREFIX, prefix);
+            }
+        }
+        return new IndexedService(service, IndexType.NONE, StringUtils.EMPTY);
+    }
+
+    private static void removeFrom(final Map<String, Map<Long, RegisteredService>> services, final IndexedService indexed) {
+        services.computeIfPresent(indexed.key(), (key, entries) -> {
+            entries.remove(indexed.service().getId());
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /**
+     * Add or replace a registered service in the index.
+     *
+     * @param service the service
+     */
+    public void add(final RegisteredService service) {
+        remove(service.getId());
+        val indexed = toIndexedService(service);
+        LOGGER.trace("Indexing registered service [{}] as [{}] with key [{}]", service.getName(), indexed.type(), indexed.key());
+        switch (indexed.type()) {
+            case LITERAL -> literalServices.computeIfAbsent(indexed.key(), __ -> new ConcurrentHashMap<>()).put(service.getId(), service);
+            case CASE_INSENSITIVE_LITERAL ->
+                caseInsensitiveLiteralServices.computeIfAbsent(indexed.key(), __ -> new ConcurrentHashMap<>()).put(service.getId(), service);
+            case PREFIX -> prefixedServices.add(indexed.key(), service);
+            default -> unindexedServices.put(service.getId(), service);
+        }
+        indexedServices.put(service.getId(), indexed);
+    }
+
+    /**
+     * Add all registered services to the index.
+     *
+     * @param services the services
+     */
+    public void addAll(final Collection<? extends RegisteredService> services) {
+        services.forEach(this::add);
+    }
+
+    /**
+     * Remove a registered service from the index.
+     *
+     * @param id the service id
+     */
+    public void remove(final long id) {
+        Optional.ofNullable(indexedServices.remove(id)).ifPresent(indexed -> {
+            switch (indexed.type()) {
+                case LITERAL -> removeFrom(literalServices, indexed);
+                case CASE_INSENSITIVE_LITERAL -> removeFrom(caseInsensitiveLiteralServices, indexed);
+                case PREFIX -> prefixedServices.remove(indexed.key(), id);
+                default -> unindexedServices.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Find the indexed registered service by its id.
+     *
+     * @param id the id
+     * @return the registered service, or null
+     */
+    public RegisteredService get(final long id) {
+        return Optional.ofNullable(indexedServices.get(id)).map(IndexedService::service).orElse(null);
+    }
+
+    /**
+     * Number of indexed registered services.
+     *
+     * @return the size
+     */
+    public int size() {
+        return indexedServices.size();
+    }
+
+    /**
+     * Gets the registered services that might match the given service id,
+     * sorted in their natural order.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    public List<RegisteredService> getCandidates(final String serviceId) {
+        val candidates = new LinkedHashMap<Long, RegisteredService>(unindexedServices);
+        if (StringUtils.isNotBlank(serviceId)) {
+            Optional.ofNullable(literalServices.get(serviceId)).ifPresent(candidates::putAll);
+            Optional.ofNullable(caseInsensitiveLiteralServices.get(foldCase(serviceId))).ifPresent(candidates::putAll);
+            prefixedServices.collect(toLowerCaseAscii(serviceId), candidates);
+        }
+        val results = new ArrayList<>(candidates.values());
+        results.sort(Comparator.naturalOrder());
+        return results;
+    }
+
+    private enum IndexType {
+        LITERAL,
+        CASE_INSENSITIVE_LITERAL,
+        PREFIX,
+        NONE
+    }
+
+    private record IndexedService(RegisteredService service, IndexType type, String key) {
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new ConcurrentHashMap<>();
+
+        private final Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+
+        void add(final String key, final RegisteredService service) {
+            var node = this;
+            for (var index = 0; index < key.length(); index++) {
+                node = node.children.computeIfAbsent(key.charAt(index), __ -> new TrieNode());
+            }
+            node.services.put(service.getId(), service);
+        }
+
+        void remove(final String key, final long id) {
+            var node = this;
+            for (var index = 0; index < key.length() && node != null; index++) {
+                node = node.children.get(key.charAt(index));
+            }
+            if (node != null) {
+                node.services.remove(id);
+            }
+        }
+
+        void collect(final String value, final Map<Long, RegisteredService> results) {
+            var node = this;
+            for (var index = 0; index < value.length(); index++) {
+                node = node.children.get(value.charAt(index));
+                if (node == null) {
+                    return;
+                }
+                results.putAll(node.services);
+            }
+        }
+    }
+}
@@ -4,9 +4,11 @@ import org.apereo.cas.configuration.api.CasConfigurationPropertiesSourceLocator;
 import org.apereo.cas.services.AbstractServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ResourceBasedServiceRegistry;
+import org.apereo.cas.services.ServiceRegistryChanges;
 import org.apereo.cas.services.ServiceRegistryListener;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
+import org.apereo.cas.services.resource.ResourceBasedServiceRegistrySnapshot.SnapshotEntry;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
@@ -36,18 +38,24 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -93,6 +101,18 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private Pattern serviceFileNamePattern;
 
+    private final Map<File, ServiceDefinitionFile> serviceDefinitionFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Number of threads used to read and parse service definition files.
+     * Zero or less uses as many threads as there are available processors.
+     */
+    @Setter
+    private int parallelism = 1;
+
+    @Getter
+    private Path snapshotFile;
+
     protected AbstractResourceBasedServiceRegistry(final Resource configDirectory,
                                                    final Collection<StringSerializer<RegisteredService>> serializers,
                                                    final ConfigurableApplicationContext applicationContext,
@@ -192,6 +212,19 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         serviceRegistryWatcherService.start(getClass().getSimpleName());
     }
 
+    /**
+     * Keep service definitions loaded from this registry in a binary snapshot file
+     * inside the given directory, so that unchanged service definition files need not be parsed again
+     * when the registry is loaded upon startup.
+     *
+     * @param snapshotDirectory the snapshot directory, or null to use the service registry directory
+     */
+    public void enableSnapshot(final Path snapshotDirectory) {
+        val directory = ObjectUtils.defaultIfNull(snapshotDirectory, this.serviceRegistryDirectory);
+        this.snapshotFile = directory.resolve(".cas-" + getExtensions()[0] + "-service-registry.snapshot");
+        LOGGER.debug("Service registry snapshot is kept at [{}]", this.snapshotFile);
+    }
+
     @Override
     public RegisteredService save(final RegisteredService service) {
         if (service.getId() == RegisteredService.INITIAL_IDENTIFIER_VALUE) {
@@ -250,32 +283,41 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     @Override
     public Collection<RegisteredService> load() {
-        return lock.tryLock(() -> {
-            LOGGER.trace("Loading files from [{}]", this.serviceRegistryDirectory);
-            val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
-            LOGGER.trace("Located [{}] files from [{}] are [{}]", getExtensions(), this.serviceRegistryDirectory, files);
-            val clientInfo = ClientInfoHolder.getClientInfo();
+        return lock.tryLock(this::loadServiceDefinitions);
+    }
 
-            this.services = files
-                .stream()
-                .map(this::load)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .sorted()
-                .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
-                    (s1, s2) -> {
-                        BaseResourceBasedRegisteredServiceWatcher.LOG_SERVICE_DUPLICATE.accept(s2);
-                        return s1;
-                    }, LinkedHashMap::new));
-            val listedServices = new ArrayList<>(this.services.values());
-            val results = this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(listedServices, this);
-            results.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service, clientInfo)));
-            return results;
+    /**
+     * Load the service definitions from files that were created, modified or removed since the given
+     * change token was issued, as determined by the last-modified timestamp and the size of each file.
+     * The change token carries the state of each file at the time it was issued, and only files
+     * that are modified on disk are read again. Service definitions are loaded from all files
+     * if the change token is not recognized, or if service definitions are replicated across nodes.
+     *
+     * @param changeToken the change token issued by the previous call, or null
+     * @return the changes
+     */
+    @Override
+    public ServiceRegistryChanges loadChanges(final Serializable changeToken) {
+        return lock.tryLock(() -> {
+            if (!(changeToken instanceof final Map<?, ?> previousFiles)
+                || !(registeredServiceReplicationStrategy instanceof NoOpRegisteredServiceReplicationStrategy)) {
+                val results = loadServiceDefinitions();
+                return ServiceRegistryChanges.complete(results, new HashMap<>(serviceDefinitionFiles));
+            }
+            return loadChangedServiceDefinitions(previousFiles);
         });
     }
 
     @Override
     public Collection<RegisteredService> load(final File file) {
+        return readServiceDefinitionFile(file)
+            .stream()
+            .map(this::invokeServiceRegistryListenerPostLoad)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private List<RegisteredService> readServiceDefinitionFile(final File file) {
         val fileName = file.getName();
         if (!file.canRead()) {
             LOGGER.warn("[{}] is not readable. Check file permissions", fileName);
@@ -314,8 +356,6 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                 .map(s -> s.load(in))
                 .filter(Objects::nonNull)
                 .flatMap(Collection::stream)
-                .map(this::invokeServiceRegistryListenerPostLoad)
-                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file [{}]", fileName);
@@ -416,6 +456,132 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     protected abstract String[] getExtensions();
 
+    private Collection<RegisteredService> loadServiceDefinitions() {
+        LOGGER.trace("Loading files from [{}]", this.serviceRegistryDirectory);
+        val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
+        LOGGER.trace("Located [{}] files from [{}] are [{}]", getExtensions(), this.serviceRegistryDirectory, files);
+        val clientInfo = ClientInfoHolder.getClientInfo();
+
+        serviceDefinitionFiles.clear();
+        val parsedFiles = snapshotFile == null
+            ? parseServiceDefinitionFiles(files, file -> parseServiceDefinitionFile(file, null, null))
+            : parseServiceDefinitionFilesWithSnapshot(files);
+        this.services = parsedFiles
+            .stream()
+            .map(this::loadServiceDefinitionFile)
+            .flatMap(Collection::stream)
+            .sorted()
+            .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
+                (s1, s2) -> {
+                    BaseResourceBasedRegisteredServiceWatcher.LOG_SERVICE_DUPLICATE.accept(s2);
+                    return s1;
+                }, LinkedHashMap::new));
+        val listedServices = new ArrayList<>(this.services.values());
+        val results = this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(listedServices, this);
+        results.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service, clientInfo)));
+        return results;
+    }
+
+    private ServiceRegistryChanges loadChangedServiceDefinitions(final Map<?, ?> previousFiles) {
+        val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
+        val clientInfo = ClientInfoHolder.getClientInfo();
+
+        serviceDefinitionFiles.keySet().retainAll(new HashSet<>(files));
+        val modifiedFiles = files
+            .stream()
+            .filter(file -> !serviceDefinitionFiles.containsKey(file) || !serviceDefinitionFiles.get(file).matches(file))
+            .toList();
+        val modifiedServices = parseServiceDefinitionFiles(modifiedFiles,
+                file -> parseServiceDefinitionFile(file, null, null))
+            .stream()
+            .map(this::loadServiceDefinitionFile)
+            .flatMap(Collection::stream)
+            .sorted()
+            .toList();
+
+        val identifiers = serviceDefinitionFiles.values()
+            .stream()
+            .map(ServiceDefinitionFile::identifiers)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toSet());
+        val currentServices = new LinkedHashMap<>(this.services);
+        currentServices.keySet().retainAll(identifiers);
+        modifiedServices.forEach(service -> currentServices.put(service.getId(), service));
+        this.services = currentServices;
+        modifiedServices.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service, clientInfo)));
+
+        val changedServices = serviceDefinitionFiles.entrySet()
+            .stream()
+            .filter(entry -> !entry.getValue().equals(previousFiles.get(entry.getKey())))
+            .map(entry -> entry.getValue().identifiers())
+            .flatMap(Collection::stream)
+            .distinct()
+            .map(currentServices::get)
+            .filter(Objects::nonNull)
+            .sorted()
+            .collect(Collectors.toList());
+        LOGGER.debug("Located [{}] modified service definition(s) in [{}]", changedServices.size(), this.serviceRegistryDirectory);
+        return ServiceRegistryChanges.incremental(changedServices, identifiers, new HashMap<>(serviceDefinitionFiles));
+    }
+
+    private List<ParsedServiceDefinitionFile> parseServiceDefinitionFilesWithSnapshot(final Collection<File> files) {
+        val snapshot = ResourceBasedServiceRegistrySnapshot.read(snapshotFile).orElse(null);
+        val snapshotEntries = new ConcurrentHashMap<String, SnapshotEntry>();
+        val parsedFiles = parseServiceDefinitionFiles(files, file -> parseServiceDefinitionFile(file, snapshot, snapshotEntries));
+        val snapshotKey = ResourceBasedServiceRegistrySnapshot.computeKey(serviceRegistryDirectory, files);
+        if (snapshot == null || !snapshotKey.equals(snapshot.getKey())) {
+            ResourceBasedServiceRegistrySnapshot.write(snapshotFile, snapshotKey, snapshotEntries);
+        }
+        return parsedFiles;
+    }
+
+    private List<ParsedServiceDefinitionFile> parseServiceDefinitionFiles(
+        final Collection<File> files, final Function<File, ParsedServiceDefinitionFile> parser) {
+        val threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (threads == 1 || files.size() <= 1) {
+            return files.stream().map(parser).toList();
+        }
+        LOGGER.trace("Parsing [{}] service definition files using [{}] threads", files.size(), threads);
+        val pool = new ForkJoinPool(threads);
+        try {
+            return FunctionUtils.doUnchecked(() -> pool.submit(() -> files.parallelStream().map(parser).toList()).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ParsedServiceDefinitionFile parseServiceDefinitionFile(final File file,
+                                                                   final ResourceBasedServiceRegistrySnapshot snapshot,
+                                                                   final Map<String, SnapshotEntry> snapshotEntries) {
+        val lastModified = file.lastModified();
+        val length = file.length();
+        val snapshotEntry = Optional.ofNullable(snapshot).flatMap(entries -> entries.find(serviceRegistryDirectory, file));
+        val snapshotServices = snapshotEntry.flatMap(SnapshotEntry::toRegisteredServices);
+        if (snapshotServices.isPresent()) {
+            LOGGER.trace("Loaded service definitions for [{}] from snapshot", file);
+            snapshotEntries.put(ResourceBasedServiceRegistrySnapshot.relativize(serviceRegistryDirectory, file), snapshotEntry.get());
+            return new ParsedServiceDefinitionFile(file, lastModified, length, snapshotServices.get());
+        }
+        val parsedServices = readServiceDefinitionFile(file);
+        if (snapshotEntries != null && !parsedServices.isEmpty()) {
+            ResourceBasedServiceRegistrySnapshot.toSnapshotEntry(lastModified, length, parsedServices)
+                .ifPresent(entry -> snapshotEntries.put(ResourceBasedServiceRegistrySnapshot.relativize(serviceRegistryDirectory, file), entry));
+        }
+        return new ParsedServiceDefinitionFile(file, lastModified, length, parsedServices);
+    }
+
+    private Collection<RegisteredService> loadServiceDefinitionFile(final ParsedServiceDefinitionFile parsedFile) {
+        val loadedServices = parsedFile.services()
+            .stream()
+            .map(this::invokeServiceRegistryListenerPostLoad)
+            .filter(Objects::nonNull)
+            .toList();
+        val identifiers = loadedServices.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+        serviceDefinitionFiles.put(parsedFile.file(),
+            new ServiceDefinitionFile(parsedFile.lastModified(), parsedFile.length(), identifiers));
+        return loadedServices;
+    }
+
     private void initializeRegistry(final Path configDirectory,
                                     final Collection<StringSerializer<RegisteredService>> serializers,
                                     final RegisteredServiceReplicationStrategy registeredServiceReplicationStrategy,
@@ -439,4 +605,13 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         this.serviceRegistryWatcherService.start(getClass().getSimpleName());
     }
 
+    private record ParsedServiceDefinitionFile(File file, long lastModified, long length, List<RegisteredService> services) {
+    }
+
+    private record ServiceDefinitionFile(long lastModified, long length, Set<Long> identifiers) implements Serializable {
+        boolean matches(final File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+
 }
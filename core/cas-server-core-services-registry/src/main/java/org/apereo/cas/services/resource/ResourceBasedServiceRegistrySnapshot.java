@@ -0,0 +1,260 @@
+package org.apereo.cas.services.resource;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ResourceBasedServiceRegistrySnapshot}. It is a compact binary copy of the service definitions
+ * loaded from a resource-based service registry directory. Each entry is keyed by the path of a service definition file
+ * relative to the directory, along with its size and last-modified timestamp, and carries the service definitions
+ * parsed from that file in serialized form. The snapshot itself is keyed by a digest of all entry keys.
+ * <p>
+ * The snapshot file is memory-mapped when read, and entries are only deserialized when requested for
+ * a file whose size and last-modified timestamp still match; service definition files that have changed
+ * since the snapshot was written are never served from it.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResourceBasedServiceRegistrySnapshot {
+    private static final int MAGIC = 0x43415353;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Only CAS types and the JDK collection, value and time types that registered services are made of
+     * are allowed; anything else is rejected and the service definition file is parsed again instead.
+     * Time types are all serialized by {@code java.time.Ser}, and immutable collections by {@code java.util.CollSer}.
+     */
+    private static final ObjectInputFilter SERIALIZATION_FILTER = ObjectInputFilter.Config.createFilter(String.join(";",
+        "maxdepth=64",
+        "org.apereo.cas.**",
+        "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Double", "java.lang.Enum",
+        "java.lang.Float", "java.lang.Integer", "java.lang.Long", "java.lang.Number", "java.lang.Short",
+        "java.lang.String", "java.lang.String$CaseInsensitiveComparator",
+        "java.math.BigDecimal", "java.math.BigInteger",
+        "java.net.URI", "java.net.URL",
+        "java.time.Ser",
+        "java.util.ArrayList", "java.util.Arrays$ArrayList", "java.util.LinkedList",
+        "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap",
+        "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet",
+        "java.util.CollSer", "java.util.Collections$*",
+        "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.ConcurrentHashMap$Segment",
+        "java.util.concurrent.CopyOnWriteArrayList", "java.util.concurrent.CopyOnWriteArraySet",
+        "java.util.Date", "java.util.Locale", "java.util.UUID", "java.util.regex.Pattern",
+        "!*"));
+
+    @Getter
+    private final String key;
+
+    private final Map<String, Entry> entries;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Compute the snapshot key for the given service definition files.
+     *
+     * @param directory the service registry directory
+     * @param files     the service definition files
+     * @return the key
+     */
+    public static String computeKey(final Path directory, final Collection<File> files) {
+        val content = files
+            .stream()
+            .map(file -> relativize(directory, file) + '|' + file.length() + '|' + file.lastModified())
+            .sorted()
+            .collect(Collectors.joining("\n"));
+        return DigestUtils.sha256(content);
+    }
+
+    /**
+     * Read the snapshot from the given file, if it exists and is valid.
+     *
+     * @param snapshotFile the snapshot file
+     * @return the snapshot
+     */
+    public static Optional<ResourceBasedServiceRegistrySnapshot> read(final Path snapshotFile) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            LOGGER.debug("Service registry snapshot [{}] does not exist", snapshotFile);
+            return Optional.empty();
+        }
+        try (val channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                LOGGER.warn("Service registry snapshot [{}] is not recognized and will be ignored", snapshotFile);
+                return Optional.empty();
+            }
+            val key = readString(buffer);
+            val count = buffer.getInt();
+            val entries = new HashMap<String, Entry>(count);
+            for (var i = 0; i < count; i++) {
+                val path = readString(buffer);
+                val lastModified = buffer.getLong();
+                val length = buffer.getLong();
+                val payloadLength = buffer.getInt();
+                entries.put(path, new Entry(lastModified, length, buffer.position(), payloadLength));
+                buffer.position(buffer.position() + payloadLength);
+            }
+            LOGGER.debug("Read service registry snapshot [{}] with [{}] entries", snapshotFile, entries.size());
+            return Optional.of(new ResourceBasedServiceRegistrySnapshot(key, entries, buffer));
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, "Unable to read service registry snapshot " + snapshotFile, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write a snapshot to the given file. The snapshot is first written to a temporary file
+     * which then replaces the snapshot file.
+     *
+     * @param snapshotFile the snapshot file
+     * @param key          the snapshot key
+     * @param entries      the entries, keyed by relative file path
+     */
+    public static void write(final Path snapshotFile, final String key, final Map<String, SnapshotEntry> entries) {
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            val temporaryFile = Files.createTempFile(snapshotFile.toAbsolutePath().getParent(), ".cas-snapshot", ".tmp");
+            try (val output = new DataOutputStream(Files.newOutputStream(temporaryFile))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                writeString(output, key);
+                output.writeInt(entries.size());
+                for (val entry : entries.entrySet()) {
+                    writeString(output, entry.getKey());
+                    output.writeLong(entry.getValue().lastModified());
+                    output.writeLong(entry.getValue().length());
+                    output.writeInt(entry.getValue().payload().length);
+                    output.write(entry.getValue().payload());
+                }
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote service registry snapshot [{}] with [{}] entries", snapshotFile, entries.size());
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, "Unable to write service registry snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Serialize the service definitions parsed from a file into a snapshot entry.
+     *
+     * @param lastModified the last modified timestamp of the file
+     * @param length       the size of the file
+     * @param services     the services
+     * @return the snapshot entry, or empty if the services cannot be serialized
+     */
+    public static Optional<SnapshotEntry> toSnapshotEntry(final long lastModified, final long length,
+                                                          final Collection<RegisteredService> services) {
+        try (val bytes = new ByteArrayOutputStream();
+             val output = new ObjectOutputStream(bytes)) {
+            output.writeObject(new ArrayList<>(services));
+            output.flush();
+            return Optional.of(new SnapshotEntry(lastModified, length, bytes.toByteArray()));
+        } catch (final Exception e) {
+            LOGGER.debug("Service definitions cannot be kept in the snapshot: [{}]", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static String relativize(final Path directory, final File file) {
+        return directory.toAbsolutePath().relativize(file.toPath().toAbsolutePath()).toString();
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        val bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        val bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Find the snapshot entry for the given file, if the file has not changed since the snapshot was written.
+     *
+     * @param directory the service registry directory
+     * @param file      the file
+     * @return the snapshot entry
+     */
+    public Optional<SnapshotEntry> find(final Path directory, final File file) {
+        val entry = entries.get(relativize(directory, file));
+        if (entry == null || entry.lastModified() != file.lastModified() || entry.length() != file.length()) {
+            return Optional.empty();
+        }
+        val payload = new byte[entry.payloadLength()];
+        buffer.get(entry.offset(), payload);
+        return Optional.of(new SnapshotEntry(entry.lastModified(), entry.length(), payload));
+    }
+
+    /**
+     * Number of entries in the snapshot.
+     *
+     * @return the count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(long lastModified, long length, int offset, int payloadLength) {
+    }
+
+    /**
+     * Snapshot entry that carries the serialized service definitions of a single file.
+     *
+     * @param lastModified the last modified timestamp of the file
+     * @param length       the size of the file
+     * @param payload      the serialized service definitions
+     */
+    public record SnapshotEntry(long lastModified, long length, byte[] payload) {
+
+        /**
+         * Deserialize the service definitions of this entry.
+         *
+         * @return the services, or empty if the entry cannot be deserialized
+         */
+        @SuppressWarnings("unchecked")
+        public Optional<List<RegisteredService>> toRegisteredServices() {
+            try (val input = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                input.setObjectInputFilter(SERIALIZATION_FILTER);
+                return Optional.of((List<RegisteredService>) input.readObject());
+            } catch (final Exception e) {
+                LOGGER.debug("Service definitions cannot be read from the snapshot: [{}]", e.getMessage());
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -42,7 +42,9 @@ import org.apereo.cas.services.ServicesManagerScheduledLoader;
 import org.apereo.cas.services.domain.DefaultDomainAwareServicesManager;
 import org.apereo.cas.services.domain.DefaultRegisteredServiceDomainExtractor;
 import org.apereo.cas.services.mgmt.DefaultChainingServicesManager;
+import org.apereo.cas.services.mgmt.DefaultRegisteredServiceMatchCache;
 import org.apereo.cas.services.mgmt.DefaultServicesManager;
+import org.apereo.cas.services.mgmt.RegisteredServiceMatchCache;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategy;
@@ -58,6 +60,8 @@ import org.apereo.cas.web.UrlValidator;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
@@ -84,6 +88,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -290,6 +295,8 @@ public class CasCoreServicesConfiguration {
             final ChainingServiceRegistry serviceRegistry,
             @Qualifier("servicesManagerCache")
             final Cache<Long, RegisteredService> servicesManagerCache,
+            @Qualifier(RegisteredServiceMatchCache.BEAN_NAME)
+            final RegisteredServiceMatchCache registeredServiceMatchCache,
             final List<ServicesManagerRegisteredServiceLocator> servicesManagerRegisteredServiceLocators,
             final Environment environment,
             final ConfigurableApplicationContext applicationContext) {
@@ -300,11 +307,37 @@ public class CasCoreServicesConfiguration {
                 .applicationContext(applicationContext)
                 .environments(activeProfiles)
                 .servicesCache(servicesManagerCache)
+                .registeredServiceMatchCache(registeredServiceMatchCache)
                 .registeredServicesTemplatesManager(registeredServicesTemplatesManager)
                 .registeredServiceLocators(servicesManagerRegisteredServiceLocators)
                 .build();
         }
 
+        @Bean
+        @Lazy(false)
+        @ConditionalOnMissingBean(name = RegisteredServiceMatchCache.BEAN_NAME)
+        public RegisteredServiceMatchCache registeredServiceMatchCache(
+            final CasConfigurationProperties casProperties,
+            final List<ServicesManagerRegisteredServiceLocator> servicesManagerRegisteredServiceLocators,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+            val matchCache = casProperties.getServiceRegistry().getMatchCache();
+            if (matchCache.getCacheSize() <= 0) {
+                return RegisteredServiceMatchCache.noOp();
+            }
+            val serviceAttributeNames = servicesManagerRegisteredServiceLocators
+                .stream()
+                .map(ServicesManagerRegisteredServiceLocator::getServiceAttributeNames)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet());
+            val requestScopedServiceAttributeNames = servicesManagerRegisteredServiceLocators
+                .stream()
+                .map(ServicesManagerRegisteredServiceLocator::getRequestScopedServiceAttributeNames)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet());
+            return new DefaultRegisteredServiceMatchCache(Beans.newCacheBuilder(matchCache).build(), serviceAttributeNames,
+                requestScopedServiceAttributeNames, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @ConditionalOnMissingBean(name = "defaultServicesManagerExecutionPlanConfigurer")
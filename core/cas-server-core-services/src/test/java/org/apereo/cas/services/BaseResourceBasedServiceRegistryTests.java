@@ -1,19 +1,34 @@
 package org.apereo.cas.services;
 
+import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.AbstractResourceBasedServiceRegistry;
 import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategy;
+import org.apereo.cas.services.resource.ResourceBasedServiceRegistrySnapshot;
 import org.apereo.cas.util.RandomUtils;
 import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.serialization.StringSerializer;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.core.io.ClassPathResource;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -67,6 +82,113 @@ public abstract class BaseResourceBasedServiceRegistryTests extends AbstractServ
         assertTrue(newServiceRegistry.load(file).isEmpty());
     }
 
+    @Test
+    void verifyChangesLoadedFromModifiedFiles() throws Throwable {
+        val service1 = buildRegisteredServiceInstance(RandomUtils.nextInt(), CasRegisteredService.class);
+        newServiceRegistry.save(service1);
+        val changes = newServiceRegistry.loadChanges(null);
+        assertTrue(changes.complete());
+        assertEquals(1, changes.services().size());
+
+        val unchanged = newServiceRegistry.loadChanges(changes.changeToken());
+        assertFalse(unchanged.complete());
+        assertTrue(unchanged.services().isEmpty());
+        assertEquals(Set.of(service1.getId()), unchanged.identifiers());
+
+        val service2 = buildRegisteredServiceInstance(RandomUtils.nextInt(), CasRegisteredService.class);
+        newServiceRegistry.save(service2);
+        newServiceRegistry.delete(service1);
+        val modified = newServiceRegistry.loadChanges(unchanged.changeToken());
+        assertFalse(modified.complete());
+        assertEquals(1, modified.services().size());
+        assertEquals(service2.getId(), modified.services().iterator().next().getId());
+        assertEquals(Set.of(service2.getId()), modified.identifiers());
+    }
+
+    @Test
+    void verifyServicesLoadedFromSnapshot() throws Throwable {
+        val registry = (AbstractResourceBasedServiceRegistry) newServiceRegistry;
+        registry.setParallelism(2);
+        registry.enableSnapshot(FileUtils.getTempDirectory().toPath().resolve(UUID.randomUUID().toString()));
+        val service1 = buildRegisteredServiceInstance(RandomUtils.nextInt(), CasRegisteredService.class);
+        registry.save(service1);
+        val service2 = buildRegisteredServiceInstance(RandomUtils.nextInt(), CasRegisteredService.class);
+        registry.save(service2);
+        assertNotNull(registry.load().stream().filter(service -> service.getId() == service1.getId()).findFirst().orElse(null));
+
+        val snapshot = ResourceBasedServiceRegistrySnapshot.read(registry.getSnapshotFile()).orElseThrow();
+        assertTrue(snapshot.size() >= 2);
+        val loaded = registry.load();
+        assertTrue(loaded.stream().anyMatch(service -> service.getId() == service1.getId()));
+        assertTrue(loaded.stream().anyMatch(service -> service.getId() == service2.getId()));
+        assertEquals(snapshot.getKey(), ResourceBasedServiceRegistrySnapshot.read(registry.getSnapshotFile()).orElseThrow().getKey());
+    }
+
+    @Test
+    void verifySnapshotRejectsUnexpectedTypes() throws Throwable {
+        val service = buildRegisteredServiceInstance(RandomUtils.nextInt(), CasRegisteredService.class);
+        val entry = ResourceBasedServiceRegistrySnapshot.toSnapshotEntry(1, 1, List.of(service)).orElseThrow();
+        assertEquals(service, entry.toRegisteredServices().orElseThrow().getFirst());
+
+        val bytes = new ByteArrayOutputStream();
+        try (val output = new ObjectOutputStream(bytes)) {
+            output.writeObject(new ArrayList<>(List.of(new BitSet())));
+        }
+        val unexpected = new ResourceBasedServiceRegistrySnapshot.SnapshotEntry(1, 1, bytes.toByteArray());
+        assertTrue(unexpected.toRegisteredServices().isEmpty());
+    }
+
+    @Test
+    void verifySnapshotSkipsParsingUnchangedFiles() throws Throwable {
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        val directory = Files.createTempDirectory("services");
+        val snapshotDirectory = Files.createTempDirectory("snapshot");
+
+        val service1 = buildRegisteredServiceInstance(1001, CasRegisteredService.class);
+        service1.setId(1001);
+        val service2 = buildRegisteredServiceInstance(1002, CasRegisteredService.class);
+        service2.setId(1002);
+        val services = Map.of(service1.getId(), service1, service2.getId(), service2);
+        Files.writeString(directory.resolve("Sample-1001.json"), "1001");
+        val touchedFile = Files.writeString(directory.resolve("Sample-1002.json"), "1002");
+
+        val parsed = new CopyOnWriteArrayList<Long>();
+        val serializer = mock(StringSerializer.class);
+        when(serializer.supports(any(File.class))).thenReturn(Boolean.TRUE);
+        when(serializer.load(any(Reader.class))).thenAnswer(invocation -> {
+            val id = Long.parseLong(IOUtils.toString(invocation.getArgument(0, Reader.class)).trim());
+            parsed.add(id);
+            return List.of(services.get(id));
+        });
+        Supplier<AbstractResourceBasedServiceRegistry> registrySupplier = () -> {
+            val registry = new AbstractResourceBasedServiceRegistry(directory, serializer, applicationContext,
+                new NoOpRegisteredServiceReplicationStrategy(), new DefaultRegisteredServiceResourceNamingStrategy(),
+                List.of(), mock(WatcherService.class)) {
+                @Override
+                protected String[] getExtensions() {
+                    return new String[]{"json"};
+                }
+            };
+            registry.enableSnapshot(snapshotDirectory);
+            return registry;
+        };
+
+        assertEquals(2, registrySupplier.get().load().size());
+        verify(serializer, times(2)).load(any(Reader.class));
+        assertEquals(Set.of(service1.getId(), service2.getId()), Set.copyOf(parsed));
+
+        clearInvocations(serializer);
+        parsed.clear();
+        assertEquals(2, registrySupplier.get().load().size());
+        verify(serializer, never()).load(any(Reader.class));
+
+        Files.setLastModifiedTime(touchedFile, FileTime.from(Files.getLastModifiedTime(touchedFile).toInstant().plusSeconds(60)));
+        assertEquals(2, registrySupplier.get().load().size());
+        verify(serializer, times(1)).load(any(Reader.class));
+        assertEquals(List.of(service2.getId()), parsed);
+    }
+
     @Test
     void verify() {
         val applicationContext = new StaticApplicationContext();
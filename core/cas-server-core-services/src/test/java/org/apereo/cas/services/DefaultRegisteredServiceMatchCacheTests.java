@@ -0,0 +1,117 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.mgmt.DefaultRegisteredServiceMatchCache;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultRegisteredServiceMatchCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("RegisteredService")
+class DefaultRegisteredServiceMatchCacheTests {
+
+    @Test
+    void verifyMatchesAreCached() {
+        val meterRegistry = new SimpleMeterRegistry();
+        val matchCache = new DefaultRegisteredServiceMatchCache(Caffeine.newBuilder().maximumSize(100).build(),
+            Set.of(), Set.of(), meterRegistry);
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org.*");
+        val calls = new AtomicInteger();
+        val locator = (Function<Service, RegisteredService>) service -> {
+            calls.incrementAndGet();
+            return registeredService.matches(service.getId()) ? registeredService : null;
+        };
+
+        val service = RegisteredServiceTestUtils.getService("https://app.example.org/cas");
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(1, calls.get());
+
+        val unknown = RegisteredServiceTestUtils.getService("https://unknown.example.org");
+        assertNull(matchCache.find(unknown, locator, id -> registeredService));
+        assertNull(matchCache.find(unknown, locator, id -> registeredService));
+        assertEquals(3, calls.get());
+        assertEquals(1, matchCache.getCache().estimatedSize());
+
+        assertEquals(registeredService, matchCache.find(service, locator, id -> null));
+        assertEquals(4, calls.get());
+
+        matchCache.handleRegisteredServiceSavedEvent(new CasRegisteredServiceSavedEvent(this, registeredService, null));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(5, calls.get());
+
+        matchCache.handleRegisteredServiceDeletedEvent(new CasRegisteredServiceDeletedEvent(this, registeredService, null));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(6, calls.get());
+
+        assertEquals(1, meterRegistry.get("cas.service.registry.match-cache.hits").counter().count());
+        assertEquals(6, meterRegistry.get("cas.service.registry.match-cache.misses").counter().count());
+        assertEquals(2, meterRegistry.get("cas.service.registry.match-cache.invalidations").counter().count());
+    }
+
+    @Test
+    void verifyRequestScopedAttributesAreNotCached() {
+        val matchCache = new DefaultRegisteredServiceMatchCache(Caffeine.newBuilder().maximumSize(100).build(),
+            Set.of("entityId"), Set.of("SAMLRequest"), new SimpleMeterRegistry());
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org.*");
+        val calls = new AtomicInteger();
+        val locator = (Function<Service, RegisteredService>) service -> {
+            calls.incrementAndGet();
+            return registeredService;
+        };
+
+        val service = RegisteredServiceTestUtils.getService("https://app.example.org/cas");
+        service.setAttributes(Map.of("SAMLRequest", List.of("request1")));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(2, calls.get());
+        assertEquals(0, matchCache.getCache().estimatedSize());
+
+        service.setAttributes(Map.of("entityId", List.of("https://sp.example.org")));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void verifyOnlyConsultedAttributesAreKeyed() {
+        val matchCache = new DefaultRegisteredServiceMatchCache(Caffeine.newBuilder().maximumSize(100).build(),
+            Set.of("client_id"), Set.of(), new SimpleMeterRegistry());
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org.*");
+        val calls = new AtomicInteger();
+        val locator = (Function<Service, RegisteredService>) service -> {
+            calls.incrementAndGet();
+            return registeredService;
+        };
+
+        val service = RegisteredServiceTestUtils.getService("https://app.example.org/cas");
+        service.setAttributes(Map.of("client_id", List.of("client1"), "state", List.of("state1")));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        service.setAttributes(Map.of("client_id", List.of("client1"), "state", List.of("state2")));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(1, calls.get());
+
+        service.setAttributes(Map.of("client_id", List.of("client2"), "state", List.of("state2")));
+        assertEquals(registeredService, matchCache.find(service, locator, id -> registeredService));
+        assertEquals(2, calls.get());
+        assertEquals(2, matchCache.getCache().estimatedSize());
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.services;
 
 import org.apereo.cas.services.mgmt.DefaultServicesManager;
+import org.apereo.cas.services.query.RegisteredServiceQuery;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.context.support.StaticApplicationContext;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -59,4 +61,83 @@ class DefaultServicesManagerCachingTests {
         assertEquals(1, mgr.load().size());
         assertEquals(1, mgr.getAllServices().size());
     }
+
+    @Test
+    void verifyOnlyChangedServicesAreLoaded() throws Throwable {
+        val service1 = RegisteredServiceTestUtils.getRegisteredService(UUID.randomUUID().toString());
+        service1.setId(1000);
+        val service2 = RegisteredServiceTestUtils.getRegisteredService(UUID.randomUUID().toString());
+        service2.setId(2000);
+        val updatedService1 = RegisteredServiceTestUtils.getRegisteredService(UUID.randomUUID().toString());
+        updatedService1.setId(1000);
+
+        val registry = mock(ServiceRegistry.class);
+        when(registry.loadChanges(any())).thenReturn(
+            ServiceRegistryChanges.complete(List.of(service1, service2), "token-1"),
+            ServiceRegistryChanges.incremental(List.of(updatedService1), Set.of(1000L), "token-2"));
+        val templatesManager = mock(RegisteredServicesTemplatesManager.class);
+        when(templatesManager.apply(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        val cache = Caffeine.newBuilder().maximumSize(100).build();
+        val context = ServicesManagerConfigurationContext.builder()
+            .applicationContext(applicationContext)
+            .registeredServicesTemplatesManager(templatesManager)
+            .serviceRegistry(registry)
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .servicesCache((Cache) cache)
+            .build();
+
+        val mgr = new DefaultServicesManager(context);
+        assertEquals(2, mgr.load().size());
+        assertEquals(1, mgr.findServicesBy(RegisteredServiceQuery.of(CasRegisteredService.class, "id", 2000L)).count());
+
+        assertEquals(1, mgr.load().size());
+        verify(registry).loadChanges(null);
+        verify(registry).loadChanges("token-1");
+        verify(registry, never()).load();
+        assertEquals(updatedService1.getServiceId(), mgr.findServiceBy(1000).getServiceId());
+        assertNull(cache.getIfPresent(2000L));
+        assertEquals(0, mgr.findServicesBy(RegisteredServiceQuery.of(CasRegisteredService.class, "id", 2000L)).count());
+        assertEquals(1, mgr.findServicesBy(RegisteredServiceQuery.of(CasRegisteredService.class, "serviceId",
+            updatedService1.getServiceId())).count());
+    }
+
+    @Test
+    void verifyFilteredChangedServicesAreRemoved() throws Throwable {
+        val service1 = RegisteredServiceTestUtils.getRegisteredService(UUID.randomUUID().toString());
+        service1.setId(1000);
+        val service2 = RegisteredServiceTestUtils.getRegisteredService(UUID.randomUUID().toString());
+        service2.setId(2000);
+        val movedService2 = RegisteredServiceTestUtils.getRegisteredService(service2.getServiceId());
+        movedService2.setId(2000);
+        movedService2.setEnvironments(Set.of("staging"));
+
+        val registry = mock(ServiceRegistry.class);
+        when(registry.loadChanges(any())).thenReturn(
+            ServiceRegistryChanges.complete(List.of(service1, service2), "token-1"),
+            ServiceRegistryChanges.incremental(List.of(movedService2), Set.of(1000L, 2000L), "token-2"));
+        val templatesManager = mock(RegisteredServicesTemplatesManager.class);
+        when(templatesManager.apply(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        val cache = Caffeine.newBuilder().maximumSize(100).build();
+        val context = ServicesManagerConfigurationContext.builder()
+            .applicationContext(applicationContext)
+            .registeredServicesTemplatesManager(templatesManager)
+            .serviceRegistry(registry)
+            .environments(Set.of("production"))
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .servicesCache((Cache) cache)
+            .build();
+
+        val mgr = new DefaultServicesManager(context);
+        assertEquals(2, mgr.load().size());
+        assertEquals(1, mgr.load().size());
+        assertNull(cache.getIfPresent(2000L));
+        assertEquals(0, mgr.findServicesBy(RegisteredServiceQuery.of(CasRegisteredService.class, "id", 2000L)).count());
+        assertEquals(1, mgr.findServicesBy(RegisteredServiceQuery.of(CasRegisteredService.class, "id", 1000L)).count());
+    }
 }
@@ -2,11 +2,16 @@ package org.apereo.cas.services;
 
 import org.apereo.cas.services.mgmt.DefaultServicesManager;
 import org.apereo.cas.services.query.RegisteredServiceQuery;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.val;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author battags
@@ -87,4 +92,43 @@ class DefaultServicesManagerTests extends AbstractServicesManagerTests<DefaultSe
         servicesManager.load();
         assertTrue(isServiceInCache(null, service.getId()));
     }
+
+    @Test
+    void verifyLookupsDoNotInspectServicesCache() throws Throwable {
+        val servicesCache = spy(Caffeine.newBuilder().<Long, RegisteredService>build());
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        val context = ServicesManagerConfigurationContext.builder()
+            .serviceRegistry(serviceRegistry)
+            .registeredServicesTemplatesManager(mock(RegisteredServicesTemplatesManager.class))
+            .applicationContext(applicationContext)
+            .environments(new HashSet<>(0))
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .servicesCache(servicesCache)
+            .build();
+        val manager = new DefaultServicesManager(context);
+        manager.load();
+
+        val service = new CasRegisteredService();
+        service.setId(7000);
+        service.setName(TEST);
+        service.setServiceId("https://app.example.org/.*");
+        manager.save(service);
+        val registryService = new CasRegisteredService();
+        registryService.setId(7100);
+        registryService.setName(TEST);
+        registryService.setServiceId("https://other.example.org/.*");
+        serviceRegistry.save(registryService);
+
+        clearInvocations(servicesCache);
+        assertEquals(service.getId(), manager.findServiceBy(serviceFactory.createService("https://app.example.org/login")).getId());
+        assertEquals(registryService.getId(), manager.findServiceBy(serviceFactory.createService("https://other.example.org/login")).getId());
+        assertEquals(registryService.getId(), manager.findServiceBy(serviceFactory.createService("https://other.example.org/login")).getId());
+        verify(servicesCache, never()).cleanUp();
+        verify(servicesCache, never()).estimatedSize();
+        verify(servicesCache, never()).asMap();
+
+        manager.delete(service);
+        assertNull(manager.findServiceBy(serviceFactory.createService("https://app.example.org/login")));
+    }
 }
@@ -0,0 +1,79 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.mgmt.RegisteredServiceMatchingIndex;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("RegisteredService")
+class RegisteredServiceMatchingIndexTests {
+
+    private static RegisteredService getRegisteredService(final long id, final String serviceId,
+                                                          final int evaluationOrder,
+                                                          final RegisteredServiceMatchingStrategy strategy) {
+        val service = RegisteredServiceTestUtils.getRegisteredService(serviceId);
+        service.setId(id);
+        service.setEvaluationOrder(evaluationOrder);
+        service.setMatchingStrategy(strategy);
+        return service;
+    }
+
+    private static List<Long> getCandidateIds(final RegisteredServiceMatchingIndex index, final String serviceId) {
+        return index.getCandidates(serviceId).stream().map(RegisteredService::getId).toList();
+    }
+
+    @Test
+    void verifyCandidatesPreserveEvaluationOrder() {
+        val index = new RegisteredServiceMatchingIndex();
+        index.add(getRegisteredService(1, "^https://app1\\.example\\.org/.*", 10, new FullRegexRegisteredServiceMatchingStrategy()));
+        index.add(getRegisteredService(2, "https://app2.example.org/login", 5, new LiteralRegisteredServiceMatchingStrategy()));
+        index.add(getRegisteredService(3, "HTTPS://APP2.example.org/LOGIN", 1, new LiteralRegisteredServiceMatchingStrategy(true)));
+        index.add(getRegisteredService(4, "app1", 20, new PartialRegexRegisteredServiceMatchingStrategy()));
+        index.add(getRegisteredService(5, "^(https|imaps)://.*", 100, new FullRegexRegisteredServiceMatchingStrategy()));
+        index.add(getRegisteredService(6, "https://app1.example.org|https://app3.example.org", 0, null));
+
+        assertEquals(List.of(6L, 1L, 4L, 5L), getCandidateIds(index, "HTTPS://App1.example.org/cas"));
+        assertEquals(List.of(6L, 3L, 2L, 4L, 5L), getCandidateIds(index, "https://app2.example.org/login"));
+        assertEquals(List.of(6L, 3L, 4L, 5L), getCandidateIds(index, "https://app2.example.org/Login"));
+        assertEquals(List.of(6L, 4L, 5L), getCandidateIds(index, "https://unknown.example.org"));
+
+        index.remove(4);
+        index.add(getRegisteredService(1, "^https://app3\\.example\\.org/.*", 10, new FullRegexRegisteredServiceMatchingStrategy()));
+        assertEquals(List.of(6L, 5L), getCandidateIds(index, "https://app1.example.org/cas"));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void verifyLiteralPrefix() {
+        assertEquals("https://app", RegisteredServiceMatchingIndex.getLiteralPrefix("^https://app.example.org"));
+        assertEquals("https://app.example.org/", RegisteredServiceMatchingIndex.getLiteralPrefix("^https://app\\.example\\.org/.*"));
+        assertEquals("http", RegisteredServiceMatchingIndex.getLiteralPrefix("^https?://.+"));
+        assertEquals("https://", RegisteredServiceMatchingIndex.getLiteralPrefix("https://(app|web)\\.example\\.org"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceMatchingIndex.getLiteralPrefix("https://app|https://web"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceMatchingIndex.getLiteralPrefix("\\Qhttps://app\\E.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServiceMatchingIndex.getLiteralPrefix("(?i)https://.*"));
+    }
+
+    @Test
+    void verifyManyServices() {
+        val index = new RegisteredServiceMatchingIndex();
+        IntStream.range(0, 1000).forEach(i -> index.add(getRegisteredService(i,
+            "^https://app" + i + "\\.example\\.org/.*", i, new FullRegexRegisteredServiceMatchingStrategy())));
+        val candidates = index.getCandidates("https://app42.example.org/cas");
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.getFirst().matches("https://app42.example.org/cas"));
+    }
+}
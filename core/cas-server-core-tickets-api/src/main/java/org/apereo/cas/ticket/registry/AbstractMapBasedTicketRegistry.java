@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
 import org.apereo.cas.ticket.registry.pubsub.commands.AddTicketMessageQueueCommand;
 import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
@@ -17,8 +18,13 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -33,6 +39,18 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
 
     protected final PublisherIdentifier publisherIdentifier;
 
+    /**
+     * Secondary index that links a (digested) principal id
+     * to the keys of ticket-granting tickets owned by that principal.
+     */
+    private final Map<String, Set<String>> principalSessionIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Reverse index that links the key of a ticket-granting ticket
+     * to the principal index key, used to clean up on removals.
+     */
+    private final Map<String, String> sessionPrincipalIndex = new ConcurrentHashMap<>();
+
     public AbstractMapBasedTicketRegistry(final CipherExecutor cipherExecutor,
                                           final TicketSerializationManager ticketSerializationManager,
                                           final TicketCatalog ticketCatalog,
@@ -77,6 +95,27 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return decodeTickets(getMapInstance().values());
     }
 
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return getIndexedSessionKeysFor(principalId)
+            .stream()
+            .filter(getMapInstance()::containsKey)
+            .count();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return getIndexedSessionKeysFor(principalId)
+            .stream()
+            .map(getMapInstance()::get)
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(Objects::nonNull)
+            .filter(ticket -> ticket instanceof final TicketGrantingTicket tgt
+                && !ticket.isExpired()
+                && tgt.getAuthentication().getPrincipal().getId().equals(principalId));
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         val result = updateTicketInQueue(ticket);
@@ -115,6 +154,7 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Putting ticket [{}] in registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        indexSession(encTicket.getId(), ticket);
     }
 
     @Override
@@ -127,16 +167,67 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public long deleteTicketFromQueue(final String ticketId) {
         val encTicketId = digestIdentifier(ticketId);
-        return !StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null ? 1 : 0;
+        if (StringUtils.isBlank(encTicketId)) {
+            return 0;
+        }
+        val removed = getMapInstance().remove(encTicketId) != null;
+        removeSessionFromIndex(encTicketId);
+        return removed ? 1 : 0;
     }
 
     @Override
     public long deleteAllFromQueue() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        principalSessionIndex.clear();
+        sessionPrincipalIndex.clear();
         return size;
     }
 
+    /**
+     * Remove the ticket key from the principal session index,
+     * provided the ticket is no longer found in the map instance.
+     * Subclasses that evict entries from the map on their own
+     * are expected to call this once eviction is completed.
+     *
+     * @param ticketKey the ticket key in the map instance
+     */
+    protected void removeSessionFromIndex(final String ticketKey) {
+        if (!getMapInstance().containsKey(ticketKey)) {
+            val principalKey = sessionPrincipalIndex.remove(ticketKey);
+            if (principalKey != null) {
+                principalSessionIndex.computeIfPresent(principalKey, (key, sessions) -> {
+                    sessions.remove(ticketKey);
+                    return sessions.isEmpty() ? null : sessions;
+                });
+            }
+        }
+    }
+
+    private void indexSession(final String ticketKey, final Ticket ticket) {
+        if (ticket instanceof final TicketGrantingTicket tgt && tgt.getAuthentication() != null) {
+            val principalKey = getPrincipalIndexKey(tgt.getAuthentication().getPrincipal().getId());
+            sessionPrincipalIndex.put(ticketKey, principalKey);
+            principalSessionIndex.compute(principalKey, (key, sessions) -> {
+                val results = Objects.requireNonNullElseGet(sessions, ConcurrentHashMap::<String>newKeySet);
+                results.add(ticketKey);
+                return results;
+            });
+        }
+    }
+
+    private Set<String> getIndexedSessionKeysFor(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return Set.of();
+        }
+        val sessions = principalSessionIndex.get(getPrincipalIndexKey(principalId));
+        return sessions == null ? Set.of() : Set.copyOf(sessions);
+    }
+
+    private String getPrincipalIndexKey(final String principalId) {
+        return digestIdentifier(principalId.toLowerCase(Locale.ENGLISH));
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
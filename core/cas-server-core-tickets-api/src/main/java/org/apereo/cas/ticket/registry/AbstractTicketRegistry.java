@@ -15,7 +15,6 @@ import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
 
 import com.google.common.io.ByteSource;
 import lombok.AllArgsConstructor;
@@ -23,6 +22,7 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 
@@ -270,25 +270,38 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      * @return the count of tickets that were removed including child tickets and zero if the ticket was not deleted
      */
     protected int deleteChildren(final TicketGrantingTicket ticket) {
-        val count = new AtomicLong(0);
         if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket authTicket) {
             val services = authTicket.getServices();
             if (services != null && !services.isEmpty()) {
-                services.keySet()
-                    .stream()
-                    .map(this::getTicket)
-                    .filter(Objects::nonNull)
-                    .forEach(serviceTicket -> {
-                        val deleteCount = deleteSingleTicket(serviceTicket);
-                        if (deleteCount > 0) {
-                            LOGGER.debug("Removed ticket [{}]", serviceTicket.getId());
-                            count.getAndAdd(deleteCount);
-                        } else {
-                            LOGGER.debug("Unable to remove ticket [{}]", serviceTicket.getId());
-                        }
-                    });
+                return deleteServiceTickets(new LinkedHashSet<>(services.keySet()));
             }
         }
+        return 0;
+    }
+
+    /**
+     * Delete the given service tickets that are linked to a ticket-granting ticket.
+     * Registries that are able to remove a group of tickets by their identifiers
+     * in a single operation, without loading each ticket first, should override this operation.
+     *
+     * @param serviceTicketIds the service ticket ids
+     * @return the count of tickets that were removed
+     */
+    protected int deleteServiceTickets(final Collection<String> serviceTicketIds) {
+        val count = new AtomicLong(0);
+        serviceTicketIds
+            .stream()
+            .map(this::getTicket)
+            .filter(Objects::nonNull)
+            .forEach(serviceTicket -> {
+                val deleteCount = deleteSingleTicket(serviceTicket);
+                if (deleteCount > 0) {
+                    LOGGER.debug("Removed ticket [{}]", serviceTicket.getId());
+                    count.getAndAdd(deleteCount);
+                } else {
+                    LOGGER.debug("Unable to remove ticket [{}]", serviceTicket.getId());
+                }
+            });
         return count.intValue();
     }
 
@@ -327,7 +340,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return ticketToProcess;
         }
         LOGGER.debug("Attempting to decode [{}]", ticketToProcess);
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        val decoded = (byte[]) cipherExecutor.decode(encodedTicket.getEncodedTicket(), ArrayUtils.EMPTY_OBJECT_ARRAY);
+        val ticket = ticketSerializationManager.deserializeTicketFromBinary(decoded);
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -354,7 +368,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private Ticket createEncodedTicket(final Ticket ticket) throws Exception {
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        val serializedTicket = ticketSerializationManager.serializeTicketToBinary(ticket);
+        val encodedTicketObject = (byte[]) cipherExecutor.encode(serializedTicket, ArrayUtils.EMPTY_OBJECT_ARRAY);
         val encodedTicketId = digestIdentifier(ticket.getId());
         return new DefaultEncodedTicket(encodedTicketId,
             ByteSource.wrap(encodedTicketObject).read(), ticket.getPrefix());
@@ -0,0 +1,187 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link BaseDecoratingTicketRegistry}. It passes all calls to the ticket registry it decorates,
+ * so decorators only override the operations they act upon.
+ * <p>
+ * Decorators are applied to the ticket registry bean in a fixed order, from the innermost to the outermost:
+ * <ol>
+ *     <li>{@link ExpirationIndexingTicketRegistry}, which tracks tickets once the ticket registry has stored them.</li>
+ *     <li>{@link NearCacheTicketRegistry}, which sees deletes before they reach the ticket registry,
+ *     so cached copies are invalidated and broadcast first.</li>
+ *     <li>{@link RequestScopedTicketRegistry}, which is outermost so that tickets read more than once
+ *     in the same request never reach the other decorators.</li>
+ * </ol>
+ * The bean post-processors that apply the decorators are ordered accordingly. Decorators that only observe
+ * changes received from the ticket registry message queue, such as the one that tracks revoked OAuth access tokens,
+ * are applied before all of the above.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class BaseDecoratingTicketRegistry implements QueueableTicketRegistry {
+    /**
+     * Order of the post-processor that applies the {@link ExpirationIndexingTicketRegistry}.
+     */
+    public static final int EXPIRATION_INDEX_ORDER = Ordered.LOWEST_PRECEDENCE - 30;
+
+    /**
+     * Order of the post-processor that applies the {@link NearCacheTicketRegistry}.
+     */
+    public static final int NEAR_CACHE_ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    /**
+     * Order of the post-processor that applies the {@link RequestScopedTicketRegistry}.
+     */
+    public static final int REQUEST_CACHE_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    private final TicketRegistry delegate;
+
+    /**
+     * Unwrap all decorators and return the ticket registry that actually stores tickets.
+     *
+     * @param ticketRegistry the ticket registry
+     * @return the decorated ticket registry
+     */
+    public static TicketRegistry unwrap(final TicketRegistry ticketRegistry) {
+        var current = ticketRegistry;
+        while (current instanceof final BaseDecoratingTicketRegistry decorator) {
+            current = decorator.getDelegate();
+        }
+        return current;
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) throws Exception {
+        delegate.addTicket(ticket);
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) throws Exception {
+        delegate.addTicket(toSave);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        return delegate.getTicket(ticketId, clazz);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        return delegate.getTicket(ticketId);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        return delegate.getTicket(ticketId, predicate);
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) throws Exception {
+        return delegate.deleteTicket(ticketId);
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        return delegate.deleteTicket(ticket);
+    }
+
+    @Override
+    public long deleteAll() {
+        return delegate.deleteAll();
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        return delegate.updateTicket(ticket);
+    }
+
+    @Override
+    public long sessionCount() {
+        return delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return delegate.serviceTicketCount();
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return delegate.countSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return delegate.getSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
+        return delegate.getSessionsWithAttributes(queryAttributes);
+    }
+
+    @Override
+    public String digestIdentifier(final String id) {
+        return delegate.digestIdentifier(id);
+    }
+
+    @Override
+    public void addTicketToQueue(final Ticket ticket) throws Exception {
+        if (delegate instanceof final QueueableTicketRegistry queueableTicketRegistry) {
+            queueableTicketRegistry.addTicketToQueue(ticket);
+        }
+    }
+
+    @Override
+    public Ticket updateTicketInQueue(final Ticket ticket) throws Exception {
+        return delegate instanceof final QueueableTicketRegistry queueableTicketRegistry
+            ? queueableTicketRegistry.updateTicketInQueue(ticket)
+            : ticket;
+    }
+
+    @Override
+    public long deleteTicketFromQueue(final String ticketId) {
+        return delegate instanceof final QueueableTicketRegistry queueableTicketRegistry
+            ? queueableTicketRegistry.deleteTicketFromQueue(ticketId)
+            : 0;
+    }
+
+    @Override
+    public long deleteAllFromQueue() {
+        return delegate instanceof final QueueableTicketRegistry queueableTicketRegistry
+            ? queueableTicketRegistry.deleteAllFromQueue()
+            : 0;
+    }
+}
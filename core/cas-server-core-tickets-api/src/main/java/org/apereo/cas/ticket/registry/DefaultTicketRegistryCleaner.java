@@ -7,13 +7,20 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.lock.LockRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
@@ -25,11 +32,14 @@ import java.util.Objects;
 @RequiredArgsConstructor
 @Transactional(transactionManager = "ticketTransactionManager")
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
-    private final LockRepository lockRepository;
+    protected final LockRepository lockRepository;
 
-    private final LogoutManager logoutManager;
+    protected final LogoutManager logoutManager;
 
-    private final TicketRegistry ticketRegistry;
+    protected final TicketRegistry ticketRegistry;
+
+    @Setter
+    protected MeterRegistry meterRegistry = Metrics.globalRegistry;
 
     @Override
     public int clean() {
@@ -60,13 +70,45 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     }
 
     protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.stream().filter(Objects::nonNull).filter(Ticket::isExpired)) {
+        val startTime = System.nanoTime();
+        val ticketsExamined = new AtomicLong();
+        try (val expiredTickets = ticketRegistry.stream()
+            .filter(Objects::nonNull)
+            .peek(ticket -> ticketsExamined.incrementAndGet())
+            .filter(Ticket::isExpired)) {
             val ticketsDeleted = expiredTickets.mapToInt(this::cleanTicket).sum();
-            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+            recordSweep("full", ticketsExamined.get(), ticketsDeleted, Duration.ofNanos(System.nanoTime() - startTime));
             return ticketsDeleted;
         }
     }
 
+    /**
+     * Record the statistics of a cleaner sweep, noting the duration
+     * and the number of tickets examined and removed.
+     *
+     * @param sweepType       the sweep type
+     * @param ticketsExamined the tickets examined
+     * @param ticketsDeleted  the tickets deleted
+     * @param duration        the duration
+     */
+    protected void recordSweep(final String sweepType, final long ticketsExamined,
+                               final long ticketsDeleted, final Duration duration) {
+        LOGGER.info("[{}] expired tickets removed after examining [{}] ticket(s) in [{}] ms via [{}] sweep.",
+            ticketsDeleted, ticketsExamined, duration.toMillis(), sweepType);
+        Timer.builder("cas.ticket.registry.cleaner.duration")
+            .tag("sweep", sweepType)
+            .register(meterRegistry)
+            .record(duration);
+        Counter.builder("cas.ticket.registry.cleaner.examined")
+            .tag("sweep", sweepType)
+            .register(meterRegistry)
+            .increment(ticketsExamined);
+        Counter.builder("cas.ticket.registry.cleaner.removed")
+            .tag("sweep", sweepType)
+            .register(meterRegistry)
+            .increment(ticketsDeleted);
+    }
+
     /**
      * Indicates whether the registry supports automated ticket cleanup.
      * Generally, a registry that is able to return a collection of available
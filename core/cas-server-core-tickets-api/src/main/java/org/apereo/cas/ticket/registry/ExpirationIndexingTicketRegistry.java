@@ -0,0 +1,87 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.Getter;
+import lombok.val;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link ExpirationIndexingTicketRegistry}. It decorates another ticket registry
+ * and tracks tickets that are added or updated in the {@link TicketExpirationIndex} used by
+ * the {@link IndexedTicketRegistryCleaner}, so such tickets are examined by the cleaner once they are due
+ * rather than after the next full sweep. Tickets are only tracked once the decorated registry has stored them,
+ * and are removed from the index when they are deleted.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Getter
+public class ExpirationIndexingTicketRegistry extends BaseDecoratingTicketRegistry {
+    private final TicketExpirationIndex expirationIndex;
+
+    private final Clock clock;
+
+    public ExpirationIndexingTicketRegistry(final TicketRegistry delegate, final TicketExpirationIndex expirationIndex) {
+        this(delegate, expirationIndex, Clock.systemUTC());
+    }
+
+    public ExpirationIndexingTicketRegistry(final TicketRegistry delegate, final TicketExpirationIndex expirationIndex,
+                                            final Clock clock) {
+        super(delegate);
+        this.expirationIndex = expirationIndex;
+        this.clock = clock;
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) throws Exception {
+        super.addTicket(ticket);
+        track(ticket);
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) throws Exception {
+        val tickets = toSave.filter(Objects::nonNull).toList();
+        super.addTicket(tickets.stream());
+        tickets.forEach(this::track);
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) throws Exception {
+        val count = super.deleteTicket(ticketId);
+        expirationIndex.unschedule(ticketId);
+        return count;
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        val count = super.deleteTicket(ticket);
+        expirationIndex.unschedule(ticket.getId());
+        return count;
+    }
+
+    @Override
+    public long deleteAll() {
+        val count = super.deleteAll();
+        expirationIndex.clear();
+        return count;
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        val result = super.updateTicket(ticket);
+        if (result != null) {
+            track(ticket);
+        }
+        return result;
+    }
+
+    private void track(final Ticket ticket) {
+        if (!ticket.isExpired()) {
+            expirationIndex.track(ticket, clock.instant());
+        }
+    }
+}
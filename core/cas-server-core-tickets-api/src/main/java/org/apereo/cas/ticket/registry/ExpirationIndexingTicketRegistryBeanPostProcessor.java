@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * This is {@link ExpirationIndexingTicketRegistryBeanPostProcessor}, which decorates
+ * the ticket registry bean with an {@link ExpirationIndexingTicketRegistry}
+ * regardless of the registry technology, when the indexed ticket registry cleaner is enabled.
+ * The expiration index is applied first, so it is the innermost decorator;
+ * see {@link BaseDecoratingTicketRegistry} for the order of decorators.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ExpirationIndexingTicketRegistryBeanPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<TicketExpirationIndex> expirationIndex;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (TicketRegistry.BEAN_NAME.equals(beanName) && bean instanceof final TicketRegistry ticketRegistry
+            && !(bean instanceof ExpirationIndexingTicketRegistry)) {
+            val cleaner = casProperties.getObject().getTicket().getRegistry().getCleaner();
+            if (cleaner.getSchedule().isEnabled() && cleaner.isIndexed()) {
+                LOGGER.info("Decorating ticket registry [{}] with an expiration index", ticketRegistry.getClass().getSimpleName());
+                return new ExpirationIndexingTicketRegistry(ticketRegistry, expirationIndex.getObject());
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return BaseDecoratingTicketRegistry.EXPIRATION_INDEX_ORDER;
+    }
+}
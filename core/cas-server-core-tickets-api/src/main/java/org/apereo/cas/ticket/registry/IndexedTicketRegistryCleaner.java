@@ -0,0 +1,136 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.lock.LockRepository;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link IndexedTicketRegistryCleaner}. Rather than streaming every ticket
+ * in the registry on each run, this cleaner keeps a {@link TicketExpirationIndex}
+ * keyed by the next expiration instant of each ticket and only examines tickets that are due.
+ * Partitions of the index are swept one after another by the thread that runs the cleaner, so that all tickets
+ * are cleaned within the transaction of {@link #clean()}. Tickets that are added or updated on this node
+ * are indexed right away by {@link ExpirationIndexingTicketRegistry}. The registry is still fully scanned
+ * on the first run and then periodically to seed and reconcile the index with tickets
+ * that were added without the cleaner's knowledge, i.e. by other nodes.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class IndexedTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private final TicketExpirationIndex expirationIndex;
+
+    private final Duration fullSweepInterval;
+
+    private final Clock clock;
+
+    private volatile Instant lastFullSweep;
+
+    public IndexedTicketRegistryCleaner(final LockRepository lockRepository,
+                                        final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry,
+                                        final TicketExpirationIndex expirationIndex,
+                                        final Duration fullSweepInterval) {
+        this(lockRepository, logoutManager, ticketRegistry, expirationIndex, fullSweepInterval, Clock.systemUTC());
+    }
+
+    public IndexedTicketRegistryCleaner(final LockRepository lockRepository,
+                                        final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry,
+                                        final TicketExpirationIndex expirationIndex,
+                                        final Duration fullSweepInterval,
+                                        final Clock clock) {
+        super(lockRepository, logoutManager, ticketRegistry);
+        this.expirationIndex = expirationIndex;
+        this.fullSweepInterval = fullSweepInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    protected int cleanInternal() {
+        val now = clock.instant();
+        if (lastFullSweep == null || !now.isBefore(lastFullSweep.plus(fullSweepInterval))) {
+            lastFullSweep = now;
+            return cleanAndReconcile(now);
+        }
+        return cleanDueTickets(now);
+    }
+
+    protected int cleanAndReconcile(final Instant now) {
+        val startTime = System.nanoTime();
+        val ticketsExamined = new AtomicLong();
+        try (val tickets = ticketRegistry.stream().filter(Objects::nonNull)) {
+            val ticketsDeleted = tickets
+                .peek(ticket -> ticketsExamined.incrementAndGet())
+                .mapToInt(ticket -> {
+                    if (ticket.isExpired()) {
+                        expirationIndex.unschedule(ticket.getId());
+                        return cleanTicket(ticket);
+                    }
+                    track(ticket, now);
+                    return 0;
+                })
+                .sum();
+            recordSweep("full", ticketsExamined.get(), ticketsDeleted, Duration.ofNanos(System.nanoTime() - startTime));
+            LOGGER.debug("Expiration index is now tracking [{}] ticket(s)", expirationIndex.size());
+            return ticketsDeleted;
+        }
+    }
+
+    protected int cleanDueTickets(final Instant now) {
+        val startTime = System.nanoTime();
+        val ticketsExamined = new AtomicLong();
+        val ticketsDeleted = IntStream.range(0, expirationIndex.getPartitionCount())
+            .map(partition -> cleanPartition(partition, now, ticketsExamined))
+            .sum();
+        recordSweep("indexed", ticketsExamined.get(), ticketsDeleted, Duration.ofNanos(System.nanoTime() - startTime));
+        return ticketsDeleted;
+    }
+
+    protected int cleanPartition(final int partition, final Instant now, final AtomicLong ticketsExamined) {
+        val dueTickets = expirationIndex.pollDue(partition, now);
+        ticketsExamined.addAndGet(dueTickets.size());
+        var ticketsDeleted = 0;
+        for (val ticketId : dueTickets) {
+            try {
+                val ticket = ticketRegistry.getTicket(ticketId, Objects::nonNull);
+                if (ticket != null) {
+                    if (ticket.isExpired()) {
+                        ticketsDeleted += cleanTicket(ticket);
+                    } else {
+                        track(ticket, now);
+                    }
+                }
+            } catch (final Exception e) {
+                LoggingUtils.error(LOGGER, e);
+            }
+        }
+        return ticketsDeleted;
+    }
+
+    /**
+     * Track the ticket in the expiration index, if its next expiration instant
+     * can be determined from its expiration policy. Tickets whose expiration
+     * cannot be determined are left to be handled by the next full sweep.
+     *
+     * @param ticket the ticket
+     * @param now    the now
+     */
+    protected void track(final Ticket ticket, final Instant now) {
+        expirationIndex.track(ticket, now);
+    }
+}
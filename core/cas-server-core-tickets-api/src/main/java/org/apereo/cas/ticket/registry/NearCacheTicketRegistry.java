@@ -0,0 +1,303 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.AuthenticatedServicesAwareTicketGrantingTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.commands.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.PublisherIdentifier;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCacheTicketRegistry}. It decorates another ticket registry
+ * with a bounded, short-lived local cache to avoid repeated round trips for the same
+ * ticket, typically when a ticket is read several times during the same request.
+ * Tickets are cached as serialized snapshots and every lookup hands out a new copy,
+ * so changes made to a ticket that are never passed to the ticket registry are not shared
+ * with other callers.
+ * <p>
+ * Local changes invalidate the cached entry and are broadcast to other nodes
+ * via the configured {@link QueueableTicketRegistryMessagePublisher}, so they can drop
+ * their copies. Each cached entry is stamped with the invalidation version that
+ * was current when the entry was loaded; entries loaded while an invalidation
+ * was in flight are never cached.
+ * <p>
+ * If the decorated registry is itself a {@link QueueableTicketRegistry}, it remains
+ * in charge of publishing and applying its own commands and this registry only
+ * invalidates the relevant entries.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class NearCacheTicketRegistry extends BaseDecoratingTicketRegistry {
+    private static final String METER_PREFIX = "cas.ticket.registry.near-cache";
+
+    private final Cache<String, CachedTicket> nearCache;
+
+    private final QueueableTicketRegistryMessagePublisher ticketPublisher;
+
+    private final PublisherIdentifier publisherIdentifier;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Timer stalenessTimer;
+
+    private final Counter localInvalidations;
+
+    private final Counter remoteInvalidations;
+
+    public NearCacheTicketRegistry(final TicketRegistry delegate,
+                                   final long maximumSize,
+                                   final Duration timeToLive,
+                                   final QueueableTicketRegistryMessagePublisher ticketPublisher,
+                                   final PublisherIdentifier publisherIdentifier,
+                                   final MeterRegistry meterRegistry) {
+        super(delegate);
+        this.ticketPublisher = ticketPublisher;
+        this.publisherIdentifier = publisherIdentifier;
+        this.nearCache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "ticketRegistryNearCache");
+        this.stalenessTimer = Timer.builder(METER_PREFIX + ".staleness")
+            .description("Age of near-cached tickets at the time they are served")
+            .register(meterRegistry);
+        this.localInvalidations = Counter.builder(METER_PREFIX + ".invalidations")
+            .tag("source", "local")
+            .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder(METER_PREFIX + ".invalidations")
+            .tag("source", "remote")
+            .register(meterRegistry);
+    }
+
+    private static Collection<String> collectLinkedTicketIds(final Ticket ticket) {
+        val ticketIds = new LinkedHashSet<String>();
+        ticketIds.add(ticket.getId());
+        if (ticket instanceof final TicketGrantingTicket tgt) {
+            ticketIds.addAll(tgt.getProxyGrantingTickets().keySet());
+            ticketIds.addAll(tgt.getDescendantTickets());
+            if (tgt instanceof final AuthenticatedServicesAwareTicketGrantingTicket servicesAware) {
+                ticketIds.addAll(servicesAware.getServices().keySet());
+            }
+        }
+        return new ArrayList<>(ticketIds);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) throws Exception {
+        val currentVersion = version.get();
+        super.addTicket(ticket);
+        cacheTicket(ticket, currentVersion);
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) throws Exception {
+        val currentVersion = version.get();
+        val tickets = toSave.filter(Objects::nonNull).toList();
+        super.addTicket(tickets.stream());
+        tickets.forEach(ticket -> cacheTicket(ticket, currentVersion));
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null && clazz.isAssignableFrom(cached.getClass())) {
+            return clazz.cast(cached);
+        }
+        val currentVersion = version.get();
+        val ticket = super.getTicket(ticketId, clazz);
+        cacheTicket(ticket, currentVersion);
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return cached;
+        }
+        val currentVersion = version.get();
+        val ticket = super.getTicket(ticketId);
+        cacheTicket(ticket, currentVersion);
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return predicate.test(cached) ? cached : null;
+        }
+        val currentVersion = version.get();
+        val ticket = super.getTicket(ticketId, predicate);
+        cacheTicket(ticket, currentVersion);
+        return ticket;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) throws Exception {
+        if (StringUtils.isBlank(ticketId)) {
+            return 0;
+        }
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            invalidate(List.of(ticketId), true);
+            return 0;
+        }
+        return deleteTicket(ticket);
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        val ticketIds = collectLinkedTicketIds(ticket);
+        invalidate(ticketIds, true);
+        try {
+            return super.deleteTicket(ticket);
+        } finally {
+            invalidate(ticketIds, false);
+        }
+    }
+
+    @Override
+    public long deleteAll() {
+        invalidateAll();
+        publish(() -> new DeleteTicketsMessageQueueCommand(publisherIdentifier));
+        return super.deleteAll();
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        invalidate(List.of(ticket.getId()), true);
+        val currentVersion = version.get();
+        val result = super.updateTicket(ticket);
+        cacheTicket(result, currentVersion);
+        return result;
+    }
+
+    @Override
+    public void addTicketToQueue(final Ticket ticket) throws Exception {
+        invalidateFromRemote(ticket.getId());
+        super.addTicketToQueue(ticket);
+    }
+
+    @Override
+    public Ticket updateTicketInQueue(final Ticket ticket) throws Exception {
+        invalidateFromRemote(ticket.getId());
+        return super.updateTicketInQueue(ticket);
+    }
+
+    @Override
+    public long deleteTicketFromQueue(final String ticketId) {
+        invalidateFromRemote(ticketId);
+        return super.deleteTicketFromQueue(ticketId);
+    }
+
+    @Override
+    public long deleteAllFromQueue() {
+        remoteInvalidations.increment();
+        invalidateAll();
+        return super.deleteAllFromQueue();
+    }
+
+    protected Ticket getCachedTicket(final String ticketId) {
+        if (ticketId == null) {
+            return null;
+        }
+        val cached = nearCache.getIfPresent(ticketId);
+        if (cached == null) {
+            return null;
+        }
+        val ticket = SerializationUtils.deserialize(cached.snapshot(), Ticket.class);
+        if (ticket.isExpired()) {
+            nearCache.invalidate(ticketId);
+            return null;
+        }
+        stalenessTimer.record(Duration.ofNanos(System.nanoTime() - cached.cachedAt()));
+        return ticket;
+    }
+
+    protected void cacheTicket(final Ticket ticket, final long loadedVersion) {
+        if (ticket != null && !ticket.isExpired()) {
+            try {
+                val snapshot = SerializationUtils.serialize(ticket);
+                nearCache.asMap().compute(ticket.getId(), (id, existing) -> {
+                    if (version.get() != loadedVersion) {
+                        LOGGER.trace("Ticket [{}] was loaded before an invalidation and will not be cached", id);
+                        return existing;
+                    }
+                    return new CachedTicket(snapshot, loadedVersion, System.nanoTime());
+                });
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        }
+    }
+
+    protected void invalidate(final Collection<String> ticketIds, final boolean broadcast) {
+        version.incrementAndGet();
+        nearCache.invalidateAll(ticketIds);
+        if (broadcast) {
+            localInvalidations.increment(ticketIds.size());
+            ticketIds.forEach(ticketId -> publish(() -> new DeleteTicketMessageQueueCommand(publisherIdentifier, ticketId)));
+        }
+    }
+
+    protected void invalidateAll() {
+        version.incrementAndGet();
+        nearCache.invalidateAll();
+    }
+
+    private void invalidateFromRemote(final String ticketId) {
+        LOGGER.trace("Invalidating near-cached ticket [{}] on behalf of another node", ticketId);
+        remoteInvalidations.increment();
+        version.incrementAndGet();
+        nearCache.invalidate(ticketId);
+    }
+
+    private void publish(final Supplier<? extends BaseMessageQueueCommand> command) {
+        if (ticketPublisher.isEnabled() && !(unwrap(getDelegate()) instanceof QueueableTicketRegistry)) {
+            ticketPublisher.publishMessageToQueue(command.get());
+        }
+    }
+
+    /**
+     * Cached ticket entry, stamped with the invalidation version
+     * that was current when the ticket was loaded.
+     *
+     * @param snapshot the serialized ticket
+     * @param version  the version
+     * @param cachedAt the time the entry was cached, in nanoseconds
+     */
+    public record CachedTicket(byte[] snapshot, long version, long cachedAt) {
+    }
+}
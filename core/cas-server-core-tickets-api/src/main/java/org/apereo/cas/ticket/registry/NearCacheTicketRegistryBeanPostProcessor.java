@@ -0,0 +1,67 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * This is {@link NearCacheTicketRegistryBeanPostProcessor}, which decorates
+ * the ticket registry bean with a {@link NearCacheTicketRegistry}
+ * regardless of the registry technology, when the near-cache is enabled.
+ * The near-cache is only applied when a ticket registry message queue is available
+ * to broadcast invalidations to other nodes; otherwise, nodes would keep serving
+ * tickets that were changed or deleted elsewhere.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NearCacheTicketRegistryBeanPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<QueueableTicketRegistryMessagePublisher> ticketPublisher;
+
+    private final ObjectProvider<PublisherIdentifier> publisherIdentifier;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (TicketRegistry.BEAN_NAME.equals(beanName) && bean instanceof final TicketRegistry ticketRegistry
+            && !(bean instanceof NearCacheTicketRegistry)) {
+            val nearCache = casProperties.getObject().getTicket().getRegistry().getNearCache();
+            if (nearCache.isEnabled()) {
+                val publisher = ticketPublisher.getIfAvailable(QueueableTicketRegistryMessagePublisher::noOp);
+                if (!publisher.isEnabled()) {
+                    LOGGER.warn("Ticket registry near-cache is enabled, but no ticket registry message queue is available "
+                        + "to broadcast invalidations to other nodes. The near-cache will not be used.");
+                    return bean;
+                }
+                LOGGER.info("Decorating ticket registry [{}] with a near-cache", ticketRegistry.getClass().getSimpleName());
+                return new NearCacheTicketRegistry(ticketRegistry,
+                    nearCache.getMaximumSize(),
+                    Beans.newDuration(nearCache.getTimeToLive()),
+                    publisher,
+                    publisherIdentifier.getIfAvailable(PublisherIdentifier::new),
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return BaseDecoratingTicketRegistry.NEAR_CACHE_ORDER;
+    }
+}
@@ -0,0 +1,119 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.val;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link RequestScopedTicketRegistry}. It decorates another ticket registry
+ * and serves tickets from the {@link TicketRegistryRequestContext} of the current request, if any,
+ * so a ticket is read from the decorated registry at most once per request.
+ * Tickets that are added or updated are written to the decorated registry immediately, and are only remembered
+ * for the rest of the request once the decorated registry has stored them. Each lookup served from the request
+ * hands out a copy of the remembered ticket, and expired tickets are always looked up in the decorated registry.
+ * Deleting tickets forgets all tickets remembered by the request, since deleting a ticket may remove other tickets
+ * linked to it.
+ * <p>
+ * When no request context is active, all calls are passed to the decorated registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public class RequestScopedTicketRegistry extends BaseDecoratingTicketRegistry {
+    public RequestScopedTicketRegistry(final TicketRegistry delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) throws Exception {
+        super.addTicket(ticket);
+        TicketRegistryRequestContext.current().ifPresent(context -> context.write(ticket));
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) throws Exception {
+        val tickets = toSave.filter(Objects::nonNull).toList();
+        super.addTicket(tickets.stream());
+        TicketRegistryRequestContext.current().ifPresent(context -> tickets.forEach(context::write));
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        val context = TicketRegistryRequestContext.current();
+        if (context.isEmpty()) {
+            return super.getTicket(ticketId, clazz);
+        }
+        val cached = context.get().get(ticketId);
+        if (cached != null && clazz.isAssignableFrom(cached.getClass())) {
+            return clazz.cast(cached);
+        }
+        val ticket = super.getTicket(ticketId, clazz);
+        context.get().read(ticket);
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        val context = TicketRegistryRequestContext.current();
+        if (context.isEmpty()) {
+            return super.getTicket(ticketId);
+        }
+        val cached = context.get().get(ticketId);
+        if (cached != null) {
+            return cached;
+        }
+        val ticket = super.getTicket(ticketId);
+        context.get().read(ticket);
+        return ticket;
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        val context = TicketRegistryRequestContext.current();
+        if (context.isEmpty()) {
+            return super.getTicket(ticketId, predicate);
+        }
+        val cached = context.get().get(ticketId);
+        if (cached != null) {
+            return predicate.test(cached) ? cached : null;
+        }
+        val ticket = super.getTicket(ticketId, predicate);
+        context.get().read(ticket);
+        return ticket;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) throws Exception {
+        TicketRegistryRequestContext.current().ifPresent(TicketRegistryRequestContext::delete);
+        return super.deleteTicket(ticketId);
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        TicketRegistryRequestContext.current().ifPresent(TicketRegistryRequestContext::delete);
+        return super.deleteTicket(ticket);
+    }
+
+    @Override
+    public long deleteAll() {
+        TicketRegistryRequestContext.current().ifPresent(TicketRegistryRequestContext::delete);
+        return super.deleteAll();
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        val result = super.updateTicket(ticket);
+        TicketRegistryRequestContext.current().ifPresent(context -> {
+            if (result == null) {
+                context.forget(ticket.getId());
+            } else {
+                context.write(ticket);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * This is {@link RequestScopedTicketRegistryBeanPostProcessor}, which decorates
+ * the ticket registry bean with a {@link RequestScopedTicketRegistry}
+ * regardless of the registry technology, when the request cache is enabled.
+ * The request cache is applied last, so it is the outermost decorator;
+ * see {@link BaseDecoratingTicketRegistry} for the order of decorators.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RequestScopedTicketRegistryBeanPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (TicketRegistry.BEAN_NAME.equals(beanName) && bean instanceof final TicketRegistry ticketRegistry
+            && !(bean instanceof RequestScopedTicketRegistry)
+            && casProperties.getObject().getTicket().getRegistry().getRequestCache().isEnabled()) {
+            LOGGER.info("Decorating ticket registry [{}] with a request cache", ticketRegistry.getClass().getSimpleName());
+            return new RequestScopedTicketRegistry(ticketRegistry);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return BaseDecoratingTicketRegistry.REQUEST_CACHE_ORDER;
+    }
+}
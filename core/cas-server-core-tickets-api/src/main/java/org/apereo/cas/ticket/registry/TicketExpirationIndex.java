@@ -0,0 +1,199 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link TicketExpirationIndex}, which tracks ticket identifiers
+ * ordered by their next expiration instant. The index is sharded into partitions
+ * based on the ticket identifier, and each partition groups tickets into
+ * expiration slots whose size is controlled by the configured resolution.
+ * Polling a partition only touches slots that are due, allowing the cleaner
+ * to avoid examining tickets whose expiration instant is still in the future.
+ * <p>
+ * The index is advisory: callers are expected to verify the actual
+ * state of each ticket before acting on it.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class TicketExpirationIndex {
+
+    private final List<Partition> partitions;
+
+    private final long resolution;
+
+    @Getter
+    private final int partitionCount;
+
+    public TicketExpirationIndex(final int partitionCount, final Duration resolution) {
+        this.partitionCount = Math.max(1, partitionCount);
+        this.resolution = Math.max(1, resolution.toMillis());
+        this.partitions = IntStream.range(0, this.partitionCount)
+            .mapToObj(idx -> new Partition())
+            .toList();
+    }
+
+    /**
+     * Determine the next expiration instant of the ticket from its expiration policy, if possible.
+     *
+     * @param ticket the ticket
+     * @return the next expiration instant
+     */
+    public static Optional<Instant> getNextExpiration(final Ticket ticket) {
+        try {
+            val policy = ticket.getExpirationPolicy();
+            if (policy == null) {
+                return Optional.empty();
+            }
+            return Stream.of(policy.getMaximumExpirationTime(ticket), policy.getIdleExpirationTime(ticket))
+                .filter(Objects::nonNull)
+                .map(ZonedDateTime::toInstant)
+                .min(Comparator.naturalOrder())
+                .or(() -> Optional.ofNullable(policy.getTimeToLive(ticket))
+                    .filter(timeToLive -> timeToLive > 0)
+                    .map(timeToLive -> ticket.getCreationTime().toInstant().plusSeconds(timeToLive)));
+        } catch (final Exception e) {
+            LOGGER.trace("Unable to determine expiration instant for ticket [{}]: [{}]", ticket.getId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Track the ticket at its next expiration instant, if that can be determined from its expiration policy
+     * and is still in the future. Otherwise, the ticket is removed from the index.
+     *
+     * @param ticket the ticket
+     * @param now    the current instant
+     */
+    public void track(final Ticket ticket, final Instant now) {
+        getNextExpiration(ticket)
+            .filter(expiration -> expiration.isAfter(now))
+            .ifPresentOrElse(expiration -> schedule(ticket.getId(), expiration),
+                () -> unschedule(ticket.getId()));
+    }
+
+    /**
+     * Schedule (or reschedule) the ticket to expire at the given instant.
+     *
+     * @param ticketId   the ticket id
+     * @param expiration the expiration instant
+     */
+    public void schedule(final String ticketId, final Instant expiration) {
+        getPartition(ticketId).schedule(ticketId, toSlot(expiration));
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void unschedule(final String ticketId) {
+        getPartition(ticketId).unschedule(ticketId);
+    }
+
+    /**
+     * Remove and collect all ticket ids in the given partition
+     * whose expiration slot is due at the given instant.
+     *
+     * @param partition the partition
+     * @param now       the current instant
+     * @return the ticket ids that are due
+     */
+    public List<String> pollDue(final int partition, final Instant now) {
+        return partitions.get(partition).pollDue(toSlot(now));
+    }
+
+    /**
+     * Total number of tickets tracked by the index.
+     *
+     * @return the size
+     */
+    public long size() {
+        return partitions.stream().mapToLong(partition -> partition.slotsByTicket.size()).sum();
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    public void clear() {
+        partitions.forEach(Partition::clear);
+    }
+
+    private Partition getPartition(final String ticketId) {
+        return partitions.get(Math.floorMod(ticketId.hashCode(), partitionCount));
+    }
+
+    private long toSlot(final Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), resolution);
+    }
+
+    private static final class Partition {
+        private final NavigableMap<Long, Set<String>> slots = new ConcurrentSkipListMap<>();
+
+        private final Map<String, Long> slotsByTicket = new ConcurrentHashMap<>();
+
+        void schedule(final String ticketId, final long slot) {
+            val previous = slotsByTicket.put(ticketId, slot);
+            if (previous != null && previous != slot) {
+                removeFromSlot(ticketId, previous);
+            }
+            slots.computeIfAbsent(slot, key -> ConcurrentHashMap.newKeySet()).add(ticketId);
+        }
+
+        void unschedule(final String ticketId) {
+            val previous = slotsByTicket.remove(ticketId);
+            if (previous != null) {
+                removeFromSlot(ticketId, previous);
+            }
+        }
+
+        List<String> pollDue(final long currentSlot) {
+            val results = new ArrayList<String>();
+            var entry = slots.firstEntry();
+            while (entry != null && entry.getKey() <= currentSlot) {
+                if (slots.remove(entry.getKey(), entry.getValue())) {
+                    val slot = entry.getKey();
+                    entry.getValue()
+                        .stream()
+                        .filter(ticketId -> slotsByTicket.remove(ticketId, slot))
+                        .forEach(results::add);
+                }
+                entry = slots.firstEntry();
+            }
+            return results;
+        }
+
+        void clear() {
+            slots.clear();
+            slotsByTicket.clear();
+        }
+
+        private void removeFromSlot(final String ticketId, final long slot) {
+            slots.computeIfPresent(slot, (key, ticketIds) -> {
+                ticketIds.remove(ticketId);
+                return ticketIds.isEmpty() ? null : ticketIds;
+            });
+        }
+    }
+}
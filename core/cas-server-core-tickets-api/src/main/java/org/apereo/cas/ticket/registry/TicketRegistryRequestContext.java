@@ -0,0 +1,132 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This is {@link TicketRegistryRequestContext}. It holds the tickets that were read from
+ * or written to the ticket registry by the current request, along with the number of ticket registry
+ * calls made by the request. The context is bound to the thread that processes the request; tickets
+ * accessed by other threads are never served from it.
+ * <p>
+ * Tickets are remembered as serialized snapshots, and every lookup hands out a new copy, so changes made
+ * to a ticket that are never passed to the ticket registry do not leak into later lookups of the same request.
+ * Expired tickets are never handed out, and are looked up in the ticket registry instead.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TicketRegistryRequestContext {
+    private static final ThreadLocal<TicketRegistryRequestContext> CURRENT = new ThreadLocal<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, byte[]> tickets = new HashMap<>();
+
+    private long reads;
+
+    private long hits;
+
+    private long writes;
+
+    private long deletes;
+
+    /**
+     * Start a new request context for the current thread, unless one is already active.
+     *
+     * @return the new context, or empty if a context is already active
+     */
+    public static Optional<TicketRegistryRequestContext> begin() {
+        if (CURRENT.get() != null) {
+            return Optional.empty();
+        }
+        val context = new TicketRegistryRequestContext();
+        CURRENT.set(context);
+        return Optional.of(context);
+    }
+
+    /**
+     * Gets the request context bound to the current thread.
+     *
+     * @return the context
+     */
+    public static Optional<TicketRegistryRequestContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * End the request context of the current thread and forget its tickets.
+     */
+    public static void end() {
+        current().ifPresent(context -> context.tickets.clear());
+        CURRENT.remove();
+    }
+
+    /**
+     * Total number of calls made to the ticket registry by this request.
+     *
+     * @return the count
+     */
+    public long getRegistryCalls() {
+        return reads + writes + deletes;
+    }
+
+    Ticket get(final String ticketId) {
+        val snapshot = tickets.get(ticketId);
+        if (snapshot == null) {
+            return null;
+        }
+        val ticket = SerializationUtils.deserialize(snapshot, Ticket.class);
+        if (ticket.isExpired()) {
+            tickets.remove(ticketId);
+            return null;
+        }
+        hits++;
+        return ticket;
+    }
+
+    void read(final Ticket ticket) {
+        reads++;
+        remember(ticket);
+    }
+
+    void write(final Ticket ticket) {
+        writes++;
+        remember(ticket);
+    }
+
+    void delete() {
+        deletes++;
+        tickets.clear();
+    }
+
+    void forget(final String ticketId) {
+        tickets.remove(ticketId);
+    }
+
+    private void remember(final Ticket ticket) {
+        if (ticket != null) {
+            tickets.remove(ticket.getId());
+            if (!ticket.isExpired()) {
+                try {
+                    tickets.put(ticket.getId(), SerializationUtils.serialize(ticket));
+                } catch (final Exception e) {
+                    LoggingUtils.warn(LOGGER, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.apereo.cas.ticket.registry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * This is {@link TicketRegistryRequestContextFilter}. It binds a {@link TicketRegistryRequestContext}
+ * to each request for the duration of the request, and records the number of ticket registry
+ * calls made by the request once it completes.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TicketRegistryRequestContextFilter implements Filter {
+    private static final String METER_NAME = "cas.ticket.registry.request.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void doFilter(final ServletRequest servletRequest, final ServletResponse servletResponse,
+                         final FilterChain filterChain) throws IOException, ServletException {
+        val context = TicketRegistryRequestContext.begin();
+        if (context.isEmpty()) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            TicketRegistryRequestContext.end();
+            record((HttpServletRequest) servletRequest, context.get());
+        }
+    }
+
+    private void record(final HttpServletRequest request, final TicketRegistryRequestContext context) {
+        if (context.getRegistryCalls() + context.getHits() == 0) {
+            return;
+        }
+        LOGGER.debug("Request [{}] made [{}] ticket registry read(s), [{}] write(s) and [{}] delete(s); [{}] read(s) were served by the request",
+            request.getRequestURI(), context.getReads(), context.getWrites(), context.getDeletes(), context.getHits());
+        recordCalls("read", context.getReads());
+        recordCalls("write", context.getWrites());
+        recordCalls("delete", context.getDeletes());
+        recordCalls("hit", context.getHits());
+    }
+
+    private void recordCalls(final String operation, final long count) {
+        DistributionSummary.builder(METER_NAME)
+            .description("Number of ticket registry calls made by a single request")
+            .tag("operation", operation)
+            .register(meterRegistry)
+            .record(count);
+    }
+}
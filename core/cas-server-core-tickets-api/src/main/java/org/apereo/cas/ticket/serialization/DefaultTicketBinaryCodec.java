@@ -0,0 +1,155 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.serialization.StringSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jooq.lambda.Unchecked;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This is {@link DefaultTicketBinaryCodec}.
+ * <p>
+ * When compact encoding is turned on, tickets are written using a versioned envelope
+ * that carries the ticket type and the deflated JSON document produced by the ticket serializer
+ * registered in the {@link TicketSerializationExecutionPlan}. Tickets whose type has no
+ * registered serializer fall back to standard Java serialization.
+ * <p>
+ * Decoding always inspects the payload header and accepts the compact envelope,
+ * Java-serialized payloads as well as plain JSON documents, so that entries written
+ * by previous versions or with a different setting can still be read and migrated.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class DefaultTicketBinaryCodec implements TicketBinaryCodec {
+    /**
+     * Current version of the compact envelope.
+     */
+    public static final byte VERSION = 1;
+
+    private static final byte[] MAGIC = {(byte) 0xCA, (byte) 0x5E};
+
+    private static final byte[] JAVA_SERIALIZATION_MAGIC = {(byte) 0xAC, (byte) 0xED};
+
+    private static final String JSON_TYPE_FIELD = "@class";
+
+    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
+        .defaultTypingEnabled(false).build().toObjectMapper();
+
+    private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    private final boolean compactEncoding;
+
+    private static byte[] toJson(final StringSerializer<Ticket> serializer, final Ticket ticket) throws Exception {
+        if (serializer instanceof final AbstractJacksonBackedStringSerializer<Ticket> jackson) {
+            return jackson.getObjectMapper().writeValueAsBytes(ticket);
+        }
+        return serializer.toString(ticket).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Ticket fromJson(final StringSerializer<Ticket> serializer, final byte[] json) throws Exception {
+        if (serializer instanceof final AbstractJacksonBackedStringSerializer<Ticket> jackson) {
+            return jackson.getObjectMapper().readValue(json, jackson.getTypeToSerialize());
+        }
+        return serializer.from(new String(json, StandardCharsets.UTF_8));
+    }
+
+    private static boolean startsWith(final byte[] content, final byte[] prefix) {
+        if (content == null || content.length < prefix.length) {
+            return false;
+        }
+        for (var i = 0; i < prefix.length; i++) {
+            if (content[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(final Ticket ticket) {
+        if (!compactEncoding) {
+            return SerializationUtils.serialize(ticket);
+        }
+        val serializer = ticketSerializationExecutionPlan.getTicketSerializer(ticket);
+        if (serializer == null) {
+            LOGGER.trace("No serializer is registered for [{}]; falling back to Java serialization", ticket.getClass().getName());
+            return SerializationUtils.serialize(ticket);
+        }
+        return Unchecked.supplier(() -> {
+            try (val output = new ByteArrayOutputStream();
+                 val data = new DataOutputStream(output)) {
+                data.write(MAGIC);
+                data.writeByte(VERSION);
+                data.writeUTF(ticket.getClass().getName());
+                try (val deflater = new DeflaterOutputStream(data)) {
+                    deflater.write(toJson(serializer, ticket));
+                }
+                return output.toByteArray();
+            }
+        }).get();
+    }
+
+    @Override
+    public Ticket decode(final byte[] content) {
+        if (startsWith(content, MAGIC)) {
+            return decodeCompact(content);
+        }
+        if (startsWith(content, JAVA_SERIALIZATION_MAGIC)) {
+            return SerializationUtils.deserialize(content, Ticket.class);
+        }
+        val json = new String(content, StandardCharsets.UTF_8).trim();
+        if (json.startsWith("{")) {
+            return decodeJson(json);
+        }
+        throw new IllegalArgumentException("Unable to determine the binary format of the encoded ticket");
+    }
+
+    protected Ticket decodeCompact(final byte[] content) {
+        return Unchecked.supplier(() -> {
+            try (val data = new DataInputStream(new ByteArrayInputStream(content))) {
+                data.skipNBytes(MAGIC.length);
+                val version = data.readByte();
+                if (version != VERSION) {
+                    throw new IllegalArgumentException("Unsupported ticket binary format version " + version);
+                }
+                val type = data.readUTF();
+                val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(type),
+                    () -> "Unable to find ticket deserializer for " + type);
+                try (val inflater = new InflaterInputStream(data)) {
+                    return fromJson(serializer, inflater.readAllBytes());
+                }
+            }
+        }).get();
+    }
+
+    protected Ticket decodeJson(final String json) {
+        val type = Unchecked.supplier(() -> MAPPER.readTree(json).path(JSON_TYPE_FIELD).asText()).get();
+        if (StringUtils.isBlank(type)) {
+            throw new IllegalArgumentException("Unable to determine ticket type from JSON document");
+        }
+        val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(type),
+            () -> "Unable to find ticket deserializer for " + type);
+        return serializer.from(json);
+    }
+}
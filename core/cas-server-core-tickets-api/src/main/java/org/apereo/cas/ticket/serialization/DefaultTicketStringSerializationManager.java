@@ -23,6 +23,12 @@ import java.util.Objects;
 public class DefaultTicketStringSerializationManager implements TicketSerializationManager {
     private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
 
+    private final TicketBinaryCodec ticketBinaryCodec;
+
+    public DefaultTicketStringSerializationManager(final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
+        this(ticketSerializationExecutionPlan, new DefaultTicketBinaryCodec(ticketSerializationExecutionPlan, false));
+    }
+
     @Override
     public String serializeTicket(final Ticket ticket) {
         try {
@@ -66,4 +72,14 @@ public class DefaultTicketStringSerializationManager implements TicketSerializat
         }
         return (T) ticket;
     }
+
+    @Override
+    public byte[] serializeTicketToBinary(final Ticket ticket) {
+        return ticketBinaryCodec.encode(ticket);
+    }
+
+    @Override
+    public Ticket deserializeTicketFromBinary(final byte[] content) {
+        return ticketBinaryCodec.decode(content);
+    }
 }
@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketBinaryCodec}, responsible for turning tickets
+ * into a binary representation and back, typically before the result
+ * is handed off to a cipher for encryption.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public interface TicketBinaryCodec {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "ticketBinaryCodec";
+
+    /**
+     * Encode ticket into bytes.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] encode(Ticket ticket);
+
+    /**
+     * Decode ticket from bytes.
+     *
+     * @param content the content
+     * @return the ticket
+     */
+    Ticket decode(byte[] content);
+}
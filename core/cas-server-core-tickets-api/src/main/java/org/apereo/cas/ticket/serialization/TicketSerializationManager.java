@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.serialization;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
 
 /**
  * This is {@link TicketSerializationManager}.
@@ -40,4 +41,25 @@ public interface TicketSerializationManager {
      * @return the ticket instance
      */
     <T extends Ticket> T deserializeTicket(String ticketContent, Class<T> clazz);
+
+    /**
+     * Serialize ticket into bytes, typically before
+     * the result is encrypted and handed off to the registry.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    default byte[] serializeTicketToBinary(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    /**
+     * Deserialize ticket from bytes.
+     *
+     * @param content the content
+     * @return the ticket
+     */
+    default Ticket deserializeTicketFromBinary(final byte[] content) {
+        return SerializationUtils.deserialize(content, Ticket.class);
+    }
 }
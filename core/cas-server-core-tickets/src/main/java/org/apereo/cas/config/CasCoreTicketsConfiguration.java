@@ -36,13 +36,17 @@ import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistryBeanPostProcessor;
+import org.apereo.cas.ticket.registry.RequestScopedTicketRegistryBeanPostProcessor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryRequestContextFilter;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.ticket.registry.pubsub.DefaultQueueableTicketRegistryMessageReceiver;
 import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
 import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
 import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessageReceiver;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.ProxyGrantingTicketIdGenerator;
 import org.apereo.cas.util.ProxyTicketIdGenerator;
@@ -57,6 +61,8 @@ import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
@@ -65,6 +71,7 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -174,6 +181,41 @@ public class CasCoreTicketsConfiguration {
                 storageMap, messageQueueTicketRegistryPublisher, messageQueueTicketRegistryIdentifier);
         }
 
+        @Bean
+        @ConditionalOnMissingBean(name = "nearCacheTicketRegistryBeanPostProcessor")
+        public static NearCacheTicketRegistryBeanPostProcessor nearCacheTicketRegistryBeanPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties,
+            @Qualifier("messageQueueTicketRegistryPublisher")
+            final ObjectProvider<QueueableTicketRegistryMessagePublisher> messageQueueTicketRegistryPublisher,
+            @Qualifier("messageQueueTicketRegistryIdentifier")
+            final ObjectProvider<PublisherIdentifier> messageQueueTicketRegistryIdentifier,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+            return new NearCacheTicketRegistryBeanPostProcessor(casProperties,
+                messageQueueTicketRegistryPublisher, messageQueueTicketRegistryIdentifier, meterRegistry);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "requestScopedTicketRegistryBeanPostProcessor")
+        public static RequestScopedTicketRegistryBeanPostProcessor requestScopedTicketRegistryBeanPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties) {
+            return new RequestScopedTicketRegistryBeanPostProcessor(casProperties);
+        }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = "ticketRegistryRequestContextFilter")
+        public FilterRegistrationBean<TicketRegistryRequestContextFilter> ticketRegistryRequestContextFilter(
+            final CasConfigurationProperties casProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+            val bean = new FilterRegistrationBean<TicketRegistryRequestContextFilter>();
+            bean.setFilter(new TicketRegistryRequestContextFilter(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)));
+            bean.setUrlPatterns(CollectionUtils.wrap("/*"));
+            bean.setName("ticketRegistryRequestContextFilter");
+            bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            bean.setEnabled(casProperties.getTicket().getRegistry().getRequestCache().isEnabled());
+            return bean;
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @ConditionalOnMissingBean(name = "defaultTicketRegistryCipherExecutor")
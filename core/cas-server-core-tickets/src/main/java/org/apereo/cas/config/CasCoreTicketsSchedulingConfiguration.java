@@ -2,9 +2,13 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.ExpirationIndexingTicketRegistryBeanPostProcessor;
+import org.apereo.cas.ticket.registry.IndexedTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketExpirationIndex;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.function.FunctionUtils;
@@ -13,9 +17,13 @@ import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.util.spring.boot.ConditionalOnMatchingHostname;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -46,19 +54,42 @@ import org.springframework.transaction.annotation.Transactional;
 @AutoConfiguration(after = CasCoreTicketsConfiguration.class)
 public class CasCoreTicketsSchedulingConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean(name = "expirationIndexingTicketRegistryBeanPostProcessor")
+    public static ExpirationIndexingTicketRegistryBeanPostProcessor expirationIndexingTicketRegistryBeanPostProcessor(
+        final ObjectProvider<CasConfigurationProperties> casProperties,
+        @Qualifier("ticketExpirationIndex")
+        final ObjectProvider<TicketExpirationIndex> ticketExpirationIndex) {
+        return new ExpirationIndexingTicketRegistryBeanPostProcessor(casProperties, ticketExpirationIndex);
+    }
+
+    @ConditionalOnMissingBean(name = "ticketExpirationIndex")
+    @Bean
+    public TicketExpirationIndex ticketExpirationIndex(final CasConfigurationProperties casProperties) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        return new TicketExpirationIndex(cleaner.getPartitions(), Beans.newDuration(cleaner.getResolution()));
+    }
+
     @ConditionalOnMissingBean(name = "ticketRegistryCleaner")
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     @Lazy(false)
     public TicketRegistryCleaner ticketRegistryCleaner(
         final CasConfigurationProperties casProperties,
+        final ObjectProvider<MeterRegistry> meterRegistry,
         @Qualifier(LockRepository.BEAN_NAME) final LockRepository lockRepository,
         @Qualifier(LogoutManager.DEFAULT_BEAN_NAME) final LogoutManager logoutManager,
+        @Qualifier("ticketExpirationIndex") final TicketExpirationIndex ticketExpirationIndex,
         @Qualifier(TicketRegistry.BEAN_NAME) final TicketRegistry ticketRegistry) {
-        val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
-        if (isCleanerEnabled) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled()) {
             LOGGER.debug("Ticket registry cleaner is enabled.");
-            return new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
+            val registryCleaner = cleaner.isIndexed()
+                ? new IndexedTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry,
+                    ticketExpirationIndex, Beans.newDuration(cleaner.getFullSweepInterval()))
+                : new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
+            registryCleaner.setMeterRegistry(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            return registryCleaner;
         }
         LOGGER.debug("Ticket registry cleaner is not enabled. "
                      + "Expired tickets are not forcefully cleaned by CAS. It is up to the ticket registry itself to "
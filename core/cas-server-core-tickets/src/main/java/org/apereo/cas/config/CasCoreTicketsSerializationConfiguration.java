@@ -2,8 +2,10 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.ticket.serialization.DefaultTicketBinaryCodec;
 import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.ticket.serialization.TicketBinaryCodec;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlanConfigurer;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
@@ -60,8 +62,19 @@ public class CasCoreTicketsSerializationConfiguration {
         @ConditionalOnMissingBean(name = TicketSerializationManager.BEAN_NAME)
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketSerializationManager ticketSerializationManager(
+            @Qualifier(TicketBinaryCodec.BEAN_NAME) final TicketBinaryCodec ticketBinaryCodec,
             @Qualifier("ticketSerializationExecutionPlan") final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
-            return new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
+            return new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan, ticketBinaryCodec);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = TicketBinaryCodec.BEAN_NAME)
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public TicketBinaryCodec ticketBinaryCodec(
+            final CasConfigurationProperties casProperties,
+            @Qualifier("ticketSerializationExecutionPlan") final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
+            val compactEncoding = casProperties.getTicket().getRegistry().getCore().isCompactEncoding();
+            return new DefaultTicketBinaryCodec(ticketSerializationExecutionPlan, compactEncoding);
         }
     }
 
@@ -0,0 +1,72 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BaseDecoratingTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class BaseDecoratingTicketRegistryTests {
+
+    @Test
+    void verifyDecoratorsAreAppliedInOrder() throws Throwable {
+        val casProperties = new CasConfigurationProperties();
+        val registryProperties = casProperties.getTicket().getRegistry();
+        registryProperties.getRequestCache().setEnabled(true);
+        registryProperties.getNearCache().setEnabled(true);
+        registryProperties.getCleaner().setIndexed(true);
+        registryProperties.getCleaner().getSchedule().setEnabled(true);
+
+        val beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("casProperties", casProperties);
+        beanFactory.addBean("ticketExpirationIndex", new TicketExpirationIndex(1, Duration.ofSeconds(1)));
+        val publisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(publisher.isEnabled()).thenReturn(true);
+        beanFactory.addBean("messageQueueTicketRegistryPublisher", publisher);
+
+        val postProcessors = new ArrayList<BeanPostProcessor>(List.of(
+            new RequestScopedTicketRegistryBeanPostProcessor(beanFactory.getBeanProvider(CasConfigurationProperties.class)),
+            new ExpirationIndexingTicketRegistryBeanPostProcessor(beanFactory.getBeanProvider(CasConfigurationProperties.class),
+                beanFactory.getBeanProvider(TicketExpirationIndex.class)),
+            new NearCacheTicketRegistryBeanPostProcessor(beanFactory.getBeanProvider(CasConfigurationProperties.class),
+                beanFactory.getBeanProvider(QueueableTicketRegistryMessagePublisher.class),
+                beanFactory.getBeanProvider(PublisherIdentifier.class),
+                beanFactory.getBeanProvider(MeterRegistry.class))));
+        AnnotationAwareOrderComparator.sort(postProcessors);
+
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        Object bean = ticketRegistry;
+        for (val postProcessor : postProcessors) {
+            bean = postProcessor.postProcessAfterInitialization(bean, TicketRegistry.BEAN_NAME);
+        }
+
+        val requestScoped = assertInstanceOf(RequestScopedTicketRegistry.class, bean);
+        val nearCache = assertInstanceOf(NearCacheTicketRegistry.class, requestScoped.getDelegate());
+        val expirationIndexing = assertInstanceOf(ExpirationIndexingTicketRegistry.class, nearCache.getDelegate());
+        assertSame(ticketRegistry, expirationIndexing.getDelegate());
+        assertSame(ticketRegistry, BaseDecoratingTicketRegistry.unwrap(requestScoped));
+        assertSame(ticketRegistry, BaseDecoratingTicketRegistry.unwrap(ticketRegistry));
+    }
+}
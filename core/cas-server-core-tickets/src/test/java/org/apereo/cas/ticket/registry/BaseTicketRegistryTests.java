@@ -218,6 +218,22 @@ public abstract class BaseTicketRegistryTests {
         assertThrows(InvalidTicketException.class, () -> ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class));
     }
 
+    @RepeatedTest(2)
+    void verifyAddMultipleTicketTypesWithStream() throws Throwable {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        val service = RegisteredServiceTestUtils.getService("TGT_BATCH_TEST");
+        val st1 = tgt.grantServiceTicket(serviceTicketId, service,
+            NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+        val expired = new TicketGrantingTicketImpl(ticketGrantingTicketId + "-expired",
+            CoreAuthenticationTestUtils.getAuthentication(), AlwaysExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(Stream.of(tgt, st1, expired));
+        assertNotNull(ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class));
+        assertNotNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class));
+        assertThrows(InvalidTicketException.class,
+            () -> ticketRegistry.getTicket(ticketGrantingTicketId + "-expired", TicketGrantingTicket.class));
+    }
+
     @RepeatedTest(2)
     void verifyAddTicketToCache() throws Throwable {
         val originalAuthn = CoreAuthenticationTestUtils.getAuthentication();
@@ -541,6 +557,26 @@ public abstract class BaseTicketRegistryTests {
         assertThrows(InvalidTicketException.class, () -> ticketRegistry.getTicket("ST-31", ServiceTicket.class));
     }
 
+    @RepeatedTest(2)
+    void verifyDeleteTicketWithManyChildren() throws Throwable {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId + "-children", CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        val service = RegisteredServiceTestUtils.getService("TGT_DELETE_CHILDREN_TEST");
+        val serviceTickets = IntStream.range(0, 25)
+            .mapToObj(i -> tgt.grantServiceTicket(ServiceTicket.PREFIX + "-children-" + i, service,
+                NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy))
+            .toList();
+        ticketRegistry.addTicket(tgt);
+        ticketRegistry.addTicket(serviceTickets.stream());
+        tgt.grantServiceTicket(ServiceTicket.PREFIX + "-children-unknown", service,
+            NeverExpiresExpirationPolicy.INSTANCE, false, serviceTicketSessionTrackingPolicy);
+        ticketRegistry.updateTicket(tgt);
+
+        assertEquals(serviceTickets.size() + 1, ticketRegistry.deleteTicket(tgt.getId()));
+        assertNull(ticketRegistry.getTicket(tgt.getId()));
+        serviceTickets.forEach(st -> assertNull(ticketRegistry.getTicket(st.getId())));
+    }
+
     @RepeatedTest(2)
     void verifyWriteGetDelete() throws Throwable {
         val ticket = new TicketGrantingTicketImpl(ticketGrantingTicketId,
@@ -55,6 +55,29 @@ class DefaultTicketRegistryTests extends BaseTicketRegistryTests {
         assertEquals(1, count);
     }
 
+    @RepeatedTest(1)
+    void verifySessionIndexForPrincipal() throws Throwable {
+        val user = UUID.randomUUID().toString();
+        val registry = getNewTicketRegistry();
+        val tgt1 = new MockTicketGrantingTicket(user);
+        val tgt2 = new MockTicketGrantingTicket(user);
+        registry.addTicket(tgt1);
+        registry.addTicket(tgt2);
+        registry.addTicket(new MockTicketGrantingTicket(UUID.randomUUID().toString()));
+        assertEquals(2, registry.countSessionsFor(user));
+        assertEquals(2, registry.countSessionsFor(user.toUpperCase()));
+        try (val sessions = registry.getSessionsFor(user)) {
+            assertEquals(2, sessions.count());
+        }
+        registry.deleteTicket(tgt1.getId());
+        assertEquals(1, registry.countSessionsFor(user));
+        registry.deleteAll();
+        assertEquals(0, registry.countSessionsFor(user));
+        try (val sessions = registry.getSessionsFor(user)) {
+            assertEquals(0, sessions.count());
+        }
+    }
+
 
     @RepeatedTest(1)
     void verifyEncodeFails() throws Throwable {
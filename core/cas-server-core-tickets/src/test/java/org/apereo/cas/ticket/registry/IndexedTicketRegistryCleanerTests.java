@@ -0,0 +1,141 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.lock.LockRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link IndexedTicketRegistryCleanerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class IndexedTicketRegistryCleanerTests {
+
+    @Test
+    void verifyOnlyDueTicketsAreExamined() throws Throwable {
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        val tgt1 = new MockTicketGrantingTicket("casuser");
+        tgt1.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
+        ticketRegistry.addTicket(tgt1);
+        val tgt2 = new MockTicketGrantingTicket("casuser");
+        tgt2.setExpirationPolicy(new HardTimeoutExpirationPolicy(1000));
+        ticketRegistry.addTicket(tgt2);
+
+        val index = new TicketExpirationIndex(4, Duration.ofMillis(100));
+        val meterRegistry = new SimpleMeterRegistry();
+        val clock = mock(Clock.class);
+        val now = Instant.now();
+        when(clock.instant()).thenReturn(now, now.plusSeconds(2));
+        val cleaner = new IndexedTicketRegistryCleaner(LockRepository.noOp(), mock(LogoutManager.class),
+            ticketRegistry, index, Duration.ofHours(1), clock);
+        cleaner.setMeterRegistry(meterRegistry);
+        assertEquals(0, cleaner.clean());
+        assertEquals(2, index.size());
+
+        tgt1.markTicketExpired();
+        assertEquals(1, cleaner.clean());
+        assertEquals(1, index.size());
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertNull(ticketRegistry.getTicket(tgt1.getId()));
+
+        val examined = meterRegistry.get("cas.ticket.registry.cleaner.examined").tag("sweep", "indexed").counter();
+        assertEquals(1, examined.count());
+    }
+
+    @Test
+    void verifyPartitionsAreCleanedOnCallingThread() throws Throwable {
+        val ticketRegistry = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val threads = new CopyOnWriteArraySet<Thread>();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(ticketRegistry).getTicket(anyString(), any(Predicate.class));
+        val tickets = IntStream.range(0, 8)
+            .mapToObj(i -> new MockTicketGrantingTicket("casuser"))
+            .peek(tgt -> tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(1)))
+            .toList();
+        ticketRegistry.addTicket(tickets.stream());
+
+        val index = new TicketExpirationIndex(4, Duration.ofMillis(100));
+        val clock = mock(Clock.class);
+        val now = Instant.now();
+        when(clock.instant()).thenReturn(now, now.plusSeconds(2));
+        val cleaner = new IndexedTicketRegistryCleaner(LockRepository.noOp(), mock(LogoutManager.class),
+            ticketRegistry, index, Duration.ofHours(1), clock);
+        assertEquals(0, cleaner.clean());
+        assertEquals(8, index.size());
+        tickets.forEach(MockTicketGrantingTicket::markTicketExpired);
+        assertEquals(8, cleaner.clean());
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void verifyAddedTicketsAreIndexed() throws Throwable {
+        val index = new TicketExpirationIndex(4, Duration.ofMillis(100));
+        val ticketRegistry = new ExpirationIndexingTicketRegistry(
+            new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()), index);
+        val clock = mock(Clock.class);
+        val now = Instant.now();
+        when(clock.instant()).thenReturn(now, now.plusSeconds(2));
+        val cleaner = new IndexedTicketRegistryCleaner(LockRepository.noOp(), mock(LogoutManager.class),
+            ticketRegistry, index, Duration.ofHours(1), clock);
+        assertEquals(0, cleaner.clean());
+        assertEquals(0, index.size());
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
+        ticketRegistry.addTicket(tgt);
+        assertEquals(1, index.size());
+        tgt.markTicketExpired();
+        assertEquals(1, cleaner.clean());
+        assertEquals(0, index.size());
+        assertNull(ticketRegistry.getTicket(tgt.getId()));
+
+        val updated = new MockTicketGrantingTicket("casuser");
+        updated.setExpirationPolicy(new HardTimeoutExpirationPolicy(1000));
+        ticketRegistry.addTicket(updated);
+        assertEquals(1, index.size());
+        ticketRegistry.deleteTicket(updated);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void verifyIndexOperations() {
+        val index = new TicketExpirationIndex(2, Duration.ofSeconds(1));
+        val now = Instant.now();
+        index.schedule("TGT-1", now.plusSeconds(10));
+        index.schedule("TGT-2", now.minusSeconds(10));
+        index.schedule("TGT-3", now.minusSeconds(5));
+        assertEquals(3, index.size());
+        index.schedule("TGT-3", now.plusSeconds(5));
+        index.unschedule("TGT-1");
+        val due = IntStream.range(0, index.getPartitionCount())
+            .mapToObj(partition -> index.pollDue(partition, now))
+            .flatMap(List::stream)
+            .toList();
+        assertEquals(List.of("TGT-2"), due);
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,164 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link NearCacheTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class NearCacheTicketRegistryTests {
+    private static final AtomicReference<Instant> CURRENT_TIME = new AtomicReference<>(Instant.now());
+
+    @Test
+    void verifyTicketsAreServedFromNearCache() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val meterRegistry = new SimpleMeterRegistry();
+        val registry = new NearCacheTicketRegistry(delegate, 100, Duration.ofMinutes(1),
+            QueueableTicketRegistryMessagePublisher.noOp(), new PublisherIdentifier(), meterRegistry);
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(tgt);
+        assertNotNull(registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+        assertNotNull(registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+        assertNotNull(registry.getTicket(tgt.getId()));
+        verify(delegate, times(1)).getTicket(tgt.getId(), TicketGrantingTicket.class);
+        verify(delegate, times(1)).getTicket(tgt.getId());
+
+        registry.deleteTicketFromQueue(tgt.getId());
+        assertNotNull(registry.getTicket(tgt.getId()));
+        verify(delegate, times(2)).getTicket(tgt.getId());
+
+        assertEquals(2, meterRegistry.get("cas.ticket.registry.near-cache.staleness").timer().count());
+        assertEquals(1, meterRegistry.get("cas.ticket.registry.near-cache.invalidations").tag("source", "remote").counter().count());
+
+        registry.deleteTicket(tgt.getId());
+        assertNull(registry.getTicket(tgt.getId()));
+        assertEquals(0, delegate.sessionCount());
+    }
+
+    @Test
+    void verifyExpiredTicketsAreNotServed() throws Throwable {
+        val delegate = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        val registry = new NearCacheTicketRegistry(delegate, 100, Duration.ofMinutes(1),
+            QueueableTicketRegistryMessagePublisher.noOp(), new PublisherIdentifier(), new SimpleMeterRegistry());
+        CURRENT_TIME.set(Instant.now());
+        val expirationPolicy = new HardTimeoutExpirationPolicy(60);
+        expirationPolicy.setClock(new AdjustableClock());
+        val tgt = new TicketGrantingTicketImpl("TGT-1-expiring", CoreAuthenticationTestUtils.getAuthentication(), expirationPolicy);
+        registry.addTicket(tgt);
+        assertNotNull(registry.getNearCache().getIfPresent(tgt.getId()));
+        CURRENT_TIME.set(Instant.now().plusSeconds(120));
+        assertNull(registry.getTicket(tgt.getId()));
+        assertNull(registry.getNearCache().getIfPresent(tgt.getId()));
+    }
+
+    @Test
+    void verifyUnsavedChangesAreNotShared() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val registry = new NearCacheTicketRegistry(delegate, 100, Duration.ofMinutes(1),
+            QueueableTicketRegistryMessagePublisher.noOp(), new PublisherIdentifier(), new SimpleMeterRegistry());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(tgt);
+
+        val first = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        first.getDescendantTickets().add("ST-1-unsaved");
+        val second = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotSame(first, second);
+        assertFalse(second.getDescendantTickets().contains("ST-1-unsaved"));
+        verify(delegate, never()).getTicket(tgt.getId(), TicketGrantingTicket.class);
+    }
+
+    @Test
+    void verifyNearCacheRequiresMessageQueue() {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getTicket().getRegistry().getNearCache().setEnabled(true);
+        val beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("casProperties", casProperties);
+        val postProcessor = new NearCacheTicketRegistryBeanPostProcessor(
+            beanFactory.getBeanProvider(CasConfigurationProperties.class),
+            beanFactory.getBeanProvider(QueueableTicketRegistryMessagePublisher.class),
+            beanFactory.getBeanProvider(PublisherIdentifier.class),
+            beanFactory.getBeanProvider(MeterRegistry.class));
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        assertSame(ticketRegistry, postProcessor.postProcessAfterInitialization(ticketRegistry, TicketRegistry.BEAN_NAME));
+
+        val publisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(publisher.isEnabled()).thenReturn(true);
+        beanFactory.addBean("messageQueueTicketRegistryPublisher", publisher);
+        assertInstanceOf(NearCacheTicketRegistry.class, postProcessor.postProcessAfterInitialization(ticketRegistry, TicketRegistry.BEAN_NAME));
+    }
+
+    @Test
+    void verifyChangesAreBroadcast() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val publisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(publisher.isEnabled()).thenReturn(true);
+        val registry = new NearCacheTicketRegistry(delegate, 100, Duration.ofMinutes(1),
+            publisher, new PublisherIdentifier(), new SimpleMeterRegistry());
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        when(delegate.updateTicket(tgt)).thenReturn(tgt);
+        registry.addTicket(tgt);
+        registry.updateTicket(tgt);
+        assertNotNull(registry.getTicket(tgt.getId()));
+        verify(delegate, never()).getTicket(tgt.getId());
+        verify(publisher, times(1)).publishMessageToQueue(any(DeleteTicketMessageQueueCommand.class));
+
+        registry.deleteTicket(tgt);
+        verify(delegate, times(1)).deleteTicket(tgt);
+        verify(publisher, times(2)).publishMessageToQueue(any(DeleteTicketMessageQueueCommand.class));
+        assertNull(registry.getNearCache().getIfPresent(tgt.getId()));
+    }
+
+    private static final class AdjustableClock extends Clock implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 6139862170158283463L;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return CURRENT_TIME.get();
+        }
+    }
+}
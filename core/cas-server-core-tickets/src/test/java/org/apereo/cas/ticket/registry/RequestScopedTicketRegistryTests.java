@@ -0,0 +1,162 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RequestScopedTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class RequestScopedTicketRegistryTests {
+    private static final AtomicReference<Instant> CURRENT_TIME = new AtomicReference<>(Instant.now());
+
+    @Test
+    void verifyTicketsAreServedFromRequest() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val registry = new RequestScopedTicketRegistry(delegate);
+        val tgt = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(tgt);
+
+        val meterRegistry = new SimpleMeterRegistry();
+        val filter = new TicketRegistryRequestContextFilter(meterRegistry);
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            assertNotNull(registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+            assertNotNull(registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+            assertNotNull(registry.getTicket(tgt.getId()));
+            verify(delegate, times(1)).getTicket(tgt.getId(), TicketGrantingTicket.class);
+            verify(delegate, times(1)).getTicket(tgt.getId());
+
+            val context = TicketRegistryRequestContext.current().orElseThrow();
+            assertEquals(1, context.getReads());
+            assertEquals(2, context.getHits());
+            assertDoesNotThrow(() -> registry.updateTicket(tgt));
+            assertEquals(1, context.getWrites());
+            assertDoesNotThrow(() -> registry.deleteTicket(tgt.getId()));
+            assertNull(registry.getTicket(tgt.getId()));
+            assertEquals(4, context.getRegistryCalls());
+        });
+        assertTrue(TicketRegistryRequestContext.current().isEmpty());
+        assertEquals(2, meterRegistry.get("cas.ticket.registry.request.calls").tag("operation", "read").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("cas.ticket.registry.request.calls").tag("operation", "hit").summary().totalAmount());
+    }
+
+    @Test
+    void verifyPassThroughWithoutRequest() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val registry = new RequestScopedTicketRegistry(delegate);
+        val tgt = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(tgt);
+        assertNotNull(registry.getTicket(tgt.getId()));
+        assertNotNull(registry.getTicket(tgt.getId()));
+        verify(delegate, times(2)).getTicket(tgt.getId());
+    }
+
+    @Test
+    void verifyExpiredTicketsAreReadFromRegistry() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val registry = new RequestScopedTicketRegistry(delegate);
+        CURRENT_TIME.set(Instant.now());
+        val expirationPolicy = new HardTimeoutExpirationPolicy(60);
+        expirationPolicy.setClock(new AdjustableClock());
+        val tgt = new TicketGrantingTicketImpl("TGT-1-expiring", CoreAuthenticationTestUtils.getAuthentication(), expirationPolicy);
+        delegate.addTicket(tgt);
+
+        new TicketRegistryRequestContextFilter(new SimpleMeterRegistry())
+            .doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+                assertNotNull(registry.getTicket(tgt.getId()));
+                assertNotNull(registry.getTicket(tgt.getId()));
+                verify(delegate, times(1)).getTicket(tgt.getId());
+
+                CURRENT_TIME.set(Instant.now().plusSeconds(120));
+                assertNull(registry.getTicket(tgt.getId()));
+                verify(delegate, times(2)).getTicket(tgt.getId());
+            });
+    }
+
+    @Test
+    void verifyUnsavedChangesAreNotServed() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val registry = new RequestScopedTicketRegistry(delegate);
+        val tgt = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(tgt);
+
+        new TicketRegistryRequestContextFilter(new SimpleMeterRegistry())
+            .doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+                val first = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+                first.getDescendantTickets().add("ST-1-unsaved");
+                val second = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+                assertNotSame(first, second);
+                assertFalse(second.getDescendantTickets().contains("ST-1-unsaved"));
+                verify(delegate, times(1)).getTicket(tgt.getId(), TicketGrantingTicket.class);
+            });
+    }
+
+    @Test
+    void verifyTicketsNotStoredAreNotRemembered() throws Throwable {
+        val delegate = spy(new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog()));
+        val registry = new RequestScopedTicketRegistry(delegate);
+        val added = new MockTicketGrantingTicket("casuser");
+        val updated = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(updated);
+        doThrow(new IllegalStateException("unavailable")).when(delegate).addTicket(added);
+        doReturn(null).when(delegate).updateTicket(updated);
+
+        new TicketRegistryRequestContextFilter(new SimpleMeterRegistry())
+            .doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+                assertThrows(IllegalStateException.class, () -> registry.addTicket(added));
+                assertNull(registry.getTicket(added.getId()));
+                verify(delegate, times(1)).getTicket(added.getId());
+
+                assertNotNull(registry.getTicket(updated.getId()));
+                assertDoesNotThrow(() -> registry.updateTicket(updated));
+                assertNotNull(registry.getTicket(updated.getId()));
+                verify(delegate, times(2)).getTicket(updated.getId());
+            });
+    }
+
+    private static final class AdjustableClock extends Clock implements Serializable {
+        @Serial
+        private static final long serialVersionUID = -2380651473526017459L;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return CURRENT_TIME.get();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultTicketBinaryCodecTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class DefaultTicketBinaryCodecTests {
+    private final TicketSerializationExecutionPlan plan = new DefaultTicketSerializationExecutionPlan();
+
+    private static TicketGrantingTicketImpl getTicketGrantingTicket() {
+        return new TicketGrantingTicketImpl("TGT-1234567890", CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+    }
+
+    @Test
+    void verifyCompactEncoding() throws Throwable {
+        val codec = new DefaultTicketBinaryCodec(plan, true);
+        val ticket = getTicketGrantingTicket();
+        val encoded = codec.encode(ticket);
+        assertTrue(encoded.length < SerializationUtils.serialize(ticket).length);
+        val decoded = codec.decode(encoded);
+        assertEquals(ticket, decoded);
+        assertEquals(ticket.getAuthentication().getPrincipal(),
+            ((TicketGrantingTicketImpl) decoded).getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void verifyMigrationFromJavaSerialization() throws Throwable {
+        val ticket = getTicketGrantingTicket();
+        val legacy = new DefaultTicketBinaryCodec(plan, false).encode(ticket);
+        val codec = new DefaultTicketBinaryCodec(plan, true);
+        assertEquals(ticket, codec.decode(legacy));
+        assertEquals(ticket, new DefaultTicketBinaryCodec(plan, false).decode(codec.encode(ticket)));
+    }
+
+    @Test
+    void verifyMigrationFromJson() throws Throwable {
+        val ticket = getTicketGrantingTicket();
+        val json = plan.getTicketSerializer(ticket).toString(ticket);
+        val codec = new DefaultTicketBinaryCodec(plan, true);
+        assertEquals(ticket, codec.decode(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void verifyUnknownFormat() throws Throwable {
+        val codec = new DefaultTicketBinaryCodec(plan, true);
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("unknown".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -4,7 +4,6 @@ import org.apereo.cas.configuration.model.core.cache.ExpiringSimpleCacheProperti
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.ResourceUtils;
-import org.apereo.cas.util.concurrent.CasReentrantLock;
 import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -14,14 +13,15 @@ import java.util.Set;
 
 /**
  * This is {@link GroovyScriptResourceCacheManager}.
+ * <p>
+ * Compiled scripts are held in a concurrent cache that is read without any locking;
+ * a script that is not yet cached is compiled once, even when requested by several threads at the same time.
  *
  * @author Misagh Moayyed
  * @since 6.3.0
  */
 @Slf4j
 public class GroovyScriptResourceCacheManager implements ScriptResourceCacheManager<String, ExecutableCompiledGroovyScript> {
-    private final CasReentrantLock lock = new CasReentrantLock();
-
     private final Cache<String, ExecutableCompiledGroovyScript> cache;
 
     public GroovyScriptResourceCacheManager(final ExpiringSimpleCacheProperties properties) {
@@ -30,7 +30,7 @@ public class GroovyScriptResourceCacheManager implements ScriptResourceCacheMana
 
     @Override
     public ExecutableCompiledGroovyScript get(final String key) {
-        return lock.tryLock(() -> cache.getIfPresent(key));
+        return cache.getIfPresent(key);
     }
 
     @Override
@@ -42,34 +42,30 @@ public class GroovyScriptResourceCacheManager implements ScriptResourceCacheMana
     @CanIgnoreReturnValue
     public ScriptResourceCacheManager<String, ExecutableCompiledGroovyScript> put(
         final String key, final ExecutableCompiledGroovyScript value) {
-        return lock.tryLock(() -> {
-            this.cache.put(key, value);
-            return this;
-        });
+        this.cache.put(key, value);
+        return this;
     }
 
     @Override
     @CanIgnoreReturnValue
     public ScriptResourceCacheManager<String, ExecutableCompiledGroovyScript> remove(final String key) {
-        return lock.tryLock(() -> {
-            this.cache.invalidate(key);
-            return this;
-        });
+        this.cache.invalidate(key);
+        return this;
     }
 
     @Override
     public Set<String> getKeys() {
-        return lock.tryLock(() -> cache.asMap().keySet());
+        return cache.asMap().keySet();
     }
 
     @Override
     public void close() {
-        lock.tryLock(__ -> cache.invalidateAll());
+        cache.invalidateAll();
     }
 
     @Override
     public boolean isEmpty() {
-        return lock.tryLock(() -> cache.asMap().isEmpty());
+        return cache.asMap().isEmpty();
     }
 
     @Override
@@ -79,33 +75,26 @@ public class GroovyScriptResourceCacheManager implements ScriptResourceCacheMana
 
         val cacheKey = ScriptResourceCacheManager.computeKey(keys);
         LOGGER.trace("Constructed cache key [{}] for keys [{}] mapped as groovy script", cacheKey, keys);
-        var script = (ExecutableCompiledGroovyScript) null;
-        if (containsKey(cacheKey)) {
-            script = get(cacheKey);
-            LOGGER.trace("Located cached groovy script [{}] for key [{}]", script, cacheKey);
-        } else {
+        return cache.get(cacheKey, key -> {
             try {
+                LOGGER.trace("Groovy script [{}] for key [{}] is not cached", scriptResource, key);
                 if (ScriptingUtils.isExternalGroovyScript(scriptResource)) {
                     val scriptPath = SpringExpressionLanguageValueResolver.getInstance().resolve(scriptResource);
                     val resource = ResourceUtils.getResourceFrom(scriptPath);
-                    script = new WatchableGroovyScriptResource(resource);
-                } else {
-                    var resourceToUse = scriptResource;
-                    if (ScriptingUtils.isInlineGroovyScript(resourceToUse)) {
-                        val matcher = ScriptingUtils.getMatcherForInlineGroovyScript(resourceToUse);
-                        if (matcher.find()) {
-                            resourceToUse = matcher.group(1);
-                        }
+                    return new WatchableGroovyScriptResource(resource);
+                }
+                var resourceToUse = scriptResource;
+                if (ScriptingUtils.isInlineGroovyScript(resourceToUse)) {
+                    val matcher = ScriptingUtils.getMatcherForInlineGroovyScript(resourceToUse);
+                    if (matcher.find()) {
+                        resourceToUse = matcher.group(1);
                     }
-                    script = new GroovyShellScript(resourceToUse);
                 }
-                LOGGER.trace("Groovy script [{}] for key [{}] is not cached", scriptResource, cacheKey);
-                put(cacheKey, script);
-                LOGGER.trace("Cached groovy script [{}] for key [{}]", script, cacheKey);
+                return new GroovyShellScript(resourceToUse);
             } catch (final Exception e) {
                 LoggingUtils.error(LOGGER, e);
+                return null;
             }
-        }
-        return script;
+        });
     }
 }
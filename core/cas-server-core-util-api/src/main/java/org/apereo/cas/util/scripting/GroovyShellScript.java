@@ -1,17 +1,21 @@
 package org.apereo.cas.util.scripting;
 
-import org.apereo.cas.util.concurrent.CasReentrantLock;
 import groovy.lang.Binding;
 import groovy.lang.Script;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * This is {@link GroovyShellScript}.
+ * <p>
+ * The script is compiled once, and each execution runs on a new instance of the compiled script class
+ * with its own binding, so that the script may execute concurrently without any locking.
+ * Variables that the script assigns into its binding are therefore not kept between executions.
  *
  * @author Misagh Moayyed
  * @since 6.0.0
@@ -21,7 +25,6 @@ import java.util.Map;
 public class GroovyShellScript implements ExecutableCompiledGroovyScript {
     private static final ThreadLocal<Map<String, Object>> BINDING_THREAD_LOCAL = new ThreadLocal<>();
 
-    private final CasReentrantLock lock = new CasReentrantLock();
     private final Script groovyScript;
     private final String script;
 
@@ -42,28 +45,20 @@ public class GroovyShellScript implements ExecutableCompiledGroovyScript {
 
     @Override
     public <T> T execute(final Object[] args, final Class<T> clazz, final boolean failOnError) throws Throwable {
-        if (lock.tryLock()) {
-            try {
+        try {
+            if (groovyScript != null) {
                 LOGGER.trace("Beginning to execute script [{}]", this);
                 val binding = BINDING_THREAD_LOCAL.get();
-                if (groovyScript != null) {
-                    if (binding != null && !binding.isEmpty()) {
-                        LOGGER.trace("Setting binding [{}]", binding);
-                        groovyScript.setBinding(new Binding(binding));
-                    }
-                    LOGGER.trace("Current binding [{}]", groovyScript.getBinding());
-                    val result = ScriptingUtils.executeGroovyShellScript(groovyScript, clazz);
-                    LOGGER.debug("Groovy script [{}] returns result [{}]", this, result);
-                    return result;
-                }
-            } finally {
-                BINDING_THREAD_LOCAL.remove();
-                if (groovyScript != null) {
-                    groovyScript.setBinding(new Binding(Map.of()));
-                }
-                LOGGER.trace("Completed script execution [{}]", this);
-                lock.unlock();
+                val variables = binding != null && !binding.isEmpty() ? binding : Map.<String, Object>of();
+                LOGGER.trace("Setting binding [{}]", variables);
+                val script = InvokerHelper.createScript(groovyScript.getClass(), new Binding(new HashMap<>(variables)));
+                val result = ScriptingUtils.executeGroovyShellScript(script, clazz);
+                LOGGER.debug("Groovy script [{}] returns result [{}]", this, result);
+                return result;
             }
+        } finally {
+            BINDING_THREAD_LOCAL.remove();
+            LOGGER.trace("Completed script execution [{}]", this);
         }
         return null;
     }
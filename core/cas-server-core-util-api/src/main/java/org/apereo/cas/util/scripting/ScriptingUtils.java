@@ -302,12 +302,36 @@ public class ScriptingUtils {
      */
     public static GroovyObject parseGroovyScript(final Resource groovyScript,
                                                  final boolean failOnError) {
+        try {
+            val groovyClass = parseGroovyScriptClass(groovyScript, failOnError);
+            if (groovyClass != null) {
+                LOGGER.trace("Creating groovy object instance from class [{}]", groovyScript.getURI().getPath());
+                return groovyClass.getDeclaredConstructor().newInstance();
+            }
+        } catch (final Exception e) {
+            if (failOnError) {
+                throw new RuntimeException(e);
+            }
+            LoggingUtils.error(LOGGER, e);
+        }
+        return null;
+    }
+
+    /**
+     * Parse and compile the groovy script into a class
+     * that can be instantiated as many times as needed.
+     *
+     * @param groovyScript the groovy script
+     * @param failOnError  the fail on error
+     * @return the groovy class
+     */
+    public static Class<? extends GroovyObject> parseGroovyScriptClass(final Resource groovyScript,
+                                                                       final boolean failOnError) {
         val parent = ScriptingUtils.class.getClassLoader();
         try (val loader = new GroovyClassLoader(parent)) {
-            val groovyClass = loadGroovyClass(groovyScript, loader);
+            val groovyClass = (Class<?>) loadGroovyClass(groovyScript, loader);
             if (groovyClass != null) {
-                LOGGER.trace("Creating groovy object instance from class [{}]", groovyScript.getURI().getPath());
-                return (GroovyObject) groovyClass.getDeclaredConstructor().newInstance();
+                return groovyClass.asSubclass(GroovyObject.class);
             }
             LOGGER.warn("Groovy script at [{}] does not exist", groovyScript.getURI().getPath());
         } catch (final Exception e) {
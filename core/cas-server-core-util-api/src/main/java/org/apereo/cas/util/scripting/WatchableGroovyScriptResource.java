@@ -5,14 +5,27 @@ import org.apereo.cas.util.concurrent.CasReentrantLock;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.io.FileWatcherService;
 import groovy.lang.GroovyObject;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.jooq.lambda.Unchecked;
 import org.springframework.core.io.Resource;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
 /**
  * This is {@link WatchableGroovyScriptResource}.
+ * <p>
+ * The script is compiled once into a class. Scripts that do not declare any mutable fields carry
+ * no state between invocations, and each invocation runs on a fresh instance of the compiled class
+ * without any locking, allowing the script to execute concurrently. Such invocations also start with
+ * a fresh binding, so variables that the script assigns into its binding are not kept between invocations.
+ * Scripts that declare instance fields or static fields that are not final, such as those annotated
+ * with {@code @Field}, run on a single shared instance, one invocation at a time, so that their state is preserved.
  *
  * @author Misagh Moayyed
  * @since 6.0.0
@@ -27,7 +40,8 @@ public class WatchableGroovyScriptResource implements ExecutableCompiledGroovySc
 
     private FileWatcherService watcherService;
 
-    private GroovyObject groovyScript;
+    @Getter(AccessLevel.NONE)
+    private volatile CompiledGroovyScript compiledScript;
 
     public WatchableGroovyScriptResource(final Resource script, final boolean enableWatcher) {
         this.resource = script;
@@ -66,19 +80,9 @@ public class WatchableGroovyScriptResource implements ExecutableCompiledGroovySc
 
     @Override
     public <T> T execute(final Object[] args, final Class<T> clazz, final boolean failOnError) throws Throwable {
-        return lock.tryLock(() -> {
-            try {
-                LOGGER.trace("Beginning to execute script [{}]", this);
-                return groovyScript != null
-                    ? ScriptingUtils.executeGroovyScript(this.groovyScript, args, clazz, failOnError)
-                    : null;
-            } finally {
-                LOGGER.trace("Completed script execution [{}]", this);
-            }
-        });
+        return execute("run", clazz, failOnError, args);
     }
 
-
     /**
      * Execute.
      *
@@ -91,18 +95,25 @@ public class WatchableGroovyScriptResource implements ExecutableCompiledGroovySc
      */
     public <T> T execute(final String methodName, final Class<T> clazz, final boolean failOnError,
                          final Object... args) throws Throwable {
-        return lock.tryLock(() -> {
-            try {
-                LOGGER.trace("Beginning to execute script [{}]", this);
-                return groovyScript != null
-                    ? ScriptingUtils.executeGroovyScript(groovyScript, methodName, args, clazz, failOnError)
-                    : null;
-            } finally {
-                LOGGER.trace("Completed script execution [{}]", this);
-            }
-        });
+        val script = this.compiledScript;
+        if (script == null) {
+            return null;
+        }
+        if (script.stateful()) {
+            return lock.tryLock(() -> executeScript(script.groovyScript(), methodName, clazz, failOnError, args));
+        }
+        return executeScript(script.newInstance(), methodName, clazz, failOnError, args);
+    }
+
+    /**
+     * Gets the compiled groovy script instance.
+     *
+     * @return the groovy script
+     */
+    public GroovyObject getGroovyScript() {
+        return compiledScript != null ? compiledScript.groovyScript() : null;
     }
-    
+
     @Override
     public void close() {
         if (watcherService != null) {
@@ -111,7 +122,38 @@ public class WatchableGroovyScriptResource implements ExecutableCompiledGroovySc
         }
     }
 
+    private <T> T executeScript(final GroovyObject groovyScript, final String methodName, final Class<T> clazz,
+                                final boolean failOnError, final Object... args) throws Throwable {
+        try {
+            LOGGER.trace("Beginning to execute script [{}]", this);
+            return ScriptingUtils.executeGroovyScript(groovyScript, methodName, args, clazz, failOnError);
+        } finally {
+            LOGGER.trace("Completed script execution [{}]", this);
+        }
+    }
+
     private void compileScriptResource(final Resource script) {
-        this.groovyScript = ScriptingUtils.parseGroovyScript(script, true);
+        val groovyClass = ScriptingUtils.parseGroovyScriptClass(script, true);
+        this.compiledScript = groovyClass != null
+            ? FunctionUtils.doUnchecked(() -> CompiledGroovyScript.from(groovyClass))
+            : null;
+    }
+
+    private record CompiledGroovyScript(Constructor<? extends GroovyObject> constructor,
+                                        GroovyObject groovyScript, boolean stateful) {
+        static CompiledGroovyScript from(final Class<? extends GroovyObject> groovyClass) throws Exception {
+            val constructor = groovyClass.getDeclaredConstructor();
+            val stateful = Arrays.stream(groovyClass.getDeclaredFields())
+                .filter(field -> !field.isSynthetic() && !field.getName().contains("$"))
+                .anyMatch(field -> Modifier.isStatic(field.getModifiers())
+                    ? !Modifier.isFinal(field.getModifiers())
+                    : !Modifier.isTransient(field.getModifiers()));
+            LOGGER.trace("Compiled groovy script [{}] is [{}]", groovyClass.getName(), stateful ? "stateful" : "stateless");
+            return new CompiledGroovyScript(constructor, constructor.newInstance(), stateful);
+        }
+
+        GroovyObject newInstance() throws Exception {
+            return constructor.newInstance();
+        }
     }
 }
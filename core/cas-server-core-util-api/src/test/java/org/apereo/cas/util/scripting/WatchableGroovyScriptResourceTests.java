@@ -1,5 +1,7 @@
 package org.apereo.cas.util.scripting;
 
+import org.apereo.cas.util.function.FunctionUtils;
+
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -12,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,4 +37,79 @@ class WatchableGroovyScriptResourceTests {
         Files.setLastModifiedTime(file.toPath(), FileTime.from(Instant.now()));
         Thread.sleep(5_000);
     }
+
+    @Test
+    void verifyConcurrentExecution() throws Throwable {
+        val file = File.createTempFile("file", ".groovy");
+        FileUtils.writeStringToFile(file, """
+            def run(Object[] args) {
+                def value = args[0]
+                Thread.sleep(1)
+                return value
+            }
+            """, StandardCharsets.UTF_8);
+        try (val resource = new WatchableGroovyScriptResource(new FileSystemResource(file), false)) {
+            val results = IntStream.range(0, 200)
+                .parallel()
+                .mapToObj(i -> FunctionUtils.doUnchecked(() -> resource.execute(new Object[]{i}, Integer.class)))
+                .toList();
+            assertEquals(IntStream.range(0, 200).boxed().toList(), results);
+        }
+    }
+
+    @Test
+    void verifyStatefulScriptIsShared() throws Throwable {
+        val file = File.createTempFile("file", ".groovy");
+        FileUtils.writeStringToFile(file, """
+            import groovy.transform.Field
+            @Field int counter = 0
+            def run(Object[] args) {
+                return ++counter
+            }
+            """, StandardCharsets.UTF_8);
+        try (val resource = new WatchableGroovyScriptResource(new FileSystemResource(file), false)) {
+            assertEquals(1, resource.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, Integer.class));
+            assertEquals(2, resource.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, Integer.class));
+            assertNotNull(resource.getGroovyScript());
+        }
+    }
+
+    @Test
+    void verifyScriptWithStaticStateIsShared() throws Throwable {
+        val file = File.createTempFile("file", ".groovy");
+        FileUtils.writeStringToFile(file, """
+            import groovy.transform.Field
+            @Field static int counter = 0
+            def run(Object[] args) {
+                def value = counter
+                Thread.sleep(1)
+                counter = value + 1
+                return counter
+            }
+            """, StandardCharsets.UTF_8);
+        try (val resource = new WatchableGroovyScriptResource(new FileSystemResource(file), false)) {
+            val results = IntStream.range(0, 50)
+                .parallel()
+                .mapToObj(i -> FunctionUtils.doUnchecked(() -> resource.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, Integer.class)))
+                .sorted()
+                .toList();
+            assertEquals(IntStream.rangeClosed(1, 50).boxed().toList(), results);
+        }
+    }
+
+    @Test
+    void verifyBindingIsNotKeptBetweenInvocations() throws Throwable {
+        val file = File.createTempFile("file", ".groovy");
+        FileUtils.writeStringToFile(file, """
+            def run(Object[] args) {
+                def previous = binding.hasVariable("invocations") ? binding.getVariable("invocations") : 0
+                invocations = previous + 1
+                return invocations
+            }
+            """, StandardCharsets.UTF_8);
+        try (val resource = new WatchableGroovyScriptResource(new FileSystemResource(file), false)) {
+            assertEquals(1, resource.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, Integer.class));
+            assertEquals(1, resource.execute(ArrayUtils.EMPTY_OBJECT_ARRAY, Integer.class));
+        }
+    }
 }
@@ -0,0 +1,355 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.web.flow.CasWebflowConfigurer;
+import org.apereo.cas.web.flow.CasWebflowConstants;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.cryptacular.bean.CipherBean;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * This is {@link CompactEncryptedTranscoder}. It encodes flow execution state into a compact, versioned
+ * binary form before encryption, and is an alternative to the serialized and gzipped form
+ * produced by {@link EncryptedTranscoder}.
+ * <p>
+ * Class descriptors of the types that are commonly found in CAS flow executions, such as flow sessions,
+ * attribute maps, credentials and services, are written as a single byte that refers to a registry of known types,
+ * and the result is compressed using a raw deflate stream that is primed with a dictionary of
+ * common class names, flow identifiers and flow variable names, rather than using a separate gzip stream per message.
+ * Compression and serialization buffers are kept in a bounded pool that is shared by all threads;
+ * buffers that do not fit into the pool once released are discarded, and their native resources are freed.
+ * <p>
+ * The encoded form carries a fingerprint of the registry of known types and the compression dictionary,
+ * and cannot be decoded by nodes whose registry is different. Data that is encoded by {@link EncryptedTranscoder}
+ * is still accepted and decoded as before.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class CompactEncryptedTranscoder extends EncryptedTranscoder {
+    private static final byte[] MAGIC = {'C', 'F'};
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + Integer.BYTES;
+
+    private static final int UNKNOWN_CLASS = 0;
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final List<String> KNOWN_CLASS_NAMES = List.of(
+        "java.lang.Boolean",
+        "java.lang.Enum",
+        "java.lang.Integer",
+        "java.lang.Long",
+        "java.lang.Number",
+        "java.lang.Object",
+        "java.time.Ser",
+        "java.util.ArrayList",
+        "java.util.Collections$EmptyList",
+        "java.util.Collections$EmptyMap",
+        "java.util.Collections$UnmodifiableCollection",
+        "java.util.Collections$UnmodifiableList",
+        "java.util.Collections$UnmodifiableMap",
+        "java.util.Collections$UnmodifiableRandomAccessList",
+        "java.util.HashMap",
+        "java.util.HashSet",
+        "java.util.LinkedHashMap",
+        "java.util.LinkedHashSet",
+        "java.util.LinkedList",
+        "java.util.TreeMap",
+        "[Ljava.lang.Object;",
+        "[Ljava.lang.String;",
+        "org.springframework.binding.collection.SharedMapDecorator",
+        "org.springframework.binding.message.DefaultMessageContext",
+        "org.springframework.binding.message.DefaultMessageContext$1",
+        "org.springframework.binding.message.Message",
+        "org.springframework.binding.message.Severity",
+        "org.springframework.webflow.core.collection.LocalAttributeMap",
+        "org.springframework.webflow.core.collection.LocalParameterMap",
+        "org.springframework.webflow.core.collection.LocalSharedAttributeMap",
+        "org.springframework.webflow.engine.impl.FlowExecutionImpl",
+        "org.springframework.webflow.engine.impl.FlowSessionImpl",
+        "org.springframework.webflow.execution.FlowExecutionOutcome",
+        "org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot",
+        "org.apereo.cas.web.flow.executor.ClientFlowExecutionRepository$SerializedFlowExecutionState",
+        "org.apereo.cas.authentication.credential.AbstractCredential",
+        "org.apereo.cas.authentication.credential.UsernamePasswordCredential",
+        "org.apereo.cas.authentication.credential.RememberMeUsernamePasswordCredential",
+        "org.apereo.cas.authentication.metadata.BasicCredentialMetadata",
+        "org.apereo.cas.authentication.principal.AbstractWebApplicationService",
+        "org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl",
+        "org.apereo.cas.authentication.principal.Response$ResponseType",
+        "org.apereo.cas.authentication.principal.SimplePrincipal",
+        "org.apereo.cas.authentication.DefaultAuthentication"
+    );
+
+    private static final List<String> DICTIONARY_ENTRIES = List.of(
+        "java.lang.String", "java.lang.Object", "java.util.Map", "java.util.List",
+        "Ljava/lang/String;", "Ljava/util/Map;", "Ljava/util/List;", "Ljava/lang/Object;",
+        "loadFactor", "threshold", "elementData", "accessOrder", "attributes", "parameters",
+        "conversationScope", "flashScope", "flowScope", "viewScope", "requestScope", "messageContext",
+        "flowId", "stateId", "execution", "outcome", "status", "severity", "source", "text",
+        "id", "artifactId", "principal", "format", "loggedOutAlready",
+        "username", "password", "rememberMe", "credentialMetadata", "credentialClass", "properties",
+        "customLoginFormFields", "ticketGrantingTicketId", "originalUrl", "warnCookieValue", "renew", "gateway",
+        CasWebflowConstants.ATTRIBUTE_SERVICE,
+        CasWebflowConstants.ATTRIBUTE_REGISTERED_SERVICE,
+        CasWebflowConstants.ATTRIBUTE_AUTHENTICATION,
+        CasWebflowConstants.ATTRIBUTE_ID_AUTHENTICATION_WARNINGS,
+        CasWebflowConstants.VAR_ID_CREDENTIAL,
+        CasWebflowConstants.STATE_ID_INITIAL_AUTHN_REQUEST_VALIDATION_CHECK,
+        CasWebflowConstants.STATE_ID_TICKET_GRANTING_TICKET_CHECK,
+        CasWebflowConstants.STATE_ID_INIT_LOGIN_FORM,
+        CasWebflowConstants.STATE_ID_REAL_SUBMIT,
+        CasWebflowConstants.STATE_ID_CREATE_TICKET_GRANTING_TICKET,
+        CasWebflowConstants.STATE_ID_SEND_TICKET_GRANTING_TICKET,
+        CasWebflowConstants.STATE_ID_SERVICE_AUTHZ_CHECK,
+        CasWebflowConstants.STATE_ID_GENERATE_SERVICE_TICKET,
+        CasWebflowConstants.STATE_ID_VIEW_LOGIN_FORM,
+        CasWebflowConfigurer.FLOW_ID_LOGIN
+    );
+
+    private static final Map<String, Class<?>> KNOWN_CLASSES = KNOWN_CLASS_NAMES
+        .stream()
+        .filter(name -> ClassUtils.isPresent(name, CompactEncryptedTranscoder.class.getClassLoader()))
+        .map(name -> ClassUtils.resolveClassName(name, CompactEncryptedTranscoder.class.getClassLoader()))
+        .filter(clazz -> ObjectStreamClass.lookup(clazz) != null)
+        .collect(Collectors.toMap(Class::getName, Function.identity(), (c1, c2) -> c1, LinkedHashMap::new));
+
+    private static final List<Class<?>> KNOWN_CLASS_INDEX = List.copyOf(KNOWN_CLASSES.values());
+
+    private static final Map<String, Integer> KNOWN_CLASS_IDENTIFIERS = KNOWN_CLASS_INDEX
+        .stream()
+        .collect(Collectors.toMap(Class::getName, clazz -> KNOWN_CLASS_INDEX.indexOf(clazz) + 1));
+
+    private static final byte[] DICTIONARY = Stream.concat(KNOWN_CLASSES.keySet().stream(), DICTIONARY_ENTRIES.stream())
+        .distinct()
+        .collect(Collectors.joining())
+        .getBytes(StandardCharsets.UTF_8);
+
+    private static final int FINGERPRINT = computeFingerprint();
+
+    private static final BlockingQueue<CodecBuffers> BUFFERS = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    public CompactEncryptedTranscoder(final CipherBean cipherBean) {
+        super(cipherBean, true);
+    }
+
+    private static int computeFingerprint() {
+        val classes = KNOWN_CLASS_INDEX
+            .stream()
+            .map(clazz -> clazz.getName() + ':' + ObjectStreamClass.lookup(clazz).getSerialVersionUID())
+            .collect(Collectors.joining(","));
+        val digest = DigestUtils.rawDigestSha256(classes + '|' + new String(DICTIONARY, StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest).getInt();
+    }
+
+    private static CodecBuffers acquireBuffers() {
+        val buffers = BUFFERS.poll();
+        return buffers != null ? buffers : new CodecBuffers();
+    }
+
+    private static void releaseBuffers(final CodecBuffers buffers) {
+        buffers.release();
+        if (!BUFFERS.offer(buffers)) {
+            buffers.end();
+        }
+    }
+
+    private static boolean isCompactEncoding(final byte[] data) {
+        return data.length >= HEADER_LENGTH && data[0] == MAGIC[0] && data[1] == MAGIC[1];
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        if (o == null) {
+            return ArrayUtils.EMPTY_BYTE_ARRAY;
+        }
+        val buffers = acquireBuffers();
+        try {
+            val serialized = buffers.serialized;
+            try (val out = new CompactObjectOutputStream(serialized)) {
+                writeObjectToOutputStream(o, out);
+            } catch (final NotSerializableException e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+            val compressed = buffers.compressed;
+            compressed.write(MAGIC);
+            compressed.write(FORMAT_VERSION);
+            compressed.write(ByteBuffer.allocate(Integer.BYTES).putInt(FINGERPRINT).array());
+            buffers.deflate(serialized, compressed);
+            return encrypt(compressed);
+        } finally {
+            releaseBuffers(buffers);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("BanSerializableRead")
+    public Object decode(final byte[] encoded) throws IOException {
+        val data = decrypt(encoded);
+        if (!isCompactEncoding(data)) {
+            LOGGER.trace("Encoded data is not in compact form and will be decoded as serialized data");
+            return deserialize(data);
+        }
+        if (data[MAGIC.length] != FORMAT_VERSION
+            || ByteBuffer.wrap(data, MAGIC.length + 1, Integer.BYTES).getInt() != FINGERPRINT) {
+            throw new IOException("Encoded data is produced by an incompatible version or configuration");
+        }
+        val buffers = acquireBuffers();
+        try {
+            val serialized = buffers.inflate(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            try (val in = new CompactObjectInputStream(new ByteArrayInputStream(serialized.buffer(), 0, serialized.size()))) {
+                return in.readObject();
+            }
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw new IOException("Deserialization error", e);
+        } finally {
+            releaseBuffers(buffers);
+        }
+    }
+
+    private static final class CompactObjectOutputStream extends ObjectOutputStream {
+        CompactObjectOutputStream(final OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+            val identifier = KNOWN_CLASS_IDENTIFIERS.get(desc.getName());
+            if (identifier != null && ObjectStreamClass.lookup(KNOWN_CLASSES.get(desc.getName())) == desc) {
+                writeByte(identifier);
+            } else {
+                writeByte(UNKNOWN_CLASS);
+                super.writeClassDescriptor(desc);
+            }
+        }
+    }
+
+    private static final class CompactObjectInputStream extends ObjectInputStream {
+        CompactObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            val identifier = readUnsignedByte();
+            if (identifier == UNKNOWN_CLASS) {
+                return super.readClassDescriptor();
+            }
+            if (identifier > KNOWN_CLASS_INDEX.size()) {
+                throw new IOException("Unknown class identifier " + identifier);
+            }
+            return ObjectStreamClass.lookupAny(KNOWN_CLASS_INDEX.get(identifier - 1));
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            val knownClass = KNOWN_CLASSES.get(desc.getName());
+            return knownClass != null ? knownClass : super.resolveClass(desc);
+        }
+    }
+
+    private static final class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+        ReusableByteArrayOutputStream() {
+            super(CHUNK_SIZE);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        boolean isOversized() {
+            return buf.length > MAX_RETAINED_BUFFER_SIZE;
+        }
+    }
+
+    private static final class CodecBuffers {
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        private final Inflater inflater = new Inflater(true);
+
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+
+        private ReusableByteArrayOutputStream serialized = new ReusableByteArrayOutputStream();
+
+        private ReusableByteArrayOutputStream compressed = new ReusableByteArrayOutputStream();
+
+        private static ReusableByteArrayOutputStream reset(final ReusableByteArrayOutputStream buffer) {
+            if (buffer.isOversized()) {
+                return new ReusableByteArrayOutputStream();
+            }
+            buffer.reset();
+            return buffer;
+        }
+
+        void deflate(final ReusableByteArrayOutputStream input, final ByteArrayOutputStream output) {
+            deflater.reset();
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(input.buffer(), 0, input.size());
+            deflater.finish();
+            while (!deflater.finished()) {
+                val count = deflater.deflate(chunk);
+                output.write(chunk, 0, count);
+            }
+        }
+
+        ReusableByteArrayOutputStream inflate(final byte[] data, final int offset, final int length) throws DataFormatException {
+            inflater.reset();
+            inflater.setDictionary(DICTIONARY);
+            inflater.setInput(data, offset, length);
+            while (!inflater.finished()) {
+                val count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Compressed data is truncated");
+                }
+                serialized.write(chunk, 0, count);
+            }
+            return serialized;
+        }
+
+        void release() {
+            serialized = reset(serialized);
+            compressed = reset(compressed);
+        }
+
+        void end() {
+            deflater.end();
+            inflater.end();
+        }
+    }
+}
@@ -77,6 +77,8 @@ public class WebflowExecutorFactory {
 
     private Transcoder getWebflowStateTranscoder() {
         val cipherBean = new WebflowCipherBean(this.webflowCipherExecutor);
-        return new EncryptedTranscoder(cipherBean);
+        return webflowProperties.getSession().isCompact()
+            ? new CompactEncryptedTranscoder(cipherBean)
+            : new EncryptedTranscoder(cipherBean);
     }
 }
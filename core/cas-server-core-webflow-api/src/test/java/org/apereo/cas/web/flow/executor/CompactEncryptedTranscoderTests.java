@@ -0,0 +1,114 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.web.flow.CasWebflowConstants;
+
+import lombok.val;
+import org.cryptacular.bean.AEADBlockCipherBean;
+import org.cryptacular.bean.CipherBean;
+import org.cryptacular.bean.KeyStoreFactoryBean;
+import org.cryptacular.io.FileResource;
+import org.cryptacular.spec.AEADBlockCipherSpec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CompactEncryptedTranscoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Webflow")
+class CompactEncryptedTranscoderTests {
+
+    private static CipherBean getCipherBean() throws Exception {
+        val ksFactory = new KeyStoreFactoryBean();
+        ksFactory.setResource(new FileResource(new File("src/test/resources/test-keystore.jceks")));
+        ksFactory.setType("JCEKS");
+        ksFactory.setPassword("changeit");
+
+        val cipherBean = new AEADBlockCipherBean();
+        cipherBean.setBlockCipherSpec(new AEADBlockCipherSpec("AES", "GCM"));
+        cipherBean.setKeyStore(ksFactory.newInstance());
+        cipherBean.setKeyAlias("aes128");
+        cipherBean.setKeyPassword("changeit");
+        cipherBean.setNonce(new org.cryptacular.generator.sp80038d.RBGNonce());
+        return cipherBean;
+    }
+
+    private static LocalAttributeMap<Object> getFlowScope() {
+        val flowScope = new LocalAttributeMap<>();
+        flowScope.put(CasWebflowConstants.VAR_ID_CREDENTIAL, new UsernamePasswordCredential("casuser", "Mellon"));
+        flowScope.put(CasWebflowConstants.ATTRIBUTE_SERVICE, "https://apereo.github.io/cas?param=value");
+        flowScope.put("ticketGrantingTicketId", "TGT-1-abcdefghijklmnopqrstuvwxyz-cas");
+        flowScope.put("customLoginFormFields", new ArrayList<>(List.of("phone", "email")));
+        return flowScope;
+    }
+
+    @Test
+    void verifyEncodeDecode() throws Throwable {
+        val transcoder = new CompactEncryptedTranscoder(getCipherBean());
+        val flowScope = getFlowScope();
+        val decoded = transcoder.decode(transcoder.encode(flowScope));
+        assertEquals(flowScope, decoded);
+        assertEquals(flowScope, transcoder.decode(transcoder.encode(decoded)));
+    }
+
+    @Test
+    void verifyEncodedSize() throws Throwable {
+        val cipherBean = getCipherBean();
+        val flowScope = getFlowScope();
+        val compact = new CompactEncryptedTranscoder(cipherBean).encode(flowScope);
+        val legacy = new EncryptedTranscoder(cipherBean).encode(flowScope);
+        assertTrue(compact.length < legacy.length);
+    }
+
+    @Test
+    void verifyLegacyDecoding() throws Throwable {
+        val cipherBean = spy(getCipherBean());
+        val flowScope = getFlowScope();
+        val encoded = new EncryptedTranscoder(cipherBean).encode(flowScope);
+        assertEquals(flowScope, new CompactEncryptedTranscoder(cipherBean).decode(encoded));
+        verify(cipherBean, times(1)).decrypt(encoded);
+    }
+
+    @Test
+    void verifyConcurrentEncodeDecode() throws Throwable {
+        val transcoder = new CompactEncryptedTranscoder(getCipherBean());
+        val flowScope = getFlowScope();
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val results = IntStream.range(0, 100)
+                .mapToObj(i -> executor.submit(() -> transcoder.decode(transcoder.encode(flowScope))))
+                .toList();
+            for (val result : results) {
+                assertEquals(flowScope, result.get());
+            }
+        }
+    }
+
+    @Test
+    void verifyIncompatibleEncoding() throws Throwable {
+        val bean = mock(CipherBean.class);
+        when(bean.decrypt(any())).thenReturn(new byte[]{'C', 'F', 9, 0, 0, 0, 0});
+        val transcoder = new CompactEncryptedTranscoder(bean);
+        assertThrows(IOException.class, () -> transcoder.decode(new byte[]{1}));
+    }
+
+    @Test
+    void verifyNotSerializable() throws Throwable {
+        val transcoder = new CompactEncryptedTranscoder(mock(CipherBean.class));
+        assertNotNull(transcoder.encode(null));
+        assertNull(transcoder.encode(new Object()));
+    }
+}
@@ -7,6 +7,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
 import org.apereo.cas.configuration.model.support.jpa.JpaConfigurationContext;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.jpa.JpaBeanFactory;
 import org.apereo.cas.util.CollectionUtils;
@@ -15,6 +16,8 @@ import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.util.thread.Cleanable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.AuditTrailManager;
@@ -23,6 +26,7 @@ import org.apereo.inspektr.audit.support.MaxAgeWhereClauseMatchCriteria;
 import org.apereo.inspektr.audit.support.WhereClauseMatchCriteria;
 import org.jooq.lambda.Unchecked;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -44,6 +48,7 @@ import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
+import java.io.File;
 
 /**
  * This is {@link CasJdbcAuditConfiguration}.
@@ -168,6 +173,7 @@ public class CasJdbcAuditConfiguration {
             final TransactionOperations inspektrAuditTransactionTemplate,
             @Qualifier("inspektrAuditTrailDataSource")
             final DataSource inspektrAuditTrailDataSource,
+            final ObjectProvider<MeterRegistry> meterRegistry,
             final CasConfigurationProperties casProperties) {
             return BeanSupplier.of(AuditTrailManager.class)
                 .when(CONDITION.given(applicationContext.getEnvironment()))
@@ -177,6 +183,14 @@ public class CasJdbcAuditConfiguration {
                     manager.setCleanupCriteria(auditCleanupCriteria);
                     manager.setDataSource(inspektrAuditTrailDataSource);
                     manager.setAsynchronous(jdbc.isAsynchronous());
+                    manager.setBatchSize(jdbc.getBatchSize());
+                    manager.setFlushInterval(Beans.newDuration(jdbc.getFlushInterval()));
+                    manager.setQueueCapacity(jdbc.getQueueCapacity());
+                    manager.setWriterThreads(jdbc.getWriterThreads());
+                    manager.setOverflowPolicy(JdbcAuditTrailManager.OverflowPolicy.valueOf(jdbc.getOverflowPolicy().name()));
+                    manager.setMeterRegistry(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+                    FunctionUtils.doIfNotBlank(jdbc.getSpillFile(), file -> manager.setSpillFile(new File(file)));
+                    manager.setSpillReplayInterval(Beans.newDuration(jdbc.getSpillReplayInterval()));
                     manager.setColumnLength(jdbc.getColumnLength());
                     manager.setTableName(getAuditTableNameFrom(jdbc));
                     FunctionUtils.doIfNotBlank(jdbc.getSelectSqlQueryTemplate(), manager::setSelectByDateSqlTemplate);
@@ -3,11 +3,18 @@ package org.apereo.inspektr.audit.support;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.apereo.inspektr.common.web.ClientInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
 import org.springframework.transaction.TransactionStatus;
@@ -17,8 +24,18 @@ import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.util.StringUtils;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,8 +49,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +76,19 @@ import java.util.stream.Collectors;
  *  AUD_USERAGENT     VARCHAR2(100)   NOT NULL
  * )
  * </pre>
+ * <p>
+ * When {@link #setAsynchronous(boolean) asynchronous}, audit records are placed in a bounded queue
+ * and drained by a number of writer threads that write them to the database using JDBC batch inserts.
+ * A batch is flushed once it holds {@link #setBatchSize(int) batchSize} records or once
+ * {@link #setFlushInterval(Duration) flushInterval} has elapsed since its first record was taken.
+ * When the queue is full, new records are handled according to the {@link OverflowPolicy}.
+ * Records that are spilled to disk are kept as JSON, one record per line, in a file that should only
+ * be accessible to CAS, and are replayed on a schedule of their own every
+ * {@link #setSpillReplayInterval(Duration) spillReplayInterval}. Spilled records are written to the database
+ * at least once: the replay file is only removed once all of its batches are committed, records that could not
+ * be written are kept in the replay file for the next attempt, and a replay file that was being replayed
+ * when the server stopped is replayed again once the server is back.
+ * </p>
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -109,6 +144,27 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
         private final String columnName;
     }
 
+    /**
+     * Policies that decide what happens to audit records once the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Block the caller until space is available in the queue.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued audit record to make room for the new record.
+         */
+        DROP_OLDEST,
+        /**
+         * Write the new audit record to the spill file, to be written to the database
+         * when spilled records are next replayed.
+         */
+        SPILL_TO_DISK
+    }
+
+    private static final String METER_PREFIX = "cas.audit.jdbc";
+
     private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s ("
         + Arrays.stream(AuditTableColumns.values())
         .map(AuditTableColumns::getColumnName)
@@ -118,6 +174,12 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
 
     private static final int DEFAULT_COLUMN_LENGTH = 512;
 
+    private static final String SPILL_FILE_REPLAY_EXTENSION = ".replay";
+
+    private static final String SPILL_FILE_REMAINING_EXTENSION = ".remaining";
+
+    private static final SpilledAuditRecordSerializer SPILLED_RECORD_SERIALIZER = new SpilledAuditRecordSerializer();
+
     /**
      * Instance of TransactionTemplate to manually execute a transaction since
      * threads are not in the same transaction.
@@ -142,14 +204,53 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
     @Setter
     private String dateFormatterFunction;
 
-    @NotNull
-    private ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private ExecutorService executorService;
 
     private boolean defaultExecutorService = true;
 
     @Setter
     private boolean asynchronous = true;
 
+    @Setter
+    private int batchSize = 100;
+
+    @Setter
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    @Setter
+    private int queueCapacity = 10_000;
+
+    @Setter
+    private int writerThreads = 1;
+
+    @Setter
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    @Setter
+    private File spillFile = new File("/etc/cas/audit/jdbc-audit-spill.json");
+
+    @Setter
+    private Duration spillReplayInterval = Duration.ofSeconds(5);
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private final Object spillLock = new Object();
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    private BlockingQueue<AuditActionContext> auditQueue;
+
+    private ScheduledExecutorService replayScheduler;
+
+    private volatile boolean running;
+
+    private Timer flushTimer;
+
+    private Counter droppedCounter;
+
+    private Counter spilledCounter;
+
     /**
      * Criteria used to determine records that should be deleted on cleanup.
      */
@@ -162,17 +263,15 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
 
     @Override
     public void record(final AuditActionContext auditActionContext) {
-        val command = new LoggingTask(auditActionContext,
-            this.transactionTemplate, this.columnLength);
-        if (this.asynchronous) {
-            this.executorService.execute(command);
+        if (this.asynchronous && this.auditQueue != null) {
+            enqueue(auditActionContext);
         } else {
-            command.run();
+            writeAuditRecords(List.of(auditActionContext));
         }
     }
 
     /**
-     * Sets executor service.
+     * Sets executor service that runs the writer threads.
      *
      * @param executorService the executor service
      */
@@ -181,13 +280,58 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
         this.defaultExecutorService = false;
     }
 
+    @Override
+    protected void initDao() {
+        if (this.asynchronous) {
+            this.auditQueue = new ArrayBlockingQueue<>(Math.max(1, this.queueCapacity));
+            Gauge.builder(METER_PREFIX + ".queue.size", auditQueue, BlockingQueue::size)
+                .description("Number of audit records waiting to be written to the database")
+                .register(meterRegistry);
+            this.flushTimer = Timer.builder(METER_PREFIX + ".flush")
+                .description("Time taken to write a batch of audit records to the database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.droppedCounter = Counter.builder(METER_PREFIX + ".dropped")
+                .description("Number of audit records dropped because the queue was full")
+                .register(meterRegistry);
+            this.spilledCounter = Counter.builder(METER_PREFIX + ".spilled")
+                .description("Number of audit records spilled to disk because the queue was full")
+                .register(meterRegistry);
+
+            if (overflowPolicy == OverflowPolicy.SPILL_TO_DISK) {
+                createSpillDirectory();
+                this.replayScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("audit-jdbc-replay-", 0).factory());
+                this.replayScheduler.scheduleWithFixedDelay(this::replaySpilledAuditRecords,
+                    0, spillReplayInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            val threads = Math.max(1, this.writerThreads);
+            if (this.executorService == null) {
+                this.executorService = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("audit-jdbc-writer-", 0).factory());
+            }
+            this.running = true;
+            for (var i = 0; i < threads; i++) {
+                this.executorService.execute(this::drainAuditQueue);
+            }
+            LOGGER.debug("Started [{}] audit writer(s) with batch size [{}] and flush interval [{}]", threads, batchSize, flushInterval);
+        }
+    }
+
     /**
-     * We only shut down the default executor service.  We assume, that if you've injected one, its being managed elsewhere.
+     * Stop the writers once they have drained the queue.
+     * We only shut down the default executor service. We assume, that if you've injected one, its being managed elsewhere.
      */
     @Override
-    public void destroy() {
-        if (this.defaultExecutorService) {
+    public void destroy() throws Exception {
+        this.running = false;
+        if (this.replayScheduler != null) {
+            this.replayScheduler.shutdownNow();
+        }
+        if (this.defaultExecutorService && this.executorService != null) {
             this.executorService.shutdown();
+            if (!this.executorService.awaitTermination(flushInterval.toMillis() * 2 + 1000, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Audit writers did not finish in time; [{}] audit record(s) may not be recorded", auditQueue.size());
+                this.executorService.shutdownNow();
+            }
         }
     }
 
@@ -245,45 +389,230 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
         return getAuditRecordsSince(builder);
     }
 
-    @RequiredArgsConstructor
-    private final class LoggingTask implements Runnable {
+    protected void writeAuditRecords(final List<AuditActionContext> records) {
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus transactionStatus) {
+                val parameters = records.stream().map(JdbcAuditTrailManager.this::getInsertParameters).toList();
+                getJdbcTemplate().batchUpdate(String.format(INSERT_SQL_TEMPLATE, tableName), parameters);
+            }
+        });
+    }
+
+    private Object[] getInsertParameters(final AuditActionContext auditActionContext) {
+        val userId = columnLength <= 0 || auditActionContext.getPrincipal().length() <= columnLength
+            ? auditActionContext.getPrincipal()
+            : auditActionContext.getPrincipal().substring(0, columnLength);
+        val resource = columnLength <= 0 || auditActionContext.getResourceOperatedUpon().length() <= columnLength
+            ? auditActionContext.getResourceOperatedUpon()
+            : auditActionContext.getResourceOperatedUpon().substring(0, columnLength);
+        val action = columnLength <= 0 || auditActionContext.getActionPerformed().length() <= columnLength
+            ? auditActionContext.getActionPerformed()
+            : auditActionContext.getActionPerformed().substring(0, columnLength);
+        return new Object[]{
+            userId,
+            auditActionContext.getClientInfo().getClientIpAddress(),
+            auditActionContext.getClientInfo().getServerIpAddress(),
+            resource,
+            action,
+            auditActionContext.getApplicationCode(),
+            auditActionContext.getWhenActionWasPerformed(),
+            auditActionContext.getClientInfo().getGeoLocation(),
+            auditActionContext.getClientInfo().getUserAgent()
+        };
+    }
+
+    private void enqueue(final AuditActionContext auditActionContext) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                while (!auditQueue.offer(auditActionContext)) {
+                    val dropped = auditQueue.poll();
+                    if (dropped != null) {
+                        droppedCounter.increment();
+                        LOGGER.debug("Audit queue is full; dropping audit record [{}]", dropped);
+                    }
+                }
+            }
+            case SPILL_TO_DISK -> {
+                if (!auditQueue.offer(auditActionContext)) {
+                    spill(auditActionContext);
+                }
+            }
+            default -> {
+                try {
+                    auditQueue.put(auditActionContext);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.warn("Interrupted while waiting to queue audit record [{}]", auditActionContext);
+                }
+            }
+        }
+    }
+
+    private void drainAuditQueue() {
+        val batch = new ArrayList<AuditActionContext>(Math.max(1, batchSize));
+        var interrupted = false;
+        while (!interrupted && (running || !auditQueue.isEmpty())) {
+            try {
+                collectBatch(batch);
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-        private final AuditActionContext auditActionContext;
+    private void collectBatch(final List<AuditActionContext> batch) throws InterruptedException {
+        val first = auditQueue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (first != null) {
+            batch.add(first);
+            val deadline = System.nanoTime() + flushInterval.toNanos();
+            while (batch.size() < batchSize) {
+                auditQueue.drainTo(batch, batchSize - batch.size());
+                val remaining = deadline - System.nanoTime();
+                if (batch.size() >= batchSize || remaining <= 0) {
+                    break;
+                }
+                val next = auditQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        }
+    }
 
-        private final TransactionOperations transactionTemplate;
+    private boolean flush(final List<AuditActionContext> batch) {
+        val startTime = System.nanoTime();
+        try {
+            writeAuditRecords(batch);
+            LOGGER.trace("Recorded [{}] audit record(s)", batch.size());
+            return true;
+        } catch (final Exception e) {
+            LOGGER.error("Unable to record [{}] audit record(s): [{}]", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        private final int columnLength;
+    private void createSpillDirectory() {
+        try {
+            val directory = spillFile.getAbsoluteFile().getParentFile();
+            FileUtils.forceMkdir(directory);
+            if (Files.getFileStore(directory.toPath()).supportsFileAttributeView("posix")) {
+                Files.setPosixFilePermissions(directory.toPath(), PosixFilePermissions.fromString("rwx------"));
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Unable to create directory for spilled audit records at [{}]: [{}]", spillFile, e.getMessage());
+        }
+    }
 
-        @Override
-        public void run() {
-            this.transactionTemplate
-                .execute(new TransactionCallbackWithoutResult() {
-                    @Override
-                    protected void doInTransactionWithoutResult(final TransactionStatus transactionStatus) {
-                        val userId = columnLength <= 0 || auditActionContext.getPrincipal().length() <= columnLength
-                            ? auditActionContext.getPrincipal()
-                            : auditActionContext.getPrincipal().substring(0, columnLength);
-                        val resource = columnLength <= 0 || auditActionContext.getResourceOperatedUpon().length() <= columnLength
-                            ? auditActionContext.getResourceOperatedUpon()
-                            : auditActionContext.getResourceOperatedUpon().substring(0, columnLength);
-                        val action = columnLength <= 0 || auditActionContext.getActionPerformed().length() <= columnLength
-                            ? auditActionContext.getActionPerformed()
-                            : auditActionContext.getActionPerformed().substring(0, columnLength);
-
-                        getJdbcTemplate()
-                            .update(
-                                String.format(INSERT_SQL_TEMPLATE, tableName),
-                                userId,
-                                auditActionContext.getClientInfo().getClientIpAddress(),
-                                auditActionContext.getClientInfo().getServerIpAddress(),
-                                resource,
-                                action,
-                                auditActionContext.getApplicationCode(),
-                                auditActionContext.getWhenActionWasPerformed(),
-                                auditActionContext.getClientInfo().getGeoLocation(),
-                                auditActionContext.getClientInfo().getUserAgent());
+    private void spill(final AuditActionContext auditActionContext) {
+        synchronized (spillLock) {
+            try (val output = Files.newBufferedWriter(spillFile.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                output.write(SPILLED_RECORD_SERIALIZER.toString(auditActionContext));
+                output.newLine();
+                spilledCounter.increment();
+            } catch (final Exception e) {
+                LOGGER.error("Unable to spill audit record [{}] to [{}]: [{}]", auditActionContext, spillFile, e.getMessage());
+            }
+        }
+    }
+
+    private void replaySpilledAuditRecords() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            val replayFile = new File(spillFile.getPath() + SPILL_FILE_REPLAY_EXTENSION);
+            synchronized (spillLock) {
+                if (replayFile.exists()) {
+                    LOGGER.info("Resuming replay of spilled audit records from [{}]", replayFile);
+                } else if (spillFile.exists()) {
+                    Files.move(spillFile.toPath(), replayFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    return;
+                }
+            }
+            replaySpilledAuditRecords(replayFile);
+        } catch (final IOException e) {
+            LOGGER.error("Unable to move spilled audit records from [{}]: [{}]", spillFile, e.getMessage());
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private void replaySpilledAuditRecords(final File replayFile) {
+        LOGGER.debug("Replaying spilled audit records from [{}]", replayFile);
+        val batch = new ArrayList<AuditActionContext>(Math.max(1, batchSize));
+        val remainingFile = new File(replayFile.getPath() + SPILL_FILE_REMAINING_EXTENSION);
+        FileUtils.deleteQuietly(remainingFile);
+        var replayedRecords = 0;
+        var failed = false;
+        try (val input = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+            var line = input.readLine();
+            while (line != null) {
+                val record = line.isBlank() ? null : SPILLED_RECORD_SERIALIZER.from(line);
+                if (record != null) {
+                    batch.add(record);
+                } else if (!line.isBlank()) {
+                    LOGGER.warn("Skipping unreadable spilled audit record in [{}]", replayFile);
+                }
+                line = input.readLine();
+                if (batch.size() >= batchSize || (line == null && !batch.isEmpty())) {
+                    if (!flush(batch)) {
+                        failed = true;
+                        if (replayedRecords > 0) {
+                            writeRemainingAuditRecords(remainingFile, batch, line, input);
+                        }
+                        break;
                     }
-                });
+                    replayedRecords += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Unable to replay spilled audit records from [{}]: [{}]", replayFile, e.getMessage());
+            FileUtils.deleteQuietly(remainingFile);
+            return;
+        }
+        if (!failed) {
+            FileUtils.deleteQuietly(replayFile);
+        } else if (remainingFile.exists()) {
+            try {
+                Files.move(remainingFile.toPath(), replayFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final IOException e) {
+                LOGGER.error("Unable to keep unreplayed audit records in [{}]: [{}]", replayFile, e.getMessage());
+            }
+        }
+        LOGGER.debug("Replayed [{}] spilled audit record(s) from [{}]", replayedRecords, replayFile);
+    }
+
+    private void writeRemainingAuditRecords(final File remainingFile, final List<AuditActionContext> batch,
+                                            final String nextLine, final BufferedReader input) throws IOException {
+        try (val output = Files.newBufferedWriter(remainingFile.toPath(), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (val record : batch) {
+                output.write(SPILLED_RECORD_SERIALIZER.toString(record));
+                output.newLine();
+            }
+            var line = nextLine;
+            while (line != null) {
+                if (!line.isBlank()) {
+                    output.write(line);
+                    output.newLine();
+                }
+                line = input.readLine();
+            }
         }
     }
 
@@ -320,4 +649,26 @@ public class JdbcAuditTrailManager extends NamedParameterJdbcDaoSupport implemen
         val auditDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(audDate.getTime()), ZoneOffset.UTC);
         return new AuditActionContext(principal, resource, action, appCode, auditDate, clientInfo);
     }
+
+    /**
+     * Serializer for audit records that are spilled to disk, as JSON without type information.
+     */
+    static final class SpilledAuditRecordSerializer extends AbstractJacksonBackedStringSerializer<AuditActionContext> {
+        @Serial
+        private static final long serialVersionUID = 4129337428861741394L;
+
+        SpilledAuditRecordSerializer() {
+            super(MINIMAL_PRETTY_PRINTER);
+        }
+
+        @Override
+        public Class<AuditActionContext> getTypeToSerialize() {
+            return AuditActionContext.class;
+        }
+
+        @Override
+        protected boolean isDefaultTypingEnabled() {
+            return false;
+        }
+    }
 }
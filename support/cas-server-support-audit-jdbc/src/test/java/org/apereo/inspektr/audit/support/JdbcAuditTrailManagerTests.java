@@ -0,0 +1,241 @@
+package org.apereo.inspektr.audit.support;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.apereo.inspektr.common.web.ClientInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.config.CasCoreAuditConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasHibernateJpaConfiguration;
+import org.apereo.cas.config.CasJdbcAuditConfiguration;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.util.RandomUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import javax.sql.DataSource;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.awaitility.Awaitility.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link JdbcAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@SpringBootTest(
+    classes = {
+        CasCoreAuditConfiguration.class,
+        CasJdbcAuditConfiguration.class,
+        CasHibernateJpaConfiguration.class,
+        CasCoreUtilConfiguration.class,
+        AopAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        RefreshAutoConfiguration.class
+    },
+    properties = {
+        "cas.jdbc.show-sql=false",
+        "cas.audit.jdbc.batch-size=25",
+        "cas.audit.jdbc.flush-interval=PT0.1S",
+        "cas.audit.jdbc.writer-threads=2"
+    })
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@Tag("JDBC")
+class JdbcAuditTrailManagerTests {
+    @Autowired
+    @Qualifier("jdbcAuditTrailManager")
+    private AuditTrailManager jdbcAuditTrailManager;
+
+    @Autowired
+    @Qualifier("inspektrAuditTransactionTemplate")
+    private TransactionOperations inspektrAuditTransactionTemplate;
+
+    @Autowired
+    @Qualifier("inspektrAuditTrailDataSource")
+    private DataSource inspektrAuditTrailDataSource;
+
+    @TempDir
+    private File tempDirectory;
+
+    private static AuditActionContext getAuditActionContext(final String principal, final int index) {
+        return new AuditActionContext(principal, "TEST-" + index, "TEST", "CAS",
+            LocalDateTime.now(Clock.systemUTC()), new ClientInfo("1.2.3.4", "1.2.3.4", UUID.randomUUID().toString(), "London"));
+    }
+
+    private static int countAuditRecords(final AuditTrailManager manager, final String principal) {
+        return manager.getAuditRecords(Map.of(AuditTrailManager.WhereClauseFields.PRINCIPAL, principal)).size();
+    }
+
+    @Test
+    void verifyRecordsWrittenInBatches() {
+        val principal = RandomUtils.randomAlphanumeric(8);
+        for (var i = 0; i < 100; i++) {
+            jdbcAuditTrailManager.record(getAuditActionContext(principal, i));
+        }
+        await().untilAsserted(() -> assertEquals(100, countAuditRecords(jdbcAuditTrailManager, principal)));
+    }
+
+    @Test
+    void verifyOverflowSpillsToDisk() throws Throwable {
+        val meterRegistry = new SimpleMeterRegistry();
+        val latch = new CountDownLatch(1);
+        val manager = getAuditTrailManager(JdbcAuditTrailManager.OverflowPolicy.SPILL_TO_DISK, meterRegistry, latch);
+        try {
+            val principal = RandomUtils.randomAlphanumeric(8);
+            for (var i = 0; i < 50; i++) {
+                manager.record(getAuditActionContext(principal, i));
+            }
+            assertEquals(45, meterRegistry.get("cas.audit.jdbc.spilled").counter().count());
+            assertEquals(5, meterRegistry.get("cas.audit.jdbc.queue.size").gauge().value());
+            latch.countDown();
+            await().untilAsserted(() -> assertEquals(50, countAuditRecords(manager, principal)));
+            assertTrue(meterRegistry.get("cas.audit.jdbc.flush").timer().count() > 0);
+        } finally {
+            latch.countDown();
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void verifyOverflowDropsOldest() throws Throwable {
+        val meterRegistry = new SimpleMeterRegistry();
+        val latch = new CountDownLatch(1);
+        val manager = getAuditTrailManager(JdbcAuditTrailManager.OverflowPolicy.DROP_OLDEST, meterRegistry, latch);
+        try {
+            val principal = RandomUtils.randomAlphanumeric(8);
+            for (var i = 0; i < 50; i++) {
+                manager.record(getAuditActionContext(principal, i));
+            }
+            assertEquals(45, meterRegistry.get("cas.audit.jdbc.dropped").counter().count());
+            latch.countDown();
+            await().untilAsserted(() -> assertEquals(5, countAuditRecords(manager, principal)));
+        } finally {
+            latch.countDown();
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void verifyLeftoverReplayFileIsResumed() throws Throwable {
+        val principal = RandomUtils.randomAlphanumeric(8);
+        val replayFile = new File(tempDirectory, "spill.bin.replay");
+        val serializer = new JdbcAuditTrailManager.SpilledAuditRecordSerializer();
+        val lines = new StringBuilder();
+        for (var i = 0; i < 3; i++) {
+            lines.append(serializer.toString(getAuditActionContext(principal, i))).append('\n');
+        }
+        lines.append("{not-json\n");
+        FileUtils.writeStringToFile(replayFile, lines.toString(), StandardCharsets.UTF_8);
+
+        val latch = new CountDownLatch(0);
+        val manager = getAuditTrailManager(JdbcAuditTrailManager.OverflowPolicy.SPILL_TO_DISK, new SimpleMeterRegistry(), latch);
+        try {
+            await().untilAsserted(() -> assertEquals(3, countAuditRecords(manager, principal)));
+            await().untilAsserted(() -> assertFalse(replayFile.exists()));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void verifyReplayKeepsRecordsWhileDatabaseIsDown() throws Throwable {
+        val principal = RandomUtils.randomAlphanumeric(8);
+        val replayFile = new File(tempDirectory, "spill.bin.replay");
+        val serializer = new JdbcAuditTrailManager.SpilledAuditRecordSerializer();
+        val lines = new StringBuilder();
+        for (var i = 0; i < 25; i++) {
+            lines.append(serializer.toString(getAuditActionContext(principal, i))).append('\n');
+        }
+        FileUtils.writeStringToFile(replayFile, lines.toString(), StandardCharsets.UTF_8);
+
+        val databaseDown = new AtomicBoolean(true);
+        val attempts = new AtomicInteger();
+        val transactionOperations = new TransactionOperations() {
+            @Override
+            public <T> T execute(final TransactionCallback<T> action) {
+                if (databaseDown.get() && attempts.incrementAndGet() > 1) {
+                    throw new CannotCreateTransactionException("Database is down");
+                }
+                return inspektrAuditTransactionTemplate.execute(action);
+            }
+        };
+        val manager = getAuditTrailManager(JdbcAuditTrailManager.OverflowPolicy.SPILL_TO_DISK,
+            new SimpleMeterRegistry(), new CountDownLatch(0), transactionOperations);
+        try {
+            await().untilAsserted(() -> assertTrue(attempts.get() > 3));
+            assertEquals(10, countAuditRecords(jdbcAuditTrailManager, principal));
+            assertTrue(replayFile.exists());
+            assertEquals(15, FileUtils.readLines(replayFile, StandardCharsets.UTF_8).size());
+
+            databaseDown.set(false);
+            await().untilAsserted(() -> assertEquals(25, countAuditRecords(jdbcAuditTrailManager, principal)));
+            await().untilAsserted(() -> assertFalse(replayFile.exists()));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void verifyRecordBeforeInitialization() {
+        val manager = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate);
+        manager.setDataSource(inspektrAuditTrailDataSource);
+        val principal = RandomUtils.randomAlphanumeric(8);
+        assertDoesNotThrow(() -> manager.record(getAuditActionContext(principal, 1)));
+        assertEquals(1, countAuditRecords(manager, principal));
+    }
+
+    private JdbcAuditTrailManager getAuditTrailManager(final JdbcAuditTrailManager.OverflowPolicy policy,
+                                                       final SimpleMeterRegistry meterRegistry,
+                                                       final CountDownLatch latch) {
+        return getAuditTrailManager(policy, meterRegistry, latch, inspektrAuditTransactionTemplate);
+    }
+
+    private JdbcAuditTrailManager getAuditTrailManager(final JdbcAuditTrailManager.OverflowPolicy policy,
+                                                       final SimpleMeterRegistry meterRegistry,
+                                                       final CountDownLatch latch,
+                                                       final TransactionOperations transactionOperations) {
+        val executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().factory());
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        val manager = new JdbcAuditTrailManager(transactionOperations);
+        manager.setDataSource(inspektrAuditTrailDataSource);
+        manager.setQueueCapacity(5);
+        manager.setBatchSize(10);
+        manager.setFlushInterval(Duration.ofMillis(100));
+        manager.setOverflowPolicy(policy);
+        manager.setSpillFile(new File(tempDirectory, "spill.bin"));
+        manager.setSpillReplayInterval(Duration.ofMillis(100));
+        manager.setMeterRegistry(meterRegistry);
+        manager.setExecutorService(executor);
+        manager.afterPropertiesSet();
+        return manager;
+    }
+}
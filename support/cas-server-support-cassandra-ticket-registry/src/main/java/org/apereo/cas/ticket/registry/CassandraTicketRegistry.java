@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.jooq.lambda.Unchecked;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.cassandra.core.cql.BeanPropertyRowMapper;
@@ -30,6 +31,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -105,6 +108,24 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         addTicketToCassandra(ticket, true);
     }
 
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) throws Exception {
+        val session = cassandraSessionFactory.getSession();
+        val writes = toSave
+            .filter(Objects::nonNull)
+            .filter(ticket -> !ticket.isExpired())
+            .map(Unchecked.function(ticket -> buildTicketStatement(ticket, true)))
+            .map(statement -> session.executeAsync(statement).toCompletableFuture())
+            .toList();
+        try {
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        } catch (final CompletionException e) {
+            val cause = e.getCause() instanceof final RuntimeException runtimeException ? runtimeException : e;
+            throw cassandraSessionFactory.getCqlTemplate().getExceptionTranslator().translate("Add tickets", null, cause);
+        }
+        LOGGER.debug("Added [{}] ticket(s)", writes.size());
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         addTicketToCassandra(ticket, false);
@@ -283,6 +304,13 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
 
     private void addTicketToCassandra(final Ticket ticket, final boolean inserting) throws Exception {
         LOGGER.debug("Adding ticket [{}]", ticket.getId());
+        val statement = buildTicketStatement(ticket, inserting);
+        LOGGER.trace("Attempting to locate ticket via query [{}]", statement.getQuery());
+        cassandraSessionFactory.getCqlTemplate().execute(statement);
+        LOGGER.debug("Added ticket [{}]", ticket.getId());
+    }
+
+    private SimpleStatement buildTicketStatement(final Ticket ticket, final boolean inserting) throws Exception {
         val metadata = ticketCatalog.find(ticket);
         LOGGER.trace("Located ticket definition [{}] in the ticket catalog", metadata);
         val encTicket = encodeTicket(ticket);
@@ -323,12 +351,8 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
                 .whereColumn("type").isEqualTo(QueryBuilder.literal(encTicket.getClass().getName()))
                 .build();
         }
-        statement = statement.setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
+        return statement.setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
             .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
             .setTimeout(Beans.newDuration(properties.getTimeout()));
-
-        LOGGER.trace("Attempting to locate ticket via query [{}]", statement.getQuery());
-        cassandraSessionFactory.getCqlTemplate().execute(statement);
-        LOGGER.debug("Added ticket [{}]", encTicket.getId());
     }
 }
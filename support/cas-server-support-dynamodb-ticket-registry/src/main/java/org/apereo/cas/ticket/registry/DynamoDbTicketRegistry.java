@@ -85,7 +85,10 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
     @Override
     public void addTicket(final Stream<? extends Ticket> toSave) {
         FunctionUtils.doAndHandle(__ -> {
-            val toPut = toSave.map(Unchecked.function(this::toTicketPayload));
+            val toPut = toSave
+                .filter(Objects::nonNull)
+                .filter(ticket -> !ticket.isExpired())
+                .map(Unchecked.function(this::toTicketPayload));
             dbTableService.put(toPut);
         });
     }
@@ -60,6 +60,8 @@ import java.util.stream.Stream;
 public class DynamoDbTicketRegistryFacilitator {
     private static final int BATCH_PUT_REQUEST_LIMIT = 25;
 
+    private static final int BATCH_PUT_REQUEST_MAX_ATTEMPTS = 3;
+
     private final TicketCatalog ticketCatalog;
 
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
@@ -206,15 +208,28 @@ public class DynamoDbTicketRegistryFacilitator {
 
             queue.put(metadata.getProperties().getStorageName(), entries);
             if (count.get() >= BATCH_PUT_REQUEST_LIMIT) {
-                val batchRequest = BatchWriteItemRequest.builder().requestItems(queue).build();
-                amazonDynamoDBClient.batchWriteItem(batchRequest);
+                submitBatchWriteRequest(queue);
                 queue.clear();
                 count.set(0);
             }
         });
         if (!queue.isEmpty()) {
-            val batchRequest = BatchWriteItemRequest.builder().requestItems(queue).build();
-            amazonDynamoDBClient.batchWriteItem(batchRequest);
+            submitBatchWriteRequest(queue);
+        }
+    }
+
+    private void submitBatchWriteRequest(final Map<String, ? extends Collection<WriteRequest>> requestItems) {
+        Map<String, ? extends Collection<WriteRequest>> pending = requestItems;
+        var attempts = 0;
+        while (!pending.isEmpty() && attempts++ < BATCH_PUT_REQUEST_MAX_ATTEMPTS) {
+            val batchRequest = BatchWriteItemRequest.builder().requestItems(pending).build();
+            val result = amazonDynamoDBClient.batchWriteItem(batchRequest);
+            pending = result.hasUnprocessedItems() ? result.unprocessedItems() : Map.<String, List<WriteRequest>>of();
+            LOGGER.trace("Batch write request has [{}] table(s) with unprocessed items", pending.size());
+        }
+        if (!pending.isEmpty()) {
+            LOGGER.warn("Unable to write all tickets in batch after [{}] attempt(s); unprocessed items remain for [{}]",
+                BATCH_PUT_REQUEST_MAX_ATTEMPTS, pending.keySet());
         }
     }
 
@@ -64,4 +64,11 @@ public class JpaRegisteredServiceEntity implements Serializable {
     @Column(nullable = false, length = 8_000)
     private String body;
 
+    /**
+     * Changes with every update of the service definition, and allows
+     * modified service definitions to be recognized without reading their body.
+     */
+    @Column
+    private Long version;
+
 }
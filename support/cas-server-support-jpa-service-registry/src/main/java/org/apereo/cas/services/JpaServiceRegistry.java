@@ -4,6 +4,7 @@ import org.apereo.cas.services.util.RegisteredServiceJsonSerializer;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.util.serialization.StringSerializer;
 
+import com.google.common.collect.Lists;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -13,9 +14,14 @@ import org.springframework.transaction.support.TransactionOperations;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.io.Serializable;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -31,6 +37,10 @@ import java.util.stream.LongStream;
 @ToString
 @Slf4j
 public class JpaServiceRegistry extends AbstractServiceRegistry {
+    private static final int CHANGED_SERVICES_BATCH_SIZE = 500;
+
+    private static final AtomicLong VERSION_CLOCK = new AtomicLong();
+
     private final TransactionOperations transactionTemplate;
 
     @PersistenceContext(unitName = "jpaServiceRegistryContext")
@@ -46,6 +56,10 @@ public class JpaServiceRegistry extends AbstractServiceRegistry {
         this.serializer = new RegisteredServiceJsonSerializer(applicationContext);
     }
 
+    private static long nextVersion() {
+        return VERSION_CLOCK.updateAndGet(version -> Math.max(version + 1, System.currentTimeMillis()));
+    }
+
     @Override
     public boolean delete(final RegisteredService registeredService) {
         transactionTemplate.executeWithoutResult(__ -> {
@@ -84,6 +98,53 @@ public class JpaServiceRegistry extends AbstractServiceRegistry {
         });
     }
 
+    /**
+     * Load the services whose version has changed since the given change token was issued.
+     * The change token carries the version of each service definition; only the identifiers and versions
+     * of service definitions are read, unless a service definition is new or its version has changed.
+     * Service definitions modified outside CAS must update the version column to be recognized as changed.
+     * Service definitions without a version, such as those stored before the version column was introduced,
+     * are always treated as changed until they are saved again.
+     *
+     * @param changeToken the change token issued by the previous call, or null
+     * @return the changes
+     */
+    @Override
+    public ServiceRegistryChanges loadChanges(final Serializable changeToken) {
+        return transactionTemplate.execute(status -> {
+            val query = String.format("SELECT r.id, r.version FROM %s r", JpaRegisteredServiceEntity.ENTITY_NAME);
+            val versions = new HashMap<Long, Long>();
+            entityManager.createQuery(query, Object[].class).getResultList()
+                .forEach(row -> versions.put((Long) row[0], (Long) row[1]));
+            if (!(changeToken instanceof final Map<?, ?> previousVersions)) {
+                return ServiceRegistryChanges.complete(load(), versions);
+            }
+            val changedIds = versions.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() == null
+                    || !previousVersions.containsKey(entry.getKey())
+                    || !Objects.equals(previousVersions.get(entry.getKey()), entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+            val clientInfo = ClientInfoHolder.getClientInfo();
+            val changedQuery = String.format("SELECT r FROM %s r WHERE r.id IN :ids", JpaRegisteredServiceEntity.ENTITY_NAME);
+            val changedServices = Lists.partition(changedIds, CHANGED_SERVICES_BATCH_SIZE)
+                .stream()
+                .map(ids -> entityManager.createQuery(changedQuery, JpaRegisteredServiceEntity.class)
+                    .setParameter("ids", ids)
+                    .getResultList())
+                .flatMap(Collection::stream)
+                .map(this::toRegisteredService)
+                .sorted()
+                .map(this::invokeServiceRegistryListenerPostLoad)
+                .filter(Objects::nonNull)
+                .peek(s -> publishEvent(new CasRegisteredServiceLoadedEvent(this, s, clientInfo)))
+                .collect(Collectors.toList());
+            LOGGER.debug("Located [{}] modified service definition(s) out of [{}]", changedServices.size(), versions.size());
+            return ServiceRegistryChanges.incremental(changedServices, new HashSet<>(versions.keySet()), versions);
+        });
+    }
+
     @Override
     public Long save(final Supplier<RegisteredService> supplier,
                      final Consumer<RegisteredService> andThenConsume,
@@ -202,6 +263,7 @@ public class JpaServiceRegistry extends AbstractServiceRegistry {
             .serviceId(service.getServiceId())
             .evaluationOrder(service.getEvaluationOrder())
             .body(jsonBody)
+            .version(nextVersion())
             .build();
     }
 
@@ -19,9 +19,14 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import javax.sql.DataSource;
+
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,6 +58,20 @@ class JpaServiceRegistryTests extends AbstractServiceRegistryTests {
     @Qualifier("jpaServiceRegistry")
     protected ServiceRegistry newServiceRegistry;
 
+    @Autowired
+    @Qualifier("dataSourceService")
+    private DataSource dataSourceService;
+
+    private static RegisteredService newRegisteredService(final String serviceId) {
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService(serviceId, true);
+        registeredService.setId(RegisteredService.INITIAL_IDENTIFIER_VALUE);
+        return registeredService;
+    }
+
+    private static Set<Long> getServiceIdentifiers(final ServiceRegistryChanges changes) {
+        return changes.services().stream().map(RegisteredService::getId).collect(Collectors.toSet());
+    }
+
     @Test
     void verifyLargeDataset() throws Throwable {
         newServiceRegistry.save(
@@ -108,4 +127,38 @@ class JpaServiceRegistryTests extends AbstractServiceRegistryTests {
         stopwatch.stop();
         assertTrue(stopwatch.getTime(TimeUnit.SECONDS) <= 10);
     }
+
+    @Test
+    void verifyLoadChanges() throws Throwable {
+        val first = newServiceRegistry.save(newRegisteredService("https://first.example.org"));
+        val second = newServiceRegistry.save(newRegisteredService("https://second.example.org"));
+        val initial = newServiceRegistry.loadChanges(null);
+        assertTrue(initial.complete());
+        assertEquals(Set.of(first.getId(), second.getId()), getServiceIdentifiers(initial));
+
+        val unchanged = newServiceRegistry.loadChanges(initial.changeToken());
+        assertFalse(unchanged.complete());
+        assertTrue(unchanged.services().isEmpty());
+        assertEquals(Set.of(first.getId(), second.getId()), unchanged.identifiers());
+
+        val third = newServiceRegistry.save(newRegisteredService("https://third.example.org"));
+        val added = newServiceRegistry.loadChanges(unchanged.changeToken());
+        assertEquals(Set.of(third.getId()), getServiceIdentifiers(added));
+
+        first.setEvaluationOrder(1000);
+        newServiceRegistry.save(first);
+        val modified = newServiceRegistry.loadChanges(added.changeToken());
+        assertEquals(Set.of(first.getId()), getServiceIdentifiers(modified));
+        assertEquals(1000, modified.services().iterator().next().getEvaluationOrder());
+
+        newServiceRegistry.delete(second);
+        val removed = newServiceRegistry.loadChanges(modified.changeToken());
+        assertTrue(removed.services().isEmpty());
+        assertEquals(Set.of(first.getId(), third.getId()), removed.identifiers());
+
+        new JdbcTemplate(dataSourceService).update("UPDATE RegisteredServices SET version = NULL WHERE id = ?", third.getId());
+        val unversioned = newServiceRegistry.loadChanges(removed.changeToken());
+        assertEquals(Set.of(third.getId()), getServiceIdentifiers(unversioned));
+        assertEquals(Set.of(third.getId()), getServiceIdentifiers(newServiceRegistry.loadChanges(unversioned.changeToken())));
+    }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.google.common.collect.Lists;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -45,6 +46,7 @@ import java.util.stream.Stream;
 @Getter
 @Monitorable
 public class JpaTicketRegistry extends AbstractTicketRegistry {
+    private static final int DELETE_BATCH_SIZE = 500;
 
     private final JpaBeanFactory jpaBeanFactory;
 
@@ -72,15 +74,30 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public void addTicketInternal(final Ticket ticket) {
-        transactionTemplate.executeWithoutResult(Unchecked.consumer(status -> {
-            val ticketEntity = getTicketEntityFrom(ticket);
-            if (ticket instanceof final TicketGrantingTicketAwareTicket grantingTicketAware && grantingTicketAware.getTicketGrantingTicket() != null) {
-                val parentId = digestIdentifier(grantingTicketAware.getTicketGrantingTicket().getId());
-                ticketEntity.setParentId(parentId);
-            }
-            entityManager.persist(ticketEntity);
-            LOGGER.debug("Added ticket [{}] to registry.", ticketEntity.getId());
-        }));
+        transactionTemplate.executeWithoutResult(Unchecked.consumer(status -> persistTicket(ticket)));
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) {
+        transactionTemplate.executeWithoutResult(status -> {
+            val tickets = toSave
+                .filter(Objects::nonNull)
+                .filter(ticket -> !ticket.isExpired())
+                .toList();
+            tickets.forEach(this::persistTicket);
+            entityManager.flush();
+            LOGGER.debug("Added [{}] ticket(s) to registry in a single batch", tickets.size());
+        });
+    }
+
+    protected void persistTicket(final Ticket ticket) {
+        val ticketEntity = getTicketEntityFrom(ticket);
+        if (ticket instanceof final TicketGrantingTicketAwareTicket grantingTicketAware && grantingTicketAware.getTicketGrantingTicket() != null) {
+            val parentId = digestIdentifier(grantingTicketAware.getTicketGrantingTicket().getId());
+            ticketEntity.setParentId(parentId);
+        }
+        entityManager.persist(ticketEntity);
+        LOGGER.debug("Added ticket [{}] to registry.", ticketEntity.getId());
     }
 
     protected BaseTicketEntity getTicketEntityFrom(final Ticket ticket) {
@@ -297,6 +314,21 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return Objects.requireNonNull(result);
     }
 
+    @Override
+    protected int deleteServiceTickets(final Collection<String> serviceTicketIds) {
+        val result = transactionTemplate.execute(transactionStatus -> {
+            val factory = getJpaTicketEntityFactory();
+            val sql = String.format("DELETE FROM %s t WHERE t.id IN :ids", factory.getEntityName());
+            val encTicketIds = serviceTicketIds.stream().map(this::digestIdentifier).toList();
+            return Lists.partition(encTicketIds, DELETE_BATCH_SIZE)
+                .stream()
+                .mapToInt(batch -> entityManager.createQuery(sql).setParameter("ids", batch).executeUpdate())
+                .sum();
+        });
+        LOGGER.debug("Removed [{}] service ticket(s) in bulk", result);
+        return Objects.requireNonNull(result);
+    }
+
     protected JpaTicketEntityFactory getJpaTicketEntityFactory() {
         val jpa = casProperties.getTicket().getRegistry().getJpa();
         return new JpaTicketEntityFactory(jpa.getDialect());
@@ -27,8 +27,10 @@ import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -92,6 +94,37 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) {
+        val documentsByCollection = new LinkedHashMap<String, List<MongoDbTicketDocument>>();
+        toSave
+            .filter(Objects::nonNull)
+            .filter(ticket -> !ticket.isExpired())
+            .forEach(ticket -> {
+                try {
+                    val metadata = ticketCatalog.find(ticket);
+                    if (metadata == null) {
+                        LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+                        return;
+                    }
+                    val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+                    documentsByCollection.computeIfAbsent(collectionName, key -> new ArrayList<>()).add(buildTicketAsDocument(ticket));
+                } catch (final Throwable e) {
+                    LOGGER.error("Failed adding [{}]", ticket);
+                    LoggingUtils.error(LOGGER, e);
+                }
+            });
+        documentsByCollection.forEach((collectionName, documents) -> {
+            try {
+                mongoTemplate.insert(documents, collectionName);
+                LOGGER.debug("Added [{}] ticket(s) to collection [{}]", documents.size(), collectionName);
+            } catch (final Throwable e) {
+                LOGGER.error("Failed adding [{}] ticket(s) to collection [{}]", documents.size(), collectionName);
+                LoggingUtils.error(LOGGER, e);
+            }
+        });
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         try {
@@ -257,6 +290,26 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return res.getDeletedCount();
     }
 
+    @Override
+    protected int deleteServiceTickets(final Collection<String> serviceTicketIds) {
+        val ticketIdsByDefinition = serviceTicketIds
+            .stream()
+            .filter(ticketId -> ticketCatalog.find(ticketId) != null)
+            .collect(Collectors.groupingBy(ticketCatalog::find, LinkedHashMap::new,
+                Collectors.mapping(this::digestIdentifier, Collectors.toList())));
+        return ticketIdsByDefinition
+            .entrySet()
+            .stream()
+            .mapToInt(entry -> {
+                val collectionName = getTicketCollectionInstanceByMetadata(entry.getKey());
+                val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).in(entry.getValue()));
+                val res = mongoTemplate.remove(query, collectionName);
+                LOGGER.debug("Deleted [{}] ticket(s) from collection [{}]", res.getDeletedCount(), collectionName);
+                return (int) res.getDeletedCount();
+            })
+            .sum();
+    }
+
     protected long countTicketsByTicketType(final Class<? extends Ticket> ticketType) {
         val ticketDefinitions = ticketCatalog.findTicketImplementations(ticketType);
         return ticketDefinitions.stream()
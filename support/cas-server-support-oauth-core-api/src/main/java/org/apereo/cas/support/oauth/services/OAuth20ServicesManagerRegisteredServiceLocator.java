@@ -18,6 +18,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.Ordered;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is {@link OAuth20ServicesManagerRegisteredServiceLocator}.
@@ -63,6 +64,11 @@ public class OAuth20ServicesManagerRegisteredServiceLocator extends DefaultServi
         return indexes;
     }
 
+    @Override
+    public Set<String> getServiceAttributeNames() {
+        return Set.of(OAuth20Constants.CLIENT_ID);
+    }
+
     @Override
     protected Class<? extends RegisteredService> getRegisteredServiceIndexedType() {
         return OAuthRegisteredService.class;
@@ -1,29 +1,68 @@
 package org.apereo.cas.support.oauth.validator;
 
+import org.apereo.cas.configuration.model.support.oauth.OAuthClientSecretProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.spring.CasEventListener;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.io.Serializable;
+import java.security.MessageDigest;
 
 /**
- * This is {@link DefaultOAuth20ClientSecretValidator}.
+ * This is {@link DefaultOAuth20ClientSecretValidator}. Client secrets defined by registered services
+ * may be encrypted, or hashed using the configured password encoder. Decrypting or hashing the defined secret is expensive,
+ * so the digest of a verified client secret is remembered for the registered service, until the client secret
+ * or the registered service is changed. Client secrets are always compared in constant time.
  *
  * @author Misagh Moayyed
  * @since 6.6.0
  */
 @Slf4j
-@RequiredArgsConstructor
 @Getter
-public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretValidator {
+public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretValidator, CasEventListener {
     private final CipherExecutor<Serializable, String> cipherExecutor;
 
+    private final PasswordEncoder passwordEncoder;
+
+    private final Cache<ClientSecretCacheKey, byte[]> verifiedClientSecrets;
+
+    public DefaultOAuth20ClientSecretValidator(final CipherExecutor<Serializable, String> cipherExecutor) {
+        this(cipherExecutor, NoOpPasswordEncoder.getInstance(), new OAuthClientSecretProperties());
+    }
+
+    public DefaultOAuth20ClientSecretValidator(final CipherExecutor<Serializable, String> cipherExecutor,
+                                               final PasswordEncoder passwordEncoder,
+                                               final OAuthClientSecretProperties properties) {
+        this.cipherExecutor = cipherExecutor;
+        this.passwordEncoder = passwordEncoder;
+        this.verifiedClientSecrets = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, properties.getCacheSize()))
+            .expireAfterWrite(Beans.newDuration(properties.getCacheExpiration()))
+            .build();
+    }
+
+    private static ClientSecretCacheKey buildClientSecretCacheKey(final OAuthRegisteredService registeredService) {
+        return new ClientSecretCacheKey(registeredService.getId(), registeredService.getClientId(),
+            DigestUtils.sha256(registeredService.getClientSecret()));
+    }
+
     @Override
     public boolean validate(final OAuthRegisteredService registeredService, final String clientSecret) {
         if (isClientSecretUndefined(registeredService)) {
@@ -31,8 +70,7 @@ public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretV
             return true;
         }
         val clientSecretDecoded = EncodingUtils.urlDecode(clientSecret);
-        val definedSecret = cipherExecutor.decode(registeredService.getClientSecret(), new Object[]{registeredService});
-        if (!StringUtils.equals(definedSecret, clientSecretDecoded)) {
+        if (clientSecretDecoded == null || !verifyClientSecret(registeredService, clientSecretDecoded)) {
             LOGGER.error("Wrong client secret for service: [{}]", registeredService.getServiceId());
             return false;
         }
@@ -44,6 +82,36 @@ public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretV
         return false;
     }
 
+    /**
+     * Forget verified client secrets of a registered service once it is saved.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidate(event.getRegisteredService());
+    }
+
+    /**
+     * Forget verified client secrets of a registered service once it is deleted.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidate(event.getRegisteredService());
+    }
+
+    /**
+     * Forget all verified client secrets once registered services are reloaded.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        verifiedClientSecrets.invalidateAll();
+    }
+
     /**
      * Is client secret defined.
      *
@@ -53,4 +121,48 @@ public class DefaultOAuth20ClientSecretValidator implements OAuth20ClientSecretV
     protected boolean isClientSecretUndefined(final OAuthRegisteredService registeredService) {
         return registeredService != null && StringUtils.isBlank(registeredService.getClientSecret());
     }
+
+    /**
+     * Verify the client secret against the secret defined by the registered service.
+     * The defined secret is decrypted and then either compared in constant time, or matched using the password encoder
+     * if client secrets are stored as hashes.
+     *
+     * @param definedSecret the secret defined by the registered service, decrypted
+     * @param clientSecret  the client secret
+     * @return true/false
+     */
+    protected boolean verifyClientSecret(final String definedSecret, final String clientSecret) {
+        if (definedSecret == null) {
+            return false;
+        }
+        if (passwordEncoder == null || passwordEncoder instanceof NoOpPasswordEncoder) {
+            return MessageDigest.isEqual(DigestUtils.rawDigestSha256(definedSecret), DigestUtils.rawDigestSha256(clientSecret));
+        }
+        return passwordEncoder.matches(clientSecret, definedSecret);
+    }
+
+    private boolean verifyClientSecret(final OAuthRegisteredService registeredService, final String clientSecret) {
+        val cacheKey = buildClientSecretCacheKey(registeredService);
+        val clientSecretDigest = DigestUtils.rawDigestSha256(clientSecret);
+        val verifiedDigest = verifiedClientSecrets.getIfPresent(cacheKey);
+        if (verifiedDigest != null) {
+            LOGGER.trace("Comparing client secret for [{}] with the secret verified previously", registeredService.getClientId());
+            return MessageDigest.isEqual(verifiedDigest, clientSecretDigest);
+        }
+        val definedSecret = cipherExecutor.decode(registeredService.getClientSecret(), new Object[]{registeredService});
+        val verified = verifyClientSecret(definedSecret, clientSecret);
+        if (verified) {
+            verifiedClientSecrets.put(cacheKey, clientSecretDigest);
+        }
+        return verified;
+    }
+
+    private void invalidate(final RegisteredService registeredService) {
+        if (registeredService instanceof OAuthRegisteredService) {
+            verifiedClientSecrets.asMap().keySet().removeIf(key -> key.serviceId() == registeredService.getId());
+        }
+    }
+
+    private record ClientSecretCacheKey(long serviceId, String clientId, String clientSecretDigest) {
+    }
 }
@@ -27,6 +27,7 @@ import org.apereo.cas.ticket.ExpirationPolicyBuilder;
 import org.apereo.cas.ticket.OAuth20TokenSigningAndEncryptionService;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenRevocationFilter;
 import org.apereo.cas.ticket.device.OAuth20DeviceToken;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.token.JwtBuilder;
@@ -141,6 +142,8 @@ public class OAuth20ConfigurationContext {
 
     private final AttributeDefinitionStore attributeDefinitionStore;
 
+    private final OAuth20AccessTokenRevocationFilter accessTokenRevocationFilter;
+
     /**
      * Gets ticket granting ticket.
      *
@@ -2,6 +2,7 @@ package org.apereo.cas.support.oauth.web.endpoints;
 
 import org.apereo.cas.audit.AuditableContext;
 import org.apereo.cas.authentication.AuthenticationManager;
+import org.apereo.cas.services.RegisteredServiceCipherExecutor;
 import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
@@ -10,9 +11,15 @@ import org.apereo.cas.support.oauth.web.response.introspection.OAuth20Introspect
 import org.apereo.cas.support.oauth.web.response.introspection.success.OAuth20IntrospectionAccessTokenSuccessResponse;
 import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.OAuth20Token;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessToken;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.http.HttpRequestUtils;
+import org.apereo.cas.util.spring.beans.BeanSupplier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -30,8 +37,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -77,6 +87,21 @@ public class OAuth20IntrospectionEndpointController<T extends OAuth20Configurati
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Gets claim values as strings, whether the claim is single or multi-valued.
+     *
+     * @param claims the claims
+     * @param name   the claim name
+     * @return the claim values
+     */
+    protected static List<String> getClaimValues(final JWTClaimsSet claims, final String name) {
+        return CollectionUtils.toCollection(claims.getClaim(name))
+            .stream()
+            .filter(Objects::nonNull)
+            .map(Object::toString)
+            .toList();
+    }
+
     /**
      * Handle request.
      *
@@ -132,15 +157,8 @@ public class OAuth20IntrospectionEndpointController<T extends OAuth20Configurati
                 "Service", registeredService.getName());
             LoggingUtils.protocolMessage("OpenID Connect Introspection Request", protocolMap);
 
-            OAuth20Token ticket = null;
-            try {
-                val token = extractAccessTokenFrom(accessToken);
-                ticket = getConfigurationContext().getTicketRegistry().getTicket(token, OAuth20Token.class);
-            } catch (final InvalidTicketException e) {
-                LOGGER.trace(e.getMessage(), e);
-                LOGGER.info("Unable to fetch access token [{}]: [{}]", accessToken, e.getMessage());
-            }
-            val introspect = createIntrospectionValidResponse(accessToken, ticket);
+            val introspect = introspectStatelessAccessToken(accessToken)
+                .orElseGet(() -> introspectAccessTokenFromRegistry(accessToken));
             introspect.setToken(accessToken);
 
             return buildIntrospectionEntityResponse(context, introspect);
@@ -157,6 +175,85 @@ public class OAuth20IntrospectionEndpointController<T extends OAuth20Configurati
         return authExtractor.extract(callContext);
     }
 
+    protected OAuth20IntrospectionAccessTokenSuccessResponse introspectAccessTokenFromRegistry(final String accessToken) {
+        OAuth20Token ticket = null;
+        try {
+            val token = extractAccessTokenFrom(accessToken);
+            ticket = getConfigurationContext().getTicketRegistry().getTicket(token, OAuth20Token.class);
+        } catch (final InvalidTicketException e) {
+            LOGGER.trace(e.getMessage(), e);
+            LOGGER.info("Unable to fetch access token [{}]: [{}]", accessToken, e.getMessage());
+        }
+        return createIntrospectionValidResponse(accessToken, ticket);
+    }
+
+    /**
+     * Introspect a signed JWT access token using its own claims, without looking up the token in the ticket registry.
+     * The ticket registry is consulted instead when the token is not a signed JWT access token,
+     * or when the revocation filter indicates that the token might have been revoked.
+     *
+     * @param accessToken the access token
+     * @return the introspection response, or empty if the ticket registry should be consulted.
+     */
+    protected Optional<OAuth20IntrospectionAccessTokenSuccessResponse> introspectStatelessAccessToken(final String accessToken) {
+        val revocationFilter = getConfigurationContext().getAccessTokenRevocationFilter();
+        if (revocationFilter == null || !BeanSupplier.isNotProxy(revocationFilter)) {
+            return Optional.empty();
+        }
+        return FunctionUtils.doAndHandle(() -> {
+            val jwt = JWTParser.parse(accessToken);
+            if (jwt instanceof PlainJWT) {
+                LOGGER.debug("Unsigned access token cannot be introspected without the ticket registry");
+                return Optional.<OAuth20IntrospectionAccessTokenSuccessResponse>empty();
+            }
+            val serviceId = jwt.getHeader().getCustomParam(RegisteredServiceCipherExecutor.CUSTOM_HEADER_REGISTERED_SERVICE_ID);
+            val registeredService = serviceId != null
+                ? getConfigurationContext().getServicesManager().findServiceBy(Long.parseLong(serviceId.toString()), OAuthRegisteredService.class)
+                : null;
+            val claims = getConfigurationContext().getAccessTokenJwtBuilder().unpack(Optional.ofNullable(registeredService), accessToken);
+            val accessTokenId = claims.getJWTID();
+            if (!StringUtils.startsWith(accessTokenId, OAuth20AccessToken.PREFIX + '-')
+                || claims.getIssueTime() == null || claims.getExpirationTime() == null) {
+                return Optional.<OAuth20IntrospectionAccessTokenSuccessResponse>empty();
+            }
+            if (claims.getExpirationTime().toInstant().isBefore(Instant.now())) {
+                LOGGER.debug("Access token [{}] has expired", accessTokenId);
+                return Optional.of(createIntrospectionValidResponse(accessToken, null));
+            }
+            if (revocationFilter.mightBeRevoked(accessTokenId, claims.getIssueTime().toInstant(), claims.getExpirationTime().toInstant())) {
+                LOGGER.debug("Access token [{}] might have been revoked and will be looked up in the ticket registry", accessTokenId);
+                return Optional.<OAuth20IntrospectionAccessTokenSuccessResponse>empty();
+            }
+            return Optional.of(createIntrospectionValidResponse(claims, registeredService));
+        }, e -> {
+            LOGGER.debug("Unable to introspect access token without the ticket registry: [{}]", e.getMessage());
+            return Optional.<OAuth20IntrospectionAccessTokenSuccessResponse>empty();
+        }).get();
+    }
+
+    protected OAuth20IntrospectionAccessTokenSuccessResponse createIntrospectionValidResponse(
+        final JWTClaimsSet claims, final OAuthRegisteredService registeredService) {
+        val introspect = new OAuth20IntrospectionAccessTokenSuccessResponse();
+        introspect.setScope("CAS");
+        introspect.setActive(true);
+        val clientId = getClaimValues(claims, OAuth20Constants.CLIENT_ID).stream().findFirst()
+            .orElseGet(() -> registeredService != null ? registeredService.getClientId() : null);
+        introspect.setClientId(clientId);
+        introspect.setAud(claims.getAudience().isEmpty() ? clientId : claims.getAudience().getFirst());
+        introspect.setSub(claims.getSubject());
+        introspect.setUniqueSecurityName(claims.getSubject());
+        introspect.setIat(claims.getIssueTime().toInstant().getEpochSecond());
+        introspect.setExp(claims.getExpirationTime().toInstant().getEpochSecond());
+        introspect.setRealmName(String.join(",", getClaimValues(claims, AuthenticationManager.AUTHENTICATION_METHOD_ATTRIBUTE)));
+        val tokenType = claims.getClaim(OAuth20Constants.DPOP_CONFIRMATION) != null
+            ? OAuth20Constants.TOKEN_TYPE_DPOP
+            : OAuth20Constants.TOKEN_TYPE_BEARER;
+        introspect.setTokenType(tokenType);
+        getClaimValues(claims, OAuth20Constants.GRANT_TYPE).stream().findFirst()
+            .ifPresent(grant -> introspect.setGrantType(grant.toLowerCase(Locale.ENGLISH)));
+        return introspect;
+    }
+
     protected OAuth20IntrospectionAccessTokenSuccessResponse createIntrospectionValidResponse(
         final String accessTokenId, final OAuth20Token ticket) {
         val introspect = new OAuth20IntrospectionAccessTokenSuccessResponse();
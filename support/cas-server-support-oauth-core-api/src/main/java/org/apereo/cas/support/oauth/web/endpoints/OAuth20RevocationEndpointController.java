@@ -111,7 +111,7 @@ public class OAuth20RevocationEndpointController<T extends OAuth20ConfigurationC
                                                       final String clientId,
                                                       final HttpServletResponse response) throws Exception {
         val registryToken = FunctionUtils.doAndHandle(() -> {
-            val state = getConfigurationContext().getTicketRegistry().getTicket(token, OAuth20Token.class);
+            val state = getConfigurationContext().getTicketRegistry().getTicket(extractAccessTokenFrom(token), OAuth20Token.class);
             return state == null || state.isExpired() ? null : state;
         });
         if (registryToken == null) {
@@ -144,6 +144,11 @@ public class OAuth20RevocationEndpointController<T extends OAuth20ConfigurationC
 
     protected void revokeToken(final String token) throws Exception {
         LOGGER.debug("Revoking token [{}]", token);
+        val revocationFilter = getConfigurationContext().getAccessTokenRevocationFilter();
+        if (revocationFilter != null && BeanSupplier.isNotProxy(revocationFilter)
+            && token.startsWith(OAuth20AccessToken.PREFIX + '-')) {
+            revocationFilter.revoke(token);
+        }
         getConfigurationContext().getTicketRegistry().deleteTicket(token);
     }
 
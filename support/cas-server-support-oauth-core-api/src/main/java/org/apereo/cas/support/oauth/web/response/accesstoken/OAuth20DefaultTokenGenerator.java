@@ -35,7 +35,9 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * This is {@link OAuth20DefaultTokenGenerator}.
@@ -179,10 +181,6 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             holder.getGrantType());
 
         LOGGER.debug("Created access token [{}]", accessToken);
-        addTicketToRegistry(accessToken, ticketGrantingTicket);
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
-
-        updateOAuthCode(holder, accessToken);
 
         val refreshToken = FunctionUtils.doIf(holder.isGenerateRefreshToken(),
             Unchecked.supplier(() -> generateRefreshToken(holder, accessToken)),
@@ -191,6 +189,13 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
                 return null;
             }).get();
 
+        addTicketsToRegistry(Stream.of(accessToken, refreshToken).filter(Objects::nonNull), ticketGrantingTicket);
+        LOGGER.debug("Added access token [{}] and refresh token [{}] to registry", accessToken, refreshToken);
+
+        updateOAuthCode(holder, accessToken);
+        if (refreshToken != null && holder.isExpireOldRefreshToken()) {
+            expireOldRefreshToken(holder);
+        }
         return Pair.of(accessToken, refreshToken);
     }
 
@@ -220,8 +225,22 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      * @throws Exception the exception
      */
     protected void addTicketToRegistry(final Ticket ticket, final TicketGrantingTicket ticketGrantingTicket) throws Exception {
-        LOGGER.debug("Adding ticket [{}] to registry", ticket);
-        ticketRegistry.addTicket(ticket);
+        addTicketsToRegistry(Stream.of(ticket), ticketGrantingTicket);
+    }
+
+    /**
+     * Add tickets to registry in a single batch,
+     * and update the parent ticket-granting ticket once.
+     *
+     * @param tickets              the tickets
+     * @param ticketGrantingTicket the ticket granting ticket
+     * @throws Exception the exception
+     */
+    protected void addTicketsToRegistry(final Stream<? extends Ticket> tickets,
+                                        final TicketGrantingTicket ticketGrantingTicket) throws Exception {
+        val ticketsToAdd = tickets.toList();
+        LOGGER.debug("Adding tickets [{}] to registry", ticketsToAdd);
+        ticketRegistry.addTicket(ticketsToAdd.stream());
         if (ticketGrantingTicket != null) {
             LOGGER.debug("Updating parent ticket-granting ticket [{}]", ticketGrantingTicket);
             ticketRegistry.updateTicket(ticketGrantingTicket);
@@ -241,7 +260,7 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
     protected OAuth20RefreshToken generateRefreshToken(final AccessTokenRequestContext responseHolder,
                                                        final OAuth20AccessToken accessToken) throws Throwable {
         LOGGER.debug("Creating refresh token for [{}]", responseHolder.getService());
-        val refreshToken = this.refreshTokenFactory.create(responseHolder.getService(),
+        return refreshTokenFactory.create(responseHolder.getService(),
             responseHolder.getAuthentication(),
             responseHolder.getTicketGrantingTicket(),
             responseHolder.getScopes(),
@@ -250,12 +269,6 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             responseHolder.getClaims(),
             responseHolder.getResponseType(),
             responseHolder.getGrantType());
-        LOGGER.debug("Adding refresh token [{}] to the registry", refreshToken);
-        addTicketToRegistry(refreshToken, responseHolder.getTicketGrantingTicket());
-        if (responseHolder.isExpireOldRefreshToken()) {
-            expireOldRefreshToken(responseHolder);
-        }
-        return refreshToken;
     }
 
     private OAuth20DeviceUserCode getDeviceUserCodeFromRegistry(final OAuth20DeviceToken deviceCodeTicket) {
@@ -287,11 +300,8 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
         val deviceUserCode = deviceUserCodeFactory.createDeviceUserCode(deviceToken);
         LOGGER.debug("Created device user code token [{}]", deviceUserCode.getId());
 
-        addTicketToRegistry(deviceToken);
-        LOGGER.debug("Added device token [{}] to registry", deviceToken);
-
-        addTicketToRegistry(deviceUserCode);
-        LOGGER.debug("Added device user token [{}] to registry", deviceUserCode);
+        addTicketsToRegistry(Stream.of(deviceToken, deviceUserCode), null);
+        LOGGER.debug("Added device token [{}] and device user token [{}] to registry", deviceToken, deviceUserCode);
 
         return Pair.of(deviceToken, deviceUserCode);
     }
@@ -0,0 +1,127 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.configuration.model.support.oauth.OAuthIntrospectionProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.AbstractMapBasedTicketRegistry;
+import org.apereo.cas.ticket.registry.BaseDecoratingTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * This is {@link BloomFilterOAuth20AccessTokenRevocationFilter}. Revoked access tokens are recorded
+ * in a bloom filter that is replaced once the retention period has passed. The filter that was replaced is still
+ * consulted for one more retention period, so a revoked token is remembered for at least the retention period.
+ * <p>
+ * Tokens whose lifetime exceeds the retention period, and tokens that were issued before this filter was created,
+ * might have been revoked without the filter being told, and are always reported as possibly revoked.
+ * <p>
+ * Revocations processed by other CAS nodes are observed when they are received from the ticket registry
+ * message queue, via {@link OAuth20AccessTokenRevocationTrackingTicketRegistry}, so this filter should only be used
+ * when every ticket deletion reaches this node; see {@link #canObserveRevocations(TicketRegistry)}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class BloomFilterOAuth20AccessTokenRevocationFilter implements OAuth20AccessTokenRevocationFilter {
+    private final long capacity;
+
+    private final double falsePositiveRate;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private volatile Instant startTime;
+
+    private volatile Generations generations;
+
+    /**
+     * Whether every access token revocation reaches this CAS node. That is the case when tickets
+     * are kept in memory by each node, and changes are either processed by this node alone or received
+     * from the ticket registry message queue. Ticket registries that are shared by all nodes
+     * in a database never tell this node about tokens revoked elsewhere.
+     *
+     * @param ticketRegistry the ticket registry
+     * @return true if revocations can be observed by this node
+     */
+    public static boolean canObserveRevocations(final TicketRegistry ticketRegistry) {
+        return BaseDecoratingTicketRegistry.unwrap(ticketRegistry) instanceof AbstractMapBasedTicketRegistry;
+    }
+
+    public BloomFilterOAuth20AccessTokenRevocationFilter(final OAuthIntrospectionProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public BloomFilterOAuth20AccessTokenRevocationFilter(final OAuthIntrospectionProperties properties, final Clock clock) {
+        this.capacity = Math.max(1, properties.getRevocationFilterCapacity());
+        this.falsePositiveRate = properties.getRevocationFilterFalsePositiveRate();
+        this.retention = Beans.newDuration(properties.getRevocationFilterRetention());
+        this.clock = clock;
+        this.startTime = clock.instant();
+        this.generations = new Generations(newBloomFilter(), newBloomFilter(), startTime.plus(retention));
+    }
+
+    @Override
+    public void revoke(final String accessTokenId) {
+        LOGGER.trace("Recording access token [{}] as revoked", accessTokenId);
+        getGenerations().current().put(accessTokenId);
+    }
+
+    @Override
+    public void revokeAll() {
+        synchronized (this) {
+            val now = clock.instant();
+            LOGGER.debug("Recording all access tokens issued before [{}] as revoked", now);
+            startTime = now;
+            generations = new Generations(newBloomFilter(), newBloomFilter(), now.plus(retention));
+        }
+    }
+
+    @Override
+    public boolean mightBeRevoked(final String accessTokenId, final Instant issuedAt, final Instant expiresAt) {
+        if (issuedAt.isBefore(startTime)) {
+            LOGGER.trace("Access token [{}] was issued before revocations were tracked", accessTokenId);
+            return true;
+        }
+        if (Duration.between(issuedAt, expiresAt).compareTo(retention) > 0) {
+            LOGGER.trace("Lifetime of access token [{}] exceeds the revocation filter retention period", accessTokenId);
+            return true;
+        }
+        val current = getGenerations();
+        return current.current().mightContain(accessTokenId) || current.previous().mightContain(accessTokenId);
+    }
+
+    private Generations getGenerations() {
+        val now = clock.instant();
+        var current = generations;
+        if (now.isAfter(current.rotationTime())) {
+            synchronized (this) {
+                current = generations;
+                if (now.isAfter(current.rotationTime())) {
+                    LOGGER.debug("Rotating access token revocation filter with [{}] approximate entries",
+                        current.current().approximateElementCount());
+                    current = new Generations(newBloomFilter(), current.current(), now.plus(retention));
+                    generations = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private BloomFilter<CharSequence> newBloomFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), capacity, falsePositiveRate);
+    }
+
+    private record Generations(BloomFilter<CharSequence> current, BloomFilter<CharSequence> previous, Instant rotationTime) {
+    }
+}
@@ -0,0 +1,61 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketDestroyedEvent;
+import org.apereo.cas.util.spring.CasEventListener;
+
+import org.springframework.context.event.EventListener;
+
+import java.time.Instant;
+
+/**
+ * This is {@link OAuth20AccessTokenRevocationFilter}.
+ * It tracks access tokens that are revoked, so that self-contained access tokens
+ * can be introspected without reading the ticket registry, unless they might have been revoked.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public interface OAuth20AccessTokenRevocationFilter extends CasEventListener {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "oauthAccessTokenRevocationFilter";
+
+    /**
+     * Record the access token as revoked.
+     *
+     * @param accessTokenId the access token id
+     */
+    void revoke(String accessTokenId);
+
+    /**
+     * Record all access tokens issued so far as revoked.
+     */
+    void revokeAll();
+
+    /**
+     * Whether the access token might have been revoked.
+     * False positives are possible, and callers are expected to verify such tokens
+     * against the ticket registry; false negatives are not.
+     *
+     * @param accessTokenId the access token id
+     * @param issuedAt      the issue date of the access token
+     * @param expiresAt     the expiration date of the access token
+     * @return true if the token might have been revoked
+     */
+    boolean mightBeRevoked(String accessTokenId, Instant issuedAt, Instant expiresAt);
+
+    /**
+     * Record access tokens issued for a single sign-on session as revoked
+     * once the session is destroyed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    default void handleCasTicketGrantingTicketDestroyedEvent(final CasTicketGrantingTicketDestroyedEvent event) {
+        event.getTicketGrantingTicket().getDescendantTickets()
+            .stream()
+            .filter(ticketId -> ticketId.startsWith(OAuth20AccessToken.PREFIX + '-'))
+            .forEach(this::revoke);
+    }
+}
@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.ticket.registry.BaseDecoratingTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * This is {@link OAuth20AccessTokenRevocationTrackingBeanPostProcessor}, which decorates
+ * the ticket registry bean with a {@link OAuth20AccessTokenRevocationTrackingTicketRegistry}
+ * when access tokens are introspected statelessly. It is applied before all other decorators,
+ * which pass changes received from the ticket registry message queue through unchanged;
+ * see {@link BaseDecoratingTicketRegistry} for the order of decorators.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OAuth20AccessTokenRevocationTrackingBeanPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<OAuth20AccessTokenRevocationFilter> revocationFilter;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (TicketRegistry.BEAN_NAME.equals(beanName) && bean instanceof final TicketRegistry ticketRegistry
+            && !(bean instanceof OAuth20AccessTokenRevocationTrackingTicketRegistry)
+            && casProperties.getObject().getAuthn().getOauth().getIntrospection().isStateless()) {
+            LOGGER.info("Decorating ticket registry [{}] to track access tokens revoked by other CAS nodes",
+                ticketRegistry.getClass().getSimpleName());
+            return new OAuth20AccessTokenRevocationTrackingTicketRegistry(ticketRegistry, revocationFilter::getIfAvailable);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return BaseDecoratingTicketRegistry.EXPIRATION_INDEX_ORDER - 10;
+    }
+}
@@ -0,0 +1,53 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.ticket.registry.BaseDecoratingTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.spring.beans.BeanSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * This is {@link OAuth20AccessTokenRevocationTrackingTicketRegistry}. It decorates a ticket registry
+ * that receives changes made by other CAS nodes from the ticket registry message queue, and records access tokens
+ * deleted by other nodes in the {@link OAuth20AccessTokenRevocationFilter} of this node.
+ * Access tokens revoked by this node are recorded by the revocation endpoint and when single sign-on sessions are destroyed.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class OAuth20AccessTokenRevocationTrackingTicketRegistry extends BaseDecoratingTicketRegistry {
+    private final Supplier<OAuth20AccessTokenRevocationFilter> revocationFilter;
+
+    public OAuth20AccessTokenRevocationTrackingTicketRegistry(final TicketRegistry delegate,
+                                                              final Supplier<OAuth20AccessTokenRevocationFilter> revocationFilter) {
+        super(delegate);
+        this.revocationFilter = revocationFilter;
+    }
+
+    @Override
+    public long deleteTicketFromQueue(final String ticketId) {
+        if (StringUtils.startsWith(ticketId, OAuth20AccessToken.PREFIX + '-')) {
+            val filter = revocationFilter.get();
+            if (filter != null && BeanSupplier.isNotProxy(filter)) {
+                LOGGER.trace("Access token [{}] was deleted by another CAS node", ticketId);
+                filter.revoke(ticketId);
+            }
+        }
+        return super.deleteTicketFromQueue(ticketId);
+    }
+
+    @Override
+    public long deleteAllFromQueue() {
+        val filter = revocationFilter.get();
+        if (filter != null && BeanSupplier.isNotProxy(filter)) {
+            LOGGER.debug("All tickets were deleted by another CAS node");
+            filter.revokeAll();
+        }
+        return super.deleteAllFromQueue();
+    }
+}
@@ -16,6 +16,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.support.password.PasswordEncoderUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
@@ -106,8 +107,11 @@ import org.apereo.cas.ticket.ExpirationPolicyBuilder;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketFactoryExecutionPlanConfigurer;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.accesstoken.BloomFilterOAuth20AccessTokenRevocationFilter;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenExpirationPolicyBuilder;
 import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenRevocationFilter;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenRevocationTrackingBeanPostProcessor;
 import org.apereo.cas.ticket.accesstoken.OAuth20DefaultAccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.OAuth20JwtBuilder;
 import org.apereo.cas.ticket.code.OAuth20CodeExpirationPolicyBuilder;
@@ -129,6 +133,7 @@ import org.apereo.cas.util.cipher.CipherExecutorUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.http.HttpRequestUtils;
+import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanContainer;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
@@ -173,6 +178,7 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import java.util.ArrayList;
@@ -261,6 +267,7 @@ public class CasOAuth20Configuration {
             @Qualifier(TicketFactory.BEAN_NAME) final TicketFactory ticketFactory,
             @Qualifier(ServicesManager.BEAN_NAME) final ServicesManager servicesManager,
             @Qualifier(AttributeDefinitionStore.BEAN_NAME) final AttributeDefinitionStore attributeDefinitionStore,
+            @Qualifier(OAuth20AccessTokenRevocationFilter.BEAN_NAME) final OAuth20AccessTokenRevocationFilter oauthAccessTokenRevocationFilter,
             final CasConfigurationProperties casProperties,
             final ConfigurableApplicationContext applicationContext,
             @Qualifier("oauthDistributedSessionStore") final SessionStore oauthDistributedSessionStore,
@@ -313,6 +320,7 @@ public class CasOAuth20Configuration {
                 .clientSecretValidator(oauth20ClientSecretValidator)
                 .authenticationAttributeReleasePolicy(authenticationAttributeReleasePolicy)
                 .attributeDefinitionStore(attributeDefinitionStore)
+                .accessTokenRevocationFilter(oauthAccessTokenRevocationFilter)
                 .build();
         }
     }
@@ -831,8 +839,12 @@ public class CasOAuth20Configuration {
         @ConditionalOnMissingBean(name = OAuth20ClientSecretValidator.BEAN_NAME)
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public OAuth20ClientSecretValidator oauth20ClientSecretValidator(
+            final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties,
             @Qualifier("oauthRegisteredServiceCipherExecutor") final CipherExecutor oauthRegisteredServiceCipherExecutor) {
-            return new DefaultOAuth20ClientSecretValidator(oauthRegisteredServiceCipherExecutor);
+            val clientSecret = casProperties.getAuthn().getOauth().getClientSecret();
+            val passwordEncoder = PasswordEncoderUtils.newPasswordEncoder(clientSecret.getPasswordEncoder(), applicationContext);
+            return new DefaultOAuth20ClientSecretValidator(oauthRegisteredServiceCipherExecutor, passwordEncoder, clientSecret);
         }
 
         @Bean
@@ -1071,6 +1083,38 @@ public class CasOAuth20Configuration {
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     public static class CasOAuth20TicketsConfiguration {
 
+        @Bean
+        @ConditionalOnMissingBean(name = OAuth20AccessTokenRevocationFilter.BEAN_NAME)
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @Lazy(false)
+        public OAuth20AccessTokenRevocationFilter oauthAccessTokenRevocationFilter(
+            final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties,
+            @Qualifier(TicketRegistry.BEAN_NAME) final TicketRegistry ticketRegistry) {
+            return BeanSupplier.of(OAuth20AccessTokenRevocationFilter.class)
+                .when(BeanCondition.on("cas.authn.oauth.introspection.stateless").isTrue().given(applicationContext.getEnvironment()))
+                .when(() -> {
+                    val observable = BloomFilterOAuth20AccessTokenRevocationFilter.canObserveRevocations(ticketRegistry);
+                    if (!observable) {
+                        LOGGER.warn("Stateless introspection of access tokens is disabled, since the ticket registry is shared "
+                                    + "by CAS nodes and revocations processed by other nodes would not be observed");
+                    }
+                    return observable;
+                })
+                .supply(() -> new BloomFilterOAuth20AccessTokenRevocationFilter(casProperties.getAuthn().getOauth().getIntrospection()))
+                .otherwiseProxy()
+                .get();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "oauthAccessTokenRevocationTrackingBeanPostProcessor")
+        public static OAuth20AccessTokenRevocationTrackingBeanPostProcessor oauthAccessTokenRevocationTrackingBeanPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties,
+            @Qualifier(OAuth20AccessTokenRevocationFilter.BEAN_NAME)
+            final ObjectProvider<OAuth20AccessTokenRevocationFilter> oauthAccessTokenRevocationFilter) {
+            return new OAuth20AccessTokenRevocationTrackingBeanPostProcessor(casProperties, oauthAccessTokenRevocationFilter);
+        }
+
         @Bean
         @ConditionalOnMissingBean(name = "accessTokenExpirationPolicy")
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -1,16 +1,23 @@
 package org.apereo.cas.support.oauth.validator;
 
 import org.apereo.cas.AbstractOAuth20Tests;
+import org.apereo.cas.configuration.model.support.oauth.OAuthClientSecretProperties;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.io.Serializable;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link DefaultOAuth20ClientSecretValidatorTests}.
@@ -84,4 +91,29 @@ class DefaultOAuth20ClientSecretValidatorTests extends AbstractOAuth20Tests {
         val result2 = oauth20ClientSecretValidator.validate(registeredService, StringUtils.EMPTY);
         assertFalse(result2);
     }
+
+    @Test
+    void verifyHashedClientSecretIsRemembered() throws Throwable {
+        val secret = RandomUtils.randomAlphanumeric(12);
+        val passwordEncoder = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        val cipherExecutor = (CipherExecutor<Serializable, String>) mock(CipherExecutor.class);
+        when(cipherExecutor.decode(anyString(), any(Object[].class))).thenAnswer(invocation -> invocation.getArgument(0));
+        val validator = new DefaultOAuth20ClientSecretValidator(cipherExecutor, passwordEncoder, new OAuthClientSecretProperties());
+        val registeredService = new OAuthRegisteredService();
+        registeredService.setId(1000);
+        registeredService.setClientId("clientid");
+        registeredService.setClientSecret(passwordEncoder.encode(secret));
+        assertTrue(validator.validate(registeredService, secret));
+        assertTrue(validator.validate(registeredService, secret));
+        assertFalse(validator.validate(registeredService, "badSecret"));
+        verify(cipherExecutor, times(1)).decode(anyString(), any(Object[].class));
+
+        val newSecret = RandomUtils.randomAlphanumeric(12);
+        registeredService.setClientSecret(passwordEncoder.encode(newSecret));
+        assertFalse(validator.validate(registeredService, secret));
+        assertTrue(validator.validate(registeredService, newSecret));
+
+        validator.handleRegisteredServiceSavedEvent(new CasRegisteredServiceSavedEvent(this, registeredService, null));
+        assertTrue(validator.getVerifiedClientSecrets().asMap().isEmpty());
+    }
 }
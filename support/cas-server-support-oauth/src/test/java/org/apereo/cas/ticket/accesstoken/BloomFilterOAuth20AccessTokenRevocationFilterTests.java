@@ -0,0 +1,116 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import org.apereo.cas.configuration.model.support.oauth.OAuthIntrospectionProperties;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.RequestScopedTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.PublisherIdentifier;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BloomFilterOAuth20AccessTokenRevocationFilterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("OAuthToken")
+class BloomFilterOAuth20AccessTokenRevocationFilterTests {
+    private static final Instant START_TIME = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static OAuthIntrospectionProperties getProperties() {
+        val properties = new OAuthIntrospectionProperties();
+        properties.setRevocationFilterCapacity(1000);
+        properties.setRevocationFilterRetention("PT1H");
+        return properties;
+    }
+
+    @Test
+    void verifyRevokedTokenIsRemembered() {
+        val clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START_TIME);
+        val filter = new BloomFilterOAuth20AccessTokenRevocationFilter(getProperties(), clock);
+        val issuedAt = START_TIME.plusSeconds(1);
+        val expiresAt = issuedAt.plus(Duration.ofMinutes(30));
+        assertFalse(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+        filter.revoke("AT-1");
+        assertTrue(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+
+        when(clock.instant()).thenReturn(START_TIME.plus(Duration.ofMinutes(90)));
+        assertTrue(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+
+        when(clock.instant()).thenReturn(START_TIME.plus(Duration.ofMinutes(200)));
+        assertFalse(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+    }
+
+    @Test
+    void verifyUntrackedTokensMightBeRevoked() {
+        val clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START_TIME);
+        val filter = new BloomFilterOAuth20AccessTokenRevocationFilter(getProperties(), clock);
+        assertTrue(filter.mightBeRevoked("AT-1", START_TIME.minusSeconds(1), START_TIME.plusSeconds(60)));
+        assertTrue(filter.mightBeRevoked("AT-2", START_TIME.plusSeconds(1), START_TIME.plus(Duration.ofHours(2))));
+    }
+
+    @Test
+    void verifyAllTokensRevoked() {
+        val clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START_TIME);
+        val filter = new BloomFilterOAuth20AccessTokenRevocationFilter(getProperties(), clock);
+        val issuedAt = START_TIME.plusSeconds(1);
+        val expiresAt = issuedAt.plus(Duration.ofMinutes(30));
+        assertFalse(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+
+        when(clock.instant()).thenReturn(START_TIME.plusSeconds(10));
+        filter.revokeAll();
+        assertTrue(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+        assertFalse(filter.mightBeRevoked("AT-2", START_TIME.plusSeconds(20), START_TIME.plus(Duration.ofMinutes(30))));
+    }
+
+    @Test
+    void verifyRevocationsReceivedFromOtherNodes() throws Throwable {
+        val ticketPublisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(ticketPublisher.isEnabled()).thenReturn(true);
+        val broadcastRegistry = new DefaultTicketRegistry(CipherExecutor.noOp(), mock(TicketSerializationManager.class),
+            mock(TicketCatalog.class), new ConcurrentHashMap<>(), ticketPublisher, new PublisherIdentifier());
+        val clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START_TIME);
+        val filter = new BloomFilterOAuth20AccessTokenRevocationFilter(getProperties(), clock);
+        val registry = new OAuth20AccessTokenRevocationTrackingTicketRegistry(broadcastRegistry, () -> filter);
+
+        val issuedAt = START_TIME.plusSeconds(1);
+        val expiresAt = issuedAt.plus(Duration.ofMinutes(30));
+        registry.deleteTicketFromQueue("AT-1");
+        registry.deleteTicketFromQueue("TGT-1");
+        assertTrue(filter.mightBeRevoked("AT-1", issuedAt, expiresAt));
+        assertFalse(filter.mightBeRevoked("TGT-1", issuedAt, expiresAt));
+    }
+
+    @Test
+    void verifyOnlyTicketRegistriesThatObserveRevocations() {
+        val localRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), mock(TicketCatalog.class));
+        assertTrue(BloomFilterOAuth20AccessTokenRevocationFilter.canObserveRevocations(localRegistry));
+        assertTrue(BloomFilterOAuth20AccessTokenRevocationFilter.canObserveRevocations(new RequestScopedTicketRegistry(localRegistry)));
+
+        val ticketPublisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(ticketPublisher.isEnabled()).thenReturn(true);
+        val broadcastRegistry = new DefaultTicketRegistry(CipherExecutor.noOp(), mock(TicketSerializationManager.class),
+            mock(TicketCatalog.class), new ConcurrentHashMap<>(), ticketPublisher, new PublisherIdentifier());
+        assertTrue(BloomFilterOAuth20AccessTokenRevocationFilter.canObserveRevocations(broadcastRegistry));
+        assertFalse(BloomFilterOAuth20AccessTokenRevocationFilter.canObserveRevocations(mock(TicketRegistry.class)));
+    }
+}
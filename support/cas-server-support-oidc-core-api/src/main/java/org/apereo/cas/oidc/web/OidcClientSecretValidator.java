@@ -1,5 +1,6 @@
 package org.apereo.cas.oidc.web;
 
+import org.apereo.cas.configuration.model.support.oauth.OAuthClientSecretProperties;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.validator.DefaultOAuth20ClientSecretValidator;
@@ -8,6 +9,7 @@ import org.apereo.cas.util.crypto.CipherExecutor;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -26,6 +28,12 @@ public class OidcClientSecretValidator extends DefaultOAuth20ClientSecretValidat
         super(cipherExecutor);
     }
 
+    public OidcClientSecretValidator(final CipherExecutor<Serializable, String> cipherExecutor,
+                                     final PasswordEncoder passwordEncoder,
+                                     final OAuthClientSecretProperties properties) {
+        super(cipherExecutor, passwordEncoder, properties);
+    }
+
     @Override
     public boolean validate(final OAuthRegisteredService registeredService, final String clientSecret) {
         return super.validate(registeredService, clientSecret) && !isClientSecretExpired(registeredService);
@@ -106,6 +106,18 @@ public class OidcIntrospectionEndpointController extends OAuth20IntrospectionEnd
         return response;
     }
 
+    @Override
+    protected OAuth20IntrospectionAccessTokenSuccessResponse createIntrospectionValidResponse(
+        final JWTClaimsSet claims, final OAuthRegisteredService registeredService) {
+        val response = super.createIntrospectionValidResponse(claims, registeredService);
+        val oidcRegisteredService = registeredService instanceof final OidcRegisteredService oidcService ? oidcService : null;
+        response.setIss(getConfigurationContext().getIssuerService().determineIssuer(Optional.ofNullable(oidcRegisteredService)));
+        response.setScope(String.join(" ", getClaimValues(claims, OAuth20Constants.SCOPE)));
+        getClaimValues(claims, OAuth20Constants.DPOP_CONFIRMATION).stream().findFirst()
+            .ifPresent(dpop -> response.setDPopConfirmation(new OAuth20IntrospectionAccessTokenSuccessResponse.DPopConfirmation(dpop)));
+        return response;
+    }
+
     @Override
     protected ResponseEntity buildIntrospectionEntityResponse(final WebContext context,
                                                               final OAuth20IntrospectionAccessTokenSuccessResponse introspect) {
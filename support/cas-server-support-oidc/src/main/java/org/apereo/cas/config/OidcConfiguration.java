@@ -7,6 +7,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.support.password.PasswordEncoderUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.logout.slo.SingleLogoutServiceLogoutUrlBuilder;
@@ -96,6 +97,7 @@ import org.apereo.cas.ticket.OAuth20TokenSigningAndEncryptionService;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketFactoryExecutionPlanConfigurer;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.accesstoken.OAuth20AccessTokenRevocationFilter;
 import org.apereo.cas.ticket.accesstoken.OAuth20JwtBuilder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
@@ -186,9 +188,13 @@ public class OidcConfiguration {
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public OAuth20ClientSecretValidator oauth20ClientSecretValidator(
+            final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties,
             @Qualifier("oauthRegisteredServiceCipherExecutor")
             final CipherExecutor oauthRegisteredServiceCipherExecutor) {
-            return new OidcClientSecretValidator(oauthRegisteredServiceCipherExecutor);
+            val clientSecret = casProperties.getAuthn().getOauth().getClientSecret();
+            val passwordEncoder = PasswordEncoderUtils.newPasswordEncoder(clientSecret.getPasswordEncoder(), applicationContext);
+            return new OidcClientSecretValidator(oauthRegisteredServiceCipherExecutor, passwordEncoder, clientSecret);
         }
 
         @Bean
@@ -668,6 +674,8 @@ public class OidcConfiguration {
         public OidcConfigurationContext oidcConfigurationContext(
             @Qualifier(AttributeDefinitionStore.BEAN_NAME)
             final AttributeDefinitionStore attributeDefinitionStore,
+            @Qualifier(OAuth20AccessTokenRevocationFilter.BEAN_NAME)
+            final OAuth20AccessTokenRevocationFilter oauthAccessTokenRevocationFilter,
             @Qualifier("oidcTokenIntrospectionSigningAndEncryptionService")
             final OAuth20TokenSigningAndEncryptionService oidcTokenIntrospectionSigningAndEncryptionService,
             @Qualifier("oidcClientRegistrationRequestTranslator")
@@ -802,6 +810,7 @@ public class OidcConfiguration {
                 .accessTokenJwtBuilder(accessTokenJwtBuilder)
                 .clientSecretValidator(oauth20ClientSecretValidator)
                 .attributeDefinitionStore(attributeDefinitionStore)
+                .accessTokenRevocationFilter(oauthAccessTokenRevocationFilter)
                 .build();
         }
     }
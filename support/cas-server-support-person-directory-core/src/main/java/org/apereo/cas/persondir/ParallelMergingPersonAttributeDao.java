@@ -0,0 +1,228 @@
+package org.apereo.cas.persondir;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.CaseInsensitiveNamedPersonImpl;
+import org.apereo.services.persondir.support.IUsernameAttributeProvider;
+import org.apereo.services.persondir.support.SimpleUsernameAttributeProvider;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao}. It queries all eligible attribute repositories
+ * concurrently with the same query, and then merges their results in the configured order
+ * of repositories, so that the outcome does not depend on which repository responds first.
+ * Each repository is given a fixed amount of time to respond; repositories that fail or time out
+ * are handled according to {@link #isRecoverExceptions()} and {@link #isRequireAll()}.
+ * The latency of every repository query is recorded as a timer histogram, tagged by repository and outcome.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+@Setter
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao implements DisposableBean {
+    private static final String METER_PREFIX = "cas.person.directory.repository";
+
+    private final List<IPersonAttributeDao> personAttributeDaos;
+
+    private final ExecutorService executorService;
+
+    private final Duration repositoryTimeout;
+
+    private final MeterRegistry meterRegistry;
+
+    private IAttributeMerger merger = new MultivaluedAttributeMerger();
+
+    private IUsernameAttributeProvider usernameAttributeProvider = new SimpleUsernameAttributeProvider();
+
+    private boolean recoverExceptions = true;
+
+    private boolean requireAll;
+
+    public ParallelMergingPersonAttributeDao(final List<? extends IPersonAttributeDao> personAttributeDaos,
+                                             final int maximumConcurrency,
+                                             final Duration repositoryTimeout,
+                                             final MeterRegistry meterRegistry) {
+        this.personAttributeDaos = List.copyOf(personAttributeDaos);
+        this.executorService = maximumConcurrency > 0
+            ? Executors.newFixedThreadPool(maximumConcurrency, Thread.ofVirtual().name("person-directory-", 0).factory())
+            : Executors.newVirtualThreadPerTaskExecutor();
+        this.repositoryTimeout = repositoryTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, ?> personAttributesMap) {
+        val entries = (Set<? extends Map.Entry<String, ?>>) personAttributesMap.entrySet();
+        return entries.stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> CollectionUtils.toCollection(entry.getValue(), ArrayList.class)));
+    }
+
+    private static String getRepositoryName(final IPersonAttributeDao repository) {
+        val ids = repository.getId();
+        return ArrayUtils.isEmpty(ids) ? repository.getClass().getSimpleName() : String.join(",", ids);
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid, final Set<IPersonAttributes> resolvedPeople,
+                                       final IPersonAttributeDaoFilter filter) {
+        val query = Map.<String, List<Object>>of(usernameAttributeProvider.getUsernameAttribute(), List.of(uid));
+        val people = getPeopleWithMultivaluedAttributes(query, filter, resolvedPeople);
+        if (people == null || people.isEmpty()) {
+            return null;
+        }
+        if (people.size() > 1) {
+            LOGGER.warn("Multiple records were found for [{}] from attribute repositories. The records are [{}], "
+                + "and CAS will only pick the first person record from the results.", uid, people);
+        }
+        val person = people.iterator().next();
+        return person.getName() == null ? new CaseInsensitiveNamedPersonImpl(uid, person.getAttributes()) : person;
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> map, final IPersonAttributeDaoFilter filter,
+                                            final Set<IPersonAttributes> resolvedPeople) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(map), filter, resolvedPeople);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                     final IPersonAttributeDaoFilter filter,
+                                                                     final Set<IPersonAttributes> resolvedPeople) {
+        val repositories = personAttributeDaos
+            .stream()
+            .filter(repository -> filter == null || filter.choosePersonAttributeDao(repository))
+            .toList();
+        LOGGER.trace("Querying [{}] attribute repositories in parallel for [{}]", repositories.size(), query);
+        val futures = repositories
+            .stream()
+            .map(repository -> executorService.submit(() -> fetchPeople(repository, query, filter, resolvedPeople)))
+            .toList();
+
+        val deadline = System.nanoTime() + repositoryTimeout.toNanos();
+        Set<IPersonAttributes> results = null;
+        for (var i = 0; i < repositories.size(); i++) {
+            val repository = repositories.get(i);
+            val people = waitForPeople(repository, futures.get(i), deadline);
+            if (people == null && requireAll) {
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Attribute repository " + getRepositoryName(repository)
+                    + " did not produce a result while all repository sources are required");
+            }
+            if (people != null) {
+                results = results == null ? new LinkedHashSet<>(people) : merger.mergeResults(results, people);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames(final IPersonAttributeDaoFilter filter) {
+        return personAttributeDaos
+            .stream()
+            .filter(repository -> filter == null || filter.choosePersonAttributeDao(repository))
+            .map(repository -> repository.getPossibleUserAttributeNames(filter))
+            .filter(Objects::nonNull)
+            .reduce(new LinkedHashSet<>(), (names, current) -> merger.mergePossibleUserAttributeNames(names, current));
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes(final IPersonAttributeDaoFilter filter) {
+        return personAttributeDaos
+            .stream()
+            .filter(repository -> filter == null || filter.choosePersonAttributeDao(repository))
+            .map(repository -> repository.getAvailableQueryAttributes(filter))
+            .filter(Objects::nonNull)
+            .reduce(new LinkedHashSet<>(), (names, current) -> merger.mergeAvailableQueryAttributes(names, current));
+    }
+
+    @Override
+    public void destroy() {
+        LOGGER.trace("Shutting down parallel attribute repository executor");
+        executorService.shutdownNow();
+    }
+
+    protected Set<IPersonAttributes> fetchPeople(final IPersonAttributeDao repository,
+                                                 final Map<String, List<Object>> query,
+                                                 final IPersonAttributeDaoFilter filter,
+                                                 final Set<IPersonAttributes> resolvedPeople) {
+        val startTime = System.nanoTime();
+        var outcome = "success";
+        try {
+            return repository.getPeopleWithMultivaluedAttributes(query, filter, resolvedPeople);
+        } catch (final RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            Timer.builder(METER_PREFIX + ".latency")
+                .description("Time taken by each attribute repository to produce results")
+                .tag("repository", getRepositoryName(repository))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Set<IPersonAttributes> waitForPeople(final IPersonAttributeDao repository,
+                                                 final Future<Set<IPersonAttributes>> future,
+                                                 final long deadline) {
+        val repositoryName = getRepositoryName(repository);
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            Counter.builder(METER_PREFIX + ".timeouts")
+                .description("Number of attribute repository queries that did not complete in time")
+                .tag("repository", repositoryName)
+                .register(meterRegistry)
+                .increment();
+            return handleFailure(repositoryName, new IllegalStateException(
+                "Attribute repository " + repositoryName + " did not respond within " + repositoryTimeout));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return handleFailure(repositoryName, new IllegalStateException(e));
+        } catch (final ExecutionException e) {
+            return handleFailure(repositoryName, e.getCause() instanceof final RuntimeException re ? re : new IllegalStateException(e.getCause()));
+        }
+    }
+
+    private Set<IPersonAttributes> handleFailure(final String repositoryName, final RuntimeException e) {
+        if (recoverExceptions) {
+            LOGGER.warn("Recovering from failure of attribute repository [{}]: [{}]", repositoryName, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+        throw e;
+    }
+}
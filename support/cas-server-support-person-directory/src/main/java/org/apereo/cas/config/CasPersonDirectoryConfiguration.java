@@ -10,7 +10,10 @@ import org.apereo.cas.authentication.principal.PrincipalResolutionExecutionPlanC
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesCoreProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryCustomizer;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
@@ -19,6 +22,8 @@ import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.services.persondir.IPersonAttributeDao;
@@ -171,6 +176,23 @@ public class CasPersonDirectoryConfiguration {
             }
         }
 
+        private static IPersonAttributeDao getParallelAttributeRepository(
+            final CasConfigurationProperties casProperties,
+            final IAttributeMerger attributeRepositoryAttributeMerger,
+            final List<IPersonAttributeDao> attributeRepositories,
+            final MeterRegistry meterRegistry) {
+            val properties = casProperties.getAuthn().getAttributeRepository().getCore();
+            val aggregate = new ParallelMergingPersonAttributeDao(attributeRepositories,
+                properties.getParallelMaximumConcurrency(),
+                Beans.newDuration(properties.getParallelRepositoryTimeout()), meterRegistry);
+            aggregate.setMerger(attributeRepositoryAttributeMerger);
+            aggregate.setRequireAll(properties.isRequireAllRepositorySources());
+            aggregate.setRecoverExceptions(properties.isRecoverExceptions());
+            LOGGER.debug("Configured attribute repository sources to be queried in parallel with a timeout of [{}]",
+                properties.getParallelRepositoryTimeout());
+            return aggregate;
+        }
+
 
         @Bean(name = {"cachingAttributeRepository", PrincipalResolver.BEAN_NAME_ATTRIBUTE_REPOSITORY})
         @ConditionalOnMissingBean(name = {"cachingAttributeRepository", PrincipalResolver.BEAN_NAME_ATTRIBUTE_REPOSITORY})
@@ -211,15 +233,19 @@ public class CasPersonDirectoryConfiguration {
             @Qualifier("attributeRepositoryAttributeMerger")
             final IAttributeMerger attributeRepositoryAttributeMerger,
             final CasConfigurationProperties casProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry,
             @Qualifier("personDirectoryAttributeRepositoryPlan")
             final PersonDirectoryAttributeRepositoryPlan personDirectoryAttributeRepositoryPlan) {
+            val list = personDirectoryAttributeRepositoryPlan.getAttributeRepositories();
+            val properties = casProperties.getAuthn().getAttributeRepository();
+            if (properties.getCore().getAggregation() == PrincipalAttributesCoreProperties.AggregationStrategyTypes.PARALLEL) {
+                return getParallelAttributeRepository(casProperties, attributeRepositoryAttributeMerger, list,
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            }
+
             val aggregate = getAggregateAttributeRepository(casProperties);
             aggregate.setMerger(attributeRepositoryAttributeMerger);
-
-            val list = personDirectoryAttributeRepositoryPlan.getAttributeRepositories();
             aggregate.setPersonAttributeDaos(list);
-
-            val properties = casProperties.getAuthn().getAttributeRepository();
             aggregate.setRequireAll(properties.getCore().isRequireAllRepositorySources());
             if (list.isEmpty()) {
                 LOGGER.debug("No attribute repository sources are available/defined to merge together.");
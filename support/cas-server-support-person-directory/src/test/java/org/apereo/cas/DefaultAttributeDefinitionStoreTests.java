@@ -33,6 +33,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -339,6 +340,34 @@ class DefaultAttributeDefinitionStoreTests {
         }
     }
 
+    @Test
+    void verifyChangedDefinitionIsCompiledAgain() throws Throwable {
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        try (val store = new DefaultAttributeDefinitionStore()) {
+            val defn = DefaultAttributeDefinition.builder()
+                .key("memberships")
+                .name("urn:oid:memberships")
+                .patternFormat("group:{0}")
+                .patterns(new LinkedHashMap<>(Map.of("^m1$", "admins")))
+                .build();
+            store.registerAttributeDefinition(defn);
+            val context = AttributeDefinitionResolutionContext.builder()
+                .attributeValues(List.of("m1", "m2"))
+                .principal(CoreAuthenticationTestUtils.getPrincipal())
+                .registeredService(service)
+                .service(CoreAuthenticationTestUtils.getService())
+                .attributes(Map.of())
+                .build();
+            assertEquals(List.of("group:admins"), store.resolveAttributeValues("memberships", context).get().getValue());
+            defn.setPatternFormat("role:{0}");
+            defn.getPatterns().put("^m2$", "users");
+            assertEquals(List.of("role:admins", "role:users"), store.resolveAttributeValues("memberships", context).get().getValue());
+            assertEquals(defn, store.locateAttributeDefinitionByName("URN:OID:MEMBERSHIPS").orElseThrow());
+            store.removeAttributeDefinition("memberships");
+            assertTrue(store.locateAttributeDefinitionByName("urn:oid:memberships").isEmpty());
+        }
+    }
+
     @Test
     void verifyOperation() throws Throwable {
         try (val store = new DefaultAttributeDefinitionStore()) {
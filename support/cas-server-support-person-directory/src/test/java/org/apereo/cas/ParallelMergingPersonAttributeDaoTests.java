@@ -0,0 +1,121 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.CaseInsensitiveNamedPersonImpl;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Attributes")
+class ParallelMergingPersonAttributeDaoTests {
+    private static final Map<String, List<Object>> QUERY = Map.of("username", List.of("casuser"));
+
+    @Test
+    void verifyResultsMergedInConfiguredOrder() throws Throwable {
+        val meterRegistry = new SimpleMeterRegistry();
+        val first = new DelayedPersonAttributeDao(Duration.ofMillis(300), Map.of("name", List.of("first"), "email", List.of("cas@example.org")));
+        first.setId("first");
+        val second = new DelayedPersonAttributeDao(Duration.ZERO, Map.of("name", List.of("second")));
+        second.setId("second");
+        val dao = new ParallelMergingPersonAttributeDao(List.of(first, second), 0, Duration.ofSeconds(5), meterRegistry);
+        try {
+            dao.setMerger(new ReplacingAttributeAdder());
+            val people = dao.getPeopleWithMultivaluedAttributes(QUERY, null, null);
+            assertEquals(1, people.size());
+            val person = people.iterator().next();
+            assertEquals("second", person.getAttributeValue("name"));
+            assertEquals("cas@example.org", person.getAttributeValue("email"));
+            assertEquals(1, meterRegistry.get("cas.person.directory.repository.latency").tag("repository", "first").timer().count());
+            assertEquals(1, meterRegistry.get("cas.person.directory.repository.latency").tag("repository", "second").timer().count());
+        } finally {
+            dao.destroy();
+        }
+    }
+
+    @Test
+    void verifySlowRepositoriesAreSkipped() throws Throwable {
+        val meterRegistry = new SimpleMeterRegistry();
+        val slow = new DelayedPersonAttributeDao(Duration.ofSeconds(10), Map.of("name", List.of("slow")));
+        slow.setId("slow");
+        val fast = new DelayedPersonAttributeDao(Duration.ZERO, Map.of("email", List.of("cas@example.org")));
+        fast.setId("fast");
+        val dao = new ParallelMergingPersonAttributeDao(List.of(slow, fast), 2, Duration.ofMillis(200), meterRegistry);
+        try {
+            val person = dao.getPerson("casuser", null, null);
+            assertNotNull(person);
+            assertNull(person.getAttributeValue("name"));
+            assertEquals(1, meterRegistry.get("cas.person.directory.repository.timeouts").tag("repository", "slow").counter().count());
+
+            dao.setRequireAll(true);
+            assertThrows(IllegalStateException.class, () -> dao.getPeopleWithMultivaluedAttributes(QUERY, null, null));
+            dao.setRequireAll(false);
+            dao.setRecoverExceptions(false);
+            assertThrows(IllegalStateException.class, () -> dao.getPeopleWithMultivaluedAttributes(QUERY, null, null));
+        } finally {
+            dao.destroy();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class DelayedPersonAttributeDao extends BasePersonAttributeDao {
+        private final Duration delay;
+
+        private final Map<String, List<Object>> attributes;
+
+        @Override
+        public IPersonAttributes getPerson(final String uid, final Set<IPersonAttributes> resolvedPeople,
+                                           final IPersonAttributeDaoFilter filter) {
+            return new CaseInsensitiveNamedPersonImpl(uid, attributes);
+        }
+
+        @Override
+        public Set<IPersonAttributes> getPeople(final Map<String, Object> map, final IPersonAttributeDaoFilter filter,
+                                                final Set<IPersonAttributes> resolvedPeople) {
+            return getPeopleWithMultivaluedAttributes(QUERY, filter, resolvedPeople);
+        }
+
+        @Override
+        public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> map,
+                                                                         final IPersonAttributeDaoFilter filter,
+                                                                         final Set<IPersonAttributes> resolvedPeople) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            return Set.of(getPerson("casuser", resolvedPeople, filter));
+        }
+
+        @Override
+        public Set<String> getPossibleUserAttributeNames(final IPersonAttributeDaoFilter filter) {
+            return new LinkedHashSet<>(attributes.keySet());
+        }
+
+        @Override
+        public Set<String> getAvailableQueryAttributes(final IPersonAttributeDaoFilter filter) {
+            return Set.of("username");
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.collect.Iterators;
 import com.redis.lettucemod.api.sync.RedisModulesCommands;
 import com.redis.lettucemod.search.CreateOptions;
 import com.redis.lettucemod.search.Document;
@@ -30,6 +31,7 @@ import org.springframework.data.redis.core.RedisKeyValueAdapter;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
 import org.springframework.data.redis.core.convert.MappingConfiguration;
+import org.springframework.data.redis.core.convert.RedisData;
 import org.springframework.data.redis.core.index.IndexConfiguration;
 import org.springframework.data.redis.core.mapping.RedisMappingContext;
 
@@ -41,6 +43,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
@@ -60,6 +64,8 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     private static final String SEARCH_INDEX_NAME = RedisTicketDocument.class.getSimpleName() + "Index";
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     private final CasRedisTemplates casRedisTemplates;
 
     private final Cache<String, Ticket> ticketCache;
@@ -68,6 +74,8 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     private final Optional<RedisModulesCommands> redisModuleCommands;
 
+    private final long scanCount;
+
     public RedisTicketRegistry(final CipherExecutor cipherExecutor,
                                final TicketSerializationManager ticketSerializationManager,
                                final TicketCatalog ticketCatalog,
@@ -75,12 +83,25 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
                                final Cache<String, Ticket> ticketCache,
                                final RedisTicketRegistryMessagePublisher messagePublisher,
                                final Optional<RedisModulesCommands> redisModuleCommands) {
+        this(cipherExecutor, ticketSerializationManager, ticketCatalog, casRedisTemplates,
+            ticketCache, messagePublisher, redisModuleCommands, 0);
+    }
+
+    public RedisTicketRegistry(final CipherExecutor cipherExecutor,
+                               final TicketSerializationManager ticketSerializationManager,
+                               final TicketCatalog ticketCatalog,
+                               final CasRedisTemplates casRedisTemplates,
+                               final Cache<String, Ticket> ticketCache,
+                               final RedisTicketRegistryMessagePublisher messagePublisher,
+                               final Optional<RedisModulesCommands> redisModuleCommands,
+                               final long scanCount) {
         super(cipherExecutor, ticketSerializationManager, ticketCatalog);
 
         this.casRedisTemplates = casRedisTemplates;
         this.ticketCache = ticketCache;
         this.messagePublisher = messagePublisher;
         this.redisModuleCommands = redisModuleCommands;
+        this.scanCount = scanCount;
 
         createIndexesIfNecessary();
     }
@@ -131,6 +152,24 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return count;
     }
 
+    @Override
+    protected int deleteServiceTickets(final Collection<String> serviceTicketIds) {
+        val redisKeys = serviceTicketIds
+            .stream()
+            .map(ticketId -> {
+                val ticketPrefix = StringUtils.substring(ticketId, 0, ticketId.indexOf(UniqueTicketIdGenerator.SEPARATOR));
+                return RedisCompositeKey.forTickets().withTicketId(ticketPrefix, digestIdentifier(ticketId));
+            })
+            .toList();
+        val count = casRedisTemplates.getTicketsRedisTemplate()
+            .delete(redisKeys.stream().map(RedisCompositeKey::toKeyPattern).toList());
+        val cacheKeys = redisKeys.stream().map(RedisCompositeKey::getQuery).toList();
+        ticketCache.invalidateAll(cacheKeys);
+        messagePublisher.delete(cacheKeys);
+        LOGGER.debug("Removed [{}] service ticket(s) in bulk", count);
+        return count == null ? 0 : count.intValue();
+    }
+
     @Override
     public void addTicket(final Stream<? extends Ticket> toSave) {
         FunctionUtils.doAndHandle(__ ->
@@ -178,18 +217,11 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<? extends Ticket> stream() {
-        return fetchKeysForTickets()
-            .map(redisKey -> {
-                val adapter = buildRedisKeyValueAdapter(redisKey);
-                val document = adapter.get(redisKey, redisKey, RedisTicketDocument.class);
-                if (document == null) {
-                    casRedisTemplates.getTicketsRedisTemplate().delete(redisKey);
-                    return null;
-                }
-                return document;
-            })
-            .filter(Objects::nonNull)
-            .map(RedisTicketDocument.class::cast)
+        val keys = fetchKeysForTickets();
+        val batches = Iterators.partition(keys.iterator(), getBatchSize());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+            .onClose(keys::close)
+            .flatMap(this::fetchTicketDocuments)
             .map(this::deserializeAsTicket)
             .map(this::decodeTicket)
             .filter(Objects::nonNull)
@@ -202,7 +234,6 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             });
     }
 
-
     @Override
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
         val userId = digestIdentifier(principalId);
@@ -272,8 +303,36 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     }
 
     private Stream<String> fetchKeysForTickets(final String key) {
-        LOGGER.debug("Loading keys for pattern [{}]", key);
-        return Objects.requireNonNull(casRedisTemplates.getTicketsRedisTemplate().keys(key)).stream();
+        LOGGER.debug("Scanning keys for pattern [{}]", key);
+        return casRedisTemplates.getTicketsRedisTemplate().scan(key, scanCount);
+    }
+
+    private Stream<RedisTicketDocument> fetchTicketDocuments(final List<String> redisKeys) {
+        LOGGER.trace("Fetching [{}] ticket document(s) in a pipelined batch", redisKeys.size());
+        val results = Objects.requireNonNull(casRedisTemplates.getTicketsRedisTemplate().execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            redisKeys.forEach(key -> connection.hashCommands().hGetAll(key.getBytes(StandardCharsets.UTF_8)));
+            return connection.closePipeline();
+        }));
+        val converter = buildRedisKeyValueAdapter(RedisCompositeKey.forTickets().toKeyPattern()).getConverter();
+        val documents = new ArrayList<RedisTicketDocument>(redisKeys.size());
+        for (var i = 0; i < redisKeys.size(); i++) {
+            val redisKey = redisKeys.get(i);
+            val rawDocument = (Map<byte[], byte[]>) results.get(i);
+            if (rawDocument == null || rawDocument.isEmpty()) {
+                casRedisTemplates.getTicketsRedisTemplate().delete(redisKey);
+            } else {
+                val redisData = new RedisData(rawDocument);
+                redisData.setId(redisKey);
+                redisData.setKeyspace(redisKey);
+                documents.add(converter.read(RedisTicketDocument.class, redisData));
+            }
+        }
+        return documents.stream();
+    }
+
+    private int getBatchSize() {
+        return scanCount > 0 ? (int) Math.min(scanCount, Integer.MAX_VALUE) : DEFAULT_BATCH_SIZE;
     }
 
     protected RedisTicketDocument buildTicketAsDocument(final Ticket ticket) {
@@ -10,6 +10,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 /**
  * This is {@link DefaultRedisTicketRegistryMessagePublisher}.
  *
@@ -37,6 +40,14 @@ public class DefaultRedisTicketRegistryMessagePublisher implements RedisTicketRe
         }
     }
 
+    @Override
+    public void delete(final Collection<String> keys) {
+        if (keys != null && !keys.isEmpty()) {
+            val payload = getRedisMessagePayload(RedisMessagePayload.RedisMessageTypes.DELETE_KEYS).withTicket(new ArrayList<>(keys));
+            sendPayload(payload);
+        }
+    }
+
     @Override
     public void add(final Ticket ticket) {
         if (ticket != null) {
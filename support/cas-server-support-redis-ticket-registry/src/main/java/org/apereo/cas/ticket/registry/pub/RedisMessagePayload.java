@@ -45,6 +45,10 @@ public class RedisMessagePayload<T extends Serializable> implements Serializable
          * Message type to delete ticket from the cache.
          */
         DELETE,
+        /**
+         * Message type to delete a group of tickets from the cache by their keys.
+         */
+        DELETE_KEYS,
         /**
          * Message type to delete all tickets.
          */
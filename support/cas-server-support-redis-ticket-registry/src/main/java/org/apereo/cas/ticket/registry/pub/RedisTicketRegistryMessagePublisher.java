@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.registry.pub;
 
 import org.apereo.cas.ticket.Ticket;
 
+import java.util.Collection;
+
 /**
  * This is {@link RedisTicketRegistryMessagePublisher}.
  *
@@ -22,6 +24,13 @@ public interface RedisTicketRegistryMessagePublisher {
      */
     void delete(Ticket ticket);
 
+    /**
+     * Send notification to delete tickets by their cache keys.
+     *
+     * @param keys the keys
+     */
+    void delete(Collection<String> keys);
+
     /**
      * Send notification to add.
      *
@@ -10,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.util.Collection;
+
 /**
  * This is {@link DefaultRedisTicketRegistryMessageListener}.
  *
@@ -38,6 +40,7 @@ public class DefaultRedisTicketRegistryMessageListener implements RedisTicketReg
                     val redisKey = RedisCompositeKey.forTickets().withTicketId(ticket.getPrefix(), ticket.getId());
                     ticketCache.invalidate(redisKey.getQuery());
                 }
+                case DELETE_KEYS -> ticketCache.invalidateAll((Collection<String>) command.getTicket());
                 case DELETE_ALL -> ticketCache.invalidateAll();
             }
         }
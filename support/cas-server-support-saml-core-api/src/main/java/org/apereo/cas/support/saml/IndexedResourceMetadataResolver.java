@@ -0,0 +1,576 @@
+package org.apereo.cas.support.saml;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.function.FunctionUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Iterables;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import net.shibboleth.shared.component.ComponentInitializationException;
+import net.shibboleth.shared.resolver.CriteriaSet;
+import net.shibboleth.shared.resolver.ResolverException;
+import net.shibboleth.shared.xml.SerializeSupport;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.core.xml.XMLObject;
+import org.opensaml.core.xml.util.XMLObjectSupport;
+import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.saml.criterion.EntityRoleCriterion;
+import org.opensaml.saml.metadata.resolver.filter.MetadataFilter;
+import org.opensaml.saml.metadata.resolver.filter.MetadataFilterContext;
+import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
+import org.opensaml.saml.saml2.metadata.EntitiesDescriptor;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+import org.w3c.dom.Element;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * This is {@link IndexedResourceMetadataResolver}. It reads a metadata file, typically a large aggregate, with a streaming
+ * parser and stores each entity descriptor as bytes in an index file on disk, keyed by entity id. Only the entity offsets
+ * are held in memory. Entity descriptors are unmarshalled when they are requested, and recently requested entities are cached.
+ * <p>
+ * Filters that apply to the metadata document as a whole, such as signature and validity checks, are run once when the index
+ * is built. The index is then built from the entity descriptors that were verified, in the same pass over the metadata file,
+ * so entities are never read again after they were verified. Without such filters, the index is built with a streaming parser.
+ * <p>
+ * The index is named after a digest of the metadata content and the {@link #setIndexName(String) index name}, which should
+ * capture the signing certificate and filter configuration. The index carries a message authentication code computed with
+ * a key that is generated once and kept next to the indexes, readable only by the server, so an index survives restarts
+ * but is never reused if it was modified, planted or built from different metadata. Otherwise, the metadata is verified
+ * and indexed again. The metadata file is read once to compute its digest, and once more only if the index is built.
+ * The metadata filter of this resolver applies to each entity descriptor as it is unmarshalled.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class IndexedResourceMetadataResolver extends AbstractMetadataResolver {
+    private static final int INDEX_MAGIC = 0x43415349;
+
+    private static final int INDEX_VERSION = 2;
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final int INDEX_VALID_UNTIL_OFFSET = Integer.BYTES * 2;
+
+    private static final int INDEX_MAC_OFFSET = INDEX_VALID_UNTIL_OFFSET + Long.BYTES + DIGEST_LENGTH;
+
+    private static final int INDEX_HEADER_LENGTH = INDEX_MAC_OFFSET + DIGEST_LENGTH;
+
+    private static final String INDEX_MAC_ALGORITHM = "HmacSHA256";
+
+    private static final String INDEX_KEY_FILE_NAME = ".index.key";
+
+    private static final String INDEX_FILE_EXTENSION = ".idx";
+
+    private static final QName ATTRIBUTE_ENTITY_ID = new QName("entityID");
+
+    private static final QName ATTRIBUTE_VALID_UNTIL = new QName("validUntil");
+
+    @Getter
+    private final File metadataFile;
+
+    private final File indexDirectory;
+
+    /**
+     * Filters that are applied to the metadata document as a whole
+     * when the index is built.
+     */
+    @Setter
+    private MetadataFilter rootMetadataFilter;
+
+    /**
+     * Name that distinguishes indexes built from the same metadata file
+     * with different filters.
+     */
+    @Setter
+    private String indexName;
+
+    @Setter
+    private long entityCacheSize = 1_000;
+
+    private Map<String, Long> entityOffsets = Map.of();
+
+    @Getter
+    private Instant validUntil;
+
+    private Cache<String, EntityDescriptor> entityCache;
+
+    private FileChannel indexChannel;
+
+    private byte[] indexMacKey;
+
+    public IndexedResourceMetadataResolver(final File metadataFile, final File indexDirectory,
+                                           final OpenSamlConfigBean configBean) {
+        this.metadataFile = metadataFile;
+        this.indexDirectory = indexDirectory;
+        setParserPool(configBean.getParserPool());
+        setResolveViaPredicatesOnly(true);
+    }
+
+    private static XMLInputFactory getXMLInputFactory() {
+        val factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+
+    private static byte[] getOrCreateIndexMacKey(final File directory) throws IOException {
+        val keyFile = new File(directory, INDEX_KEY_FILE_NAME).toPath();
+        if (!Files.exists(keyFile)) {
+            val key = new byte[DIGEST_LENGTH];
+            RandomUtils.getNativeInstance().nextBytes(key);
+            try {
+                Files.write(keyFile, key, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                if (Files.getFileStore(keyFile).supportsFileAttributeView("posix")) {
+                    Files.setPosixFilePermissions(keyFile, PosixFilePermissions.fromString("rw-------"));
+                }
+                return key;
+            } catch (final FileAlreadyExistsException e) {
+                LOGGER.trace("Metadata index key [{}] was created concurrently", keyFile);
+            }
+        }
+        val key = Files.readAllBytes(keyFile);
+        if (key.length != DIGEST_LENGTH) {
+            throw new IOException("Metadata index key " + keyFile + " is invalid");
+        }
+        return key;
+    }
+
+    private static void createIndexDirectory(final File directory) throws IOException {
+        FileUtils.forceMkdir(directory);
+        val path = directory.toPath();
+        if (Files.getFileStore(path).supportsFileAttributeView("posix")) {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+
+    private static boolean isEntityDescriptor(final StartElement element) {
+        return EntityDescriptor.DEFAULT_ELEMENT_LOCAL_NAME.equals(element.getName().getLocalPart())
+            && SAMLConstants.SAML20MD_NS.equals(element.getName().getNamespaceURI());
+    }
+
+    private static void collectEntityDescriptors(final XMLObject metadata, final List<EntityDescriptor> entityDescriptors) {
+        if (metadata instanceof final EntityDescriptor entity) {
+            entityDescriptors.add(entity);
+        } else if (metadata instanceof final EntitiesDescriptor entities) {
+            entityDescriptors.addAll(entities.getEntityDescriptors());
+            entities.getEntitiesDescriptors().forEach(child -> collectEntityDescriptors(child, entityDescriptors));
+        }
+    }
+
+    private static long getRootValidUntil(final XMLObject metadata) {
+        if (metadata instanceof final EntitiesDescriptor entities && entities.getValidUntil() != null) {
+            return entities.getValidUntil().toEpochMilli();
+        }
+        if (metadata instanceof final EntityDescriptor entity && entity.getValidUntil() != null) {
+            return entity.getValidUntil().toEpochMilli();
+        }
+        return -1L;
+    }
+
+    private static byte[] serializeEntityDescriptor(final EntityDescriptor entity) throws Exception {
+        val element = entity.getDOM() != null ? entity.getDOM() : XMLObjectSupport.marshall(entity);
+        val copy = (Element) element.cloneNode(true);
+        for (var node = element.getParentNode(); node instanceof final Element parent; node = parent.getParentNode()) {
+            val attributes = parent.getAttributes();
+            for (var i = 0; i < attributes.getLength(); i++) {
+                val attribute = attributes.item(i);
+                if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())
+                    && !copy.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute.getLocalName())) {
+                    copy.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attribute.getNodeName(), attribute.getNodeValue());
+                }
+            }
+        }
+        val output = new ByteArrayOutputStream();
+        SerializeSupport.writeNode(copy, output);
+        return output.toByteArray();
+    }
+
+    private static void writeEntity(final DataOutputStream output, final Mac mac,
+                                    final String entityId, final byte[] entity) throws IOException {
+        val entityIdBytes = entityId.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(entityIdBytes.length);
+        output.write(entityIdBytes);
+        output.writeInt(entity.length);
+        output.write(entity);
+        mac.update(entityIdBytes);
+        mac.update(entity);
+    }
+
+    private static byte[] copyEntityDescriptor(final XMLEventReader reader, final StartElement start,
+                                               final Deque<List<Namespace>> ancestors) throws Exception {
+        val eventFactory = XMLEventFactory.newFactory();
+        val namespaces = new LinkedHashMap<String, Namespace>();
+        ancestors.descendingIterator().forEachRemaining(declared -> declared.forEach(ns -> namespaces.put(ns.getPrefix(), ns)));
+        start.getNamespaces().forEachRemaining(ns -> namespaces.put(ns.getPrefix(), ns));
+
+        val output = new ByteArrayOutputStream();
+        val writer = XMLOutputFactory.newFactory().createXMLEventWriter(output, StandardCharsets.UTF_8.name());
+        try {
+            writer.add(eventFactory.createStartElement(start.getName().getPrefix(), start.getName().getNamespaceURI(),
+                start.getName().getLocalPart(), start.getAttributes(), namespaces.values().iterator()));
+            var depth = 1;
+            while (depth > 0) {
+                val event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    depth++;
+                } else if (event.isEndElement()) {
+                    depth--;
+                }
+                writer.add(event);
+            }
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public Iterable<EntityDescriptor> resolve(final CriteriaSet criteria) throws ResolverException {
+        if (isRequireValidMetadata() && !isRootValid()) {
+            LOGGER.warn("Metadata from [{}] is no longer valid as of [{}]", metadataFile, validUntil);
+            return List.of();
+        }
+        val predicate = getEntityPredicate(criteria);
+        val entityIdCriterion = criteria != null ? criteria.get(EntityIdCriterion.class) : null;
+        if (entityIdCriterion != null) {
+            val entity = getEntityDescriptor(entityIdCriterion.getEntityId());
+            return entity != null && predicate.test(entity) ? List.of(entity) : List.of();
+        }
+        return Iterables.filter(Iterables.transform(entityOffsets.keySet(),
+            entityId -> FunctionUtils.doUnchecked(() -> getEntityDescriptor(entityId))),
+            entity -> entity != null && predicate.test(entity));
+    }
+
+    /**
+     * Whether the metadata document is still valid, based on its validity period.
+     *
+     * @return true/false
+     */
+    public boolean isRootValid() {
+        return validUntil == null || validUntil.isAfter(Instant.now(Clock.systemUTC()));
+    }
+
+    /**
+     * Gets the number of indexed entities.
+     *
+     * @return the entity count
+     */
+    public int getEntityCount() {
+        return entityOffsets.size();
+    }
+
+    @Override
+    protected void doInitialize() throws ComponentInitializationException {
+        super.doInitialize();
+        try {
+            createIndexDirectory(indexDirectory);
+            this.indexMacKey = getOrCreateIndexMacKey(indexDirectory);
+            val contentDigest = digestMetadataFile();
+            val indexFile = getIndexFile(contentDigest);
+            if (!loadIndex(indexFile, contentDigest)) {
+                buildIndex(indexFile, contentDigest);
+                if (!loadIndex(indexFile, contentDigest)) {
+                    throw new IOException("Unable to verify metadata index " + indexFile);
+                }
+            }
+            this.entityCache = Caffeine.newBuilder().maximumSize(entityCacheSize).build();
+            this.indexChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ);
+            LOGGER.debug("Indexed [{}] entities from [{}] at [{}]", entityOffsets.size(), metadataFile, indexFile);
+        } catch (final Exception e) {
+            throw new ComponentInitializationException("Unable to index metadata from " + metadataFile, e);
+        }
+    }
+
+    @Override
+    protected void doDestroy() {
+        FunctionUtils.doAndHandle(__ -> {
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        });
+        if (entityCache != null) {
+            entityCache.invalidateAll();
+        }
+        super.doDestroy();
+    }
+
+    protected File getIndexFile(final byte[] contentDigest) throws IOException {
+        return new File(indexDirectory, getIndexFilePrefix() + EncodingUtils.hexEncode(contentDigest) + INDEX_FILE_EXTENSION);
+    }
+
+    protected byte[] digestMetadataFile() throws Exception {
+        val digest = MessageDigest.getInstance("SHA-256");
+        try (val input = new DigestInputStream(new BufferedInputStream(Files.newInputStream(metadataFile.toPath())), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    private Mac getIndexMac(final byte[] contentDigest) throws Exception {
+        val mac = Mac.getInstance(INDEX_MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(indexMacKey, INDEX_MAC_ALGORITHM));
+        mac.update(contentDigest);
+        mac.update(StringUtils.defaultString(indexName).getBytes(StandardCharsets.UTF_8));
+        return mac;
+    }
+
+    private String getIndexFilePrefix() throws IOException {
+        return DigestUtils.sha(metadataFile.getCanonicalPath() + '|' + StringUtils.defaultString(indexName)) + '-';
+    }
+
+    protected EntityDescriptor getEntityDescriptor(final String entityId) throws Exception {
+        val offset = entityOffsets.get(entityId);
+        if (offset == null) {
+            return null;
+        }
+        val cached = entityCache.getIfPresent(entityId);
+        if (cached != null) {
+            return isValid(cached) ? cached : null;
+        }
+        val length = readFully(offset, Integer.BYTES).getInt();
+        val bytes = readFully(offset + Integer.BYTES, length).array();
+        try (val input = new ByteArrayInputStream(bytes)) {
+            val metadata = unmarshallMetadata(input);
+            val filtered = getMetadataFilter() != null
+                ? getMetadataFilter().filter(metadata, new MetadataFilterContext())
+                : metadata;
+            if (filtered instanceof final EntityDescriptor entity) {
+                entityCache.put(entityId, entity);
+                return isValid(entity) ? entity : null;
+            }
+        }
+        LOGGER.debug("Entity [{}] from [{}] was removed by metadata filters", entityId, metadataFile);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<EntityDescriptor> getEntityPredicate(final CriteriaSet criteria) {
+        Predicate<EntityDescriptor> predicate = entity -> true;
+        if (criteria == null) {
+            return predicate;
+        }
+        for (val criterion : criteria) {
+            if (criterion instanceof final EntityRoleCriterion roleCriterion) {
+                predicate = predicate.and(entity -> !entity.getRoleDescriptors(roleCriterion.getRole()).isEmpty());
+            } else if (criterion instanceof final Predicate<?> entityPredicate && !(criterion instanceof EntityIdCriterion)) {
+                predicate = predicate.and(entity -> ((Predicate<EntityDescriptor>) entityPredicate).test(entity));
+            }
+        }
+        return predicate;
+    }
+
+    private ByteBuffer readFully(final long position, final int length) throws IOException {
+        val buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (indexChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of metadata index at " + position);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private long indexVerifiedMetadata(final InputStream input, final DataOutputStream output, final Mac mac) throws Exception {
+        LOGGER.debug("Verifying metadata from [{}] before it is indexed", metadataFile);
+        val metadata = rootMetadataFilter.filter(unmarshallMetadata(CloseShieldInputStream.wrap(input)), new MetadataFilterContext());
+        if (metadata == null) {
+            throw new ResolverException("Metadata from " + metadataFile + " was rejected by metadata filters");
+        }
+        val entityDescriptors = new ArrayList<EntityDescriptor>();
+        collectEntityDescriptors(metadata, entityDescriptors);
+        for (val entity : entityDescriptors) {
+            if (entity.getEntityID() != null) {
+                writeEntity(output, mac, entity.getEntityID(), serializeEntityDescriptor(entity));
+            }
+        }
+        return getRootValidUntil(metadata);
+    }
+
+    private long indexMetadata(final InputStream input, final DataOutputStream output, final Mac mac) throws Exception {
+        var rootValidUntil = -1L;
+        val reader = getXMLInputFactory().createXMLEventReader(input);
+        val ancestors = new ArrayDeque<List<Namespace>>();
+        try {
+            while (reader.hasNext()) {
+                val event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    val start = event.asStartElement();
+                    if (ancestors.isEmpty()) {
+                        val attribute = start.getAttributeByName(ATTRIBUTE_VALID_UNTIL);
+                        rootValidUntil = attribute != null ? Instant.parse(attribute.getValue()).toEpochMilli() : -1L;
+                    }
+                    if (isEntityDescriptor(start)) {
+                        val entityIdAttribute = start.getAttributeByName(ATTRIBUTE_ENTITY_ID);
+                        val entity = copyEntityDescriptor(reader, start, ancestors);
+                        if (entityIdAttribute != null) {
+                            writeEntity(output, mac, entityIdAttribute.getValue(), entity);
+                        }
+                    } else {
+                        val namespaces = new ArrayList<Namespace>();
+                        start.getNamespaces().forEachRemaining(namespaces::add);
+                        ancestors.push(namespaces);
+                    }
+                } else if (event.isEndElement()) {
+                    ancestors.pop();
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return rootValidUntil;
+    }
+
+    private void buildIndex(final File indexFile, final byte[] contentDigest) throws Exception {
+        LOGGER.info("Building metadata index for [{}] at [{}]", metadataFile, indexFile);
+        val temporaryFile = Files.createTempFile(indexDirectory.toPath(), indexFile.getName(), ".tmp").toFile();
+        val mac = getIndexMac(contentDigest);
+        val digest = MessageDigest.getInstance("SHA-256");
+        final long rootValidUntil;
+        try (val input = new DigestInputStream(new BufferedInputStream(Files.newInputStream(metadataFile.toPath())), digest);
+             val output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile.toPath())))) {
+            output.writeInt(INDEX_MAGIC);
+            output.writeInt(INDEX_VERSION);
+            output.writeLong(-1L);
+            output.write(contentDigest);
+            output.write(new byte[DIGEST_LENGTH]);
+            rootValidUntil = rootMetadataFilter != null
+                ? indexVerifiedMetadata(input, output, mac)
+                : indexMetadata(input, output, mac);
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        if (!MessageDigest.isEqual(contentDigest, digest.digest())) {
+            Files.deleteIfExists(temporaryFile.toPath());
+            throw new IOException("Metadata from " + metadataFile + " was modified while it was indexed");
+        }
+        mac.update(ByteBuffer.allocate(Long.BYTES).putLong(0, rootValidUntil));
+        try (val channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, rootValidUntil), INDEX_VALID_UNTIL_OFFSET);
+            channel.write(ByteBuffer.wrap(mac.doFinal()), INDEX_MAC_OFFSET);
+        }
+        deleteIndexFiles();
+        Files.move(temporaryFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteIndexFiles() throws IOException {
+        val prefix = getIndexFilePrefix();
+        val indexFiles = indexDirectory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(INDEX_FILE_EXTENSION));
+        if (indexFiles != null) {
+            for (val file : indexFiles) {
+                LOGGER.debug("Removing metadata index [{}] built from a previous version of [{}]", file, metadataFile);
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    private boolean loadIndex(final File indexFile, final byte[] contentDigest) throws Exception {
+        if (!indexFile.isFile()) {
+            return false;
+        }
+        val offsets = new HashMap<String, Long>();
+        try (val input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (input.readInt() != INDEX_MAGIC || input.readInt() != INDEX_VERSION) {
+                LOGGER.warn("Metadata index [{}] is not recognized and will be rebuilt", indexFile);
+                return false;
+            }
+            val rootValidUntil = input.readLong();
+            val indexedContentDigest = input.readNBytes(DIGEST_LENGTH);
+            val expectedMac = input.readNBytes(DIGEST_LENGTH);
+            if (!MessageDigest.isEqual(contentDigest, indexedContentDigest)) {
+                LOGGER.debug("Metadata index [{}] was built from different metadata and will be rebuilt", indexFile);
+                return false;
+            }
+            val mac = getIndexMac(contentDigest);
+            val indexLength = indexFile.length();
+            var position = (long) INDEX_HEADER_LENGTH;
+            while (true) {
+                final int entityIdLength;
+                try {
+                    entityIdLength = input.readInt();
+                } catch (final EOFException e) {
+                    break;
+                }
+                if (entityIdLength < 0 || entityIdLength > indexLength - position) {
+                    LOGGER.warn("Metadata index [{}] is corrupted and will be rebuilt", indexFile);
+                    return false;
+                }
+                val entityId = new byte[entityIdLength];
+                input.readFully(entityId);
+                position += Integer.BYTES + entityIdLength;
+                offsets.put(new String(entityId, StandardCharsets.UTF_8), position);
+                val entityLength = input.readInt();
+                if (entityLength < 0 || entityLength > indexLength - position) {
+                    LOGGER.warn("Metadata index [{}] is corrupted and will be rebuilt", indexFile);
+                    return false;
+                }
+                val entity = new byte[entityLength];
+                input.readFully(entity);
+                position += Integer.BYTES + entity.length;
+                mac.update(entityId);
+                mac.update(entity);
+            }
+            mac.update(ByteBuffer.allocate(Long.BYTES).putLong(0, rootValidUntil));
+            if (!MessageDigest.isEqual(expectedMac, mac.doFinal())) {
+                LOGGER.info("Metadata index [{}] cannot be verified and will be rebuilt", indexFile);
+                return false;
+            }
+            this.validUntil = rootValidUntil >= 0 ? Instant.ofEpochMilli(rootValidUntil) : null;
+        } catch (final EOFException e) {
+            LOGGER.warn("Metadata index [{}] is truncated and will be rebuilt", indexFile);
+            return false;
+        }
+        this.entityOffsets = Map.copyOf(offsets);
+        return true;
+    }
+}
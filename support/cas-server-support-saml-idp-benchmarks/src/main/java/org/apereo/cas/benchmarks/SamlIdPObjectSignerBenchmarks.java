@@ -0,0 +1,182 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.DefaultOpenSamlConfigBean;
+import org.apereo.cas.support.saml.idp.metadata.SamlIdPMetadataResolver;
+import org.apereo.cas.support.saml.idp.metadata.locator.FileSystemSamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.idp.metadata.writer.DefaultSamlIdPCertificateAndKeyWriter;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.web.idp.profile.builders.enc.DefaultSamlIdPObjectSigner;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import net.shibboleth.shared.xml.impl.BasicParserPool;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.velocity.app.VelocityEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.saml2.core.Response;
+import org.opensaml.saml.saml2.core.impl.ResponseBuilder;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.saml.saml2.metadata.impl.SPSSODescriptorBuilder;
+import org.opensaml.xmlsec.SignatureSigningParameters;
+import org.opensaml.xmlsec.signature.support.SignatureSupport;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link SamlIdPObjectSignerBenchmarks}, measuring how many SAML2 responses
+ * are signed per second by {@link DefaultSamlIdPObjectSigner}. Each operation resolves signing parameters
+ * for a service and signs a response with them. When signing keys and credentials are not cached,
+ * a new signer is created for every response, which parses the signing key and resolves credentials
+ * from metadata for every response.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SamlIdPObjectSignerBenchmarks {
+    private static final String ENTITY_ID = "https://cas.example.org/idp";
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private File metadataDirectory;
+
+    private CasConfigurationProperties casProperties;
+
+    private SamlIdPMetadataLocator metadataLocator;
+
+    private MetadataResolver metadataResolver;
+
+    private BenchmarkSamlIdPObjectSigner signer;
+
+    private SamlRegisteredService registeredService;
+
+    private RoleDescriptor roleDescriptor;
+
+    private static String getMetadata(final String certificate) {
+        val encodedCertificate = certificate
+            .replace("-----BEGIN CERTIFICATE-----", StringUtils.EMPTY)
+            .replace("-----END CERTIFICATE-----", StringUtils.EMPTY)
+            .trim();
+        return """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <EntityDescriptor xmlns="urn:oasis:names:tc:SAML:2.0:metadata"
+                xmlns:ds="http://www.w3.org/2000/09/xmldsig#" entityID="%s">
+                <IDPSSODescriptor protocolSupportEnumeration="urn:oasis:names:tc:SAML:2.0:protocol">
+                    <KeyDescriptor use="signing">
+                        <ds:KeyInfo>
+                            <ds:X509Data>
+                                <ds:X509Certificate>%s</ds:X509Certificate>
+                            </ds:X509Data>
+                        </ds:KeyInfo>
+                    </KeyDescriptor>
+                    <SingleSignOnService Binding="urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST"
+                        Location="https://cas.example.org/idp/profile/SAML2/POST/SSO"/>
+                </IDPSSODescriptor>
+            </EntityDescriptor>
+            """.formatted(ENTITY_ID, encodedCertificate).trim();
+    }
+
+    private static Response getResponse() {
+        val response = new ResponseBuilder().buildObject();
+        response.setID('_' + UUID.randomUUID().toString());
+        response.setIssueInstant(Instant.now());
+        response.setDestination("https://sp.example.org/acs");
+        return response;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        metadataDirectory = Files.createTempDirectory("cas-saml-signer-benchmarks").toFile();
+        val privateKey = new StringWriter();
+        val certificate = new StringWriter();
+        val writer = new DefaultSamlIdPCertificateAndKeyWriter("cas.example.org");
+        writer.setKeySize(2048);
+        writer.setCertificateAlgorithm("SHA256withRSA");
+        writer.writeCertificateAndKey(privateKey, certificate);
+        FileUtils.writeStringToFile(new File(metadataDirectory, "idp-signing.key"), privateKey.toString(), StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(metadataDirectory, "idp-signing.crt"), certificate.toString(), StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(metadataDirectory, "idp-metadata.xml"), getMetadata(certificate.toString()), StandardCharsets.UTF_8);
+
+        val parserPool = new BasicParserPool();
+        parserPool.setNamespaceAware(true);
+        parserPool.initialize();
+        val openSamlConfigBean = new DefaultOpenSamlConfigBean(parserPool, new VelocityEngine(), null);
+
+        casProperties = new CasConfigurationProperties();
+        casProperties.getAuthn().getSamlIdp().getCore().setEntityId(ENTITY_ID);
+        metadataLocator = new FileSystemSamlIdPMetadataLocator(metadataDirectory, Caffeine.newBuilder().build());
+        val resolver = new SamlIdPMetadataResolver(metadataLocator, null, openSamlConfigBean, casProperties);
+        resolver.setId(ENTITY_ID);
+        resolver.initialize();
+        metadataResolver = resolver;
+
+        signer = new BenchmarkSamlIdPObjectSigner(metadataResolver, casProperties, metadataLocator);
+        registeredService = new SamlRegisteredService();
+        registeredService.setId(1000);
+        registeredService.setName("SamlIdPObjectSignerBenchmarks");
+        registeredService.setServiceId("https://sp.example.org");
+        roleDescriptor = new SPSSODescriptorBuilder().buildObject();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteQuietly(metadataDirectory);
+    }
+
+    /**
+     * Resolve signing parameters for the service and sign a response.
+     *
+     * @return the signed response
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public Response signResponse() throws Exception {
+        val currentSigner = cached ? signer : new BenchmarkSamlIdPObjectSigner(metadataResolver, casProperties, metadataLocator);
+        val parameters = currentSigner.buildSignatureSigningParameters(roleDescriptor, registeredService);
+        val response = getResponse();
+        SignatureSupport.signObject(response, parameters);
+        return response;
+    }
+
+    private static final class BenchmarkSamlIdPObjectSigner extends DefaultSamlIdPObjectSigner {
+        BenchmarkSamlIdPObjectSigner(final MetadataResolver samlIdPMetadataResolver,
+                                     final CasConfigurationProperties casProperties,
+                                     final SamlIdPMetadataLocator samlIdPMetadataLocator) {
+            super(samlIdPMetadataResolver, casProperties, samlIdPMetadataLocator);
+        }
+
+        @Override
+        public SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                          final SamlRegisteredService service) {
+            return super.buildSignatureSigningParameters(descriptor, service);
+        }
+    }
+}
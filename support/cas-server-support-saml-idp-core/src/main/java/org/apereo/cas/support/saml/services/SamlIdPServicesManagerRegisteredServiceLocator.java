@@ -22,6 +22,8 @@ import org.springframework.core.Ordered;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link SamlIdPServicesManagerRegisteredServiceLocator}.
@@ -91,6 +93,20 @@ public class SamlIdPServicesManagerRegisteredServiceLocator extends DefaultServi
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getServiceAttributeNames() {
+        return SamlProtocolServiceAttribute.values()
+            .stream()
+            .filter(attr -> attr != SamlProtocolServiceAttribute.SAML_REQUEST)
+            .map(SamlProtocolServiceAttribute::getAttributeName)
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<String> getRequestScopedServiceAttributeNames() {
+        return Set.of(SamlProtocolServiceAttribute.SAML_REQUEST.getAttributeName());
+    }
+
     @Override
     protected Class<? extends RegisteredService> getRegisteredServiceIndexedType() {
         return SamlRegisteredService.class;
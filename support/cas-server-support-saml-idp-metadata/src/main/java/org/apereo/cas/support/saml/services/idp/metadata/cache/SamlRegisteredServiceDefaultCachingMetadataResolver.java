@@ -6,10 +6,10 @@ import org.apereo.cas.monitor.Monitorable;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
-import org.apereo.cas.util.concurrent.CasReentrantLock;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
@@ -21,7 +21,9 @@ import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.shared.resolver.CriteriaSet;
+import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
+import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.core.criterion.SatisfyAnyCriterion;
 import org.opensaml.saml.metadata.criteria.entity.impl.EvaluableEntityRoleEntityDescriptorCriterion;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
@@ -35,6 +37,10 @@ import java.util.Optional;
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * Entity ids that are resolved successfully are indexed by the cache key of the metadata resolver
+ * that produced them, so subsequent requests go straight to that resolver. Loading metadata is coordinated
+ * per cache key by the cache itself, and cached metadata may be refreshed in the background
+ * while requests continue to use the existing entry.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -42,10 +48,10 @@ import java.util.Optional;
 @Slf4j
 @Monitorable
 public class SamlRegisteredServiceDefaultCachingMetadataResolver implements SamlRegisteredServiceCachingMetadataResolver {
-    private final CasReentrantLock lock = new CasReentrantLock();
-
     private final LoadingCache<SamlRegisteredServiceCacheKey, CachedMetadataResolverResult> cache;
 
+    private final Cache<String, SamlRegisteredServiceCacheKey> entityIndex;
+
     @Getter
     private final OpenSamlConfigBean openSamlConfigBean;
 
@@ -57,11 +63,20 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
         val core = casProperties.getAuthn().getSamlIdp().getMetadata().getCore();
         val metadataCacheExpiration = Beans.newDuration(core.getCacheExpiration());
-        this.cache = Caffeine.newBuilder()
+        val builder = Caffeine.newBuilder()
             .maximumSize(core.getCacheMaximumSize())
             .recordStats()
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpiration))
-            .build(loader);
+            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpiration));
+        if (StringUtils.isNotBlank(core.getCacheRefreshInterval())) {
+            val refreshInterval = Beans.newDuration(core.getCacheRefreshInterval());
+            if (refreshInterval.isPositive()) {
+                builder.refreshAfterWrite(refreshInterval);
+            }
+        }
+        this.cache = builder.build(loader);
+        this.entityIndex = Caffeine.newBuilder()
+            .maximumSize(core.getCacheMaximumSize())
+            .build();
     }
 
     private static long countResolvableEntityDescriptors(final MetadataResolutionResult result) {
@@ -71,32 +86,34 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         });
     }
 
+    private static Optional<String> getEntityId(final CriteriaSet criteriaSet) {
+        return Optional.ofNullable(criteriaSet.get(EntityIdCriterion.class)).map(EntityIdCriterion::getEntityId);
+    }
+
     @Override
     public CachedMetadataResolverResult resolve(final SamlRegisteredService service, final CriteriaSet criteriaSet) {
-        return lock.tryLock(() -> {
-            val metadataLocation = SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataLocation());
-            LOGGER.debug("Resolving metadata for [{}] at [{}]", service.getName(), metadataLocation);
-            val cacheKey = new SamlRegisteredServiceCacheKey(service, criteriaSet);
-            return FunctionUtils.doAndRetry(retryContext -> {
-                LOGGER.debug("Locating cached metadata resolver using key [{}] for service [{}]. Attempt [{}]",
-                    cacheKey.getId(), service.getName(), retryContext.getRetryCount());
-                val queryResult = locateAndCacheMetadataResolver(service, criteriaSet, cacheKey);
-                val result = isMetadataResolverAcceptable(queryResult, criteriaSet);
-                if (!result.isValid()) {
-                    val count = countResolvableEntityDescriptors(result);
-                    if (count == 1) {
-                        invalidate(service, criteriaSet);
-                    }
-                    LOGGER.warn("SAML metadata resolver [{}] obtained from the cache is "
-                            + "unable to produce/resolve valid metadata from [{}]. Metadata resolver cache entry with key [{}] "
-                            + "has been invalidated. Attempt: [#{}]",
-                        result.getResult().getMetadataResolver().getId(), metadataLocation,
-                        cacheKey.getId(), retryContext.getRetryCount());
-                    throw new SamlException("Unable to locate a valid SAML metadata resolver for "
-                        + metadataLocation + " to locate " + criteriaSet);
+        val metadataLocation = SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataLocation());
+        LOGGER.debug("Resolving metadata for [{}] at [{}]", service.getName(), metadataLocation);
+        val cacheKey = new SamlRegisteredServiceCacheKey(service, criteriaSet);
+        return FunctionUtils.doAndRetry(retryContext -> {
+            LOGGER.debug("Locating cached metadata resolver using key [{}] for service [{}]. Attempt [{}]",
+                cacheKey.getId(), service.getName(), retryContext.getRetryCount());
+            val queryResult = locateAndCacheMetadataResolver(service, criteriaSet, cacheKey);
+            val result = isMetadataResolverAcceptable(queryResult, criteriaSet);
+            if (!result.isValid()) {
+                val count = countResolvableEntityDescriptors(result);
+                if (count == 1) {
+                    invalidate(service, criteriaSet);
                 }
-                return queryResult.getResult();
-            });
+                LOGGER.warn("SAML metadata resolver [{}] obtained from the cache is "
+                        + "unable to produce/resolve valid metadata from [{}]. Metadata resolver cache entry with key [{}] "
+                        + "has been invalidated. Attempt: [#{}]",
+                    result.getResult().getMetadataResolver().getId(), metadataLocation,
+                    cacheKey.getId(), retryContext.getRetryCount());
+                throw new SamlException("Unable to locate a valid SAML metadata resolver for "
+                    + metadataLocation + " to locate " + criteriaSet);
+            }
+            return queryResult.getResult();
         });
     }
 
@@ -104,6 +121,7 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
     public void invalidate() {
         LOGGER.trace("Invalidating cache, removing all metadata resolvers");
         cache.invalidateAll();
+        entityIndex.invalidateAll();
     }
 
     @Override
@@ -111,6 +129,7 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         LOGGER.trace("Invalidating cache for [{}].", service.getName());
         val cacheKey = new SamlRegisteredServiceCacheKey(service, criteriaSet);
         cache.invalidate(cacheKey);
+        entityIndex.asMap().values().removeIf(cacheKey::equals);
     }
 
     @Override
@@ -145,35 +164,51 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         final CriteriaSet criteriaSet,
         final SamlRegisteredServiceCacheKey cacheKey) {
 
-        val result = cache
-            .asMap()
-            .values()
-            .stream()
-            .map(Unchecked.function(res -> {
-                val entity = res.getMetadataResolver().resolveSingle(criteriaSet);
-                return Optional.ofNullable(entity)
-                    .map(e -> MetadataResolverCacheQueryResult.builder()
-                        .result(res)
-                        .entityDescriptor(Optional.of(e))
-                        .build());
-            }))
-            .filter(Optional::isPresent)
-            .flatMap(Optional::stream)
-            .findFirst();
-
-        if (result.isPresent()) {
-            return result.get();
+        val indexedResult = getEntityId(criteriaSet)
+            .map(entityIndex::getIfPresent)
+            .flatMap(indexedKey -> locateIndexedMetadataResolver(indexedKey, criteriaSet));
+        if (indexedResult.isPresent()) {
+            return indexedResult.get();
         }
         LOGGER.debug("Loading metadata resolver from the cache using [{}]", cacheKey.getCacheKey());
         val cacheResult = Objects.requireNonNull(cache.get(cacheKey));
         LOGGER.debug("Loaded and cached SAML metadata [{}] from [{}]",
             cacheResult.getMetadataResolver().getId(), service.getMetadataLocation());
+        val entityDescriptor = Optional.ofNullable(FunctionUtils.doUnchecked(
+            () -> cacheResult.getMetadataResolver().resolveSingle(criteriaSet)));
+        entityDescriptor.ifPresent(entity -> entityIndex.put(entity.getEntityID(), cacheKey));
         return MetadataResolverCacheQueryResult.builder()
-            .entityDescriptor(Optional.empty())
+            .entityDescriptor(entityDescriptor)
             .result(cacheResult)
             .build();
     }
 
+    private Optional<MetadataResolverCacheQueryResult> locateIndexedMetadataResolver(
+        final SamlRegisteredServiceCacheKey indexedKey,
+        final CriteriaSet criteriaSet) {
+        val indexedResult = cache.asMap().get(indexedKey);
+        if (indexedResult == null) {
+            LOGGER.trace("Metadata resolver indexed by [{}] is no longer cached", indexedKey.getId());
+            return Optional.empty();
+        }
+        refreshIfNecessary(indexedKey);
+        val entityDescriptor = FunctionUtils.doUnchecked(() -> indexedResult.getMetadataResolver().resolveSingle(criteriaSet));
+        return Optional.ofNullable(entityDescriptor)
+            .map(entity -> MetadataResolverCacheQueryResult.builder()
+                .result(indexedResult)
+                .entityDescriptor(Optional.of(entity))
+                .build());
+    }
+
+    private void refreshIfNecessary(final SamlRegisteredServiceCacheKey cacheKey) {
+        cache.policy().refreshAfterWrite().ifPresent(policy -> policy.ageOf(cacheKey)
+            .filter(age -> age.compareTo(policy.getRefreshesAfter()) >= 0)
+            .ifPresent(age -> {
+                LOGGER.debug("Refreshing metadata resolver with key [{}] in the background", cacheKey.getId());
+                cache.refresh(cacheKey);
+            }));
+    }
+
     @SuperBuilder
     @Getter
     @SuppressWarnings("UnusedMethod")
@@ -67,8 +67,9 @@ public record SamlRegisteredServiceMetadataExpirationPolicy(Duration defaultExpi
         @NonNull
         final CachedMetadataResolverResult cacheResult,
         final long currentTime, final long currentDuration) {
-        LOGGER.trace("Cache expiration duration after updates is set to [{}] nanoseconds", currentDuration);
-        return currentDuration;
+        val duration = expireAfterCreate(cacheKey, cacheResult, currentTime);
+        LOGGER.trace("Cache expiration duration after updates is set to [{}] nanoseconds", duration);
+        return duration;
     }
 
     @Override
@@ -2,12 +2,14 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.IndexedResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlUtils;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.MetadataEntityAttributeQuery;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlMetadataDocument;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
@@ -29,6 +31,7 @@ import org.opensaml.saml.saml2.metadata.IDPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.springframework.core.io.Resource;
 import javax.xml.namespace.QName;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -157,6 +160,20 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         addSignatureValidationFilterIfNeeded(service, signatureValidationFilter, metadataFilterList);
     }
 
+    private static String getMetadataIndexName(final SamlRegisteredService service) throws Exception {
+        var signingCertificateDigest = StringUtils.EMPTY;
+        if (StringUtils.isNotBlank(service.getMetadataSignatureLocation())) {
+            val location = SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataSignatureLocation());
+            try (val input = ResourceUtils.getResourceFrom(location).getInputStream()) {
+                signingCertificateDigest = DigestUtils.sha256(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return DigestUtils.sha256(service.getMetadataSignatureLocation() + '|' + signingCertificateDigest + '|'
+            + service.isRequireSignedRoot() + '|' + service.getMetadataMaxValidity() + '|'
+            + service.getMetadataCriteriaRoles() + '|' + service.getMetadataCriteriaPattern() + '|'
+            + service.getMetadataCriteriaDirection());
+    }
+
     protected AbstractMetadataResolver buildMetadataResolverFrom(final SamlRegisteredService service,
                                                                  final SamlMetadataDocument metadataDocument) {
         try {
@@ -185,6 +202,9 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
         metadataProvider.setFailFastInitialization(md.getCore().isFailFast());
         metadataProvider.setRequireValidMetadata(md.getCore().isRequireValidMetadata());
         metadataProvider.setId("RegisteredServiceMetadata-" + service.getName());
+        if (metadataProvider instanceof final IndexedResourceMetadataResolver indexedResolver) {
+            indexedResolver.setIndexName(getMetadataIndexName(service));
+        }
 
         buildMetadataFilters(service, metadataProvider, metadataFilterList);
 
@@ -212,6 +232,24 @@ public abstract class BaseSamlRegisteredServiceMetadataResolver implements SamlR
 
     protected void addMetadataFiltersToMetadataResolver(final AbstractMetadataResolver metadataProvider,
                                                         final List<MetadataFilter> metadataFilterList) {
+        if (metadataProvider instanceof final IndexedResourceMetadataResolver indexedResolver) {
+            val rootFilters = metadataFilterList
+                .stream()
+                .filter(filter -> filter instanceof SignatureValidationFilter || filter instanceof RequiredValidUntilFilter)
+                .toList();
+            if (!rootFilters.isEmpty()) {
+                val rootFilterChain = new MetadataFilterChain();
+                rootFilterChain.setFilters(rootFilters);
+                indexedResolver.setRootMetadataFilter(rootFilterChain);
+            }
+
+            val entityFilterChain = new MetadataFilterChain();
+            entityFilterChain.setFilters(metadataFilterList.stream().filter(filter -> !rootFilters.contains(filter)).toList());
+            LOGGER.debug("Metadata filter chains initialized with [{}] document filters and [{}] entity filters",
+                rootFilters.size(), metadataFilterList.size() - rootFilters.size());
+            metadataProvider.setMetadataFilter(entityFilterChain);
+            return;
+        }
         val metadataFilterChain = new MetadataFilterChain();
         metadataFilterChain.setFilters(metadataFilterList);
 
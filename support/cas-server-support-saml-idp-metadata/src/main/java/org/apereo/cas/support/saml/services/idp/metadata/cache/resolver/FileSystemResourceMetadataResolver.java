@@ -5,6 +5,7 @@ import org.apereo.cas.audit.AuditResourceResolvers;
 import org.apereo.cas.audit.AuditableActions;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.IndexedResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.CollectionUtils;
@@ -38,6 +39,8 @@ import java.util.Collection;
  */
 @Slf4j
 public class FileSystemResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
+    private static final String DIRNAME_METADATA_INDEXES = "metadata-indexes";
+
     public FileSystemResourceMetadataResolver(final SamlIdPProperties samlIdPProperties,
                                               final OpenSamlConfigBean configBean) {
         super(samlIdPProperties, configBean);
@@ -80,6 +83,11 @@ public class FileSystemResourceMetadataResolver extends BaseSamlRegisteredServic
             val manager = new FilesystemLoadSaveManager<>(metadataFile, configBean.getParserPool());
             return new LocalDynamicMetadataResolver(manager, sourceStrategy);
         }
+        if (samlIdPProperties.getMetadata().getCore().isIndexed()) {
+            val location = SpringExpressionLanguageValueResolver.getInstance().resolve(samlIdPProperties.getMetadata().getFileSystem().getLocation());
+            val indexDirectory = new File(ResourceUtils.getRawResourceFrom(location).getFile(), DIRNAME_METADATA_INDEXES);
+            return new IndexedResourceMetadataResolver(metadataFile, indexDirectory, configBean);
+        }
         return new InMemoryResourceMetadataResolver(metadataResource, configBean);
     }
 }
@@ -7,6 +7,7 @@ import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyUtils;
 import org.apereo.cas.services.UnauthorizedServiceException;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
+import org.apereo.cas.support.saml.IndexedResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlUtils;
@@ -40,9 +41,11 @@ import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apereo.inspektr.audit.annotation.Audit;
 import org.jooq.lambda.Unchecked;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.impl.AbstractBatchMetadataResolver;
 import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import java.io.File;
@@ -51,6 +54,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
@@ -64,6 +71,10 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
 
     private static final String DIRNAME_METADATA_BACKUPS = "metadata-backups";
 
+    private static final String DIRNAME_METADATA_INDEXES = "metadata-indexes";
+
+    private static final String FILENAME_EXTENSION_VALIDATORS = ".validators";
+
     private final HttpClient httpClient;
 
     private final File metadataBackupDirectory;
@@ -90,6 +101,54 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         }).accept(metadataBackupDirectory);
     }
 
+    private static boolean isRootValid(final AbstractMetadataResolver metadataResolver) {
+        if (metadataResolver instanceof final IndexedResourceMetadataResolver indexedResolver) {
+            return indexedResolver.isRootValid();
+        }
+        return metadataResolver instanceof final AbstractBatchMetadataResolver batchResolver
+            && Boolean.TRUE.equals(batchResolver.isRootValid());
+    }
+
+    private static File getCacheValidatorsFile(final File backupFile) {
+        return new File(backupFile.getParentFile(), backupFile.getName() + FILENAME_EXTENSION_VALIDATORS);
+    }
+
+    private static void writeCacheValidators(final HttpResponse response, final File backupFile) throws Exception {
+        val validators = new Properties();
+        Optional.ofNullable(response.getFirstHeader(HttpHeaders.ETAG))
+            .ifPresent(header -> validators.setProperty(HttpHeaders.ETAG, header.getValue()));
+        Optional.ofNullable(response.getFirstHeader(HttpHeaders.LAST_MODIFIED))
+            .ifPresent(header -> validators.setProperty(HttpHeaders.LAST_MODIFIED, header.getValue()));
+        val validatorsFile = getCacheValidatorsFile(backupFile);
+        if (validators.isEmpty()) {
+            FileUtils.deleteQuietly(validatorsFile);
+            return;
+        }
+        LOGGER.trace("Writing metadata cache validators [{}] to [{}]", validators, validatorsFile);
+        try (val output = Files.newOutputStream(validatorsFile.toPath())) {
+            validators.store(output, null);
+        }
+    }
+
+    private static Map<String, String> getConditionalRequestHeaders(final File backupFile) {
+        val validatorsFile = getCacheValidatorsFile(backupFile);
+        if (!backupFile.exists() || !validatorsFile.exists()) {
+            return Map.of();
+        }
+        return FunctionUtils.doAndHandle(() -> {
+            val validators = new Properties();
+            try (val input = Files.newInputStream(validatorsFile.toPath())) {
+                validators.load(input);
+            }
+            val headers = new LinkedHashMap<String, String>();
+            FunctionUtils.doIfNotBlank(validators.getProperty(HttpHeaders.ETAG),
+                value -> headers.put(HttpHeaders.IF_NONE_MATCH, value));
+            FunctionUtils.doIfNotBlank(validators.getProperty(HttpHeaders.LAST_MODIFIED),
+                value -> headers.put(HttpHeaders.IF_MODIFIED_SINCE, value));
+            return headers;
+        }, e -> Map.<String, String>of()).get();
+    }
+
     @Audit(action = AuditableActions.SAML2_METADATA_RESOLUTION,
         actionResolverName = AuditActionResolvers.SAML2_METADATA_RESOLUTION_ACTION_RESOLVER,
         resourceResolverName = AuditResourceResolvers.SAML2_METADATA_RESOLUTION_RESOURCE_RESOLVER)
@@ -104,7 +163,10 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             val metadataResource = new UrlResource(metadataLocation);
 
             val backupFile = getMetadataBackupFile(metadataResource, service);
-            if (backupFile.exists() && samlIdPProperties.getMetadata().getHttp().isForceMetadataRefresh()) {
+            val forceMetadataRefresh = samlIdPProperties.getMetadata().getHttp().isForceMetadataRefresh();
+            val conditionalRefresh = forceMetadataRefresh && backupFile.exists() && backupFile.canRead()
+                && getCacheValidatorsFile(backupFile).exists();
+            if (backupFile.exists() && forceMetadataRefresh && !conditionalRefresh) {
                 LOGGER.debug("CAS is configured to forcefully refresh metadata for service [{}]. Old metadata backup files "
                     + "will now be deleted for this service.", service.getName());
                 cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
@@ -113,11 +175,11 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             LOGGER.debug("Metadata backup file for [{}] will be at [{}]", service.getName(), canonicalPath);
             FileUtils.forceMkdirParent(backupFile);
 
-            if (backupFile.exists() && backupFile.canRead()) {
+            if (backupFile.exists() && backupFile.canRead() && !conditionalRefresh) {
                 try {
                     val metadataProvider = getMetadataResolverFromFile(backupFile);
                     configureAndInitializeSingleMetadataResolver(metadataProvider, service);
-                    if (Boolean.TRUE.equals(metadataProvider.isRootValid())) {
+                    if (isRootValid(metadataProvider)) {
                         LOGGER.debug("Metadata backup file for service [{}] at [{}] is valid. CAS will reuse the SAML2 metadata file "
                             + "at [{}] and will not download new metadata from [{}]", service.getName(), canonicalPath, canonicalPath, metadataLocation);
                         return CollectionUtils.wrap(metadataProvider);
@@ -133,6 +195,13 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
 
             response = fetchMetadata(service, metadataLocation, criteriaSet, backupFile);
             val status = HttpStatus.valueOf(response.getCode());
+            if (conditionalRefresh && status == HttpStatus.NOT_MODIFIED) {
+                LOGGER.debug("Metadata at [{}] has not been modified; CAS will reuse the SAML2 metadata file at [{}]",
+                    metadataLocation, canonicalPath);
+                val metadataProvider = getMetadataResolverFromFile(backupFile);
+                configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                return CollectionUtils.wrap(metadataProvider);
+            }
             if (shouldHttpResponseStatusBeProcessed(status)) {
                 val metadataProvider = getMetadataResolverFromResponse(response, backupFile);
                 configureAndInitializeSingleMetadataResolver(metadataProvider, service);
@@ -201,11 +270,14 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             output.flush();
         }
         EntityUtils.consume(entity);
+        writeCacheValidators(response, backupFile);
         return getMetadataResolverFromFile(backupFile);
     }
 
-    private InMemoryResourceMetadataResolver getMetadataResolverFromFile(final File backupFile) throws Exception {
-        val metadataResolver = new InMemoryResourceMetadataResolver(backupFile, configBean);
+    private AbstractMetadataResolver getMetadataResolverFromFile(final File backupFile) throws Exception {
+        val metadataResolver = samlIdPProperties.getMetadata().getCore().isIndexed()
+            ? new IndexedResourceMetadataResolver(backupFile, new File(metadataBackupDirectory.getParentFile(), DIRNAME_METADATA_INDEXES), configBean)
+            : new InMemoryResourceMetadataResolver(backupFile, configBean);
         metadataResolver.setId("RegisteredServiceMetadata-" + backupFile.getName());
         return metadataResolver;
     }
@@ -229,6 +301,7 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             .url(metadataLocation)
             .proxyUrl(service.getMetadataProxyLocation())
             .httpClient(httpClient)
+            .headers(getConditionalRequestHeaders(backupFile))
             .build();
         return HttpUtils.execute(exec);
     }
@@ -19,6 +19,9 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import static org.apereo.cas.util.junit.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -160,6 +163,23 @@ class SamlRegisteredServiceDefaultCachingMetadataResolverTests extends BaseSamlI
 
     }
 
+    @Test
+    void verifyConcurrentResolutionLoadsOnce() throws Throwable {
+        val resolver = getResolver("PT5M");
+        val service = getSamlRegisteredService(1, ".*", "classpath:aggregate-md.xml");
+        val entityIds = List.of("https://issues.shibboleth.net/shibboleth",
+            "https://mfa-auth.dev.phenoapp.com/Saml2", "https://gitlab.com");
+        try (val executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            val futures = IntStream.range(0, 50)
+                .mapToObj(i -> executor.submit(() -> resolver.resolve(service, getCriteriaFor(entityIds.get(i % entityIds.size())))))
+                .toList();
+            for (val future : futures) {
+                assertNotNull(future.get());
+            }
+        }
+        assertEquals(1, resolver.getCacheStatistics().loadSuccessCount());
+    }
+
     @Test
     void verifyMissingMetadataInMDQ() throws Throwable {
         val criteriaSet1 = getCriteriaFor("https://shib-sp-test-preprod.dartmouth.edu/shibboleth");
@@ -1,6 +1,7 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.IndexedResourceMetadataResolver;
 import org.apereo.cas.support.saml.services.BaseSamlIdPServicesTests;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import com.google.common.collect.Iterables;
@@ -14,13 +15,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.opensaml.core.criterion.EntityIdCriterion;
+import org.opensaml.saml.common.xml.SAMLConstants;
 import org.opensaml.saml.criterion.EntityRoleCriterion;
 import org.opensaml.saml.saml2.metadata.IDPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -106,6 +112,109 @@ class FileSystemResourceMetadataResolverTests extends BaseSamlIdPServicesTests {
         assertEquals(1, Iterables.size(directoryResolver.resolve(criteriaSet)));
     }
 
+    @Test
+    void verifyIndexedAggregate() throws Throwable {
+        val aggregateFile = File.createTempFile("aggregate-md", ".xml");
+        FileUtils.copyInputStreamToFile(new ClassPathResource("aggregate-md.xml").getInputStream(), aggregateFile);
+
+        val metadataDirectory = Files.createTempDirectory("saml-metadata").toFile();
+        val properties = new SamlIdPProperties();
+        properties.getMetadata().getCore().setIndexed(true);
+        properties.getMetadata().getFileSystem().setLocation(metadataDirectory.getCanonicalPath());
+        val indexedMetadataResolver = new FileSystemResourceMetadataResolver(properties, openSamlConfigBean);
+        val service = new SamlRegisteredService();
+        service.setName("AggregateMetadata");
+        service.setMetadataLocation(aggregateFile.getCanonicalPath());
+
+        val resolvers = indexedMetadataResolver.resolve(service);
+        assertFalse(resolvers.isEmpty());
+        val resolver = (IndexedResourceMetadataResolver) resolvers.iterator().next();
+        assertEquals(3, resolver.getEntityCount());
+        assertTrue(resolver.isRootValid());
+        val entity = resolver.resolveSingle(getCriteriaFor("https://gitlab.com"));
+        assertNotNull(entity);
+        assertEquals("https://gitlab.com", entity.getEntityID());
+        assertNotNull(entity.getSPSSODescriptor(SAMLConstants.SAML20P_NS));
+        assertNull(resolver.resolveSingle(getCriteriaFor("https://unknown.example.org")));
+        assertEquals(3, Iterables.size(resolver.resolve(new CriteriaSet())));
+
+        val reloaded = (IndexedResourceMetadataResolver) indexedMetadataResolver.resolve(service).iterator().next();
+        assertEquals(3, reloaded.getEntityCount());
+        assertNotNull(reloaded.resolveSingle(getCriteriaFor("https://issues.shibboleth.net/shibboleth")));
+        assertTrue(aggregateFile.delete());
+        FileUtils.deleteQuietly(metadataDirectory);
+    }
+
+    @Test
+    void verifyTamperedIndexIsRebuilt() throws Throwable {
+        val aggregateFile = File.createTempFile("aggregate-md", ".xml");
+        FileUtils.copyInputStreamToFile(new ClassPathResource("aggregate-md.xml").getInputStream(), aggregateFile);
+        val metadataDirectory = Files.createTempDirectory("saml-metadata").toFile();
+        val properties = new SamlIdPProperties();
+        properties.getMetadata().getCore().setIndexed(true);
+        properties.getMetadata().getFileSystem().setLocation(metadataDirectory.getCanonicalPath());
+        val indexedMetadataResolver = new FileSystemResourceMetadataResolver(properties, openSamlConfigBean);
+        val service = new SamlRegisteredService();
+        service.setName("AggregateMetadata");
+        service.setMetadataLocation(aggregateFile.getCanonicalPath());
+        assertFalse(indexedMetadataResolver.resolve(service).isEmpty());
+
+        val indexFiles = new File(metadataDirectory, "metadata-indexes").listFiles((dir, name) -> name.endsWith(".idx"));
+        assertNotNull(indexFiles);
+        assertEquals(1, indexFiles.length);
+        val entityId = "https://planted.example.org".getBytes(StandardCharsets.UTF_8);
+        val entity = "<EntityDescriptor xmlns=\"urn:oasis:names:tc:SAML:2.0:metadata\" entityID=\"https://planted.example.org\"/>"
+            .getBytes(StandardCharsets.UTF_8);
+        try (val output = new DataOutputStream(new FileOutputStream(indexFiles[0], true))) {
+            output.writeInt(entityId.length);
+            output.write(entityId);
+            output.writeInt(entity.length);
+            output.write(entity);
+        }
+
+        val resolver = (IndexedResourceMetadataResolver) indexedMetadataResolver.resolve(service).iterator().next();
+        assertEquals(3, resolver.getEntityCount());
+        assertNull(resolver.resolveSingle(getCriteriaFor("https://planted.example.org")));
+        assertTrue(aggregateFile.delete());
+        FileUtils.deleteQuietly(metadataDirectory);
+    }
+
+    @Test
+    void verifyIndexIsReusedWithPersistedKey() throws Throwable {
+        val aggregateFile = File.createTempFile("aggregate-md", ".xml");
+        FileUtils.copyInputStreamToFile(new ClassPathResource("aggregate-md.xml").getInputStream(), aggregateFile);
+        val metadataDirectory = Files.createTempDirectory("saml-metadata").toFile();
+        val properties = new SamlIdPProperties();
+        properties.getMetadata().getCore().setIndexed(true);
+        properties.getMetadata().getFileSystem().setLocation(metadataDirectory.getCanonicalPath());
+        val service = new SamlRegisteredService();
+        service.setName("AggregateMetadata");
+        service.setMetadataLocation(aggregateFile.getCanonicalPath());
+        assertFalse(new FileSystemResourceMetadataResolver(properties, openSamlConfigBean).resolve(service).isEmpty());
+
+        val indexDirectory = new File(metadataDirectory, "metadata-indexes");
+        val keyFile = new File(indexDirectory, ".index.key");
+        assertTrue(keyFile.isFile());
+        val indexFiles = indexDirectory.listFiles((dir, name) -> name.endsWith(".idx"));
+        assertNotNull(indexFiles);
+        assertEquals(1, indexFiles.length);
+        val builtAt = Files.getLastModifiedTime(indexFiles[0].toPath()).toInstant().minusSeconds(60);
+        Files.setLastModifiedTime(indexFiles[0].toPath(), FileTime.from(builtAt));
+
+        val reloaded = (IndexedResourceMetadataResolver) new FileSystemResourceMetadataResolver(properties, openSamlConfigBean)
+            .resolve(service).iterator().next();
+        assertEquals(3, reloaded.getEntityCount());
+        assertEquals(builtAt, Files.getLastModifiedTime(indexFiles[0].toPath()).toInstant());
+
+        assertTrue(keyFile.delete());
+        val rebuilt = (IndexedResourceMetadataResolver) new FileSystemResourceMetadataResolver(properties, openSamlConfigBean)
+            .resolve(service).iterator().next();
+        assertEquals(3, rebuilt.getEntityCount());
+        assertNotEquals(builtAt, Files.getLastModifiedTime(indexFiles[0].toPath()).toInstant());
+        assertTrue(aggregateFile.delete());
+        FileUtils.deleteQuietly(metadataDirectory);
+    }
+
     @Test
     void verifyDefaultImpl() {
         val mock = mock(SamlRegisteredServiceMetadataResolver.class);
@@ -2,6 +2,7 @@ package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPResponseProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
 import org.apereo.cas.support.saml.SamlUtils;
@@ -17,9 +18,10 @@ import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.shibboleth.shared.resolver.CriteriaSet;
@@ -53,12 +55,14 @@ import org.opensaml.xmlsec.config.impl.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
 import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
+import org.springframework.core.io.Resource;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.security.PrivateKey;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -66,20 +70,46 @@ import java.util.regex.Pattern;
 
 /**
  * This is {@link DefaultSamlIdPObjectSigner}.
+ * Signing keys and the signing credentials resolved from metadata are cached
+ * per service and key algorithm. Cache entries are keyed by the version of the signing key
+ * that is returned by the {@link SamlIdPMetadataLocator}, so that once keys are rotated,
+ * the new key is parsed and credentials are resolved again on the next signing operation.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
-@RequiredArgsConstructor
 @Getter
 public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
+    private static final long SIGNING_CACHE_MAXIMUM_SIZE = 1_000L;
+
     private final MetadataResolver samlIdPMetadataResolver;
 
     private final CasConfigurationProperties casProperties;
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
-    
+
+    private final Cache<SigningKeyCacheKey, PrivateKey> signingKeyCache;
+
+    private final Cache<SigningCredentialCacheKey, List<Credential>> signingCredentialCache;
+
+    public DefaultSamlIdPObjectSigner(final MetadataResolver samlIdPMetadataResolver,
+                                      final CasConfigurationProperties casProperties,
+                                      final SamlIdPMetadataLocator samlIdPMetadataLocator) {
+        this.samlIdPMetadataResolver = samlIdPMetadataResolver;
+        this.casProperties = casProperties;
+        this.samlIdPMetadataLocator = samlIdPMetadataLocator;
+        val expiration = Beans.newDuration(casProperties.getAuthn().getSamlIdp().getMetadata().getCore().getCacheExpiration());
+        this.signingKeyCache = Caffeine.newBuilder()
+            .maximumSize(SIGNING_CACHE_MAXIMUM_SIZE)
+            .expireAfterWrite(expiration)
+            .build();
+        this.signingCredentialCache = Caffeine.newBuilder()
+            .maximumSize(SIGNING_CACHE_MAXIMUM_SIZE)
+            .expireAfterWrite(expiration)
+            .build();
+    }
+
     private static boolean doesCredentialFingerprintMatch(final AbstractCredential credential,
                                                           final SamlRegisteredService samlRegisteredService) {
         val fingerprint = samlRegisteredService.getSigningCredentialFingerprint();
@@ -93,6 +123,25 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         return true;
     }
 
+    /**
+     * Gets the version of the signing key resource.
+     * Keys that are stored as files are versioned by their location and last modification date;
+     * keys that are held in memory or fetched remotely are versioned by the digest of their content.
+     *
+     * @param signingKey the signing key
+     * @return the signing key version
+     * @throws Exception the exception
+     */
+    private static String getSigningKeyVersion(final Resource signingKey) throws Exception {
+        if (signingKey.isFile()) {
+            val file = signingKey.getFile();
+            return file.getAbsolutePath() + '@' + file.lastModified() + ':' + file.length();
+        }
+        try (val is = signingKey.getInputStream()) {
+            return DigestUtils.digest("SHA-256", is.readAllBytes());
+        }
+    }
+
     private static AbstractCredential finalizeSigningCredential(final MutableCredential credential, final Credential original) {
         credential.setEntityId(original.getEntityId());
         credential.setUsageType(original.getUsageType());
@@ -242,6 +291,7 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
      * This behavior allows the passing of {@link SamlIdPSamlRegisteredServiceCriterion}
      * so signing configuration, etc can be fetched for a specific service as an override,
      * if on is in fact defined for the service.
+     * Resolved signing credentials are cached for the service until its signing key changes.
      *
      * @param service the service
      * @return the signature signing configuration
@@ -250,9 +300,33 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
     protected SignatureSigningConfiguration getSignatureSigningConfiguration(final SamlRegisteredService service) throws Throwable {
         val config = configureSignatureSigningSecurityConfiguration(service);
 
-        val samlIdp = casProperties.getAuthn().getSamlIdp();
-        val privateKey = getSigningPrivateKey(service);
+        val signingKey = samlIdPMetadataLocator.resolveSigningKey(Optional.of(service));
+        val signingKeyCacheKey = buildSigningKeyCacheKey(service, signingKey);
+        val cacheKey = new SigningCredentialCacheKey(signingKeyCacheKey, service.getName(),
+            getSigningCredentialType(service), service.getSigningCredentialFingerprint());
+        val finalCredentials = signingCredentialCache.get(cacheKey, key -> FunctionUtils.doUnchecked(() -> {
+            val privateKey = getSigningPrivateKey(service, signingKey, signingKeyCacheKey);
+            return resolveSigningCredentials(service, config, privateKey);
+        }));
+        config.setSigningCredentials(finalCredentials);
+        LOGGER.trace("Signature signing credentials configured with [{}] credentials", finalCredentials.size());
+        return config;
+    }
 
+    /**
+     * Resolve signing credentials from the identity provider metadata,
+     * and pair them with the signing private key.
+     *
+     * @param service    the service
+     * @param config     the config
+     * @param privateKey the private key
+     * @return the signing credentials
+     * @throws Throwable the throwable
+     */
+    protected List<Credential> resolveSigningCredentials(final SamlRegisteredService service,
+                                                         final SignatureSigningConfiguration config,
+                                                         final PrivateKey privateKey) throws Throwable {
+        val samlIdp = casProperties.getAuthn().getSamlIdp();
         val mdCredentialResolver = new SamlIdPMetadataCredentialResolver();
         val roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(
             samlIdPMetadataResolver,
@@ -291,33 +365,20 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
             LOGGER.error("Unable to locate any signing credentials for service [{}]", service.getName());
             throw new IllegalArgumentException("Unable to locate signing credentials");
         }
-
-        config.setSigningCredentials(finalCredentials);
-        LOGGER.trace("Signature signing credentials configured with [{}] credentials", finalCredentials.size());
-        return config;
+        return List.copyOf(finalCredentials);
     }
 
     /**
      * Gets signing private key.
+     * The key is parsed once per service, algorithm and key version, and is cached afterwards.
      *
      * @param registeredService the registered service
      * @return the signing private key
      * @throws Throwable the throwable
      */
     protected PrivateKey getSigningPrivateKey(final SamlRegisteredService registeredService) throws Throwable {
-        val samlIdp = casProperties.getAuthn().getSamlIdp();
         val signingKey = samlIdPMetadataLocator.resolveSigningKey(Optional.of(registeredService));
-        val privateKeyFactoryBean = new PrivateKeyFactoryBean();
-        privateKeyFactoryBean.setLocation(signingKey);
-        if (StringUtils.isBlank(registeredService.getSigningKeyAlgorithm())) {
-            privateKeyFactoryBean.setAlgorithm(samlIdp.getAlgs().getPrivateKeyAlgName());
-        } else {
-            privateKeyFactoryBean.setAlgorithm(registeredService.getSigningKeyAlgorithm());
-        }
-        privateKeyFactoryBean.setSingleton(false);
-        LOGGER.debug("Locating signature signing key for [{}] using algorithm [{}]",
-            registeredService.getMetadataLocation(), privateKeyFactoryBean.getAlgorithm());
-        return privateKeyFactoryBean.getObject();
+        return getSigningPrivateKey(registeredService, signingKey, buildSigningKeyCacheKey(registeredService, signingKey));
     }
 
     protected BasicSignatureSigningConfiguration configureSignatureSigningSecurityConfiguration(final SamlRegisteredService service) {
@@ -381,10 +442,7 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
                                                     final PrivateKey privateKey,
                                                     final SamlRegisteredService service) {
         try {
-            val samlIdp = casProperties.getAuthn().getSamlIdp();
-            val credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
-                StringUtils.defaultIfBlank(service.getSigningCredentialType(),
-                    samlIdp.getResponse().getCredentialType().name()).toUpperCase(Locale.ENGLISH));
+            val credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(getSigningCredentialType(service));
             LOGGER.trace("Requested credential type [{}] is found for service [{}]", credType, service.getName());
 
             switch (credType) {
@@ -412,4 +470,38 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         }
         return null;
     }
+
+    private PrivateKey getSigningPrivateKey(final SamlRegisteredService registeredService,
+                                            final Resource signingKey,
+                                            final SigningKeyCacheKey cacheKey) {
+        return signingKeyCache.get(cacheKey, key -> FunctionUtils.doUnchecked(() -> {
+            val privateKeyFactoryBean = new PrivateKeyFactoryBean();
+            privateKeyFactoryBean.setLocation(signingKey);
+            privateKeyFactoryBean.setAlgorithm(key.algorithm());
+            privateKeyFactoryBean.setSingleton(false);
+            LOGGER.debug("Locating signature signing key for [{}] using algorithm [{}]",
+                registeredService.getMetadataLocation(), privateKeyFactoryBean.getAlgorithm());
+            return privateKeyFactoryBean.getObject();
+        }));
+    }
+
+    private SigningKeyCacheKey buildSigningKeyCacheKey(final SamlRegisteredService registeredService,
+                                                       final Resource signingKey) throws Exception {
+        val algorithm = StringUtils.defaultIfBlank(registeredService.getSigningKeyAlgorithm(),
+            casProperties.getAuthn().getSamlIdp().getAlgs().getPrivateKeyAlgName());
+        return new SigningKeyCacheKey(registeredService.getId(), algorithm, getSigningKeyVersion(signingKey));
+    }
+
+    private String getSigningCredentialType(final SamlRegisteredService service) {
+        val samlIdp = casProperties.getAuthn().getSamlIdp();
+        return StringUtils.defaultIfBlank(service.getSigningCredentialType(),
+            samlIdp.getResponse().getCredentialType().name()).toUpperCase(Locale.ENGLISH);
+    }
+
+    private record SigningKeyCacheKey(long serviceId, String algorithm, String version) {
+    }
+
+    private record SigningCredentialCacheKey(SigningKeyCacheKey signingKey, String serviceName,
+                                             String credentialType, String fingerprint) {
+    }
 }
@@ -24,6 +24,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -332,4 +333,13 @@ class SamlIdPServicesManagerRegisteredServiceLocatorTests extends BaseSamlIdPCon
         val result = servicesManager.findServiceBy(extracted);
         assertEquals(service1, result);
     }
+
+    @Test
+    void verifySamlRequestIsRequestScoped() {
+        val attributeNames = samlIdPServicesManagerRegisteredServiceLocator.getServiceAttributeNames();
+        assertTrue(attributeNames.contains(SamlProtocolConstants.PARAMETER_ENTITY_ID));
+        assertFalse(attributeNames.contains(SamlProtocolConstants.PARAMETER_SAML_REQUEST));
+        assertEquals(Set.of(SamlProtocolConstants.PARAMETER_SAML_REQUEST),
+            samlIdPServicesManagerRegisteredServiceLocator.getRequestScopedServiceAttributeNames());
+    }
 }
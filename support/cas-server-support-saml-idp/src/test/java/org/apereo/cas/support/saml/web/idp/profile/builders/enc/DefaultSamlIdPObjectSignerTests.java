@@ -2,6 +2,7 @@ package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
 import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
 import org.apereo.cas.support.saml.SamlIdPTestUtils;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceMetadataAdaptor;
 
 import lombok.val;
@@ -9,11 +10,18 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.opensaml.messaging.context.MessageContext;
 import org.opensaml.saml.common.xml.SAMLConstants;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link DefaultSamlIdPObjectSignerTests}.
@@ -44,4 +52,25 @@ class DefaultSamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
             SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, new MessageContext()));
 
     }
+
+    @Test
+    void cachesSigningKeyUntilRotated() throws Throwable {
+        val samlRegisteredService = getSamlRegisteredServiceFor(true, true, false, "https://cassp.example.org");
+        samlRegisteredService.setId(2000);
+        samlRegisteredService.setName("ObjectSignerCacheTest");
+
+        val signingKey = new AtomicReference<Resource>(samlIdPMetadataLocator.resolveSigningKey(Optional.empty()));
+        val locator = mock(SamlIdPMetadataLocator.class);
+        when(locator.resolveSigningKey(any())).thenAnswer(invocation -> new ByteArrayResource(signingKey.get().getContentAsByteArray()));
+        val signer = new DefaultSamlIdPObjectSigner(samlIdPObjectSigner.getSamlIdPMetadataResolver(), casProperties, locator);
+
+        val privateKey = signer.getSigningPrivateKey(samlRegisteredService);
+        assertNotNull(privateKey);
+        assertSame(privateKey, signer.getSigningPrivateKey(samlRegisteredService));
+
+        signingKey.set(samlIdPMetadataLocator.resolveEncryptionKey(Optional.empty()));
+        val rotatedKey = signer.getSigningPrivateKey(samlRegisteredService);
+        assertNotEquals(privateKey, rotatedKey);
+        assertSame(rotatedKey, signer.getSigningPrivateKey(samlRegisteredService));
+    }
 }
@@ -6,12 +6,10 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.jooq.lambda.Unchecked;
-import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.Clock;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
@@ -49,10 +47,8 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
             .expiration(expiration)
             .build();
         getConfigurationContext().getThrottledSubmissionStore().put(submission);
-        val receivers = new ArrayList<>(getConfigurationContext().getApplicationContext()
-            .getBeansOfType(ThrottledSubmissionReceiver.class).values());
-        AnnotationAwareOrderComparator.sort(receivers);
-        receivers.forEach(Unchecked.consumer(receiver -> receiver.receive(submission)));
+        getConfigurationContext().getThrottledSubmissionReceivers()
+            .forEach(Unchecked.consumer(receiver -> receiver.receive(submission)));
     }
 
     @Override
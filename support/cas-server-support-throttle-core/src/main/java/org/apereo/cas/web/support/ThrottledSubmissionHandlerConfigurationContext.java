@@ -5,12 +5,16 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
 
+import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This is {@link ThrottledSubmissionHandlerConfigurationContext}.
  *
@@ -33,4 +37,7 @@ public class ThrottledSubmissionHandlerConfigurationContext {
     private final CasConfigurationProperties casProperties;
 
     private final ThrottledSubmissionsStore<ThrottledSubmission> throttledSubmissionStore;
+
+    @Builder.Default
+    private final List<ThrottledSubmissionReceiver> throttledSubmissionReceivers = new ArrayList<>();
 }
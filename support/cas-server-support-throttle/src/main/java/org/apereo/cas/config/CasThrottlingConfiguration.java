@@ -8,6 +8,7 @@ import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlanConfigurer;
 import org.apereo.cas.throttle.ConcurrentThrottledSubmissionsStore;
 import org.apereo.cas.throttle.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandler;
+import org.apereo.cas.throttle.SlidingWindowThrottledSubmissionsStore;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestFilter;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
@@ -18,8 +19,11 @@ import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerConfigurationContext;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerEndpoint;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.ThrottledSubmissionReceiver;
 import org.apereo.cas.web.support.ThrottledSubmissionsStore;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -36,6 +40,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.ScopedProxyMode;
 
+import java.time.Clock;
 import java.util.List;
 
 /**
@@ -93,7 +98,8 @@ public class CasThrottlingConfiguration {
             @Qualifier(ThrottledRequestExecutor.DEFAULT_BEAN_NAME)
             final ThrottledRequestExecutor throttledRequestExecutor,
             @Qualifier(ThrottledSubmissionsStore.BEAN_NAME)
-            final ThrottledSubmissionsStore throttledSubmissionStore) {
+            final ThrottledSubmissionsStore throttledSubmissionStore,
+            final ObjectProvider<ThrottledSubmissionReceiver> throttledSubmissionReceivers) {
             return ThrottledSubmissionHandlerConfigurationContext.builder()
                 .casProperties(casProperties)
                 .throttledSubmissionStore(throttledSubmissionStore)
@@ -101,6 +107,7 @@ public class CasThrottlingConfiguration {
                 .throttledRequestResponseHandler(throttledRequestResponseHandler)
                 .throttledRequestExecutor(throttledRequestExecutor)
                 .applicationContext(applicationContext)
+                .throttledSubmissionReceivers(throttledSubmissionReceivers.orderedStream().toList())
                 .build();
         }
     }
@@ -126,7 +133,12 @@ public class CasThrottlingConfiguration {
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @ConditionalOnMissingBean(name = ThrottledSubmissionsStore.BEAN_NAME)
         @Bean
-        public ThrottledSubmissionsStore throttleSubmissionMap(final CasConfigurationProperties casProperties) {
+        public ThrottledSubmissionsStore throttleSubmissionMap(final CasConfigurationProperties casProperties,
+                                                               final ObjectProvider<MeterRegistry> meterRegistry) {
+            if (casProperties.getAuthn().getThrottle().getSlidingWindow().isEnabled()) {
+                return new SlidingWindowThrottledSubmissionsStore(casProperties, Clock.systemUTC(),
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            }
             return new ConcurrentThrottledSubmissionsStore(casProperties);
         }
 
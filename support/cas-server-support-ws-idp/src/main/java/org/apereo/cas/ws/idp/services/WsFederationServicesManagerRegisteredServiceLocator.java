@@ -10,6 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.core.Ordered;
 
+import java.util.Set;
+
 /**
  * This is {@link WsFederationServicesManagerRegisteredServiceLocator}.
  *
@@ -40,6 +42,11 @@ public class WsFederationServicesManagerRegisteredServiceLocator extends Default
         return WSFederationRegisteredService.class;
     }
 
+    @Override
+    public Set<String> getServiceAttributeNames() {
+        return Set.of(WSFederationConstants.WREPLY);
+    }
+
     @Override
     public boolean supports(final RegisteredService registeredService, final Service service) {
         return service.getAttributes().containsKey(WSFederationConstants.WREPLY)